@@ -20,6 +20,7 @@
 package uniol.apt.tasks;
 
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -35,23 +36,27 @@ public class ServiceVerifyTask {
 
 	/**
 	 * Program entry point. Arguments are a path to a JAR file, the class to load from there and the name of a
-	 * static member that should be instantiated.
+	 * static member that should be instantiated. An optional fourth argument names a method without arguments
+	 * that is called on the member, e.g. to force lazily loaded services to be instantiated.
 	 * @param args Program arguments.
 	 */
 	public static void main(String[] args) {
-		if (args.length != 3)
+		if (args.length != 3 && args.length != 4)
 			throw new IllegalArgumentException(
-					"Need exactly three arguments: Path to jar, class to load, static member to instantiate");
+					"Need three or four arguments: Path to jar, class to load, static member to instantiate"
+					+ " and optionally a method to call on it");
 
 		try {
-			load(args[0], args[1], args[2]);
+			String method = args.length == 4 ? args[3] : "";
+			load(args[0], args[1], args[2], method);
 		} catch (FailureException e) {
 			System.err.println(e.getMessage());
 			System.exit(1);
 		}
 	}
 
-	private static void load(String classpath, String klass, String member) throws FailureException {
+	private static void load(String classpath, String klass, String member, String method)
+			throws FailureException {
 		String suggestion = " Run 'ant clean' and try again.";
 		URL classpathURL;
 		try {
@@ -62,13 +67,21 @@ public class ServiceVerifyTask {
 		URLClassLoader loader = new URLClassLoader(new URL[] { classpathURL });
 
 		try {
-			loader.loadClass(klass).getField(member).get(null);
+			Object instance = loader.loadClass(klass).getField(member).get(null);
+			if (!method.isEmpty())
+				instance.getClass().getMethod(method).invoke(instance);
 		} catch (ClassNotFoundException e) {
 			throw new FailureException("Could not load class '" + klass + "'." + suggestion, e);
 		} catch (NoSuchFieldException e) {
 			throw new FailureException("Could not find '" + klass + "#" + member + "'." + suggestion, e);
+		} catch (NoSuchMethodException e) {
+			throw new FailureException("Could not find '" + klass + "#" + member + "." + method + "()'."
+					+ suggestion, e);
 		} catch (IllegalAccessException e) {
 			throw new FailureException("Could not access '" + klass + "#" + member + "'." + suggestion, e);
+		} catch (InvocationTargetException e) {
+			throw new FailureException("The service configuration for '" + klass + "#" + member
+					+ "' is broken." + suggestion, e.getCause());
 		} catch (ServiceConfigurationError | ExceptionInInitializerError e) {
 			throw new FailureException("The service configuration for '" + klass + "#" + member
 					+ "' is broken." + suggestion, e);
@@ -0,0 +1,93 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.tasks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Ant task which measures how long it takes to run a short APT command. The command is started repeatedly as a new
+ * process and statistics about the wall clock time of these runs are printed.
+ * @author agent
+ */
+public class StartupBenchmarkTask {
+	private StartupBenchmarkTask() {
+	}
+
+	/**
+	 * Program entry point. Arguments are the number of runs and the command line to benchmark.
+	 * @param args Program arguments.
+	 * @throws Exception In case something goes wrong.
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2)
+			throw new IllegalArgumentException("Need exactly two arguments: number of runs, command to run");
+
+		int runs = Integer.parseInt(args[0]);
+		String cmdline = args[1];
+		if (runs <= 0)
+			throw new IllegalArgumentException("Number of runs must be positive");
+
+		// Warm up the file system cache
+		runOnce(cmdline);
+
+		long[] times = new long[runs];
+		for (int i = 0; i < runs; i++)
+			times[i] = runOnce(cmdline);
+		Arrays.sort(times);
+
+		long sum = 0;
+		for (long time : times)
+			sum += time;
+
+		System.out.println("Benchmarked: " + cmdline);
+		System.out.println(String.format("runs: %d, min: %.1f ms, median: %.1f ms, mean: %.1f ms, max: %.1f ms",
+					runs, toMillis(times[0]), toMillis(times[runs / 2]), toMillis(sum) / runs,
+					toMillis(times[runs - 1])));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1000000.0;
+	}
+
+	private static long runOnce(String cmdline) throws IOException, InterruptedException {
+		ProcessBuilder builder = new ProcessBuilder(cmdline.split("\\s+"));
+		builder.redirectErrorStream(true);
+
+		long start = System.nanoTime();
+		Process process = builder.start();
+		try {
+			process.getOutputStream().close();
+			// The output is not interesting, but it has to be read so that the process does not block
+			try (InputStream out = process.getInputStream()) {
+				IOUtils.toByteArray(out);
+			}
+			process.waitFor();
+		} finally {
+			process.destroy();
+		}
+		return System.nanoTime() - start;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
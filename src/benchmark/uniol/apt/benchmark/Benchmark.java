@@ -0,0 +1,68 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.List;
+
+/**
+ * A benchmark that is run by the {@link BenchmarkRunner}. A benchmark is set up once for each of its parameters and
+ * then {@link #run} is called repeatedly to measure the average time that one operation takes.
+ * @author agent
+ */
+public abstract class Benchmark {
+	/**
+	 * Get the parameters with which this benchmark is run when no parameters are given on the command line. A
+	 * parameter usually describes the Petri nets that are used, see {@link BenchmarkNets#load}.
+	 * @return The default parameters.
+	 */
+	public abstract List<String> getDefaultParameters();
+
+	/**
+	 * Prepare the benchmark. The time for this method is not measured.
+	 * @param parameter The parameter to use.
+	 * @throws Exception In case something goes wrong.
+	 */
+	public abstract void setUp(String parameter) throws Exception;
+
+	/**
+	 * Run one operation of this benchmark. The result is consumed by the caller, so that the JIT compiler cannot
+	 * remove the computation.
+	 * @return Some result of the computation.
+	 * @throws Exception In case something goes wrong.
+	 */
+	public abstract Object run() throws Exception;
+
+	/**
+	 * Clean up after the benchmark was run with a parameter. The time for this method is not measured.
+	 * @throws Exception In case something goes wrong.
+	 */
+	public void tearDown() throws Exception {
+	}
+
+	/**
+	 * Get the name of this benchmark.
+	 * @return The name.
+	 */
+	public String getName() {
+		return getClass().getName() + ".run";
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
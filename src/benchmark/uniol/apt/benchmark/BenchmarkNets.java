@@ -0,0 +1,104 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.generator.bitnet.SimpleBitNetGenerator;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.tnet.TNetGenerator;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.io.parser.impl.AptPNParser;
+
+/**
+ * The Petri nets that benchmarks are run on. A benchmark parameter is either the name of a file in the apt format
+ * or a generator together with a size:
+ * <ul>
+ * <li>bitnet:n is a net with n independent bits, see {@link SimpleBitNetGenerator}</li>
+ * <li>philnet:n is a net with n dining philosophers, see {@link BistatePhilNetGenerator}</li>
+ * <li>tnet:n are all t-nets with at most n places, see {@link TNetGenerator}</li>
+ * </ul>
+ * @author agent
+ */
+public class BenchmarkNets {
+	/**
+	 * Bounded nets from the nets/ directory of different sizes and with different structure.
+	 */
+	public static final List<String> CORPUS = Collections.unmodifiableList(Arrays.asList(
+				"nets/crashkurs-cc2-net.apt",
+				"nets/EB-PhD-Fundamenta.apt",
+				"nets/eb-nets/fc/fc1b-net.apt",
+				"nets/eb-nets/trap-siphon-linalg/traps-siphons-2-net.apt"));
+
+	/**
+	 * Nets from the generators whose state spaces have a few hundred to a few thousand states.
+	 */
+	public static final List<String> GENERATED = Collections.unmodifiableList(Arrays.asList(
+				"bitnet:8", "philnet:12", "tnet:3"));
+
+	private BenchmarkNets() {
+	}
+
+	/**
+	 * Get the default parameters for benchmarks that are run on a Petri net.
+	 * @return The parameters from the net corpus and from the generators.
+	 */
+	public static List<String> getDefaultParameters() {
+		List<String> result = new ArrayList<>(CORPUS);
+		result.addAll(GENERATED);
+		return result;
+	}
+
+	/**
+	 * Load the Petri nets that are described by a benchmark parameter.
+	 * @param parameter The parameter.
+	 * @return The Petri nets.
+	 * @throws IOException If reading a file fails.
+	 * @throws ParseException If a file cannot be parsed.
+	 */
+	public static List<PetriNet> load(String parameter) throws IOException, ParseException {
+		String[] parts = parameter.split(":", 2);
+		if (parts.length == 1)
+			return Collections.singletonList(new AptPNParser().parseFile(new File(parameter)));
+
+		int size = Integer.parseInt(parts[1]);
+		switch (parts[0]) {
+			case "bitnet":
+				return Collections.singletonList(new SimpleBitNetGenerator().generateNet(size));
+			case "philnet":
+				return Collections.singletonList(new BistatePhilNetGenerator().generateNet(size));
+			case "tnet":
+				List<PetriNet> result = new ArrayList<>();
+				for (PetriNet pn : new TNetGenerator(size))
+					result.add(pn);
+				return result;
+			default:
+				throw new IllegalArgumentException("Unknown net generator: " + parts[0]);
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,249 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Runs benchmarks and writes the results in the JSON format of the Java Microbenchmark Harness (JMH), so that
+ * results from different commits can be compared with the usual tools. Each benchmark is run for each of its
+ * parameters in the same way as JMH's "average time" mode: After some warmup iterations, a number of measurement
+ * iterations is run and the average time per operation of each iteration is recorded.
+ *
+ * Arguments: [-o file] [-w warmup iterations] [-i measurement iterations] [-t milliseconds per iteration] [-p
+ * parameter,parameter,...] [regular expression...]. Only benchmarks whose name contains a match for one of the
+ * regular expressions are run.
+ * @author agent
+ */
+public class BenchmarkRunner {
+	private static final String UNIT = "ms/op";
+
+	// 99.95% quantiles of Student's t-distribution for 1 to 30 degrees of freedom, used for the 99.9% confidence
+	// interval that JMH reports as the error of a score.
+	private static final double[] T_QUANTILES = { 636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041,
+		4.781, 4.587, 4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850, 3.819, 3.792, 3.768,
+		3.745, 3.725, 3.707, 3.690, 3.674, 3.659, 3.646 };
+	private static final double T_QUANTILE_LIMIT = 3.291;
+
+	private static final List<Benchmark> BENCHMARKS = Arrays.asList(
+			new CoverabilityGraphBenchmark(),
+			new CoverabilityGraphEditBenchmark(false),
+			new CoverabilityGraphEditBenchmark(true),
+			new FiringBenchmark(),
+			new SynthesisBenchmark(),
+			new InvariantBenchmark(),
+			new ParserBenchmark(),
+			new RendererBenchmark(),
+			new InterruptPollingBenchmark());
+
+	private int warmupIterations = 3;
+	private int measurementIterations = 5;
+	private long iterationNanos = 1000L * 1000 * 1000;
+	private List<String> parameters = null;
+
+	// All results of benchmarks are combined into this value, so that the JIT compiler cannot remove them
+	private static volatile int sink;
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Program entry point.
+	 * @param args Program arguments, see the class documentation.
+	 * @throws Exception In case something goes wrong.
+	 */
+	public static void main(String[] args) throws Exception {
+		BenchmarkRunner runner = new BenchmarkRunner();
+		File output = null;
+		List<Pattern> filters = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-o":
+					output = new File(args[++i]);
+					break;
+				case "-w":
+					runner.warmupIterations = Integer.parseInt(args[++i]);
+					break;
+				case "-i":
+					runner.measurementIterations = Integer.parseInt(args[++i]);
+					break;
+				case "-t":
+					runner.iterationNanos = Long.parseLong(args[++i]) * 1000 * 1000;
+					break;
+				case "-p":
+					runner.parameters = Arrays.asList(args[++i].split(","));
+					break;
+				default:
+					filters.add(Pattern.compile(args[i]));
+					break;
+			}
+		}
+		if (runner.measurementIterations <= 0)
+			throw new IllegalArgumentException("Need at least one measurement iteration");
+
+		JSONArray results = new JSONArray();
+		for (Benchmark benchmark : BENCHMARKS) {
+			if (!matches(benchmark, filters))
+				continue;
+			List<String> params = runner.parameters;
+			if (params == null)
+				params = benchmark.getDefaultParameters();
+			for (String param : params)
+				results.put(runner.run(benchmark, param));
+		}
+
+		printSummary(results);
+		if (output != null) {
+			writeResults(output, results);
+			System.out.println("Results were written to " + output);
+		}
+	}
+
+	private static boolean matches(Benchmark benchmark, List<Pattern> filters) {
+		if (filters.isEmpty())
+			return true;
+		for (Pattern filter : filters)
+			if (filter.matcher(benchmark.getName()).find())
+				return true;
+		return false;
+	}
+
+	private JSONObject run(Benchmark benchmark, String param) throws Exception {
+		System.out.println("# Benchmark: " + benchmark.getName() + ", parameter: " + param);
+		benchmark.setUp(param);
+
+		double[] scores = new double[measurementIterations];
+		try {
+			for (int i = 0; i < warmupIterations; i++)
+				System.out.println(String.format("# Warmup Iteration %d: %.3f %s", i + 1,
+							runIteration(benchmark), UNIT));
+
+			for (int i = 0; i < measurementIterations; i++) {
+				scores[i] = runIteration(benchmark);
+				System.out.println(String.format("Iteration %d: %.3f %s", i + 1, scores[i], UNIT));
+			}
+			System.out.println();
+		} finally {
+			benchmark.tearDown();
+		}
+
+		return toJSON(benchmark, param, scores);
+	}
+
+	// Run the benchmark for the configured time and return the average time per operation in milliseconds
+	private double runIteration(Benchmark benchmark) throws Exception {
+		int result = 0;
+		long operations = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			Object value = benchmark.run();
+			result += value == null ? 0 : System.identityHashCode(value);
+			operations++;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < iterationNanos);
+		sink += result;
+		return elapsed / 1e6 / operations;
+	}
+
+	private JSONObject toJSON(Benchmark benchmark, String param, double[] scores) {
+		double mean = 0;
+		for (double score : scores)
+			mean += score;
+		mean /= scores.length;
+
+		double error = Double.NaN;
+		if (scores.length > 1) {
+			double variance = 0;
+			for (double score : scores)
+				variance += (score - mean) * (score - mean);
+			variance /= scores.length - 1;
+			int degreesOfFreedom = scores.length - 1;
+			double quantile = degreesOfFreedom <= T_QUANTILES.length ? T_QUANTILES[degreesOfFreedom - 1]
+				: T_QUANTILE_LIMIT;
+			error = quantile * Math.sqrt(variance / scores.length);
+		}
+
+		JSONArray rawData = new JSONArray();
+		rawData.put(new JSONArray(scores));
+
+		JSONObject metric = new JSONObject();
+		metric.put("score", mean);
+		metric.put("scoreError", Double.isNaN(error) ? "NaN" : error);
+		metric.put("scoreConfidence", Double.isNaN(error) ? new JSONArray(Arrays.asList("NaN", "NaN"))
+				: new JSONArray(new double[] { mean - error, mean + error }));
+		metric.put("scoreUnit", UNIT);
+		metric.put("rawData", rawData);
+
+		JSONObject params = new JSONObject();
+		params.put("net", param);
+
+		JSONObject result = new JSONObject();
+		result.put("benchmark", benchmark.getName());
+		result.put("mode", "avgt");
+		result.put("threads", 1);
+		result.put("forks", 1);
+		result.put("warmupIterations", warmupIterations);
+		result.put("warmupTime", iterationNanos / 1000000 + " ms");
+		result.put("measurementIterations", measurementIterations);
+		result.put("measurementTime", iterationNanos / 1000000 + " ms");
+		result.put("params", params);
+		result.put("primaryMetric", metric);
+		result.put("secondaryMetrics", new JSONObject());
+		return result;
+	}
+
+	private static void printSummary(JSONArray results) {
+		System.out.println(String.format("%-60s %-45s %5s %12s %12s  %s", "Benchmark", "(net)", "Cnt", "Score",
+					"Error", "Units"));
+		for (int i = 0; i < results.length(); i++) {
+			JSONObject result = results.getJSONObject(i);
+			JSONObject metric = result.getJSONObject("primaryMetric");
+			System.out.println(String.format("%-60s %-45s %5d %12.3f %12s  %s",
+						result.getString("benchmark"),
+						result.getJSONObject("params").getString("net"),
+						result.getInt("measurementIterations"),
+						metric.getDouble("score"),
+						formatError(metric.get("scoreError")),
+						metric.getString("scoreUnit")));
+		}
+	}
+
+	private static String formatError(Object error) {
+		if (error instanceof Number)
+			return String.format("+- %.3f", ((Number) error).doubleValue());
+		return "";
+	}
+
+	private static void writeResults(File output, JSONArray results) throws IOException {
+		FileUtils.writeStringToFile(output, results.toString(4), "UTF-8");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,55 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+
+/**
+ * Benchmark for the construction of coverability graphs.
+ * @author agent
+ */
+public class CoverabilityGraphBenchmark extends Benchmark {
+	private List<PetriNet> nets;
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		nets = BenchmarkNets.load(parameter);
+	}
+
+	@Override
+	public Object run() {
+		int nodes = 0;
+		for (PetriNet pn : nets) {
+			// The coverability graph is cached in the Petri net, so work on a copy
+			nodes += CoverabilityGraph.get(new PetriNet(pn)).calculateNodes();
+		}
+		return nodes;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
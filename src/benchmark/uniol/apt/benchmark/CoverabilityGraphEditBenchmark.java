@@ -0,0 +1,89 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+
+/**
+ * Benchmark for analysing a Petri net that is edited repeatedly, as done by the chance generators of the check
+ * module. Each edit adds a transition with a self-loop on some place or removes it again, and the coverability graph
+ * is computed after every edit. With {@link CoverabilityGraph#keepFiringsAcrossChanges}, only the edited transition
+ * has to be fired again.
+ * @author agent
+ */
+public class CoverabilityGraphEditBenchmark extends Benchmark {
+	private static final int EDITS = 10;
+
+	private final boolean keepFirings;
+	private List<PetriNet> nets;
+
+	/**
+	 * Constructor.
+	 * @param keepFirings Should the results of firing transitions be kept across the edits?
+	 */
+	public CoverabilityGraphEditBenchmark(boolean keepFirings) {
+		this.keepFirings = keepFirings;
+	}
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		nets = BenchmarkNets.load(parameter);
+	}
+
+	@Override
+	public Object run() {
+		int nodes = 0;
+		for (PetriNet original : nets) {
+			PetriNet pn = new PetriNet(original);
+			if (keepFirings)
+				CoverabilityGraph.keepFiringsAcrossChanges(pn);
+			List<Place> places = new ArrayList<>(pn.getPlaces());
+			nodes += CoverabilityGraph.get(pn).calculateNodes();
+			for (int i = 0; i < EDITS && !places.isEmpty(); i++) {
+				Place place = places.get(i % places.size());
+				String id = "edit" + i;
+				pn.createTransition(id);
+				pn.createFlow(place.getId(), id);
+				pn.createFlow(id, place.getId());
+				nodes += CoverabilityGraph.get(pn).calculateNodes();
+				pn.removeTransition(id);
+				nodes += CoverabilityGraph.get(pn).calculateNodes();
+			}
+		}
+		return nodes;
+	}
+
+	@Override
+	public String getName() {
+		return getClass().getName() + (keepFirings ? ".runKeepingFirings" : ".run");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
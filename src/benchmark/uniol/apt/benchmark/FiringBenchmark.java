@@ -0,0 +1,79 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+
+/**
+ * Benchmark for firing transitions. Each operation does a random walk through the reachability graph of each net.
+ * @author agent
+ */
+public class FiringBenchmark extends Benchmark {
+	private static final int STEPS = 1000;
+
+	private final List<PetriNet> nets = new ArrayList<>();
+	private final List<List<Transition>> transitions = new ArrayList<>();
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		nets.clear();
+		transitions.clear();
+		for (PetriNet pn : BenchmarkNets.load(parameter)) {
+			nets.add(pn);
+			transitions.add(new ArrayList<>(pn.getTransitions()));
+		}
+	}
+
+	@Override
+	public Object run() {
+		// Use the same random walk in each operation
+		Random random = new Random(42);
+		List<Transition> enabled = new ArrayList<>();
+		Marking last = null;
+		for (int i = 0; i < nets.size(); i++) {
+			Marking marking = nets.get(i).getInitialMarking();
+			for (int step = 0; step < STEPS; step++) {
+				enabled.clear();
+				for (Transition t : transitions.get(i))
+					if (t.isFireable(marking))
+						enabled.add(t);
+				if (enabled.isEmpty())
+					marking = nets.get(i).getInitialMarking();
+				else
+					marking = enabled.get(random.nextInt(enabled.size())).fire(marking);
+			}
+			last = marking;
+		}
+		return last;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,88 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import uniol.apt.util.interrupt.ChainedInterrupter;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.ThreadStatusInterrupter;
+import uniol.apt.util.interrupt.TimeoutInterrupter;
+
+/**
+ * Benchmark for the overhead of polling for interruption in a hot loop, as done with a timeout by the JSON
+ * interface. The parameter "registry" polls via {@link InterrupterRegistry#throwIfInterruptRequestedForCurrentThread}
+ * and "token" polls via an {@link InterruptToken}.
+ * @author agent
+ */
+public class InterruptPollingBenchmark extends Benchmark {
+	private static final int POLLS = 1000 * 1000;
+	private static final long ONE_DAY_NANOS = 24L * 60 * 60 * 1000 * 1000 * 1000;
+
+	private boolean useToken;
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return Arrays.asList("registry", "token");
+	}
+
+	@Override
+	public void setUp(String parameter) {
+		switch (parameter) {
+			case "registry":
+				useToken = false;
+				break;
+			case "token":
+				useToken = true;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown parameter: " + parameter);
+		}
+		InterrupterRegistry.setCurrentThreadInterrupter(new ChainedInterrupter(new ThreadStatusInterrupter(),
+					new TimeoutInterrupter(ONE_DAY_NANOS)));
+	}
+
+	@Override
+	public Object run() {
+		int sum = 0;
+		if (useToken) {
+			InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+			for (int i = 0; i < POLLS; i++) {
+				interrupt.throwIfInterruptRequested();
+				sum += i;
+			}
+		} else {
+			for (int i = 0; i < POLLS; i++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				sum += i;
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public void tearDown() {
+		InterrupterRegistry.clearCurrentThreadInterrupter();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
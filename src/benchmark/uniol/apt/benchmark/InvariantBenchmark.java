@@ -0,0 +1,55 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.analysis.invariants.InvariantCalculator;
+
+/**
+ * Benchmark for the computation of S- and T-invariants.
+ * @author agent
+ */
+public class InvariantBenchmark extends Benchmark {
+	private List<PetriNet> nets;
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		nets = BenchmarkNets.load(parameter);
+	}
+
+	@Override
+	public Object run() {
+		int invariants = 0;
+		for (PetriNet pn : nets) {
+			invariants += InvariantCalculator.calcSInvariants(pn).size();
+			invariants += InvariantCalculator.calcTInvariants(pn).size();
+		}
+		return invariants;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
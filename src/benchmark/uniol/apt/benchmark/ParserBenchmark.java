@@ -0,0 +1,57 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.io.parser.impl.AptPNParser;
+import uniol.apt.io.renderer.impl.AptPNRenderer;
+
+/**
+ * Benchmark for parsing Petri nets in the apt format.
+ * @author agent
+ */
+public class ParserBenchmark extends Benchmark {
+	private final List<String> inputs = new ArrayList<>();
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		inputs.clear();
+		for (PetriNet pn : BenchmarkNets.load(parameter))
+			inputs.add(new AptPNRenderer().render(pn));
+	}
+
+	@Override
+	public Object run() throws Exception {
+		PetriNet result = null;
+		for (String input : inputs)
+			result = new AptPNParser().parseString(input);
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
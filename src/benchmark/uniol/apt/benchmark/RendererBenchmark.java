@@ -0,0 +1,58 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.List;
+
+import org.apache.commons.io.output.StringBuilderWriter;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.io.renderer.impl.AptPNRenderer;
+import uniol.apt.io.renderer.impl.DotPNRenderer;
+
+/**
+ * Benchmark for rendering Petri nets in the apt and in the dot format.
+ * @author agent
+ */
+public class RendererBenchmark extends Benchmark {
+	private List<PetriNet> nets;
+
+	@Override
+	public List<String> getDefaultParameters() {
+		return BenchmarkNets.getDefaultParameters();
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		nets = BenchmarkNets.load(parameter);
+	}
+
+	@Override
+	public Object run() throws Exception {
+		StringBuilderWriter writer = new StringBuilderWriter();
+		for (PetriNet pn : nets) {
+			new AptPNRenderer().render(pn, writer);
+			new DotPNRenderer().render(pn, writer);
+		}
+		return writer.getBuilder().length();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
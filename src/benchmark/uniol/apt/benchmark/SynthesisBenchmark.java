@@ -0,0 +1,61 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.synthesize.SynthesizePN;
+
+/**
+ * Benchmark for region-based synthesis. The reachability graphs of the given nets are synthesized up to isomorphism.
+ * @author agent
+ */
+public class SynthesisBenchmark extends Benchmark {
+	private final List<TransitionSystem> systems = new ArrayList<>();
+
+	@Override
+	public List<String> getDefaultParameters() {
+		// Synthesis is much more expensive than the other benchmarks, so use smaller nets
+		return Arrays.asList("nets/crashkurs-cc2-net.apt", "nets/EB-PhD-Fundamenta.apt", "bitnet:3",
+				"philnet:3");
+	}
+
+	@Override
+	public void setUp(String parameter) throws Exception {
+		systems.clear();
+		for (PetriNet pn : BenchmarkNets.load(parameter))
+			systems.add(CoverabilityGraph.get(pn).toReachabilityLTS());
+	}
+
+	@Override
+	public Object run() throws Exception {
+		PetriNet result = null;
+		for (TransitionSystem ts : systems)
+			result = SynthesizePN.Builder.createForIsomorphicBehaviour(ts).build().synthesizePetriNet();
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,6 +19,31 @@
 
 package uniol.apt.compiler;
 
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
 import uniol.apt.module.AptModule;
 import uniol.apt.module.Module;
 
@@ -26,15 +51,135 @@ import uniol.apt.module.Module;
  * Annotation processor which scans for an AptModule annotation, analyzes all classes marked by this
  * annotation and writes their names in a file in META-INF
  *
+ * Additionally, an index from module names to module classes is written to META-INF/uniol/apt/compiler/. This allows
+ * to find a module by its name without instantiating all modules. The name of a module is taken from its getName()
+ * method if that just returns a compile-time constant. Modules for which this is not the case are listed without a
+ * name and have to be instantiated to find out their name.
+ *
  * @author vsp
  */
 public class ModuleProcessor extends AbstractSPIServiceProcessor {
+	// Name of the resource containing the index of all modules. Each line either has the form "name class" or just
+	// "class" if the name of the module is not known at compile time.
+	private static final String INDEX_RESOURCE = "META-INF/uniol/apt/compiler/" + Module.class.getCanonicalName();
+
+	private Set<String> index;
+	private Trees trees;
+
 	/**
 	 * Constructor
 	 */
 	public ModuleProcessor() {
 		super(AptModule.class, Module.class, false);
 	}
+
+	@Override
+	public synchronized void init(ProcessingEnvironment procEnv) {
+		super.init(procEnv);
+
+		this.index = new HashSet<>();
+		try {
+			this.trees = Trees.instance(procEnv);
+		} catch (IllegalArgumentException e) {
+			// Not running inside of javac; all modules will be indexed without their names
+			this.trees = null;
+		}
+	}
+
+	@Override
+	protected void visitClass(TypeElement classEle, String className) {
+		super.visitClass(classEle, className);
+
+		String name = getModuleName(classEle);
+		if (name == null)
+			this.index.add(className);
+		else
+			this.index.add(name + " " + className);
+	}
+
+	@Override
+	protected void produceOutput() {
+		super.produceOutput();
+		try {
+			writeResourceList(INDEX_RESOURCE, index);
+		} catch (IOException ex) {
+			error("Caught IOException: %s", ex.getMessage());
+		}
+	}
+
+	/**
+	 * Try to figure out the name of a module at compile time.
+	 * @param classEle The class of the module.
+	 * @return The name of the module or null if it cannot be determined.
+	 */
+	private String getModuleName(TypeElement classEle) {
+		if (this.trees == null)
+			return null;
+
+		TypeElement current = classEle;
+		while (current != null) {
+			for (Element enclosed : current.getEnclosedElements()) {
+				if (enclosed.getKind() != ElementKind.METHOD)
+					continue;
+				ExecutableElement method = (ExecutableElement) enclosed;
+				if (method.getSimpleName().contentEquals("getName") && method.getParameters().isEmpty()) {
+					if (method.getModifiers().contains(Modifier.ABSTRACT))
+						return null;
+					return getConstantReturnValue(method);
+				}
+			}
+
+			TypeMirror superclass = current.getSuperclass();
+			if (superclass.getKind() != TypeKind.DECLARED)
+				return null;
+			current = (TypeElement) this.types.asElement(superclass);
+		}
+		return null;
+	}
+
+	/**
+	 * Get the value that a method returns, if it consists of just a return statement with a constant String.
+	 * @param method The method to examine.
+	 * @return The returned String or null.
+	 */
+	private String getConstantReturnValue(ExecutableElement method) {
+		TreePath methodPath = this.trees.getPath(method);
+		if (methodPath == null)
+			// Method is not part of the current compilation
+			return null;
+
+		BlockTree body = ((MethodTree) methodPath.getLeaf()).getBody();
+		if (body == null)
+			return null;
+		List<? extends StatementTree> statements = body.getStatements();
+		if (statements.size() != 1 || statements.get(0).getKind() != Tree.Kind.RETURN)
+			return null;
+
+		ExpressionTree expression = ((ReturnTree) statements.get(0)).getExpression();
+		Object value = null;
+		switch (expression.getKind()) {
+			case STRING_LITERAL:
+				value = ((LiteralTree) expression).getValue();
+				break;
+			case IDENTIFIER:
+			case MEMBER_SELECT:
+				TreePath path = new TreePath(new TreePath(new TreePath(methodPath, body),
+							statements.get(0)), expression);
+				Element element = this.trees.getElement(path);
+				if (element instanceof VariableElement)
+					value = ((VariableElement) element).getConstantValue();
+				break;
+			default:
+				break;
+		}
+
+		if (!(value instanceof String))
+			return null;
+		String name = (String) value;
+		if (name.isEmpty() || !name.equals(name.toLowerCase()) || name.contains(" "))
+			return null;
+		return name;
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -43,6 +43,17 @@ public interface Parser<G> {
 	 */
 	public List<String> getFileExtensions();
 
+	/**
+	 * Check if the beginning of some input is recognized as being in this parser's format. This is only a cheap
+	 * heuristic that looks at the given bytes, so a positive answer does not guarantee that parsing will succeed.
+	 * Parsers which cannot recognize their format should always return false.
+	 *
+	 * @param header The first bytes of the input.
+	 * @param length The number of valid bytes in header.
+	 * @return true if the input is recognized as being in this parser's format.
+	 */
+	public boolean recognizesHeader(byte[] header, int length);
+
 	/**
 	 * Parse a string into an object.
 	 *
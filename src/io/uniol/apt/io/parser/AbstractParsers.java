@@ -38,6 +38,11 @@ import org.apache.commons.io.LineIterator;
  * @param <T> The class which the parsers generate.
  */
 public class AbstractParsers<T> implements Parsers<T> {
+	/**
+	 * Number of bytes at the beginning of an input that are examined for detecting its format.
+	 */
+	public static final int HEADER_LENGTH = 8192;
+
 	private Map<String, Parser<T>> parsers;
 
 	/**
@@ -117,6 +122,48 @@ public class AbstractParsers<T> implements Parsers<T> {
 	public Set<String> getSupportedFormats() {
 		return this.parsers.keySet();
 	}
+
+	@Override
+	public Parser<T> detectParser(byte[] header, int length) {
+		Parser<T> result = null;
+		for (Parser<T> parser : this.parsers.values()) {
+			if (parser.recognizesHeader(header, length)) {
+				if (result != null)
+					return null;
+				result = parser;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Parser<T> detectParser(InputStream input) throws ParserNotFoundException, IOException {
+		byte[] header = new byte[HEADER_LENGTH];
+		int length = readHeader(input, header);
+		Parser<T> parser = detectParser(header, length);
+		if (parser == null)
+			throw new ParserNotFoundException("Could not detect the format of the input.");
+		return parser;
+	}
+
+	/**
+	 * Read the beginning of an input for format detection. The stream must support {@link InputStream#mark(int)}
+	 * and is reset to its current position before this function returns.
+	 * @param input The input stream to read from.
+	 * @param header Buffer that receives the beginning of the input.
+	 * @return The number of bytes that were read into header.
+	 * @throws IOException If reading the input fails.
+	 */
+	public static int readHeader(InputStream input, byte[] header) throws IOException {
+		if (!input.markSupported())
+			throw new IllegalArgumentException("Format detection needs a stream supporting mark()");
+		input.mark(header.length);
+		try {
+			return IOUtils.read(input, header);
+		} finally {
+			input.reset();
+		}
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
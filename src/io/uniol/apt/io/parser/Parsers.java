@@ -19,6 +19,8 @@
 
 package uniol.apt.io.parser;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Set;
 
 /**
@@ -42,6 +44,25 @@ public interface Parsers<T> {
 	 * @return Set of the names of all supported formats
 	 */
 	public Set<String> getSupportedFormats();
+
+	/**
+	 * Get the parser which recognizes the given beginning of some input.
+	 * @param header The first bytes of the input.
+	 * @param length The number of valid bytes in header.
+	 * @return The only parser which recognizes the input or null if no parser or more than one parser recognizes
+	 * the input.
+	 */
+	public Parser<T> detectParser(byte[] header, int length);
+
+	/**
+	 * Get the parser which recognizes the beginning of the given input. The stream must support {@link
+	 * InputStream#mark(int)} and is reset to its current position before this function returns.
+	 * @param input The input stream whose format should be detected.
+	 * @return The only parser which recognizes the input.
+	 * @throws ParserNotFoundException If no parser or more than one parser recognizes the input.
+	 * @throws IOException If reading the input fails.
+	 */
+	public Parser<T> detectParser(InputStream input) throws ParserNotFoundException, IOException;
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
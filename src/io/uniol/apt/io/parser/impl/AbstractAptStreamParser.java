@@ -0,0 +1,254 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.extension.IExtensible;
+import uniol.apt.io.parser.ParseException;
+
+import static uniol.apt.io.parser.impl.AptTokenizer.*;
+
+/**
+ * Common code of the single-pass parsers for the apt file formats. The grammars in AptPNFormat.g4 and AptLTSFormat.g4
+ * are the reference for the accepted language; these parsers are recursive descent implementations of the same
+ * rules that build the result while reading the input.
+ * @author agent
+ */
+abstract class AbstractAptStreamParser {
+	protected final AptTokenizer tokens;
+
+	private boolean haveName = false;
+	private boolean haveType = false;
+	private boolean haveDescription = false;
+
+	protected AbstractAptStreamParser(AptTokenizer tokens) {
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Create an exception describing that the current token is not what was expected.
+	 * @param expected Description of what was expected instead
+	 * @return The exception
+	 */
+	protected ParseException syntaxError(String expected) {
+		return error(String.format("expected %s, but found %s", expected, tokens.describe()));
+	}
+
+	/**
+	 * Create an exception with a message that is prefixed with the position of the current token.
+	 * @param message The message describing the problem
+	 * @return The exception
+	 */
+	protected ParseException error(String message) {
+		return new ParseException(String.format("line %d col %d: %s", tokens.getLine(), tokens.getColumn(),
+					message));
+	}
+
+	/**
+	 * Check that the current token has the given type and advance to the next token.
+	 * @param type The expected token type
+	 * @param expected Description of the expected token for the error message
+	 * @return The text of the token that was consumed
+	 * @throws ParseException If the current token has another type.
+	 * @throws IOException If reading the input fails.
+	 */
+	protected String expect(int type, String expected) throws ParseException, IOException {
+		if (tokens.getType() != type)
+			throw syntaxError(expected);
+		String text = tokens.getText();
+		tokens.next();
+		return text;
+	}
+
+	/**
+	 * Is the current token an identifier? Identifiers can be IDs or natural numbers.
+	 * @return true if the current token is an identifier
+	 */
+	protected boolean atIdentifier() {
+		return tokens.getType() == ID || tokens.getType() == NAT;
+	}
+
+	/**
+	 * Consume an identifier.
+	 * @return the identifier
+	 * @throws ParseException If the current token is not an identifier.
+	 * @throws IOException If reading the input fails.
+	 */
+	protected String identifier() throws ParseException, IOException {
+		if (!atIdentifier())
+			throw syntaxError("an identifier");
+		String text = tokens.getText();
+		tokens.next();
+		return text;
+	}
+
+	/**
+	 * Parse all sections of the input. Sections that are common to all apt formats are handled here, the others
+	 * are handed to {@link #parseSection}.
+	 * @param types The allowed arguments of the <code>.type</code> section
+	 * @throws ParseException If the input cannot be parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	protected void parseSections(String... types) throws ParseException, IOException {
+		tokens.next();
+		while (tokens.getType() != EOF) {
+			if (tokens.getType() != SECTION)
+				throw syntaxError("a section");
+			String section = tokens.getText();
+			switch (section) {
+				case ".name":
+					if (haveName)
+						throw error("duplicate .name section");
+					haveName = true;
+					tokens.next();
+					setName(expect(STR, "a string"));
+					break;
+				case ".type":
+					if (haveType)
+						throw error("duplicate .type section");
+					haveType = true;
+					tokens.next();
+					boolean known = false;
+					for (String type : types)
+						known |= tokens.getType() == KEYWORD && tokens.getText().equals(type);
+					if (!known)
+						throw syntaxError("a type");
+					tokens.next();
+					break;
+				case ".description":
+					if (haveDescription)
+						throw error("duplicate .description section");
+					haveDescription = true;
+					tokens.next();
+					if (tokens.getType() != STR && tokens.getType() != STR_MULTI)
+						throw syntaxError("a string");
+					getExtensible().putExtension("description", tokens.getText());
+					tokens.next();
+					break;
+				case ".options":
+					tokens.next();
+					if (tokens.getType() == ID) {
+						Map<String, Object> options = new HashMap<>();
+						option(options);
+						while (tokens.getType() == COMMA) {
+							tokens.next();
+							option(options);
+						}
+						putExtensions(getExtensible(), options);
+					}
+					break;
+				default:
+					tokens.next();
+					parseSection(section);
+					break;
+			}
+		}
+		if (!haveType)
+			throw error("missing .type section");
+	}
+
+	/**
+	 * Parse the contents of a format-specific section.
+	 * @param section The name of the section, e.g. ".places"
+	 * @throws ParseException If the input cannot be parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	protected abstract void parseSection(String section) throws ParseException, IOException;
+
+	/**
+	 * Set the name of the object that is being parsed.
+	 * @param name The name
+	 */
+	protected abstract void setName(String name);
+
+	/**
+	 * Get the object that is being parsed.
+	 * @return The object
+	 */
+	protected abstract IExtensible getExtensible();
+
+	/**
+	 * Parse an optional list of options in square brackets.
+	 * @return The options or an empty map if there are none
+	 * @throws ParseException If the input cannot be parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	protected Map<String, Object> optionalOpts() throws ParseException, IOException {
+		if (tokens.getType() != LBRACKET)
+			return Collections.emptyMap();
+		tokens.next();
+
+		Map<String, Object> options = new HashMap<>();
+		option(options);
+		while (tokens.getType() == COMMA) {
+			tokens.next();
+			option(options);
+		}
+		expect(RBRACKET, "',' or ']'");
+		return options;
+	}
+
+	private void option(Map<String, Object> options) throws ParseException, IOException {
+		String key = expect(ID, "an option name");
+		Object value = key;
+		if (tokens.getType() == EQUALS) {
+			tokens.next();
+			String text = tokens.getText();
+			try {
+				switch (tokens.getType()) {
+					case STR:
+						value = text;
+						break;
+					case NAT:
+					case NEGNAT:
+						value = Integer.parseInt(text);
+						break;
+					case DOUBLE:
+						value = Double.parseDouble(text);
+						break;
+					default:
+						throw syntaxError("an option value");
+				}
+			} catch (NumberFormatException e) {
+				throw error("invalid number " + text);
+			}
+			tokens.next();
+		}
+		options.put(key, value);
+	}
+
+	/**
+	 * Add the given options as extensions to some object.
+	 * @param extensible The object that receives the extensions
+	 * @param options The options to add
+	 */
+	protected static void putExtensions(IExtensible extensible, Map<String, Object> options) {
+		for (Map.Entry<String, Object> entry : options.entrySet()) {
+			extensible.putExtension(entry.getKey(), entry.getValue(), ExtensionProperty.WRITE_TO_FILE);
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
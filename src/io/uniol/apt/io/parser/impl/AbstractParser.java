@@ -35,6 +35,11 @@ import uniol.apt.io.parser.Parser;
  * @author vsp
  */
 public abstract class AbstractParser<G> implements Parser<G> {
+	@Override
+	public boolean recognizesHeader(byte[] header, int length) {
+		return false;
+	}
+
 	@Override
 	public G parseString(String input) throws ParseException {
 		try (InputStream is = IOUtils.toInputStream(input)) {
@@ -19,7 +19,9 @@
 
 package uniol.apt.io.parser.impl;
 
+import java.io.File;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +36,9 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
 import org.apache.commons.collections4.MapUtils;
 
 import uniol.apt.adt.exception.DatastructureException;
@@ -41,6 +46,7 @@ import uniol.apt.adt.extension.ExtensionProperty;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
 import uniol.apt.io.parser.AptParser;
 import uniol.apt.io.parser.Parser;
 import uniol.apt.io.parser.ParseException;
@@ -160,6 +166,12 @@ public class AptLTSParser extends AbstractParser<TransitionSystem> implements Pa
 				throw new ParseRuntimeException("Duplicate label found: " + ctx.idi().getText());
 			this.curOpts = null;
 		}
+
+		@Override
+		public void exitArc(AptLTSFormatParser.ArcContext ctx) {
+			// The options of arcs are handled by ArcListener, they must not end up on the next state or label
+			this.curOpts = null;
+		}
 	}
 
 	private static class ArcListener extends AptLTSFormatBaseListener implements AptLTSFormatListener {
@@ -217,8 +229,54 @@ public class AptLTSParser extends AbstractParser<TransitionSystem> implements Pa
 		return unmodifiableList(asList("ats", "apt"));
 	}
 
+	@Override
+	public boolean recognizesHeader(byte[] header, int length) {
+		String type = AptTypeSniffer.findType(header, length);
+		return "LTS".equals(type);
+	}
+
 	@Override
 	public TransitionSystem parse(InputStream is) throws ParseException, IOException {
+		return AptLTSStreamParser.parse(new InputStreamReader(is));
+	}
+
+	@Override
+	public TransitionSystem parseString(String input) throws ParseException {
+		try {
+			return super.parseString(input);
+		} catch (ParseException ex) {
+			// Report the same error as the grammar-based parser
+			try (InputStream is = IOUtils.toInputStream(input)) {
+				return parseWithGrammar(is);
+			} catch (IOException e) {
+				// This should never cause IOExceptions
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	@Override
+	public TransitionSystem parseFile(File file) throws ParseException, IOException {
+		try {
+			return super.parseFile(file);
+		} catch (ParseException ex) {
+			// Report the same error as the grammar-based parser
+			try (InputStream is = FileUtils.openInputStream(file)) {
+				return parseWithGrammar(is);
+			}
+		}
+	}
+
+	/**
+	 * Parse the input with the parser that is generated from the ANTLR grammar. This parser is slower and needs more
+	 * memory than the hand-written one that is used by {@link #parse(InputStream)}, but the grammar is the
+	 * reference for the file format and this parser produces more detailed error messages.
+	 * @param is The input stream to read from.
+	 * @return The parsed object.
+	 * @throws ParseException If the input can't get parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	TransitionSystem parseWithGrammar(InputStream is) throws ParseException, IOException {
 		CharStream input          = new ANTLRInputStream(is);
 		AptLTSFormatLexer lexer   = new AptLTSFormatLexer(input);
 		lexer.removeErrorListeners(); // don't spam on stderr
@@ -234,7 +292,8 @@ public class AptLTSParser extends AbstractParser<TransitionSystem> implements Pa
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		TransitionSystem ts       = new TransitionSystem();
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		TransitionSystem ts       = builder.getTransitionSystem();
 		Map<String, Map<String, Object>> labelOpts = new HashMap<>();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new NameDescStateLabelListener(ts, labelOpts), tree);
@@ -245,7 +304,7 @@ public class AptLTSParser extends AbstractParser<TransitionSystem> implements Pa
 			throw new ParseException(ex.getMessage(), ex);
 		}
 
-		return ts;
+		return builder.build();
 	}
 }
 
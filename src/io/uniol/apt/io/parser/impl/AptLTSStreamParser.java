@@ -0,0 +1,175 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.exception.DatastructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.extension.IExtensible;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
+import uniol.apt.io.parser.ParseException;
+
+/**
+ * Single-pass parser for labeled transition systems in the apt format. States are created as soon as they are read.
+ * Arcs are also created immediately when their label and both states were already defined. Otherwise they and all
+ * following arcs are remembered and created at the end, so that the arcs are created in the same order as by the
+ * grammar-based parser.
+ * @author agent
+ */
+class AptLTSStreamParser extends AbstractAptStreamParser {
+	private static final String[] SECTIONS = { ".name", ".type", ".description", ".options", ".states", ".labels",
+		".arcs" };
+
+	private final TransitionSystemBuilder builder = new TransitionSystemBuilder();
+	private final TransitionSystem ts = builder.getTransitionSystem();
+	private final Map<String, Map<String, Object>> labelOpts = new HashMap<>();
+	private final List<ArcDescription> pendingArcs = new ArrayList<>();
+	private State initialState;
+
+	private AptLTSStreamParser(Reader reader) {
+		super(new AptTokenizer(reader, SECTIONS, "LTS"));
+	}
+
+	/**
+	 * Parse a labeled transition system.
+	 * @param reader The input to parse
+	 * @return The transition system
+	 * @throws ParseException If the input cannot be parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	static TransitionSystem parse(Reader reader) throws ParseException, IOException {
+		return new AptLTSStreamParser(reader).parse();
+	}
+
+	private TransitionSystem parse() throws ParseException, IOException {
+		try {
+			parseSections("LTS");
+			if (initialState == null)
+				throw new ParseException("Initial state not found");
+			for (ArcDescription arc : pendingArcs)
+				createArc(arc.source, arc.label, arc.target, arc.options);
+		} catch (DatastructureException ex) {
+			throw new ParseException(ex.getMessage(), ex);
+		}
+		return builder.build();
+	}
+
+	@Override
+	protected void setName(String name) {
+		ts.setName(name);
+	}
+
+	@Override
+	protected IExtensible getExtensible() {
+		return ts;
+	}
+
+	@Override
+	protected void parseSection(String section) throws ParseException, IOException {
+		switch (section) {
+			case ".states":
+				while (atIdentifier())
+					state();
+				break;
+			case ".labels":
+				while (atIdentifier()) {
+					String label = identifier();
+					Object old = labelOpts.put(label, optionalOpts());
+					if (old != null)
+						throw new ParseException("Duplicate label found: " + label);
+				}
+				break;
+			case ".arcs":
+				while (atIdentifier())
+					arc();
+				break;
+			default:
+				throw new AssertionError("Unhandled section " + section);
+		}
+	}
+
+	private void state() throws ParseException, IOException {
+		String id = identifier();
+		State s = ts.createState(id);
+		for (Map.Entry<String, Object> entry : optionalOpts().entrySet()) {
+			if ("initial".equals(entry.getKey())) {
+				if (initialState != null) {
+					throw new ParseException(String.format("States '%s' and '%s' are both marked as "
+								+ "initial states", id, initialState.getId()));
+				}
+				initialState = s;
+				ts.setInitialState(s);
+			} else {
+				s.putExtension(entry.getKey(), entry.getValue(), ExtensionProperty.WRITE_TO_FILE);
+			}
+		}
+	}
+
+	private void arc() throws ParseException, IOException {
+		String source = identifier();
+		String label = identifier();
+		String target = identifier();
+		Map<String, Object> options = optionalOpts();
+
+		if (pendingArcs.isEmpty() && labelOpts.containsKey(label) && ts.containsState(source)
+				&& ts.containsState(target))
+			createArc(source, label, target, options);
+		else
+			pendingArcs.add(new ArcDescription(source, label, target, options));
+	}
+
+	private void createArc(String source, String label, String target, Map<String, Object> options)
+			throws ParseException {
+		Map<String, Object> extensions = labelOpts.get(label);
+		if (extensions == null)
+			throw new ParseException(String.format("Unknown label found: %s", label));
+
+		Arc a = ts.createArc(source, target, label);
+		if (!extensions.isEmpty())
+			putExtensions(a.getEvent(), extensions);
+		putExtensions(a, options);
+	}
+
+	// A line from the .arcs section
+	static private class ArcDescription {
+		private final String source;
+		private final String label;
+		private final String target;
+		private final Map<String, Object> options;
+
+		private ArcDescription(String source, String label, String target, Map<String, Object> options) {
+			this.source = source;
+			this.label = label;
+			this.target = target;
+			this.options = options;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -22,8 +22,10 @@ package uniol.apt.io.parser.impl;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,11 +37,15 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeProperty;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
 import uniol.apt.adt.exception.DatastructureException;
 import uniol.apt.adt.extension.ExtensionProperty;
 import uniol.apt.adt.extension.IExtensible;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.PetriNetBuilder;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.io.parser.AptParser;
 import uniol.apt.io.parser.ParseException;
@@ -249,8 +255,54 @@ public class AptPNParser extends AbstractParser<PetriNet> implements Parser<Petr
 		return unmodifiableList(asList("apn", "apt"));
 	}
 
+	@Override
+	public boolean recognizesHeader(byte[] header, int length) {
+		String type = AptTypeSniffer.findType(header, length);
+		return "LPN".equals(type) || "PN".equals(type);
+	}
+
 	@Override
 	public PetriNet parse(InputStream is) throws ParseException, IOException {
+		return AptPNStreamParser.parse(new InputStreamReader(is));
+	}
+
+	@Override
+	public PetriNet parseString(String input) throws ParseException {
+		try {
+			return super.parseString(input);
+		} catch (ParseException ex) {
+			// Report the same error as the grammar-based parser
+			try (InputStream is = IOUtils.toInputStream(input)) {
+				return parseWithGrammar(is);
+			} catch (IOException e) {
+				// This should never cause IOExceptions
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	@Override
+	public PetriNet parseFile(File file) throws ParseException, IOException {
+		try {
+			return super.parseFile(file);
+		} catch (ParseException ex) {
+			// Report the same error as the grammar-based parser
+			try (InputStream is = FileUtils.openInputStream(file)) {
+				return parseWithGrammar(is);
+			}
+		}
+	}
+
+	/**
+	 * Parse the input with the parser that is generated from the ANTLR grammar. This parser is slower and needs more
+	 * memory than the hand-written one that is used by {@link #parse(InputStream)}, but the grammar is the
+	 * reference for the file format and this parser produces more detailed error messages.
+	 * @param is The input stream to read from.
+	 * @return The parsed object.
+	 * @throws ParseException If the input can't get parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	PetriNet parseWithGrammar(InputStream is) throws ParseException, IOException {
 		CharStream input         = new ANTLRInputStream(is);
 		AptPNFormatLexer lexer   = new AptPNFormatLexer(input);
 		lexer.removeErrorListeners(); // don't spam on stderr
@@ -266,7 +318,8 @@ public class AptPNParser extends AbstractParser<PetriNet> implements Parser<Petr
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		PetriNet pn = new PetriNet();
+		PetriNetBuilder builder = new PetriNetBuilder();
+		PetriNet pn = builder.getPetriNet();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new NameDescPlaceTransitionListener(pn), tree);
 			ParseTreeWalker.DEFAULT.walk(new FlowMarkingsListener(pn), tree);
@@ -274,7 +327,7 @@ public class AptPNParser extends AbstractParser<PetriNet> implements Parser<Petr
 			throw new ParseException(ex.getMessage(), ex);
 		}
 
-		return pn;
+		return builder.build();
 	}
 }
 
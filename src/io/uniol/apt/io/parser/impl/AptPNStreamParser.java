@@ -0,0 +1,223 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.exception.DatastructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.extension.IExtensible;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.PetriNetBuilder;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.io.parser.ParseException;
+
+import static uniol.apt.io.parser.impl.AptTokenizer.*;
+
+/**
+ * Single-pass parser for Petri nets in the apt format. Places and transitions are created as soon as they are read.
+ * Flows are also created immediately when all the nodes that they connect already exist. Otherwise they and all
+ * following flows are remembered and created at the end, so that the flows are created in the same order as by the
+ * grammar-based parser. Markings are always handled at the end, because they refer to all places of the net.
+ * @author agent
+ */
+class AptPNStreamParser extends AbstractAptStreamParser {
+	private static final String[] SECTIONS = { ".name", ".type", ".description", ".options", ".places",
+		".transitions", ".flows", ".initial_marking", ".final_markings" };
+
+	private final PetriNetBuilder builder = new PetriNetBuilder();
+	private final PetriNet pn = builder.getPetriNet();
+	private final List<FlowDescription> pendingFlows = new ArrayList<>();
+	private final List<Map<String, Integer>> finalMarkings = new ArrayList<>();
+	private Map<String, Integer> initialMarking;
+	private boolean haveInitialMarking = false;
+
+	private AptPNStreamParser(Reader reader) {
+		super(new AptTokenizer(reader, SECTIONS, "LPN", "PN"));
+	}
+
+	/**
+	 * Parse a Petri net.
+	 * @param reader The input to parse
+	 * @return The Petri net
+	 * @throws ParseException If the input cannot be parsed.
+	 * @throws IOException If reading the input fails.
+	 */
+	static PetriNet parse(Reader reader) throws ParseException, IOException {
+		return new AptPNStreamParser(reader).parse();
+	}
+
+	private PetriNet parse() throws ParseException, IOException {
+		try {
+			parseSections("LPN", "PN");
+			for (FlowDescription flow : pendingFlows)
+				flow.create(pn);
+			if (initialMarking != null)
+				pn.setInitialMarking(new Marking(pn, initialMarking));
+			for (Map<String, Integer> marking : finalMarkings)
+				pn.addFinalMarking(new Marking(pn, marking));
+		} catch (DatastructureException ex) {
+			throw new ParseException(ex.getMessage(), ex);
+		}
+		return builder.build();
+	}
+
+	@Override
+	protected void setName(String name) {
+		pn.setName(name);
+	}
+
+	@Override
+	protected IExtensible getExtensible() {
+		return pn;
+	}
+
+	@Override
+	protected void parseSection(String section) throws ParseException, IOException {
+		switch (section) {
+			case ".places":
+				while (atIdentifier()) {
+					String id = identifier();
+					putExtensions(pn.createPlace(id), optionalOpts());
+				}
+				break;
+			case ".transitions":
+				while (atIdentifier()) {
+					Transition t = pn.createTransition(identifier());
+					for (Map.Entry<String, Object> entry : optionalOpts().entrySet()) {
+						if ("label".equals(entry.getKey())) {
+							t.setLabel(entry.getValue().toString());
+						} else {
+							t.putExtension(entry.getKey(), entry.getValue(),
+									ExtensionProperty.WRITE_TO_FILE);
+						}
+					}
+				}
+				break;
+			case ".flows":
+				while (atIdentifier())
+					flow();
+				break;
+			case ".initial_marking":
+				if (haveInitialMarking)
+					throw error("duplicate .initial_marking section");
+				haveInitialMarking = true;
+				if (tokens.getType() == LBRACE)
+					initialMarking = set();
+				break;
+			case ".final_markings":
+				while (tokens.getType() == LBRACE)
+					finalMarkings.add(set());
+				break;
+			default:
+				throw new AssertionError("Unhandled section " + section);
+		}
+	}
+
+	private void flow() throws ParseException, IOException {
+		String transition = identifier();
+		expect(COLON, "':'");
+		Map<String, Integer> preset = set();
+		expect(ARROW, "'->'");
+		Map<String, Integer> postset = set();
+		FlowDescription flow = new FlowDescription(transition, preset, postset, optionalOpts());
+
+		if (pendingFlows.isEmpty() && flow.canBeCreated(pn))
+			flow.create(pn);
+		else
+			pendingFlows.add(flow);
+	}
+
+	private Map<String, Integer> set() throws ParseException, IOException {
+		expect(LBRACE, "'{'");
+		MarkingHashMap result = new MarkingHashMap();
+		if (tokens.getType() != RBRACE) {
+			obj(result);
+			while (tokens.getType() == COMMA) {
+				tokens.next();
+				obj(result);
+			}
+		}
+		expect(RBRACE, "',' or '}'");
+		return result;
+	}
+
+	private void obj(MarkingHashMap set) throws ParseException, IOException {
+		int mult = 1;
+		String id = identifier();
+		if (tokens.getType() == STAR) {
+			try {
+				mult = Integer.parseInt(id);
+			} catch (NumberFormatException e) {
+				throw syntaxError("a place");
+			}
+			tokens.next();
+			id = identifier();
+		}
+		set.put(id, mult);
+	}
+
+	// A line from the .flows section
+	static private class FlowDescription {
+		private final String transition;
+		private final Map<String, Integer> preset;
+		private final Map<String, Integer> postset;
+		private final Map<String, Object> options;
+
+		private FlowDescription(String transition, Map<String, Integer> preset, Map<String, Integer> postset,
+				Map<String, Object> options) {
+			this.transition = transition;
+			this.preset = preset;
+			this.postset = postset;
+			this.options = options;
+		}
+
+		private boolean canBeCreated(PetriNet pn) {
+			if (!pn.containsTransition(transition))
+				return false;
+			for (String place : preset.keySet())
+				if (!pn.containsPlace(place))
+					return false;
+			for (String place : postset.keySet())
+				if (!pn.containsPlace(place))
+					return false;
+			return true;
+		}
+
+		private void create(PetriNet pn) {
+			for (Map.Entry<String, Integer> entry : preset.entrySet()) {
+				Flow flow = pn.createFlow(entry.getKey(), transition, entry.getValue());
+				putExtensions(flow, options);
+			}
+			for (Map.Entry<String, Integer> entry : postset.entrySet()) {
+				Flow flow = pn.createFlow(transition, entry.getKey(), entry.getValue());
+				putExtensions(flow, options);
+			}
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
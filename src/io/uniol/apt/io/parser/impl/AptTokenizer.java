@@ -0,0 +1,431 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import uniol.apt.io.parser.ParseException;
+
+/**
+ * Hand-written lexer for the apt file formats. It produces the same tokens as the lexer rules of AptPNFormat.g4 and
+ * AptLTSFormat.g4, but reads its input incrementally through a fixed-size buffer. Identifiers and natural numbers are
+ * interned, so that an identifier that occurs many times in the input (e.g. the id of a state that is the source of
+ * many arcs) is only represented by a single String instance.
+ * @author agent
+ */
+final class AptTokenizer {
+	static final int EOF = 0;
+	static final int ID = 1;
+	static final int NAT = 2;
+	static final int NEGNAT = 3;
+	static final int DOUBLE = 4;
+	static final int STR = 5;
+	static final int STR_MULTI = 6;
+	// A keyword starting with a dot, e.g. ".places"
+	static final int SECTION = 7;
+	// A literal word that is not a valid identifier, e.g. "LTS"
+	static final int KEYWORD = 8;
+	static final int LBRACKET = 9;
+	static final int RBRACKET = 10;
+	static final int COMMA = 11;
+	static final int EQUALS = 12;
+	static final int COLON = 13;
+	static final int ARROW = 14;
+	static final int LBRACE = 15;
+	static final int RBRACE = 16;
+	static final int STAR = 17;
+
+	private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+	private final Reader reader;
+	private final String[] sections;
+	private final String[] keywords;
+	private final IdentifierPool pool = new IdentifierPool();
+
+	// The input buffer; buf[start] to buf[limit - 1] are valid and buf[pos] is the next character to be consumed.
+	// Everything from start on is kept when more input is read.
+	private char[] buf = new char[INITIAL_BUFFER_SIZE];
+	private int start = 0;
+	private int pos = 0;
+	private int limit = 0;
+	private boolean sawEOF = false;
+
+	// Position of the next character in the input. The line is one-based and the column is zero-based.
+	private int line = 1;
+	private int col = 0;
+
+	// The current token
+	private int type = -1;
+	private String text;
+	private int tokenLine;
+	private int tokenCol;
+
+	/**
+	 * Constructor.
+	 * @param reader The input to tokenize.
+	 * @param sections The names of all sections that the format allows, e.g. ".name".
+	 * @param keywords Words which are tokens on their own and thus cannot be used as identifiers.
+	 */
+	AptTokenizer(Reader reader, String[] sections, String... keywords) {
+		this.reader = reader;
+		this.sections = sections;
+		this.keywords = keywords;
+	}
+
+	/**
+	 * Get the type of the current token.
+	 * @return the token type
+	 */
+	int getType() {
+		return type;
+	}
+
+	/**
+	 * Get the text of the current token. For strings, the surrounding quotes are not included.
+	 * @return the token text
+	 */
+	String getText() {
+		return text;
+	}
+
+	/**
+	 * Get the line on which the current token begins.
+	 * @return the line number, starting at 1
+	 */
+	int getLine() {
+		return tokenLine;
+	}
+
+	/**
+	 * Get the column in which the current token begins.
+	 * @return the column, starting at 0
+	 */
+	int getColumn() {
+		return tokenCol;
+	}
+
+	/**
+	 * Get a description of the current token for use in error messages.
+	 * @return the description
+	 */
+	String describe() {
+		switch (type) {
+			case EOF:
+				return "'<EOF>'";
+			case STR:
+			case STR_MULTI:
+				return "'\"" + text + "\"'";
+			default:
+				return "'" + text + "'";
+		}
+	}
+
+	/**
+	 * Advance to the next token.
+	 * @throws ParseException If the input contains something that is not a valid token.
+	 * @throws IOException If reading the input fails.
+	 */
+	void next() throws ParseException, IOException {
+		skipWhitespaceAndComments();
+
+		start = pos;
+		tokenLine = line;
+		tokenCol = col;
+
+		int c = peek(0);
+		if (c == -1) {
+			type = EOF;
+			text = "<EOF>";
+			return;
+		}
+
+		if (isLetter(c)) {
+			consumeWhile(true);
+			text = pool.intern(buf, start, pos - start);
+			type = isKeyword(text) ? KEYWORD : ID;
+		} else if (isDigit(c)) {
+			consumeWhile(false);
+			if (peek(0) == '.' && isDigit(peek(1))) {
+				consume();
+				consumeWhile(false);
+				type = DOUBLE;
+				text = new String(buf, start, pos - start);
+			} else {
+				type = NAT;
+				text = pool.intern(buf, start, pos - start);
+			}
+		} else if (c == '-' && peek(1) == '>') {
+			consume();
+			consume();
+			setPunctuation(ARROW);
+		} else if (c == '-' && isDigit(peek(1))) {
+			consume();
+			consumeWhile(false);
+			type = NEGNAT;
+			if (peek(0) == '.' && isDigit(peek(1))) {
+				consume();
+				consumeWhile(false);
+				type = DOUBLE;
+			}
+			text = new String(buf, start, pos - start);
+		} else if (c == '"') {
+			readString();
+		} else if (c == '.') {
+			readSection();
+		} else {
+			consume();
+			switch (c) {
+				case '[':
+					setPunctuation(LBRACKET);
+					break;
+				case ']':
+					setPunctuation(RBRACKET);
+					break;
+				case ',':
+					setPunctuation(COMMA);
+					break;
+				case '=':
+					setPunctuation(EQUALS);
+					break;
+				case ':':
+					setPunctuation(COLON);
+					break;
+				case '{':
+					setPunctuation(LBRACE);
+					break;
+				case '}':
+					setPunctuation(RBRACE);
+					break;
+				case '*':
+					setPunctuation(STAR);
+					break;
+				default:
+					throw recognitionError();
+			}
+		}
+	}
+
+	private void setPunctuation(int tokenType) {
+		type = tokenType;
+		text = pool.intern(buf, start, pos - start);
+	}
+
+	private void readString() throws ParseException, IOException {
+		consume();
+		boolean multiLine = false;
+		while (true) {
+			int c = peek(0);
+			if (c == -1 || c == '\t')
+				throw recognitionError();
+			consume();
+			if (c == '"')
+				break;
+			if (c == '\n' || c == '\r')
+				multiLine = true;
+		}
+		type = multiLine ? STR_MULTI : STR;
+		text = new String(buf, start + 1, pos - start - 2);
+	}
+
+	private void readSection() throws ParseException, IOException {
+		consume();
+		consumeWhile(true);
+		// Like the ANTLR lexer, use the longest section name that is a prefix of the input
+		String match = null;
+		for (String section : sections) {
+			if (section.length() > pos - start || (match != null && match.length() >= section.length()))
+				continue;
+			boolean matches = true;
+			for (int i = 1; i < section.length() && matches; i++)
+				matches = buf[start + i] == section.charAt(i);
+			if (matches)
+				match = section;
+		}
+		if (match == null)
+			throw recognitionError();
+
+		// Give back the characters that do not belong to the section name
+		pos = start + match.length();
+		col = tokenCol + match.length();
+		type = SECTION;
+		text = match;
+	}
+
+	private boolean isKeyword(String word) {
+		for (String keyword : keywords)
+			if (keyword.equals(word))
+				return true;
+		return false;
+	}
+
+	private void skipWhitespaceAndComments() throws ParseException, IOException {
+		while (true) {
+			start = pos;
+			int c = peek(0);
+			if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+				consume();
+			} else if (c == '/' && peek(1) == '/') {
+				while (peek(0) != -1 && peek(0) != '\n' && peek(0) != '\r') {
+					consume();
+					start = pos;
+				}
+			} else if (c == '/' && peek(1) == '*') {
+				tokenLine = line;
+				tokenCol = col;
+				consume();
+				consume();
+				while (!(peek(0) == '*' && peek(1) == '/')) {
+					if (peek(0) == -1)
+						throw new ParseException(String.format(
+									"line %d col %d: unterminated comment",
+									tokenLine, tokenCol));
+					consume();
+					start = pos;
+				}
+				consume();
+				consume();
+			} else {
+				return;
+			}
+		}
+	}
+
+	private ParseException recognitionError() {
+		return new ParseException(String.format("line %d col %d: token recognition error at: '%s'",
+					tokenLine, tokenCol, new String(buf, start, Math.min(Math.max(pos, start + 1), limit) - start)));
+	}
+
+	private void consumeWhile(boolean identifierChars) throws IOException {
+		while (true) {
+			int c = peek(0);
+			if (isDigit(c) || (identifierChars && isLetter(c)))
+				consume();
+			else
+				return;
+		}
+	}
+
+	private void consume() {
+		assert pos < limit;
+		if (buf[pos++] == '\n') {
+			line++;
+			col = 0;
+		} else {
+			col++;
+		}
+	}
+
+	// Get the character that is the given number of characters ahead or -1 at the end of input
+	private int peek(int ahead) throws IOException {
+		while (pos + ahead >= limit) {
+			if (sawEOF || !fill())
+				return -1;
+		}
+		return buf[pos + ahead];
+	}
+
+	private boolean fill() throws IOException {
+		if (start > 0) {
+			System.arraycopy(buf, start, buf, 0, limit - start);
+			limit -= start;
+			pos -= start;
+			start = 0;
+		}
+		if (limit == buf.length)
+			buf = Arrays.copyOf(buf, 2 * buf.length);
+
+		int read = reader.read(buf, limit, buf.length - limit);
+		if (read < 0) {
+			sawEOF = true;
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+
+	private static boolean isLetter(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Hash set of strings which can be queried with a range of a char array, so that no String has to be allocated
+	 * for text that was already seen.
+	 */
+	static private class IdentifierPool {
+		private String[] table = new String[1024];
+		private int size = 0;
+
+		private String intern(char[] chars, int offset, int length) {
+			int hash = 0;
+			for (int i = 0; i < length; i++)
+				hash = 31 * hash + chars[offset + i];
+
+			int mask = table.length - 1;
+			int idx = mix(hash) & mask;
+			while (table[idx] != null) {
+				String candidate = table[idx];
+				if (candidate.hashCode() == hash && equals(candidate, chars, offset, length))
+					return candidate;
+				idx = (idx + 1) & mask;
+			}
+
+			String result = new String(chars, offset, length);
+			table[idx] = result;
+			if (++size > table.length / 2)
+				grow();
+			return result;
+		}
+
+		private void grow() {
+			String[] old = table;
+			table = new String[2 * old.length];
+			int mask = table.length - 1;
+			for (String str : old) {
+				if (str == null)
+					continue;
+				int idx = mix(str.hashCode()) & mask;
+				while (table[idx] != null)
+					idx = (idx + 1) & mask;
+				table[idx] = str;
+			}
+		}
+
+		private static int mix(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+
+		private static boolean equals(String str, char[] chars, int offset, int length) {
+			if (str.length() != length)
+				return false;
+			for (int i = 0; i < length; i++)
+				if (str.charAt(i) != chars[offset + i])
+					return false;
+			return true;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,130 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+/**
+ * Find the argument of the <code>.type</code> section in the beginning of a file in apt format without parsing the
+ * whole file. Comments and strings are skipped like the lexers of the apt formats do, so that e.g. a description
+ * containing the text <code>.type</code> is not misinterpreted.
+ * @author agent
+ */
+final class AptTypeSniffer {
+	private static final String TYPE_KEYWORD = ".type";
+
+	private final byte[] header;
+	private final int length;
+	private int pos = 0;
+
+	private AptTypeSniffer(byte[] header, int length) {
+		this.header = header;
+		this.length = Math.min(length, header.length);
+	}
+
+	/**
+	 * Find the type of an apt file.
+	 * @param header The beginning of the input.
+	 * @param length The number of valid bytes in header.
+	 * @return The argument of the <code>.type</code> section, or null if it could not be found in the given bytes.
+	 */
+	static String findType(byte[] header, int length) {
+		return new AptTypeSniffer(header, length).findType();
+	}
+
+	private String findType() {
+		while (skipWhitespaceAndComments()) {
+			byte c = header[pos];
+			if (c == '"') {
+				if (!skipString())
+					return null;
+			} else if (c == '.' && matchesKeyword()) {
+				pos += TYPE_KEYWORD.length();
+				if (!skipWhitespaceAndComments())
+					return null;
+				return readIdentifier();
+			} else {
+				pos++;
+			}
+		}
+		return null;
+	}
+
+	// Skip whitespace and comments; returns false if the end of the available input was reached
+	private boolean skipWhitespaceAndComments() {
+		while (pos < length) {
+			byte c = header[pos];
+			if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+				pos++;
+			} else if (c == '/' && pos + 1 < length && header[pos + 1] == '/') {
+				while (pos < length && header[pos] != '\n' && header[pos] != '\r')
+					pos++;
+			} else if (c == '/' && pos + 1 < length && header[pos + 1] == '*') {
+				pos += 2;
+				while (pos + 1 < length && !(header[pos] == '*' && header[pos + 1] == '/'))
+					pos++;
+				if (pos + 1 >= length)
+					return false;
+				pos += 2;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean skipString() {
+		pos++;
+		while (pos < length && header[pos] != '"')
+			pos++;
+		if (pos >= length)
+			return false;
+		pos++;
+		return true;
+	}
+
+	private boolean matchesKeyword() {
+		int end = pos + TYPE_KEYWORD.length();
+		if (end > length)
+			return false;
+		for (int i = 0; i < TYPE_KEYWORD.length(); i++)
+			if (header[pos + i] != TYPE_KEYWORD.charAt(i))
+				return false;
+		// The keyword must not just be the prefix of some longer word
+		return end == length || !isIdentifierChar(header[end]);
+	}
+
+	private String readIdentifier() {
+		int start = pos;
+		while (pos < length && isIdentifierChar(header[pos]))
+			pos++;
+		// If the identifier reaches the end of the input, it might be truncated
+		if (pos == start || pos == length)
+			return null;
+		StringBuilder result = new StringBuilder(pos - start);
+		for (int i = start; i < pos; i++)
+			result.append((char) header[i]);
+		return result.toString();
+	}
+
+	private static boolean isIdentifierChar(byte c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
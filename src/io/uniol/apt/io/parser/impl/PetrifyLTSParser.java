@@ -38,6 +38,7 @@ import org.antlr.v4.runtime.tree.TerminalNode;
 
 import uniol.apt.adt.exception.DatastructureException;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
 import uniol.apt.io.parser.AptParser;
 import uniol.apt.io.parser.Parser;
 import uniol.apt.io.parser.ParseException;
@@ -129,7 +130,8 @@ public class PetrifyLTSParser extends AbstractParser<TransitionSystem> implement
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		TransitionSystem lts = new TransitionSystem();
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		TransitionSystem lts = builder.getTransitionSystem();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new LTSListener(lts), tree);
 		} catch (ParseRuntimeException ex) {
@@ -137,7 +139,7 @@ public class PetrifyLTSParser extends AbstractParser<TransitionSystem> implement
 		} catch (DatastructureException ex) {
 			throw new ParseException(ex.getMessage(), ex);
 		}
-		return lts;
+		return builder.build();
 	}
 }
 
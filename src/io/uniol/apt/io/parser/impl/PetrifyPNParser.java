@@ -39,6 +39,7 @@ import org.antlr.v4.runtime.tree.TerminalNode;
 
 import uniol.apt.adt.exception.DatastructureException;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.PetriNetBuilder;
 import uniol.apt.adt.pn.Place;
 import uniol.apt.io.parser.AptParser;
 import uniol.apt.io.parser.Parser;
@@ -195,7 +196,8 @@ public class PetrifyPNParser extends AbstractParser<PetriNet> implements Parser<
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		PetriNet pn = new PetriNet();
+		PetriNetBuilder builder = new PetriNetBuilder();
+		PetriNet pn = builder.getPetriNet();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new PNListener(pn), tree);
 		} catch (ParseRuntimeException ex) {
@@ -204,7 +206,7 @@ public class PetrifyPNParser extends AbstractParser<PetriNet> implements Parser<
 			throw new ParseException(ex.getMessage(), ex);
 		}
 
-		return pn;
+		return builder.build();
 	}
 }
 
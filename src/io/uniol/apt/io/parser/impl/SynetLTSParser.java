@@ -36,6 +36,7 @@ import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
 import uniol.apt.adt.exception.DatastructureException;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
 import uniol.apt.io.parser.AptParser;
 import uniol.apt.io.parser.Parser;
 import uniol.apt.io.parser.ParseException;
@@ -113,7 +114,8 @@ public class SynetLTSParser extends AbstractParser<TransitionSystem> implements
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		TransitionSystem ts         = new TransitionSystem();
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		TransitionSystem ts         = builder.getTransitionSystem();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new StateListener(ts), tree);
 			ParseTreeWalker.DEFAULT.walk(new ArcListener(ts), tree);
@@ -121,7 +123,7 @@ public class SynetLTSParser extends AbstractParser<TransitionSystem> implements
 			throw new ParseException(ex.getMessage(), ex);
 		}
 
-		return ts;
+		return builder.build();
 	}
 }
 
@@ -40,6 +40,7 @@ import uniol.apt.adt.exception.DatastructureException;
 import uniol.apt.adt.extension.Extensible;
 import uniol.apt.adt.extension.ExtensionProperty;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.PetriNetBuilder;
 import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.io.parser.AptParser;
@@ -175,7 +176,8 @@ public class SynetPNParser extends AbstractParser<PetriNet> implements Parser<Pe
 		} catch (ParseRuntimeException ex) {
 			throw ex.getParseException();
 		}
-		PetriNet pn                = new PetriNet();
+		PetriNetBuilder builder    = new PetriNetBuilder();
+		PetriNet pn                = builder.getPetriNet();
 		Set<String> locations      = new HashSet<>();
 		try {
 			ParseTreeWalker.DEFAULT.walk(new LocationListener(locations), tree);
@@ -187,7 +189,7 @@ public class SynetPNParser extends AbstractParser<PetriNet> implements Parser<Pe
 			throw new ParseException(ex.getMessage(), ex);
 		}
 
-		return pn;
+		return builder.build();
 	}
 }
 
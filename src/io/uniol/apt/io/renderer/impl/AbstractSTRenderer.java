@@ -61,6 +61,18 @@ public abstract class AbstractSTRenderer<G> extends AbstractRenderer<G> {
 
 	@Override
 	public void render(G obj, Writer writer) throws RenderException, IOException {
+		renderWithTemplate(obj, writer);
+	}
+
+	/**
+	 * Render the given object via the template. Subclasses which write their output directly in {@link #render}
+	 * can use this as a reference implementation.
+	 * @param obj The object to render.
+	 * @param writer The writer that receives the output.
+	 * @throws RenderException If the object cannot be rendered.
+	 * @throws IOException If writing fails.
+	 */
+	void renderWithTemplate(G obj, Writer writer) throws RenderException, IOException {
 		ST template = this.group.getInstanceOf(this.templateName);
 		template.add(this.templateName, obj);
 		template.write(new AutoIndentWriter(writer), new ThrowingErrorListener());
@@ -33,6 +33,8 @@ import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.STGroupFile;
 
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.Event;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.io.renderer.AptRenderer;
@@ -85,8 +87,74 @@ public class AptLTSRenderer extends AbstractRenderer<TransitionSystem> implement
 		return result;
 	}
 
+	// The following code writes the same output as the template AptLTS.stg.
+
 	@Override
 	public void render(TransitionSystem ts, Writer writer) throws RenderException, IOException {
+		TemplateWriter out = new TemplateWriter(writer);
+		AptPNRenderer.writeHeader(out, ts.getName(),
+				ts.hasExtension("description") ? ts.getExtension("description") : null, "LTS",
+				ts.getWriteToFileExtensions());
+
+		out.write(".states");
+		out.newline();
+		int start = out.startExpression();
+		State initial = ts.getInitialState();
+		out.write(initial.getId());
+		out.write("[initial=\"true\"");
+		List<Pair<String, Object>> extensions = initial.getWriteToFileExtensions();
+		if (!extensions.isEmpty()) {
+			out.write(", ");
+			AptPNRenderer.writeExtensionList(out, extensions, ", ");
+		}
+		out.write("]");
+		for (State state : ts.getNodes()) {
+			if (state.equals(initial))
+				continue;
+			out.separator("\n", start);
+			out.write(state.getId());
+			AptPNRenderer.writeExtensions(out, state.getWriteToFileExtensions());
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		out.write(".labels");
+		out.newline();
+		start = out.startExpression();
+		for (Event event : ts.getAlphabetEvents()) {
+			out.separator("\n", start);
+			out.write(event.getLabel());
+			AptPNRenderer.writeExtensions(out, event.getWriteToFileExtensions());
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		out.write(".arcs");
+		out.newline();
+		start = out.startExpression();
+		for (Arc arc : ts.getEdges()) {
+			out.separator("\n", start);
+			out.write(arc.getSourceId());
+			out.write(" ");
+			out.write(arc.getLabel());
+			out.write(" ");
+			out.write(arc.getTargetId());
+			AptPNRenderer.writeExtensions(out, arc.getWriteToFileExtensions());
+		}
+		out.endExpression(start);
+	}
+
+	/**
+	 * Render a transition system via the template AptLTS.stg. This is the reference for the output of {@link
+	 * #render}.
+	 * @param ts The transition system to render.
+	 * @param writer The writer that receives the output.
+	 * @throws RenderException If the transition system cannot be rendered.
+	 * @throws IOException If writing fails.
+	 */
+	void renderWithTemplate(TransitionSystem ts, Writer writer) throws RenderException, IOException {
 		STGroup group = new STGroupFile("uniol/apt/io/renderer/impl/AptLTS.stg");
 		ST ltsTemplate = group.getInstanceOf("lts");
 
@@ -32,12 +32,15 @@ import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.STGroupFile;
 
 import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Token;
+import uniol.apt.adt.pn.Transition;
 import uniol.apt.io.renderer.AptRenderer;
 import uniol.apt.io.renderer.Renderer;
 import uniol.apt.io.renderer.RenderException;
+import uniol.apt.util.Pair;
 
 /**
  * @author vsp
@@ -65,10 +68,222 @@ public class AptPNRenderer extends AbstractRenderer<PetriNet> implements Rendere
 		}
 	}
 
+	// The following code writes the same output as the template AptPN.stg. Each method corresponds to one
+	// template and the calls to the TemplateWriter mirror the instructions of the compiled templates.
+
 	@Override
 	public void render(PetriNet pn, Writer writer) throws RenderException, IOException {
 		verifyNet(pn);
 
+		TemplateWriter out = new TemplateWriter(writer);
+		writeHeader(out, pn.getName(), pn.hasExtension("description") ? pn.getExtension("description") : null,
+				"LPN", pn.getWriteToFileExtensions());
+
+		out.write(".places");
+		out.newline();
+		int start = out.startExpression();
+		for (Place p : pn.getPlaces()) {
+			out.separator("\n", start);
+			out.write(p.getId());
+			writeExtensions(out, p.getWriteToFileExtensions());
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		out.write(".transitions");
+		out.newline();
+		start = out.startExpression();
+		for (Transition t : pn.getTransitions()) {
+			out.separator("\n", start);
+			writeTransition(out, t);
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		out.write(".flows");
+		out.newline();
+		boolean haveFlowWithExtension = false;
+		for (Flow flow : pn.getEdges()) {
+			if (!flow.getWriteToFileExtensions().isEmpty()) {
+				haveFlowWithExtension = true;
+				break;
+			}
+		}
+		out.branch();
+		out.newline();
+		start = out.startExpression();
+		for (Transition t : pn.getTransitions()) {
+			out.startTemplate();
+			if (haveFlowWithExtension)
+				writeTransitionFlows(out, t);
+			else
+				writeTransitionArcs(out, t);
+		}
+		out.endExpression(start);
+		out.newline();
+		if (haveFlowWithExtension)
+			out.branch();
+		out.newline();
+
+		out.write(".initial_marking {");
+		Marking marking = pn.getInitialMarking();
+		start = out.startExpression();
+		for (Place p : pn.getPlaces()) {
+			Token val = marking.getToken(p);
+			if (val.getValue() != 0) {
+				out.separator(", ", start);
+				out.write(val.getValue());
+				out.write("*");
+				out.write(p.getId());
+			}
+		}
+		out.endExpression(start);
+		out.write("}");
+	}
+
+	/**
+	 * Write the sections that are common to the apt formats for Petri nets and transition systems.
+	 * @param out The writer for the output
+	 * @param name The name of the object
+	 * @param description The description or null
+	 * @param type The type of the object
+	 * @param extensions The extensions of the object
+	 * @throws IOException If writing fails.
+	 */
+	static void writeHeader(TemplateWriter out, String name, Object description, String type,
+			List<Pair<String, Object>> extensions) throws IOException {
+		out.write(".name \"");
+		out.write(name);
+		out.write("\"");
+		out.newline();
+		out.branch();
+		if (description != null) {
+			out.write(".description \"");
+			out.write(description);
+			out.write("\"");
+		}
+		out.newline();
+		out.write(".type " + type);
+		out.newline();
+		out.branch();
+		if (!extensions.isEmpty()) {
+			out.write(".options");
+			out.newline();
+			writeExtensionList(out, extensions, ",\n");
+		}
+		out.newline();
+		out.newline();
+	}
+
+	/**
+	 * Write the extensions of an object in square brackets. Nothing is written if there are no extensions.
+	 * @param out The writer for the output
+	 * @param extensions The extensions to write
+	 * @throws IOException If writing fails.
+	 */
+	static void writeExtensions(TemplateWriter out, List<Pair<String, Object>> extensions) throws IOException {
+		if (extensions.isEmpty())
+			return;
+		out.write("[");
+		writeExtensionList(out, extensions, ", ");
+		out.write("]");
+	}
+
+	/**
+	 * Write a list of extensions as key="value" pairs.
+	 * @param out The writer for the output
+	 * @param extensions The extensions to write
+	 * @param separator The separator between extensions
+	 * @throws IOException If writing fails.
+	 */
+	static void writeExtensionList(TemplateWriter out, List<Pair<String, Object>> extensions, String separator)
+			throws IOException {
+		int start = out.startExpression();
+		for (Pair<String, Object> ext : extensions) {
+			out.separator(separator, start);
+			out.write(ext.getFirst());
+			out.write("=\"");
+			out.write(ext.getSecond());
+			out.write("\"");
+		}
+		out.endExpression(start);
+	}
+
+	private static void writeTransition(TemplateWriter out, Transition t) throws IOException {
+		List<Pair<String, Object>> extensions = t.getWriteToFileExtensions();
+		out.write(t.getId());
+		if (t.getLabel() != null) {
+			out.write("[label=\"");
+			out.write(t.getLabel());
+			out.write("\"");
+			if (!extensions.isEmpty()) {
+				out.write(", ");
+				writeExtensionList(out, extensions, ", ");
+			}
+			out.write("]");
+		} else {
+			writeExtensions(out, extensions);
+		}
+	}
+
+	// A transition with all its flows on a single line
+	private static void writeTransitionArcs(TemplateWriter out, Transition t) throws IOException {
+		out.newline();
+		out.write(t.getId());
+		out.write(": {");
+		writeFlows(out, t.getPresetEdges());
+		out.write("} -> {");
+		writeFlows(out, t.getPostsetEdges());
+		out.write("}");
+	}
+
+	private static void writeFlows(TemplateWriter out, Iterable<Flow> flows) throws IOException {
+		int start = out.startExpression();
+		for (Flow f : flows) {
+			out.separator(", ", start);
+			out.write(f.getWeight());
+			out.write("*");
+			out.write(f.getPlace().getId());
+		}
+		out.endExpression(start);
+	}
+
+	// A transition with each of its flows on a separate line, so that the flow's extensions can be written
+	private static void writeTransitionFlows(TemplateWriter out, Transition t) throws IOException {
+		writeSeparateFlows(out, t, t.getPresetEdges(), true);
+		out.newline();
+		writeSeparateFlows(out, t, t.getPostsetEdges(), false);
+		out.newline();
+	}
+
+	private static void writeSeparateFlows(TemplateWriter out, Transition t, Iterable<Flow> flows, boolean preset)
+			throws IOException {
+		int start = out.startExpression();
+		for (Flow f : flows) {
+			out.separator("\n", start);
+			out.write(t.getId());
+			out.write(preset ? ": {" : ": {} -> {");
+			out.write(f.getWeight());
+			out.write("*");
+			out.write(f.getPlace().getId());
+			out.write(preset ? "} -> {}" : "}");
+			writeExtensions(out, f.getWriteToFileExtensions());
+		}
+		out.endExpression(start);
+	}
+
+	/**
+	 * Render a Petri net via the template AptPN.stg. This is the reference for the output of {@link #render}.
+	 * @param pn The Petri net to render.
+	 * @param writer The writer that receives the output.
+	 * @throws RenderException If the net cannot be expressed in the apt format.
+	 * @throws IOException If writing fails.
+	 */
+	void renderWithTemplate(PetriNet pn, Writer writer) throws RenderException, IOException {
+		verifyNet(pn);
+
 		STGroup group = new STGroupFile("uniol/apt/io/renderer/impl/AptPN.stg");
 		ST pnTemplate = group.getInstanceOf("pn");
 		pnTemplate.add("name", pn.getName());
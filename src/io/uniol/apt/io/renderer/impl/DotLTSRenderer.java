@@ -19,8 +19,14 @@
 
 package uniol.apt.io.renderer.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.io.renderer.AptRenderer;
+import uniol.apt.io.renderer.RenderException;
 import uniol.apt.io.renderer.Renderer;
 
 /**
@@ -33,6 +39,69 @@ public class DotLTSRenderer extends AbstractSTRenderer<TransitionSystem> impleme
 	public DotLTSRenderer() {
 		super("uniol/apt/io/renderer/impl/DotLTS.stg", "ts", "dot", "dot");
 	}
+
+	// This writes the same output as the template DotLTS.stg
+	@Override
+	public void render(TransitionSystem ts, Writer writer) throws RenderException, IOException {
+		TemplateWriter out = new TemplateWriter(writer);
+		out.write("digraph TS {");
+		out.newline();
+		out.indent("\t");
+		out.write("node [shape=point,color=white,fontcolor=white];");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		out.write("start;");
+		out.dedent();
+		out.newline();
+		out.newline();
+
+		out.indent("\t");
+		out.write("node [fontsize=20,shape=circle,color=black,fontcolor=black,height=0.5,width=0.5,"
+				+ "fixedsize=true];");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		int start = out.startExpression();
+		for (State s : ts.getNodes()) {
+			out.separator("\n", start);
+			out.write(s.getId());
+			out.write("[label=\"");
+			out.write(s.getId());
+			out.write("\"];");
+		}
+		out.endExpression(start);
+		out.dedent();
+		out.newline();
+		out.newline();
+
+		out.indent("\t");
+		out.write("edge [fontsize=20];");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		out.write("start -> ");
+		out.dedent();
+		out.write(ts.getInitialState().getId());
+		out.write(";");
+		out.newline();
+		out.indent("\t");
+		start = out.startExpression();
+		for (Arc a : ts.getEdges()) {
+			out.separator("\n", start);
+			out.write(a.getSourceId());
+			out.write(" -> ");
+			out.write(a.getTargetId());
+			out.write(" [label=\"");
+			out.write(a.getLabel());
+			out.write("\"];");
+		}
+		out.endExpression(start);
+		out.dedent();
+		out.newline();
+		out.write("}");
+		out.newline();
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
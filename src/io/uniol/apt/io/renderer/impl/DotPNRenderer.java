@@ -19,8 +19,15 @@
 
 package uniol.apt.io.renderer.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+
+import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
 import uniol.apt.io.renderer.AptRenderer;
+import uniol.apt.io.renderer.RenderException;
 import uniol.apt.io.renderer.Renderer;
 
 /**
@@ -32,6 +39,74 @@ public class DotPNRenderer extends AbstractSTRenderer<PetriNet> implements Rende
 	public DotPNRenderer() {
 		super("uniol/apt/io/renderer/impl/DotPN.stg", "pn", "dot", "dot");
 	}
+
+	// This writes the same output as the template DotPN.stg
+	@Override
+	public void render(PetriNet pn, Writer writer) throws RenderException, IOException {
+		TemplateWriter out = new TemplateWriter(writer);
+		out.write("digraph PN {");
+		out.newline();
+		out.indent("\t");
+		out.write("node [fontsize=20,shape=circle,height=0.5,width=0.5,fixedsize=true];");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		int start = out.startExpression();
+		for (Place p : pn.getPlaces()) {
+			out.separator("\n", start);
+			out.write(p.getId());
+			out.write("[label=\"");
+			out.write(p.getInitialToken());
+			out.write("\", xlabel=\"");
+			out.write(p.getId());
+			out.write("\"];");
+		}
+		out.endExpression(start);
+		out.dedent();
+		out.newline();
+		out.newline();
+
+		out.indent("\t");
+		out.write("node [fontsize=20,shape=rect,height=0.5,width=0.5,fixedsize=true];");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		start = out.startExpression();
+		for (Transition t : pn.getTransitions()) {
+			out.separator("\n", start);
+			out.write(t.getId());
+			out.write("[label=\"");
+			out.write(t.getId());
+			out.write("\", xlabel=\"");
+			out.write(t.getLabel());
+			out.write("\"];");
+		}
+		out.endExpression(start);
+		out.dedent();
+		out.newline();
+		out.newline();
+
+		out.indent("\t");
+		out.write("edge [fontsize=20]");
+		out.dedent();
+		out.newline();
+		out.indent("\t");
+		start = out.startExpression();
+		for (Flow f : pn.getEdges()) {
+			out.separator("\n", start);
+			out.write(f.getSource().getId());
+			out.write(" -> ");
+			out.write(f.getTarget().getId());
+			out.write(" [xlabel=\"");
+			out.write(f.getWeight());
+			out.write("\"];");
+		}
+		out.endExpression(start);
+		out.dedent();
+		out.newline();
+		out.write("}");
+		out.newline();
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,8 +19,15 @@
 
 package uniol.apt.io.renderer.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+
+import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
 import uniol.apt.io.renderer.AptRenderer;
+import uniol.apt.io.renderer.RenderException;
 import uniol.apt.io.renderer.Renderer;
 
 /**
@@ -33,6 +40,62 @@ public class SynetPNRenderer extends AbstractSTRenderer<PetriNet> implements Ren
 	public SynetPNRenderer() {
 		super("uniol/apt/io/renderer/impl/SynetPN.stg", "pn", "synet", "net");
 	}
+
+	// This writes the same output as the template SynetPN.stg
+	@Override
+	public void render(PetriNet pn, Writer writer) throws RenderException, IOException {
+		TemplateWriter out = new TemplateWriter(writer);
+		int start = out.startExpression();
+		for (Transition t : pn.getTransitions()) {
+			out.separator("\n", start);
+			out.write("transition ");
+			out.write(t.getId());
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		start = out.startExpression();
+		for (Place p : pn.getPlaces()) {
+			out.separator("\n", start);
+			out.write("place ");
+			out.write(p.getId());
+			out.write(" := ");
+			out.write(p.getInitialToken().getValue());
+		}
+		out.endExpression(start);
+		out.newline();
+		out.newline();
+
+		start = out.startExpression();
+		for (Place p : pn.getPlaces()) {
+			out.separator("\n", start);
+			out.startTemplate();
+			writeFlows(out, p.getPostsetEdges(), "--", "->");
+			out.newline();
+			writeFlows(out, p.getPresetEdges(), "<-", "--");
+		}
+		out.endExpression(start);
+	}
+
+	private static void writeFlows(TemplateWriter out, Iterable<Flow> flows, String p1, String p2)
+			throws IOException {
+		int start = out.startExpression();
+		for (Flow f : flows) {
+			out.separator("\n", start);
+			out.write("flow ");
+			out.write(f.getPlace().getId());
+			out.write(" ");
+			out.write(p1);
+			out.write(" ");
+			out.write(f.getWeight());
+			out.write(" ");
+			out.write(p2);
+			out.write(" ");
+			out.write(f.getTransition().getId());
+		}
+		out.endExpression(start);
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
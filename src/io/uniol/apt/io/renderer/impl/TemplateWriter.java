@@ -0,0 +1,149 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.renderer.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.stringtemplate.v4.AutoIndentWriter;
+
+/**
+ * Helper for renderers which write their output directly instead of instantiating a StringTemplate. The methods of
+ * this class correspond to the instructions that StringTemplate compiles templates to and they handle whitespace in
+ * the same way as StringTemplate's interpreter. A renderer that issues the same sequence of calls as the compiled
+ * template executes instructions thus produces exactly the same output. Most importantly, a newline in a template is
+ * only written if something was written on the current line or if the previous instruction was also a newline.
+ * @author agent
+ */
+final class TemplateWriter {
+	private final AutoIndentWriter out;
+
+	// Number of characters written since the last newline instruction (this is the interpreter's "nwline")
+	private int charsOnLine = 0;
+
+	// Values of charsOnLine when the currently active expressions were started
+	private final Deque<Integer> charsOnLineBeforeExpression = new ArrayDeque<>();
+
+	// Number of characters written by text and separators; the output of newline instructions is not counted
+	private int charsWritten = 0;
+
+	// Was the previous instruction of the current template a newline or an indentation?
+	private boolean afterNewline = false;
+
+	/**
+	 * Constructor.
+	 * @param writer The writer that receives the output.
+	 */
+	TemplateWriter(Writer writer) {
+		this.out = new AutoIndentWriter(writer);
+	}
+
+	/**
+	 * Write a value. Like in a template, nothing is written for null.
+	 * @param value The value to write.
+	 * @throws IOException If writing fails.
+	 */
+	void write(Object value) throws IOException {
+		afterNewline = false;
+		if (value == null)
+			return;
+		int n = out.write(value.toString());
+		charsWritten += n;
+		charsOnLine += n;
+	}
+
+	/**
+	 * Write a newline that is part of the template's text.
+	 * @throws IOException If writing fails.
+	 */
+	void newline() throws IOException {
+		if (afterNewline || charsOnLine > 0)
+			out.write("\n");
+		charsOnLine = 0;
+		afterNewline = true;
+	}
+
+	/**
+	 * Record the evaluation of a condition, e.g. of an &lt;if&gt;.
+	 */
+	void branch() {
+		afterNewline = false;
+	}
+
+	/**
+	 * Start indenting all following lines.
+	 * @param indentation The indentation to add.
+	 */
+	void indent(String indentation) {
+		out.pushIndentation(indentation);
+		afterNewline = true;
+	}
+
+	/**
+	 * Stop the indentation that was started last.
+	 */
+	void dedent() {
+		out.popIndentation();
+		afterNewline = false;
+	}
+
+	/**
+	 * Start an expression that writes several values, possibly via other templates.
+	 * @return A token that has to be passed to {@link #endExpression}.
+	 */
+	int startExpression() {
+		charsOnLineBeforeExpression.push(charsOnLine);
+		return charsWritten;
+	}
+
+	/**
+	 * Write the separator that comes before a value of an expression. Like in a template, the separator is only
+	 * written if one of the previous values produced some output.
+	 * @param separator The separator
+	 * @param start The result of the corresponding call to {@link #startExpression}.
+	 * @throws IOException If writing fails.
+	 */
+	void separator(String separator, int start) throws IOException {
+		if (charsWritten > start)
+			charsWritten += out.write(separator);
+	}
+
+	/**
+	 * Start the output of another template inside of an expression. This is only needed for templates that
+	 * contain newlines.
+	 */
+	void startTemplate() {
+		afterNewline = false;
+	}
+
+	/**
+	 * Finish an expression.
+	 * @param start The result of the corresponding call to {@link #startExpression}.
+	 */
+	void endExpression(int start) {
+		// Everything written by the expression counts once for the line that contains the expression
+		charsOnLine = charsOnLineBeforeExpression.pop() + charsWritten - start;
+		afterNewline = false;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
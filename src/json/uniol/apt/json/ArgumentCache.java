@@ -0,0 +1,166 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.json;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.json.JSONObject;
+
+/**
+ * A size-bounded cache of module arguments with least-recently-used eviction. Entries are identified by a hash of
+ * the content they were created from, see {@link #contentKey}. Callers have to {@link #remove} an entry when its
+ * object is modified.
+ *
+ * Since the objects are not thread-safe even for reading, an entry is owned by the thread that last got it from the
+ * cache until this thread calls {@link #release}. While an entry is owned by another thread, {@link #get} reports a
+ * miss and the caller has to create its own object.
+ * @author agent
+ */
+final class ArgumentCache {
+	private final int capacity;
+	private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	private static class Entry {
+		final Object value;
+		Thread owner;
+
+		Entry(Object value, Thread owner) {
+			this.value = value;
+			this.owner = owner;
+		}
+	}
+
+	/**
+	 * Create a new cache.
+	 * @param capacity The maximal number of entries. With a capacity of zero, nothing is cached.
+	 */
+	ArgumentCache(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Capacity must not be negative, but is " + capacity);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Compute a key for an object that is created from the given content. The key is the SHA-256 hash of the
+	 * content, so that the cache does not keep the possibly large content alive.
+	 * @param kind The kind of object that is created, for example its class name.
+	 * @param content The content from which the object is created.
+	 * @return The key.
+	 */
+	static String contentKey(String kind, String content) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new AssertionError("Every Java platform supports SHA-256", e);
+		}
+		StringBuilder result = new StringBuilder(kind).append(':');
+		for (byte b : digest.digest(content.getBytes(StandardCharsets.UTF_8)))
+			result.append(String.format("%02x", b));
+		return result.toString();
+	}
+
+	/**
+	 * Get an object from the cache. On success, the entry is owned by the current thread until {@link #release} is
+	 * called.
+	 * @param key The key describing the object.
+	 * @return The cached object or null.
+	 */
+	synchronized Object get(Object key) {
+		Entry entry = entries.get(key);
+		Thread current = Thread.currentThread();
+		if (entry == null || (entry.owner != null && entry.owner != current)) {
+			misses++;
+			return null;
+		}
+		hits++;
+		entry.owner = current;
+		return entry.value;
+	}
+
+	/**
+	 * Add an object to the cache. The new entry is owned by the current thread. If the cache already contains an
+	 * entry for the key, nothing is changed.
+	 * @param key The key describing the object.
+	 * @param value The object.
+	 */
+	synchronized void put(Object key, Object value) {
+		if (capacity == 0 || entries.containsKey(key))
+			return;
+		entries.put(key, new Entry(value, Thread.currentThread()));
+
+		// Evict the least recently used entries that are not in use
+		Iterator<Entry> iter = entries.values().iterator();
+		while (entries.size() > capacity && iter.hasNext()) {
+			if (iter.next().owner == null) {
+				iter.remove();
+				evictions++;
+			}
+		}
+	}
+
+	/**
+	 * Remove an entry from the cache, for example because its object was modified. Nothing happens if the key
+	 * belongs to a different object by now.
+	 * @param key The key describing the object.
+	 * @param value The object.
+	 */
+	synchronized void remove(Object key, Object value) {
+		Entry entry = entries.get(key);
+		if (entry != null && entry.value == value)
+			entries.remove(key);
+	}
+
+	/**
+	 * Give up ownership of all entries that the current thread got from this cache.
+	 */
+	synchronized void release() {
+		Thread current = Thread.currentThread();
+		for (Entry entry : entries.values())
+			if (entry.owner == current)
+				entry.owner = null;
+	}
+
+	/**
+	 * Describe the current state of this cache.
+	 * @return A JSON object with the number of entries, hits, misses and evictions.
+	 */
+	synchronized JSONObject getStatistics() {
+		JSONObject result = new JSONObject();
+		long lookups = hits + misses;
+		result.put("capacity", capacity);
+		result.put("size", entries.size());
+		result.put("hits", hits);
+		result.put("misses", misses);
+		result.put("evictions", evictions);
+		result.put("hit_rate", lookups == 0 ? 0.0 : (double) hits / lookups);
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,375 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uniol.apt.module.AptModuleRegistry;
+import uniol.apt.ui.impl.AptParametersTransformer;
+import uniol.apt.ui.impl.AptReturnValuesTransformer;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
+
+/**
+ * Run a single module on many input files within one JVM. Each file is read and passed as the value of one parameter
+ * of the module, all other arguments are the same for every file. The module calls are executed via a
+ * {@link JSONExecutor} by a pool of worker threads, so that a timeout can be applied to each call separately.
+ *
+ * For each input, one record is written with the name of the input, the status (<code>ok</code>,
+ * <code>error</code> or <code>timeout</code>), the time that the module call took and its return values or error.
+ * Records are written either as JSON Lines, i.e. one JSON object per line, or as CSV with a header line and one
+ * column per return value. Records are written in the order of the inputs.
+ * @author agent
+ */
+public class BatchMain {
+	static private final double NANOSECONDS_PER_MILLISECOND = 1000d * 1000d;
+
+	/**
+	 * The format in which results are written.
+	 */
+	enum Format {
+		JSON_LINES, CSV
+	}
+
+	private final Writer output;
+	private final JSONExecutor executor;
+	private final JSONObject command;
+	private final String inputParameter;
+	private final Format format;
+	private final List<String> returnValues = new ArrayList<>();
+
+	/**
+	 * Constructor. This runs the module on all inputs.
+	 * @param inputs The names of the input files.
+	 * @param output Output to write the results to.
+	 * @param executor Executor used to run the module.
+	 * @param command The <code>run_module</code> command that is executed for each input. The content of the input
+	 * is added to its arguments.
+	 * @param inputParameter The name of the parameter that gets the content of an input or null to use the first
+	 * parameter of the module.
+	 * @param format The format of the output.
+	 * @param workers Number of inputs that are processed concurrently.
+	 * @throws IOException When an I/O error occurs while writing the output.
+	 */
+	BatchMain(List<String> inputs, Writer output, JSONExecutor executor, JSONObject command, String inputParameter,
+			Format format, int workers) throws IOException {
+		if (workers <= 0)
+			throw new IllegalArgumentException("Need at least one worker, but got " + workers);
+
+		this.output = output;
+		this.executor = executor;
+		this.command = command;
+		this.format = format;
+		this.inputParameter = describeModule(inputParameter);
+
+		if (format == Format.CSV)
+			writeCSVHeader();
+
+		// Only a bounded number of results is kept in memory. The results are written in the order of the
+		// inputs, so a slow input delays the output of the following ones.
+		ExecutorService pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		try {
+			Queue<Future<JSONObject>> window = new ArrayDeque<>();
+			for (final String input : inputs) {
+				window.add(pool.submit(new Callable<JSONObject>() {
+					@Override
+					public JSONObject call() {
+						return process(input);
+					}
+				}));
+				if (window.size() >= 2 * workers)
+					writeRecord(getResult(window.remove()));
+			}
+			while (!window.isEmpty())
+				writeRecord(getResult(window.remove()));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Look up the parameters and return values of the module and get the name of the input parameter
+	private String describeModule(String inputParameter) {
+		JSONObject describe = new JSONObject();
+		describe.put("command", "describe_module");
+		describe.put("module", command.getString("module"));
+		JSONObject description = executor.execute(describe);
+		if (description.has("error"))
+			throw new IllegalArgumentException(description.getString("error"));
+
+		JSONArray values = description.getJSONArray("return_values");
+		for (int i = 0; i < values.length(); i++)
+			returnValues.add(values.getJSONObject(i).getString("name"));
+
+		if (inputParameter != null)
+			return inputParameter;
+		JSONArray parameters = description.getJSONArray("parameters");
+		if (parameters.length() == 0)
+			throw new IllegalArgumentException("Module " + command.getString("module")
+					+ " has no parameters");
+		return parameters.getJSONObject(0).getString("name");
+	}
+
+	private JSONObject process(String input) {
+		JSONObject result;
+		long time = 0;
+		try {
+			JSONObject call = new JSONObject(command.toString());
+			JSONObject arguments = call.optJSONObject("arguments");
+			if (arguments == null) {
+				arguments = new JSONObject();
+				call.put("arguments", arguments);
+			}
+			arguments.put(inputParameter, FileUtils.readFileToString(new File(input), "UTF-8"));
+
+			long start = System.nanoTime();
+			result = executor.execute(call);
+			time = System.nanoTime() - start;
+		} catch (IOException | RuntimeException e) {
+			result = JSONUtilities.toJSONObject(e);
+		}
+
+		JSONObject record = new JSONObject();
+		record.put("input", input);
+		if (!result.has("error"))
+			record.put("status", "ok");
+		else if (UncheckedInterruptedException.class.getName().equals(result.opt("type")))
+			record.put("status", "timeout");
+		else
+			record.put("status", "error");
+		record.put("milliseconds", time / NANOSECONDS_PER_MILLISECOND);
+		for (String key : result.keySet())
+			record.put(key, result.get(key));
+		return record;
+	}
+
+	private static JSONObject getResult(Future<JSONObject> future) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return future.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					// process() already turns exceptions into results
+					throw new RuntimeException(e.getCause());
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeCSVHeader() throws IOException {
+		List<String> header = new ArrayList<>();
+		header.add("input");
+		header.add("status");
+		header.add("milliseconds");
+		header.addAll(returnValues);
+		header.add("error");
+		writeCSVLine(header);
+	}
+
+	private void writeRecord(JSONObject record) throws IOException {
+		if (format == Format.JSON_LINES) {
+			record.write(output);
+			output.write("\n");
+		} else {
+			List<String> fields = new ArrayList<>();
+			fields.add(record.getString("input"));
+			fields.add(record.getString("status"));
+			fields.add(String.format(Locale.ROOT, "%.3f", record.getDouble("milliseconds")));
+			JSONObject values = record.optJSONObject("return_values");
+			for (String name : returnValues)
+				fields.add(values == null ? "" : values.optString(name));
+			fields.add(record.optString("error"));
+			writeCSVLine(fields);
+		}
+		output.flush();
+	}
+
+	private void writeCSVLine(List<String> fields) throws IOException {
+		StringBuilder line = new StringBuilder();
+		for (String field : fields) {
+			if (line.length() > 0)
+				line.append(',');
+			if (field.matches("(?s).*[,\"\r\n].*"))
+				line.append('"').append(field.replace("\"", "\"\"")).append('"');
+			else
+				line.append(field);
+		}
+		line.append("\r\n");
+		output.write(line.toString());
+	}
+
+	/**
+	 * Expand the given list of inputs. An input beginning with <code>@</code> names a manifest file which lists one
+	 * input per line. An input containing one of the characters <code>*?[{</code> is a glob pattern which is
+	 * replaced by the matching files in sorted order. All other inputs are used as they are.
+	 * @param inputs The inputs to expand.
+	 * @return The names of the input files.
+	 * @throws IOException When a manifest cannot be read or a directory cannot be searched.
+	 */
+	static List<String> expandInputs(List<String> inputs) throws IOException {
+		List<String> result = new ArrayList<>();
+		for (String input : inputs) {
+			if (input.startsWith("@")) {
+				for (String line : FileUtils.readLines(new File(input.substring(1)), "UTF-8"))
+					if (!line.trim().isEmpty())
+						result.add(line.trim());
+			} else if (input.matches(".*[*?\\[{].*")) {
+				result.addAll(expandGlob(input));
+			} else {
+				result.add(input);
+			}
+		}
+		return result;
+	}
+
+	// Find the files matching a glob pattern. The search starts in the longest directory without special
+	// characters.
+	private static List<String> expandGlob(String pattern) throws IOException {
+		int firstSpecial = 0;
+		while ("*?[{".indexOf(pattern.charAt(firstSpecial)) < 0)
+			firstSpecial++;
+		int slash = pattern.lastIndexOf('/', firstSpecial);
+		final boolean relative = slash < 0;
+		final Path base = Paths.get(relative ? "." : pattern.substring(0, slash + 1));
+		final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:"
+				+ pattern.substring(slash + 1));
+
+		final List<String> result = new ArrayList<>();
+		if (!Files.isDirectory(base))
+			return result;
+		Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				Path name = base.relativize(file);
+				if (matcher.matches(name))
+					result.add(relative ? name.toString() : file.toString());
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		Collections.sort(result);
+		return result;
+	}
+
+	private static void printUsageAndExit() {
+		System.err.println("Usage: [--threads N] [--timeout milliseconds] [--csv] [--parameter name] "
+				+ "[--arg name=value]... module input...");
+		System.err.println("An input is a file, a glob pattern or @file for a file listing one input per "
+				+ "line.");
+		System.exit(1);
+	}
+
+	/**
+	 * Program entry point.
+	 * @param args command line arguments
+	 * @throws IOException when reading the inputs or writing to standard output fails
+	 */
+	public static void main(String[] args) throws IOException {
+		int workers = Runtime.getRuntime().availableProcessors();
+		Format format = Format.JSON_LINES;
+		String inputParameter = null;
+		JSONObject command = new JSONObject();
+		JSONObject arguments = new JSONObject();
+		command.put("command", "run_module");
+		command.put("arguments", arguments);
+
+		int i = 0;
+		try {
+			for (; i < args.length && args[i].startsWith("--"); i++) {
+				switch (args[i]) {
+					case "--threads":
+						workers = Integer.parseInt(args[++i]);
+						break;
+					case "--timeout":
+						command.put("timeout_milliseconds", Long.parseLong(args[++i]));
+						break;
+					case "--csv":
+						format = Format.CSV;
+						break;
+					case "--parameter":
+						inputParameter = args[++i];
+						break;
+					case "--arg":
+						String[] parts = args[++i].split("=", 2);
+						if (parts.length != 2)
+							printUsageAndExit();
+						arguments.put(parts[0], parts[1]);
+						break;
+					default:
+						printUsageAndExit();
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			printUsageAndExit();
+		}
+		if (args.length - i < 2 || workers <= 0)
+			printUsageAndExit();
+
+		command.put("module", args[i]);
+		List<String> inputs = new ArrayList<>();
+		for (i++; i < args.length; i++)
+			inputs.add(args[i]);
+
+		// Every input is parsed only once. Without a cache, concurrently running modules never share objects.
+		JSONExecutor executor = new JSONExecutor(AptModuleRegistry.INSTANCE, AptParametersTransformer.INSTANCE,
+				AptReturnValuesTransformer.INSTANCE, 0);
+		try (Writer writer = new OutputStreamWriter(System.out, "UTF-8")) {
+			new BatchMain(expandInputs(inputs), writer, executor, command, inputParameter, format, workers);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
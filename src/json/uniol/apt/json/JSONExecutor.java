@@ -20,12 +20,26 @@
 package uniol.apt.json;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import uniol.apt.adt.IEdge;
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.IGraphListener;
+import uniol.apt.adt.INode;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Node;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.module.Category;
 import uniol.apt.module.InterruptibleModule;
 import uniol.apt.module.Module;
@@ -40,6 +54,7 @@ import uniol.apt.module.impl.Parameter;
 import uniol.apt.module.impl.ReturnValue;
 import uniol.apt.ui.ParametersTransformer;
 import uniol.apt.ui.ReturnValuesTransformer;
+import uniol.apt.util.Metrics;
 import uniol.apt.util.interrupt.ChainedInterrupter;
 import uniol.apt.util.interrupt.Interrupter;
 import uniol.apt.util.interrupt.InterrupterRegistry;
@@ -50,14 +65,31 @@ import uniol.apt.util.interrupt.UncheckedInterruptedException;
  * All to interface with modules via JSON commands. This class makes it possible
  * to list, describe and call modules via commands that are given as instance of
  * the class JSONObject.
+ *
+ * Parsed Petri nets and transition systems as well as the results of nested module calls are cached between commands
+ * and identified by a hash of their text or of the JSON of the nested call that produced them. Thus, modules of later
+ * commands get the very same objects and can reuse the data that earlier modules attached to them as extensions, for
+ * example the coverability graph of a Petri net. A cached Petri net or transition system is removed from the cache as
+ * soon as its structure is changed, so that a module which modifies its input does not affect later commands. The
+ * command <code>cache_stats</code> describes how well these caches work.
+ *
+ * While {@link Metrics} are enabled, the result of <code>run_module</code> contains a <code>metrics</code> object with
+ * the metrics that changed while the module ran.
  * @author Uli Schlachter
  */
 public class JSONExecutor {
 	static private final long MILLISECONDS_PER_NANOSECOND = 1000l * 1000l;
 
+	/**
+	 * The number of parsed arguments and of results of nested module calls that are cached by default.
+	 */
+	static public final int DEFAULT_CACHE_SIZE = 16;
+
 	private final ModuleRegistry moduleRegistry;
 	private final ParametersTransformer parametersTransformer;
 	private final ReturnValuesTransformer returnValuesTransformer;
+	private final ArgumentCache parsedArguments;
+	private final ArgumentCache moduleCalls;
 
 	/**
 	 * Create a new JSONExecutor.
@@ -67,9 +99,24 @@ public class JSONExecutor {
 	 */
 	public JSONExecutor(ModuleRegistry moduleRegistry, ParametersTransformer parametersTransformer,
 			ReturnValuesTransformer returnValuesTransformer) {
+		this(moduleRegistry, parametersTransformer, returnValuesTransformer, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a new JSONExecutor.
+	 * @param moduleRegistry The module registry describing which modules to use.
+	 * @param parametersTransformer The transformer to parse parameters.
+	 * @param returnValuesTransformer The transformer to render return values.
+	 * @param cacheSize The number of parsed arguments and of results of nested module calls that are cached. Zero
+	 * disables caching.
+	 */
+	public JSONExecutor(ModuleRegistry moduleRegistry, ParametersTransformer parametersTransformer,
+			ReturnValuesTransformer returnValuesTransformer, int cacheSize) {
 		this.moduleRegistry = moduleRegistry;
 		this.parametersTransformer = parametersTransformer;
 		this.returnValuesTransformer = returnValuesTransformer;
+		this.parsedArguments = new ArgumentCache(cacheSize);
+		this.moduleCalls = new ArgumentCache(cacheSize);
 	}
 
 	/**
@@ -82,6 +129,9 @@ public class JSONExecutor {
 			return doExecute(arguments);
 		} catch (JSONException e) {
 			return JSONUtilities.toJSONObject(e);
+		} finally {
+			parsedArguments.release();
+			moduleCalls.release();
 		}
 	}
 
@@ -99,6 +149,11 @@ public class JSONExecutor {
 			case "run_module":
 				result = callModule(arguments);
 				break;
+			case "cache_stats":
+				result = new JSONObject();
+				result.put("parsed_arguments", parsedArguments.getStatistics());
+				result.put("module_calls", moduleCalls.getStatistics());
+				break;
 			default:
 				result = new JSONObject();
 				result.put("error", "Unsupported command: " + command);
@@ -201,13 +256,16 @@ public class JSONExecutor {
 			return result;
 		}
 
+		Map<String, Long> metrics = Metrics.isEnabled() ? Metrics.getValues() : null;
 		try {
 			ModuleOutputImpl output = callModule(module, arguments);
 			result.put("return_values", transformReturnValues(module, output));
-			return result;
 		} catch (ModuleException | UncheckedInterruptedException e) {
-			return JSONUtilities.toJSONObject(e);
+			result = JSONUtilities.toJSONObject(e);
 		}
+		if (metrics != null)
+			result.put("metrics", Metrics.getValuesSince(metrics));
+		return result;
 	}
 
 	private ModuleOutputImpl callModule(Module module, JSONObject arguments) throws ModuleException {
@@ -259,10 +317,91 @@ public class JSONExecutor {
 		if (argument == null) {
 			// Argument is given directly as a string
 			String argString = outerArguments.getString(parameterName);
-			return parametersTransformer.transformString(argString, klass);
+			if (!PetriNet.class.equals(klass) && !TransitionSystem.class.equals(klass))
+				return parametersTransformer.transformString(argString, klass);
+
+			String key = ArgumentCache.contentKey(klass.getName(), argString);
+			Object result = parsedArguments.get(key);
+			if (result == null) {
+				result = parametersTransformer.transformString(argString, klass);
+				putIntoCache(parsedArguments, key, result);
+			}
+			return result;
 		}
 
 		// Argument is given as a nested module call
+		StringBuilder call = new StringBuilder();
+		appendCanonicalJSON(call, argument);
+		String key = ArgumentCache.contentKey("module_call", call.toString());
+		Object result = moduleCalls.get(key);
+		if (result == null) {
+			result = callNestedModule(argument);
+			putIntoCache(moduleCalls, key, result);
+		}
+		if (!klass.isInstance(result))
+			throw new ModuleException(String.format("Module produced a return value with type %s, "
+						+ "but %s was expected", result.getClass().getName(),
+						klass.getName()));
+		return result;
+	}
+
+	// Add an object to a cache and make sure that it is removed from the cache again when its structure changes
+	private static void putIntoCache(ArgumentCache cache, Object key, Object value) {
+		cache.put(key, value);
+		if (value instanceof PetriNet)
+			((PetriNet) value).addListener(new CacheEntryRemover<PetriNet, Flow, Node>(cache, key));
+		else if (value instanceof TransitionSystem)
+			((TransitionSystem) value).addListener(
+					new CacheEntryRemover<TransitionSystem, Arc, State>(cache, key));
+	}
+
+	// Write a JSON value with the keys of objects in sorted order, so that equal values produce equal text
+	private static void appendCanonicalJSON(StringBuilder builder, Object value) {
+		if (value instanceof JSONObject) {
+			JSONObject object = (JSONObject) value;
+			List<String> keys = new ArrayList<>(object.keySet());
+			Collections.sort(keys);
+			builder.append('{');
+			for (int i = 0; i < keys.size(); i++) {
+				if (i > 0)
+					builder.append(',');
+				builder.append(JSONObject.quote(keys.get(i))).append(':');
+				appendCanonicalJSON(builder, object.get(keys.get(i)));
+			}
+			builder.append('}');
+		} else if (value instanceof JSONArray) {
+			JSONArray array = (JSONArray) value;
+			builder.append('[');
+			for (int i = 0; i < array.length(); i++) {
+				if (i > 0)
+					builder.append(',');
+				appendCanonicalJSON(builder, array.get(i));
+			}
+			builder.append(']');
+		} else {
+			builder.append(JSONObject.valueToString(value));
+		}
+	}
+
+	// A listener that removes a graph from a cache when the graph is changed
+	static private class CacheEntryRemover<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>,
+			N extends INode<G, E, N>> implements IGraphListener<G, E, N> {
+		private final ArgumentCache cache;
+		private final Object key;
+
+		private CacheEntryRemover(ArgumentCache cache, Object key) {
+			this.cache = cache;
+			this.key = key;
+		}
+
+		@Override
+		public boolean changeOccurred(IGraph<G, E, N> graph) {
+			cache.remove(key, graph);
+			return false;
+		}
+	}
+
+	private Object callNestedModule(JSONObject argument) throws ModuleException {
 		String returnValue = argument.getString("use");
 		Module module = findModule(argument.getString("module"));
 		if (module == null) {
@@ -277,10 +416,6 @@ public class JSONExecutor {
 		Object result = output.getValue(returnValue);
 		if (result == null)
 			throw new ModuleException("Module did not produce a return value with name " + returnValue);
-		if (!klass.isInstance(result))
-			throw new ModuleException(String.format("Module produced a return value with type %s, "
-						+ "but %s was expected", result.getClass().getName(),
-						klass.getName()));
 		return result;
 	}
 
@@ -289,7 +424,7 @@ public class JSONExecutor {
 		for (ReturnValue returnValue : ModuleUtils.getReturnValues(module)) {
 			Object value = output.getValue(returnValue.getName());
 			if (value != null) {
-				StringWriter writer = new StringWriter();
+				StringBuilderWriter writer = new StringBuilderWriter();
 				try {
 					returnValuesTransformer.transform(writer, value, returnValue.getKlass());
 				} catch (IOException e) {
@@ -24,6 +24,7 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Arrays;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -32,6 +33,7 @@ import org.json.JSONTokener;
 import uniol.apt.module.AptModuleRegistry;
 import uniol.apt.ui.impl.AptParametersTransformer;
 import uniol.apt.ui.impl.AptReturnValuesTransformer;
+import uniol.apt.util.Metrics;
 
 /**
  * @author Uli Schlachter
@@ -72,17 +74,50 @@ public class Main {
 	}
 
 	/**
-	 * Program entry point.
+	 * Program entry point. With the arguments <code>--parallel N</code>, commands are executed by N worker threads
+	 * via {@link PipelinedMain}. With <code>--batch</code> as the first argument, the remaining arguments are
+	 * handled by {@link BatchMain}. A leading <code>--metrics</code> enables {@link Metrics}, so that results of
+	 * module calls contain the recorded metrics.
 	 * @param args command line arguments
 	 * @throws IOException when reading from standard input or writing to standard output fails
 	 */
 	public static void main(String[] args) throws IOException {
+		if (args.length > 0 && "--metrics".equals(args[0])) {
+			Metrics.setEnabled(true);
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+		if (args.length > 0 && "--batch".equals(args[0])) {
+			BatchMain.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+
 		JSONExecutor executor = new JSONExecutor(AptModuleRegistry.INSTANCE, AptParametersTransformer.INSTANCE,
 				AptReturnValuesTransformer.INSTANCE);
+		int workers = 0;
+		if (args.length == 2 && "--parallel".equals(args[0])) {
+			try {
+				workers = Integer.parseInt(args[1]);
+			} catch (NumberFormatException e) {
+				workers = -1;
+			}
+			if (workers < 1)
+				usage();
+		} else if (args.length != 0) {
+			usage();
+		}
 		try (Writer writer = new OutputStreamWriter(System.out, "UTF-8")) {
-			new Main(new InputStreamReader(System.in, "UTF-8"), writer, executor);
+			Reader reader = new InputStreamReader(System.in, "UTF-8");
+			if (workers > 0)
+				new PipelinedMain(reader, writer, executor, workers);
+			else
+				new Main(reader, writer, executor);
 		}
 	}
+
+	private static void usage() {
+		System.err.println("Usage: [--metrics] [--parallel number-of-workers | --batch batch-arguments...]");
+		System.exit(1);
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
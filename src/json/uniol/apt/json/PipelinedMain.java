@@ -0,0 +1,327 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Pipelined variant of {@link Main}. Commands are read from the input and handed to a pool of worker threads, so
+ * that a slow command does not delay the commands that follow it. Results are written as soon as they are available
+ * and thus possibly in a different order than the commands were received. To match results to commands, the
+ * <code>id</code> member of a command is copied into its result.
+ *
+ * The additional command <code>{"command": "cancel", "request": id}</code> requests that the command with the given
+ * id is aborted. A command that did not start yet is not executed at all; a running module is interrupted the next
+ * time it checks its {@link Interrupter}.
+ *
+ * Input is read by a thread of its own, so that a cancel command is handled as soon as it arrives. Other commands are
+ * queued and at most twice as many of them as there are worker threads are handed to the workers at the same time.
+ * A command whose id is the same as that of a command which did not finish yet is rejected with an error.
+ * @author agent
+ */
+public class PipelinedMain {
+	private final Writer output;
+	private final JSONExecutor executor;
+	private final Semaphore capacity;
+	private final Map<Object, Request> pending = new HashMap<>();
+	private final BlockingQueue<Request> runQueue = new LinkedBlockingQueue<>();
+
+	// Put into the run queue by the reader thread after the last command
+	private final Request endOfInput = new Request(new JSONObject());
+	private volatile JSONObject readError;
+	private volatile IOException writeError;
+
+	/**
+	 * Constructor.
+	 * @param input Reader to read JSON input from.
+	 * @param output Output to write JSON results to.
+	 * @param executor Executor used to execute the input received.
+	 * @param workers Number of commands that are executed concurrently.
+	 * @throws IOException When an I/O error occurs.
+	 */
+	PipelinedMain(Reader input, Writer output, JSONExecutor executor, int workers) throws IOException {
+		if (workers <= 0)
+			throw new IllegalArgumentException("Need at least one worker, but got " + workers);
+
+		this.output = output;
+		this.executor = executor;
+		this.capacity = new Semaphore(2 * workers);
+
+		final JSONTokener tokener = new JSONTokener(input);
+		Thread reader = new Thread("PipelinedMain reader") {
+			@Override
+			public void run() {
+				try {
+					readCommands(tokener);
+				} finally {
+					enqueue(endOfInput);
+				}
+			}
+		};
+		reader.setDaemon(true);
+		reader.start();
+
+		ExecutorService pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		try {
+			runCommands(pool);
+		} finally {
+			pool.shutdown();
+			awaitTermination(pool);
+		}
+
+		// Let all pending commands finish before reporting why reading stopped
+		if (readError != null)
+			writeResult(readError);
+		if (writeError != null)
+			throw writeError;
+	}
+
+	// Executed by the reader thread: Handle cancel commands and queue all other commands
+	private void readCommands(JSONTokener tokener) {
+		try {
+			// See Main for the dance with nextClean() and back()
+			tokener.nextClean();
+			while (!tokener.end()) {
+				tokener.back();
+
+				JSONObject obj = new JSONObject(tokener);
+				if ("cancel".equals(obj.opt("command")))
+					writeResult(cancel(obj));
+				else
+					queue(new Request(obj));
+
+				tokener.nextClean();
+			}
+		} catch (JSONException e) {
+			// Exception in JSON parsing, abort reading
+			readError = JSONUtilities.toJSONObject(e);
+		} catch (IOException e) {
+			writeError = e;
+		}
+	}
+
+	private void queue(Request request) throws IOException {
+		if (request.id != null) {
+			synchronized (pending) {
+				if (pending.containsKey(request.id)) {
+					JSONObject result = new JSONObject();
+					result.put("error", "A command with id " + JSONObject.valueToString(request.id)
+							+ " did not finish yet");
+					result.put("id", request.id);
+					writeResult(result);
+					return;
+				}
+				pending.put(request.id, request);
+			}
+		}
+		enqueue(request);
+	}
+
+	private void enqueue(Request request) {
+		// The queue is unbounded, so this does not block
+		boolean interrupted = false;
+		while (true) {
+			try {
+				runQueue.put(request);
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	// Hand the queued commands to the workers. Only this waits for free capacity, so that reading continues.
+	private void runCommands(ExecutorService pool) {
+		while (true) {
+			final Request request = takeRequest();
+			if (request == endOfInput || writeError != null)
+				return;
+
+			if (request.cancelled) {
+				// No need to wait for a worker
+				request.run();
+				continue;
+			}
+
+			acquireCapacity();
+			pool.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						request.run();
+					} finally {
+						capacity.release();
+					}
+				}
+			});
+		}
+	}
+
+	private Request takeRequest() {
+		boolean interrupted = false;
+		Request result;
+		while (true) {
+			try {
+				result = runQueue.take();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		return result;
+	}
+
+	private JSONObject cancel(JSONObject command) {
+		JSONObject result = new JSONObject();
+		Object id = command.opt("id");
+		if (id != null)
+			result.put("id", id);
+
+		Object target = command.opt("request");
+		if (target == null) {
+			result.put("error", "Missing member 'request' with the id of the command to cancel");
+			return result;
+		}
+
+		Request request;
+		synchronized (pending) {
+			request = pending.get(target);
+		}
+		if (request != null)
+			request.cancelled = true;
+		result.put("cancelled", request != null);
+		return result;
+	}
+
+	private void acquireCapacity() {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				capacity.acquire();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private static void awaitTermination(ExecutorService pool) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (pool.awaitTermination(1, TimeUnit.DAYS))
+					break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private void writeResult(JSONObject result) throws IOException {
+		synchronized (output) {
+			result.write(output, 1, 0);
+			output.write("\n\n");
+			output.flush();
+		}
+	}
+
+	// A command that is executed by the worker pool. Its Interrupter is installed while the command runs. If
+	// writing its result fails, the error is kept for the main thread.
+	private class Request implements Runnable, Interrupter {
+		private final JSONObject command;
+		private final Object id;
+		private volatile boolean cancelled = false;
+
+		private Request(JSONObject command) {
+			this.command = command;
+			this.id = command.opt("id");
+		}
+
+		@Override
+		public boolean isInterruptRequested() {
+			return cancelled;
+		}
+
+		@Override
+		public void run() {
+			try {
+				JSONObject result;
+				if (cancelled) {
+					result = new JSONObject();
+					result.put("error", "Command was cancelled");
+				} else {
+					result = execute();
+				}
+				if (id != null)
+					result.put("id", id);
+				writeResult(result);
+			} catch (IOException e) {
+				writeError = e;
+			} finally {
+				if (id != null) {
+					synchronized (pending) {
+						if (pending.get(id) == this)
+							pending.remove(id);
+					}
+				}
+			}
+		}
+
+		private JSONObject execute() {
+			InterrupterRegistry.setCurrentThreadInterrupter(this);
+			try {
+				return executor.execute(command);
+			} catch (RuntimeException e) {
+				// The command failed, but the other commands go on
+				return JSONUtilities.toJSONObject(e);
+			} finally {
+				InterrupterRegistry.clearCurrentThreadInterrupter();
+			}
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
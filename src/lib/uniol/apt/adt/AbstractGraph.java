@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import uniol.apt.adt.extension.Extensible;
+import uniol.apt.adt.extension.ExtensionStorage;
 
 /**
  * {@link AbstractGraph} is an abstract implementation of the {@link IGraph} interface. It extends {@link
@@ -36,6 +37,10 @@ import uniol.apt.adt.extension.Extensible;
 public abstract class AbstractGraph<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>>
 	extends Extensible implements IGraph<G, E, N> {
 	private final Set<IGraphListener<G, E, N>> listeners = new HashSet<>();
+	private boolean listenersDeferred = false;
+	private boolean changeDeferred = false;
+	private final ExtensionStorage nodeExtensions = new ExtensionStorage();
+	private final ExtensionStorage edgeExtensions = new ExtensionStorage();
 
 	@Override
 	public boolean addListener(IGraphListener<G, E, N> listener) {
@@ -51,6 +56,10 @@ public abstract class AbstractGraph<G extends IGraph<G, E, N>, E extends IEdge<G
 	 * This method invokes all listeners and remove those that request to be removed.
 	 */
 	protected void invokeListeners() {
+		if (listenersDeferred) {
+			changeDeferred = true;
+			return;
+		}
 		Iterator<IGraphListener<G, E, N>> iter = listeners.iterator();
 		while (iter.hasNext()) {
 			IGraphListener<G, E, N> listener = iter.next();
@@ -58,6 +67,62 @@ public abstract class AbstractGraph<G extends IGraph<G, E, N>, E extends IEdge<G
 				iter.remove();
 		}
 	}
+
+	/**
+	 * Get the storage for extensions of the nodes of this graph that use an {@link
+	 * uniol.apt.adt.extension.ExtensionKey}.
+	 * @return The storage.
+	 */
+	ExtensionStorage getNodeExtensionStorage() {
+		return nodeExtensions;
+	}
+
+	/**
+	 * Get the storage for extensions of the edges of this graph that use an {@link
+	 * uniol.apt.adt.extension.ExtensionKey}.
+	 * @return The storage.
+	 */
+	ExtensionStorage getEdgeExtensionStorage() {
+		return edgeExtensions;
+	}
+
+	/**
+	 * Forget the extensions of a node that was removed from this graph. Its extensions with an {@link
+	 * uniol.apt.adt.extension.ExtensionKey} are kept by this graph and would otherwise never be freed.
+	 * @param node The removed node.
+	 */
+	protected void onNodeRemoved(Node<G, E, N> node) {
+		node.releaseStorageExtensions();
+	}
+
+	/**
+	 * Forget the extensions of an edge that was removed from this graph. Its extensions with an {@link
+	 * uniol.apt.adt.extension.ExtensionKey} are kept by this graph and would otherwise never be freed.
+	 * @param edge The removed edge.
+	 */
+	protected void onEdgeRemoved(Edge<G, E, N> edge) {
+		edge.releaseStorageExtensions();
+	}
+
+	/**
+	 * Defer all calls to {@link invokeListeners} until {@link resumeListeners} is called. This is used while a
+	 * graph is bulk-loaded, so that listeners are notified once instead of once per node and edge.
+	 */
+	protected void deferListeners() {
+		listenersDeferred = true;
+	}
+
+	/**
+	 * Stop deferring calls to {@link invokeListeners}. If a change occurred in the mean time, listeners are
+	 * invoked once.
+	 */
+	protected void resumeListeners() {
+		listenersDeferred = false;
+		if (changeDeferred) {
+			changeDeferred = false;
+			invokeListeners();
+		}
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
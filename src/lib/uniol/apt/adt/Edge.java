@@ -20,6 +20,7 @@
 package uniol.apt.adt;
 
 import uniol.apt.adt.extension.Extensible;
+import uniol.apt.adt.extension.ExtensionStorage;
 
 /**
  * Represents an edge of type E in a graph of type G with nodes of type N having a id of the source node and target
@@ -43,6 +44,7 @@ public class Edge<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends
 	 * @param target the target node.
 	 */
 	protected Edge(G graph, N source, N target) {
+		super(getExtensionStorage(graph));
 		this.graph = graph;
 		this.source = source;
 		this.target = target;
@@ -58,6 +60,18 @@ public class Edge<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends
 		copyExtensions(e);
 	}
 
+	// Called by AbstractGraph when this edge is removed from it
+	void releaseStorageExtensions() {
+		clearStorageExtensions();
+	}
+
+	// Edges of an AbstractGraph keep their typed extensions in the graph
+	private static ExtensionStorage getExtensionStorage(IGraph<?, ?, ?> graph) {
+		if (graph instanceof AbstractGraph)
+			return ((AbstractGraph<?, ?, ?>) graph).getEdgeExtensionStorage();
+		return null;
+	}
+
 	@Override
 	public G getGraph() {
 		return this.graph;
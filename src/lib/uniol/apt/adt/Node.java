@@ -22,6 +22,7 @@ package uniol.apt.adt;
 import java.util.Set;
 import org.apache.commons.collections4.IteratorUtils;
 import uniol.apt.adt.extension.Extensible;
+import uniol.apt.adt.extension.ExtensionStorage;
 
 /**
  * An implementation of the interface INode for just delegating the pre- and postset methodes to the graph of the type
@@ -44,6 +45,7 @@ public abstract class Node<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>,
 	 * @param id    the id this node should have.
 	 */
 	protected Node(G graph, String id) {
+		super(getExtensionStorage(graph));
 		this.graph = graph;
 		this.id = id;
 	}
@@ -58,6 +60,18 @@ public abstract class Node<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>,
 		copyExtensions(n);
 	}
 
+	// Called by AbstractGraph when this node is removed from it
+	void releaseStorageExtensions() {
+		clearStorageExtensions();
+	}
+
+	// Nodes of an AbstractGraph keep their typed extensions in the graph
+	private static ExtensionStorage getExtensionStorage(IGraph<?, ?, ?> graph) {
+		if (graph instanceof AbstractGraph)
+			return ((AbstractGraph<?, ?, ?>) graph).getNodeExtensionStorage();
+		return null;
+	}
+
 	@Override
 	public String getId() {
 		return this.id;
@@ -351,7 +351,7 @@ public class FiniteAutomatonUtility {
 	}
 
 	// Recursively follow epsilon arcs in the given states
-	static private Set<State> followEpsilons(Set<State> states) {
+	static Set<State> followEpsilons(Set<State> states) {
 		Set<State> result = new HashSet<>(states);
 		Deque<State> unhandled = new LinkedList<>(result);
 		while (!unhandled.isEmpty()) {
@@ -471,12 +471,24 @@ public class FiniteAutomatonUtility {
 	}
 
 	/**
-	 * Find a word that is only accepted by one of the automatons.
+	 * Find a word that is only accepted by one of the automatons. Both automatons are explored on-the-fly in lock
+	 * step and the search stops at the first difference, so no difference automaton is constructed.
 	 * @param a1 The first automaton to test with
 	 * @param a2 The second automaton to test with
 	 * @return A word that is only accepted by one of the automatons
 	 */
 	static public List<String> findWordDifference(FiniteAutomaton a1, FiniteAutomaton a2) {
+		return HopcroftKarpEquivalence.findWordDifference(a1, a2);
+	}
+
+	/**
+	 * Find a word that is only accepted by one of the automatons. In contrast to {@link #findWordDifference}, this
+	 * constructs the minimal automaton accepting the difference of the two languages and searches a word in it.
+	 * @param a1 The first automaton to test with
+	 * @param a2 The second automaton to test with
+	 * @return A word that is only accepted by one of the automatons
+	 */
+	static public List<String> findWordDifferenceViaDifferenceAutomaton(FiniteAutomaton a1, FiniteAutomaton a2) {
 		return findAcceptedWord(minimize(getDifferenceAutomaton(a1, a2)));
 	}
 
@@ -486,6 +498,9 @@ public class FiniteAutomatonUtility {
 		LinkedList<String> word = new LinkedList<>();
 		Deque<Pair<DFAState, Iterator<Symbol>>> trace = new LinkedList<>();
 		DFAState initial = dfa.getInitialState();
+		if (initial.isFinalState())
+			return word;
+		statesSeen.add(initial);
 		trace.add(new Pair<>(initial, initial.getDefinedSymbols().iterator()));
 
 		while (!trace.isEmpty()) {
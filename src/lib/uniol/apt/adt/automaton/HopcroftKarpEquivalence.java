@@ -0,0 +1,225 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+import static uniol.apt.adt.automaton.FiniteAutomatonUtility.followEpsilons;
+
+/**
+ * On-the-fly language equivalence check for finite automata via the algorithm of Hopcroft and Karp. Both automata are
+ * determinised lazily while they are explored in lock step. A union-find structure over the states of the two
+ * determinised automata records which pairs of states are already known to be equivalent (or assumed to be so). Only
+ * the part of the automata that is needed is constructed and the search stops at the first pair of states of which
+ * exactly one is accepting.
+ * @author agent
+ */
+class HopcroftKarpEquivalence {
+	// Canonical ids for the states of the determinised automata. A state is identified by the epsilon closure of
+	// the set of states of the input automaton that it represents. Both automata share the same id space.
+	private final Map<Set<State>, Integer> stateIds = new HashMap<>();
+	private final List<MacroState> states = new ArrayList<>();
+
+	// Union-find over the state ids
+	private int[] parent = new int[16];
+	private int[] rank = new int[16];
+
+	private HopcroftKarpEquivalence() {
+	}
+
+	/**
+	 * Find a word that is only accepted by one of the automatons.
+	 * @param a1 The first automaton to test with
+	 * @param a2 The second automaton to test with
+	 * @return A word that is only accepted by one of the automatons or null if both accept the same language.
+	 */
+	static public List<String> findWordDifference(FiniteAutomaton a1, FiniteAutomaton a2) {
+		return new HopcroftKarpEquivalence().check(a1, a2);
+	}
+
+	private List<String> check(FiniteAutomaton a1, FiniteAutomaton a2) {
+		int initial1 = getStateId(Collections.singleton(a1.getInitialState()));
+		int initial2 = getStateId(Collections.singleton(a2.getInitialState()));
+		if (states.get(initial1).isFinal != states.get(initial2).isFinal)
+			return Collections.emptyList();
+
+		Deque<PairNode> unhandled = new ArrayDeque<>();
+		union(initial1, initial2);
+		unhandled.add(new PairNode(initial1, initial2, null, null));
+
+		while (!unhandled.isEmpty()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			PairNode pair = unhandled.removeFirst();
+			MacroState state1 = states.get(pair.state1);
+			MacroState state2 = states.get(pair.state2);
+
+			Set<Symbol> symbols = new HashSet<>(state1.getDefinedSymbols());
+			symbols.addAll(state2.getDefinedSymbols());
+			for (Symbol symbol : symbols) {
+				int next1 = getFollowingState(state1, symbol);
+				int next2 = getFollowingState(state2, symbol);
+				if (find(next1) == find(next2))
+					continue;
+
+				PairNode next = new PairNode(next1, next2, pair, symbol);
+				if (states.get(next1).isFinal != states.get(next2).isFinal)
+					return next.getWord();
+
+				union(next1, next2);
+				unhandled.addLast(next);
+			}
+		}
+
+		return null;
+	}
+
+	private int getStateId(Set<State> stateSet) {
+		Integer id = stateIds.get(stateSet);
+		if (id != null)
+			return id;
+
+		Set<State> closure = followEpsilons(stateSet);
+		id = stateIds.get(closure);
+		if (id == null) {
+			id = states.size();
+			states.add(new MacroState(closure));
+			stateIds.put(closure, id);
+			ensureCapacity(id + 1);
+			parent[id] = id;
+			rank[id] = 0;
+		}
+		stateIds.put(stateSet, id);
+		return id;
+	}
+
+	private int getFollowingState(MacroState state, Symbol symbol) {
+		Integer result = state.transitions.get(symbol);
+		if (result != null)
+			return result;
+
+		Set<State> next = new HashSet<>();
+		for (State s : state.states)
+			next.addAll(s.getFollowingStates(symbol));
+		int id = getStateId(next);
+		state.transitions.put(symbol, id);
+		return id;
+	}
+
+	private void ensureCapacity(int size) {
+		if (size <= parent.length)
+			return;
+		int newSize = Math.max(size, 2 * parent.length);
+		parent = Arrays.copyOf(parent, newSize);
+		rank = Arrays.copyOf(rank, newSize);
+	}
+
+	private int find(int id) {
+		int root = id;
+		while (parent[root] != root)
+			root = parent[root];
+		// Path compression
+		while (parent[id] != root) {
+			int next = parent[id];
+			parent[id] = root;
+			id = next;
+		}
+		return root;
+	}
+
+	private void union(int id1, int id2) {
+		int root1 = find(id1);
+		int root2 = find(id2);
+		if (root1 == root2)
+			return;
+		if (rank[root1] < rank[root2]) {
+			parent[root1] = root2;
+		} else if (rank[root1] > rank[root2]) {
+			parent[root2] = root1;
+		} else {
+			parent[root2] = root1;
+			rank[root1]++;
+		}
+	}
+
+	// A state of the determinised automaton
+	static private class MacroState {
+		private final Set<State> states;
+		private final boolean isFinal;
+		private final Map<Symbol, Integer> transitions = new HashMap<>();
+		private Set<Symbol> definedSymbols;
+
+		private MacroState(Set<State> states) {
+			this.states = states;
+			boolean fin = false;
+			for (State state : states)
+				if (state.isFinalState()) {
+					fin = true;
+					break;
+				}
+			this.isFinal = fin;
+		}
+
+		private Set<Symbol> getDefinedSymbols() {
+			if (definedSymbols == null) {
+				definedSymbols = new HashSet<>();
+				for (State state : states)
+					definedSymbols.addAll(state.getDefinedSymbols());
+				definedSymbols.remove(Symbol.EPSILON);
+			}
+			return definedSymbols;
+		}
+	}
+
+	// A pair of states that was reached by following the same word in both automata
+	static private class PairNode {
+		private final int state1;
+		private final int state2;
+		private final PairNode parent;
+		private final Symbol symbol;
+
+		private PairNode(int state1, int state2, PairNode parent, Symbol symbol) {
+			this.state1 = state1;
+			this.state2 = state2;
+			this.parent = parent;
+			this.symbol = symbol;
+		}
+
+		private List<String> getWord() {
+			LinkedList<String> word = new LinkedList<>();
+			for (PairNode node = this; node.parent != null; node = node.parent)
+				word.addFirst(node.symbol.getEvent());
+			return word;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
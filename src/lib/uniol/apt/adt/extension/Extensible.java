@@ -35,11 +35,18 @@ import uniol.apt.util.Pair;
  * The Extensible class describes an advanced object consisting of an id and a
  * key \rightarrow value property mapping and for every object a flag is saved
  * if the object should by copied (referenzcopy), if the owner object is copied.
+ *
+ * Extensions can also be stored with an {@link ExtensionKey}. If this object was created with an {@link
+ * ExtensionStorage}, these extensions are kept in that storage instead of in a map of this object. Such extensions
+ * have no properties and are also visible through the string-based methods under the name of their key.
  * @author Dennis-Michael Borde, Manuel Gieseking
  */
 public class Extensible implements IExtensible {
 
-	private final Map<String, Extension> extensions = new HashMap<>();
+	// Created on first use, since many objects never get any string-based extensions
+	private Map<String, Extension> extensions = null;
+	private final ExtensionStorage storage;
+	private final int storageIndex;
 
 	private static class Extension {
 		final Object value;
@@ -65,6 +72,44 @@ public class Extensible implements IExtensible {
 		}
 	}
 
+	/**
+	 * Create an Extensible which keeps all its extensions itself.
+	 */
+	public Extensible() {
+		this(null);
+	}
+
+	/**
+	 * Create an Extensible which keeps extensions with an {@link ExtensionKey} in the given storage.
+	 * @param storage The storage to use or null.
+	 */
+	protected Extensible(ExtensionStorage storage) {
+		this.storage = storage;
+		this.storageIndex = storage == null ? -1 : storage.allocateIndex();
+	}
+
+	private Map<String, Extension> getExtensionMap() {
+		if (extensions == null)
+			extensions = new HashMap<>();
+		return extensions;
+	}
+
+	private Extension getStringExtension(String key) {
+		if (extensions == null)
+			return null;
+		return extensions.get(key);
+	}
+
+	// Get the key that is used for the given name in the storage, or null
+	private ExtensionKey<?> getStorageKey(String key) {
+		if (storage == null)
+			return null;
+		ExtensionKey<?> result = storage.getKey(key);
+		if (result == null || storage.get(result, storageIndex) == null)
+			return null;
+		return result;
+	}
+
 	/**
 	 * Returns if this extension contains the given key.
 	 *
@@ -72,12 +117,13 @@ public class Extensible implements IExtensible {
 	 * @return true if this extensible has an extension names 'key'
 	 */
 	public boolean hasExtension(String key) {
-		return this.extensions.containsKey(key);
+		return getStringExtension(key) != null || getStorageKey(key) != null;
 	}
 
 	@Override
 	public void putExtension(String key, Object value, ExtensionProperty... properties) {
-		this.extensions.put(key, new Extension(value, properties));
+		removeStorageExtension(key);
+		getExtensionMap().put(key, new Extension(value, properties));
 	}
 
 	/**
@@ -87,7 +133,8 @@ public class Extensible implements IExtensible {
 	 * @param value Any value.
 	 */
 	public void putExtension(String key, Object value) {
-		this.extensions.put(key, new Extension(value));
+		removeStorageExtension(key);
+		getExtensionMap().put(key, new Extension(value));
 	}
 
 	/**
@@ -96,7 +143,25 @@ public class Extensible implements IExtensible {
 	 */
 	@Override
 	public void removeExtension(String key) {
-		this.extensions.remove(key);
+		removeStorageExtension(key);
+		if (extensions != null)
+			extensions.remove(key);
+	}
+
+	/**
+	 * Remove all extensions with an {@link ExtensionKey} of this object from the {@link ExtensionStorage}. This is
+	 * called when this object is removed from the owner of the storage, so that the storage does not keep the
+	 * values alive.
+	 */
+	protected void clearStorageExtensions() {
+		if (storage != null)
+			storage.clear(storageIndex);
+	}
+
+	private void removeStorageExtension(String key) {
+		ExtensionKey<?> storageKey = getStorageKey(key);
+		if (storageKey != null)
+			storage.remove(storageKey, storageIndex);
 	}
 
 	/**
@@ -107,11 +172,80 @@ public class Extensible implements IExtensible {
 	 */
 	@Override
 	public Object getExtension(String key) {
-		Extension ext = this.extensions.get(key);
-		if (ext == null) {
+		Extension ext = getStringExtension(key);
+		if (ext != null)
+			return ext.value;
+		ExtensionKey<?> storageKey = getStorageKey(key);
+		if (storageKey == null) {
 			throw new StructureException("Extension '" + key + "' not found.");
 		}
-		return ext.value;
+		return storage.get(storageKey, storageIndex);
+	}
+
+	/**
+	 * Returns if this extensible has an extension with the given key.
+	 * @param key The key to search for.
+	 * @return true if this extensible has such an extension.
+	 */
+	@Override
+	public boolean hasExtension(ExtensionKey<?> key) {
+		if (storage != null && storage.get(key, storageIndex) != null)
+			return true;
+		return getStringExtension(key.getName()) != null;
+	}
+
+	/**
+	 * Saves the given value using the given key. The extension has no properties, so it is copied when the owner
+	 * object is copied.
+	 * @param key The key.
+	 * @param value The value. This must not be null.
+	 * @param <T> The type of the value.
+	 */
+	@Override
+	public <T> void putExtension(ExtensionKey<T> key, T value) {
+		if (value == null) {
+			throw new IllegalArgumentException("value == null");
+		}
+		if (storage == null) {
+			getExtensionMap().put(key.getName(), new Extension(key.getType().cast(value)));
+			return;
+		}
+		if (extensions != null)
+			extensions.remove(key.getName());
+		storage.put(key, storageIndex, value);
+	}
+
+	/**
+	 * Removes the value associated with the given key.
+	 * @param key The key.
+	 */
+	@Override
+	public void removeExtension(ExtensionKey<?> key) {
+		if (storage != null)
+			storage.remove(key, storageIndex);
+		if (extensions != null)
+			extensions.remove(key.getName());
+	}
+
+	/**
+	 * Retrieves the value saved with the given key.
+	 * @param key The key.
+	 * @param <T> The type of the value.
+	 * @return The saved value.
+	 * @throws StructureException thrown if the key is not found.
+	 */
+	@Override
+	public <T> T getExtension(ExtensionKey<T> key) {
+		if (storage != null) {
+			T value = storage.get(key, storageIndex);
+			if (value != null)
+				return value;
+		}
+		Extension ext = getStringExtension(key.getName());
+		if (ext == null) {
+			throw new StructureException("Extension '" + key.getName() + "' not found.");
+		}
+		return key.getType().cast(ext.value);
 	}
 
 	/**
@@ -120,12 +254,23 @@ public class Extensible implements IExtensible {
 	 */
 	public List<Pair<String, Object>> getExtensions() {
 		List<Pair<String, Object>> ret = new ArrayList<>();
-		for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
-			ret.add(new Pair<>(entry.getKey(), entry.getValue().value));
+		if (extensions != null) {
+			for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
+				ret.add(new Pair<>(entry.getKey(), entry.getValue().value));
+			}
 		}
+		addStorageExtensions(ret);
 		return ret;
 	}
 
+	// Extensions in the storage have no properties
+	private void addStorageExtensions(List<Pair<String, Object>> result) {
+		if (storage == null)
+			return;
+		for (ExtensionKey<?> key : storage.getKeys(storageIndex))
+			result.add(new Pair<String, Object>(key.getName(), storage.get(key, storageIndex)));
+	}
+
 	/**
 	 * Calculates a list of pairs key-value of all extensions with the given property. Attention it's a reference
 	 * copy!
@@ -134,10 +279,12 @@ public class Extensible implements IExtensible {
 	 */
 	public List<Pair<String, Object>> getExtensionsWithProperty(ExtensionProperty property) {
 		List<Pair<String, Object>> ret = new ArrayList<>();
-		for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
-			Extension ext = entry.getValue();
-			if (ext.properties.contains(property))
-				ret.add(new Pair<>(entry.getKey(), ext.value));
+		if (extensions != null) {
+			for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
+				Extension ext = entry.getValue();
+				if (ext.properties.contains(property))
+					ret.add(new Pair<>(entry.getKey(), ext.value));
+			}
 		}
 		return ret;
 	}
@@ -150,11 +297,14 @@ public class Extensible implements IExtensible {
 	 */
 	public List<Pair<String, Object>> getExtensionsWithoutProperty(ExtensionProperty property) {
 		List<Pair<String, Object>> ret = new ArrayList<>();
-		for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
-			Extension ext = entry.getValue();
-			if (!ext.properties.contains(property))
-				ret.add(new Pair<>(entry.getKey(), ext.value));
+		if (extensions != null) {
+			for (Map.Entry<String, Extension> entry : extensions.entrySet()) {
+				Extension ext = entry.getValue();
+				if (!ext.properties.contains(property))
+					ret.add(new Pair<>(entry.getKey(), ext.value));
+			}
 		}
+		addStorageExtensions(ret);
 		return ret;
 	}
 
@@ -180,12 +330,24 @@ public class Extensible implements IExtensible {
 	 * @param e The Extensible to copy from.
 	 */
 	public final void copyExtensions(Extensible e) {
-		for (Map.Entry<String, Extension> entry : e.extensions.entrySet()) {
-			Extension ext = entry.getValue();
-			if (!ext.properties.contains(ExtensionProperty.NOCOPY))
-				// This shares the Extension instance!
-				this.extensions.put(entry.getKey(), ext);
+		if (e.extensions != null) {
+			for (Map.Entry<String, Extension> entry : e.extensions.entrySet()) {
+				Extension ext = entry.getValue();
+				if (!ext.properties.contains(ExtensionProperty.NOCOPY)) {
+					removeStorageExtension(entry.getKey());
+					// This shares the Extension instance!
+					getExtensionMap().put(entry.getKey(), ext);
+				}
+			}
 		}
+		if (e.storage != null) {
+			for (ExtensionKey<?> key : e.storage.getKeys(e.storageIndex))
+				copyStorageExtension(key, e);
+		}
+	}
+
+	private <T> void copyStorageExtension(ExtensionKey<T> key, Extensible e) {
+		putExtension(key, e.storage.get(key, e.storageIndex));
 	}
 }
 
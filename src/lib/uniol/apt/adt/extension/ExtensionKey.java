@@ -0,0 +1,84 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.extension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed key for extensions. Extensions of nodes and edges that are stored with such a key are kept in dense arrays
+ * of their graph instead of a map per node or edge. Keys are compared by identity and are meant to be stored in
+ * constants. The name of a key is used to access its extensions through the string-based methods of {@link
+ * Extensible}, so different keys should have different names.
+ * @param <T> The type of the values that are stored with this key.
+ * @author agent
+ */
+public final class ExtensionKey<T> {
+	private static final AtomicInteger nextId = new AtomicInteger();
+
+	private final String name;
+	private final Class<T> type;
+	private final int id;
+
+	/**
+	 * Create a new extension key.
+	 * @param name The name of the key.
+	 * @param type The type of the values.
+	 */
+	public ExtensionKey(String name, Class<T> type) {
+		if (name == null)
+			throw new IllegalArgumentException("name == null");
+		if (type == null)
+			throw new IllegalArgumentException("type == null");
+		this.name = name;
+		this.type = type;
+		this.id = nextId.getAndIncrement();
+	}
+
+	/**
+	 * Get the name of this key.
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the type of the values that are stored with this key.
+	 * @return The type.
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Get the number of this key. Keys are numbered consecutively in the order in which they were created.
+	 * @return The number.
+	 */
+	int getId() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,140 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.extension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for extensions with an {@link ExtensionKey} of many elements, e.g. of all nodes of a graph. Each element is
+ * identified by a number that is allocated via {@link #allocateIndex()}. For each key, the values of all elements are
+ * kept in a single array which is indexed by these numbers. Numbers are never reused, but the values of an element
+ * are cleared via {@link #clear(int)} when it is removed, so that they can be garbage collected.
+ * @author agent
+ */
+public final class ExtensionStorage {
+	private static final Object[] EMPTY = new Object[0];
+
+	private int size = 0;
+	// For each key, indexed by its id, the values of all elements
+	private Object[][] columns = new Object[0][];
+	private final Map<String, ExtensionKey<?>> keys = new HashMap<>();
+
+	/**
+	 * Allocate the number for a new element.
+	 * @return The number of the element.
+	 */
+	public int allocateIndex() {
+		return size++;
+	}
+
+	private Object[] getColumn(ExtensionKey<?> key) {
+		int id = key.getId();
+		if (id >= columns.length || columns[id] == null)
+			return EMPTY;
+		return columns[id];
+	}
+
+	/**
+	 * Get the value of an element for a key.
+	 * @param key The key.
+	 * @param index The number of the element.
+	 * @param <T> The type of values.
+	 * @return The value or null if there is none.
+	 */
+	<T> T get(ExtensionKey<T> key, int index) {
+		Object[] column = getColumn(key);
+		if (index >= column.length)
+			return null;
+		return key.getType().cast(column[index]);
+	}
+
+	/**
+	 * Set the value of an element for a key.
+	 * @param key The key.
+	 * @param index The number of the element.
+	 * @param value The new value. This must not be null.
+	 * @param <T> The type of values.
+	 */
+	<T> void put(ExtensionKey<T> key, int index, T value) {
+		assert value != null;
+		int id = key.getId();
+		if (id >= columns.length)
+			columns = Arrays.copyOf(columns, Math.max(id + 1, 2 * columns.length));
+		Object[] column = columns[id];
+		if (column == null) {
+			column = new Object[size];
+			columns[id] = column;
+			keys.put(key.getName(), key);
+		} else if (index >= column.length) {
+			column = Arrays.copyOf(column, Math.max(size, 2 * column.length));
+			columns[id] = column;
+		}
+		column[index] = key.getType().cast(value);
+	}
+
+	/**
+	 * Remove the value of an element for a key.
+	 * @param key The key.
+	 * @param index The number of the element.
+	 */
+	void remove(ExtensionKey<?> key, int index) {
+		Object[] column = getColumn(key);
+		if (index < column.length)
+			column[index] = null;
+	}
+
+	/**
+	 * Remove all values of an element, for example because the element was removed from its graph.
+	 * @param index The number of the element.
+	 */
+	void clear(int index) {
+		for (Object[] column : columns)
+			if (column != null && index < column.length)
+				column[index] = null;
+	}
+
+	/**
+	 * Get the key with the given name that was used with this storage.
+	 * @param name The name of the key.
+	 * @return The key or null if no key with this name was used.
+	 */
+	ExtensionKey<?> getKey(String name) {
+		return keys.get(name);
+	}
+
+	/**
+	 * Get all keys for which the given element has a value.
+	 * @param index The number of the element.
+	 * @return The keys.
+	 */
+	List<ExtensionKey<?>> getKeys(int index) {
+		List<ExtensionKey<?>> result = new ArrayList<>();
+		for (ExtensionKey<?> key : keys.values())
+			if (get(key, index) != null)
+				result.add(key);
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
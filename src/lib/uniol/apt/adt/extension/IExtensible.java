@@ -46,6 +46,35 @@ public interface IExtensible {
 	 * @return The saved value.
 	 */
 	public Object getExtension(String key);
+
+	/**
+	 * Returns if there is an extension with the given key.
+	 * @param key The key.
+	 * @return true if there is such an extension.
+	 */
+	public boolean hasExtension(ExtensionKey<?> key);
+
+	/**
+	 * Saves the given value using the given key.
+	 * @param key The key.
+	 * @param value The value.
+	 * @param <T> The type of the value.
+	 */
+	public <T> void putExtension(ExtensionKey<T> key, T value);
+
+	/**
+	 * Removes the value associated with the given key.
+	 * @param key The key.
+	 */
+	public void removeExtension(ExtensionKey<?> key);
+
+	/**
+	 * Retrieves the value saved with the given key.
+	 * @param key The key.
+	 * @param <T> The type of the value.
+	 * @return The saved value.
+	 */
+	public <T> T getExtension(ExtensionKey<T> key);
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
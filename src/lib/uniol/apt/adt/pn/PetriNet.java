@@ -62,6 +62,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	private final SortedMap<String, Node> nodes = new TreeMap<>();
 	private final SortedMap<String, Place> places = new TreeMap<>();
 	private List<Place> placesList = Collections.emptyList();
+	private final List<Place> newPlaces = new ArrayList<>();
 	private final SortedMap<String, Transition> transitions = new TreeMap<>();
 	private final Map<String, Set<Node>> presetNodes = new SoftMap<>();
 	private final Map<String, Set<Node>> postsetNodes = new SoftMap<>();
@@ -70,6 +71,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	private int numFlows = 0;
 	private Marking initialMarking = new Marking(this);
 	private final Set<Marking> finalMarkings = new HashSet<>();
+	private boolean bulkLoading = false;
 
 	/**
 	 * Creates a new PetriNet with the name "".
@@ -94,6 +96,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 		this.name = pn.name;
 		this.nextPlaceId = pn.nextPlaceId;
 		this.nextTransitionId = pn.nextTransitionId;
+		beginBulkLoad();
 		for (String key : pn.places.keySet()) {
 			this.addPlace(key, new Place(this, pn.places.get(key)));
 		}
@@ -111,6 +114,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 		}
 		this.initialMarking = new Marking(this, pn.initialMarking);
 		copyExtensions(pn);
+		finishBulkLoad();
 	}
 
 	/**
@@ -259,11 +263,18 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	private Place addPlace(String id, Place p) {
 		this.places.put(id, p);
 		this.nodes.put(id, p);
-		this.placesList = new ArrayList<>(this.placesList);
-		this.placesList.add(p);
-		// update pre- and postsets
-		presetNodes.put(id, new HashSet<Node>());
-		postsetNodes.put(id, new HashSet<Node>());
+		if (bulkLoading) {
+			// placesList is only replaced when it is needed next, so that bulk loading is not quadratic
+			this.newPlaces.add(p);
+		} else {
+			this.placesList = new ArrayList<>(this.placesList);
+			this.placesList.add(p);
+		}
+		// update pre- and postsets; while bulk loading, they are calculated when they are needed
+		if (!bulkLoading) {
+			presetNodes.put(id, new HashSet<Node>());
+			postsetNodes.put(id, new HashSet<Node>());
+		}
 		presetEdges.put(id, new HashMap<EdgeKey, Flow>());
 		postsetEdges.put(id, new HashMap<EdgeKey, Flow>());
 		invokeListeners();
@@ -389,9 +400,11 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	private Transition addTransition(String id, Transition t) {
 		this.transitions.put(id, t);
 		this.nodes.put(id, t);
-		// update pre- and postsets
-		presetNodes.put(id, new HashSet<Node>());
-		postsetNodes.put(id, new HashSet<Node>());
+		// update pre- and postsets; while bulk loading, they are calculated when they are needed
+		if (!bulkLoading) {
+			presetNodes.put(id, new HashSet<Node>());
+			postsetNodes.put(id, new HashSet<Node>());
+		}
 		presetEdges.put(id, new HashMap<EdgeKey, Flow>());
 		postsetEdges.put(id, new HashMap<EdgeKey, Flow>());
 		invokeListeners();
@@ -540,6 +553,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 		old = postsetEdges.get(sourceId).remove(key);
 		assert old == f;
 		this.numFlows--;
+		onEdgeRemoved(f);
 		invokeListeners();
 	}
 
@@ -640,6 +654,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 		presetEdges.remove(id);
 		postsetEdges.remove(id);
 		this.nodes.remove(id);
+		onNodeRemoved(n);
 	}
 
 	/**
@@ -655,7 +670,7 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 		if (!this.places.containsKey(id)) {
 			throw new NoSuchNodeException(this, id);
 		}
-		this.placesList = new ArrayList<>(this.placesList);
+		this.placesList = new ArrayList<>(getPlacesList());
 		this.placesList.remove(places.get(id));
 		rmNode(id);
 		places.remove(id);
@@ -937,14 +952,47 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	}
 
 	/**
-	 * Get a list of all places. This list is never modified and is instead replaced every time a place is created
-	 * or removed. This is used by the {@link Marking} class.
+	 * Get a list of all places. This list is never modified and is instead replaced when places were created or
+	 * removed. This is used by the {@link Marking} class.
 	 * @return A list with all places of the net.
 	 */
 	List<Place> getPlacesList() {
+		// Outside of bulk loading, this getter must not modify the net, since it is called concurrently
+		if (bulkLoading)
+			addNewPlacesToList();
 		return placesList;
 	}
 
+	// Add the places which were created while bulk loading to placesList
+	private void addNewPlacesToList() {
+		if (newPlaces.isEmpty())
+			return;
+		List<Place> list = new ArrayList<>(placesList.size() + newPlaces.size());
+		list.addAll(placesList);
+		list.addAll(newPlaces);
+		placesList = list;
+		newPlaces.clear();
+	}
+
+	/**
+	 * Start bulk loading this Petri net. Until {@link #finishBulkLoad()} is called, listeners are not invoked and
+	 * the caches of pre- and postset nodes are not maintained.
+	 * @see PetriNetBuilder
+	 */
+	void beginBulkLoad() {
+		bulkLoading = true;
+		deferListeners();
+	}
+
+	/**
+	 * Finish bulk loading this Petri net. Listeners are invoked if anything changed.
+	 */
+	void finishBulkLoad() {
+		addNewPlacesToList();
+		bulkLoading = false;
+		resumeListeners();
+	}
+
 	/**
 	 * Creates an edge key to find or save a flow by it's primary key, that mean it's sourceId and targetId.
 	 * @param sourceId the id of the source node.
@@ -0,0 +1,124 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.pn;
+
+/**
+ * Builder for Petri nets with many nodes and flows. While a Petri net is built, its listeners are not invoked and the
+ * caches of pre- and postset nodes are not maintained for every new flow. Listeners are invoked once in {@link
+ * #build()} and the caches are calculated when they are queried.
+ *
+ * The Petri net under construction is available via {@link #getPetriNet()} and can be used normally, e.g. for
+ * putting extensions on it or for setting its initial marking.
+ * @author agent
+ */
+public class PetriNetBuilder {
+	private final PetriNet pn;
+
+	/**
+	 * Start building a Petri net with the name "".
+	 */
+	public PetriNetBuilder() {
+		this("");
+	}
+
+	/**
+	 * Start building a Petri net with the given name.
+	 * @param name the name of the Petri net.
+	 */
+	public PetriNetBuilder(String name) {
+		this.pn = new PetriNet(name);
+		this.pn.beginBulkLoad();
+	}
+
+	/**
+	 * Get the Petri net under construction.
+	 * @return the Petri net.
+	 */
+	public PetriNet getPetriNet() {
+		return pn;
+	}
+
+	/**
+	 * Creates a new place with the given id.
+	 * @param id the id of the new place.
+	 * @return the created place.
+	 * @see PetriNet#createPlace(String)
+	 */
+	public Place createPlace(String id) {
+		return pn.createPlace(id);
+	}
+
+	/**
+	 * Creates a new transition with the given id.
+	 * @param id the id of the new transition.
+	 * @return the created transition.
+	 * @see PetriNet#createTransition(String)
+	 */
+	public Transition createTransition(String id) {
+		return pn.createTransition(id);
+	}
+
+	/**
+	 * Creates a new transition with the given id and label.
+	 * @param id the id of the new transition.
+	 * @param label the label of the new transition.
+	 * @return the created transition.
+	 * @see PetriNet#createTransition(String, String)
+	 */
+	public Transition createTransition(String id, String label) {
+		return pn.createTransition(id, label);
+	}
+
+	/**
+	 * Creates a new flow with the given source, target and weight.
+	 * @param sourceId the id of the source node.
+	 * @param targetId the id of the target node.
+	 * @param weight the weight of the new flow.
+	 * @return the created flow.
+	 * @see PetriNet#createFlow(String, String, int)
+	 */
+	public Flow createFlow(String sourceId, String targetId, int weight) {
+		return pn.createFlow(sourceId, targetId, weight);
+	}
+
+	/**
+	 * Creates a new flow with the given source, target and weight.
+	 * @param source the source node.
+	 * @param target the target node.
+	 * @param weight the weight of the new flow.
+	 * @return the created flow.
+	 * @see PetriNet#createFlow(Node, Node, int)
+	 */
+	public Flow createFlow(Node source, Node target, int weight) {
+		return pn.createFlow(source, target, weight);
+	}
+
+	/**
+	 * Finish building the Petri net. Listeners are invoked once. After this, the Petri net behaves exactly as if it
+	 * was constructed without this builder.
+	 * @return the Petri net.
+	 */
+	public PetriNet build() {
+		pn.finishBulkLoad();
+		return pn;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
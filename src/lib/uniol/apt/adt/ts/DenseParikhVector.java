@@ -0,0 +1,356 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.ts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Parikh vector that is stored as an array of counts which is indexed by the position of a label in an {@link
+ * Alphabet}. In contrast to {@link ParikhVector}, operations on this class do not need to look up labels and the hash
+ * value is computed only once, which makes this class suitable for algorithms that handle many Parikh vectors.
+ * Instances are immutable and only Parikh vectors over the same alphabet instance can be combined or compared.
+ * @author agent
+ */
+public final class DenseParikhVector {
+	/**
+	 * An alphabet that assigns consecutive numbers to labels. Labels can be added to an alphabet at any time, but
+	 * never removed, so Parikh vectors that were created earlier stay valid. Instances of this class are not
+	 * thread-safe.
+	 */
+	public static final class Alphabet {
+		private final Map<String, Integer> indices = new HashMap<>();
+		private final List<String> labels = new ArrayList<>();
+
+		/**
+		 * Create an empty alphabet.
+		 */
+		public Alphabet() {
+		}
+
+		/**
+		 * Create an alphabet containing the given labels.
+		 * @param labels The labels of the alphabet.
+		 */
+		public Alphabet(Collection<String> labels) {
+			for (String label : labels)
+				intern(label);
+		}
+
+		/**
+		 * Get the index of a label, adding it to the alphabet if necessary.
+		 * @param label The label.
+		 * @return The index of the label.
+		 */
+		public int intern(String label) {
+			Integer index = indices.get(label);
+			if (index == null) {
+				index = labels.size();
+				labels.add(label);
+				indices.put(label, index);
+			}
+			return index;
+		}
+
+		/**
+		 * Get the index of a label.
+		 * @param label The label.
+		 * @return The index of the label or -1 if the label is not part of this alphabet.
+		 */
+		public int indexOf(String label) {
+			Integer index = indices.get(label);
+			return index == null ? -1 : index;
+		}
+
+		/**
+		 * Get the label with the given index.
+		 * @param index The index.
+		 * @return The label.
+		 */
+		public String getLabel(int index) {
+			return labels.get(index);
+		}
+
+		/**
+		 * Get the labels of this alphabet.
+		 * @return The labels ordered by their index.
+		 */
+		public List<String> getLabels() {
+			return Collections.unmodifiableList(labels);
+		}
+
+		/**
+		 * Get the number of labels in this alphabet.
+		 * @return The size of the alphabet.
+		 */
+		public int size() {
+			return labels.size();
+		}
+	}
+
+	private final Alphabet alphabet;
+	// The last entry is non-zero, so that each Parikh vector has exactly one representation
+	private final int[] counts;
+	private final int hash;
+
+	// The array is owned by the new instance afterwards
+	private DenseParikhVector(Alphabet alphabet, int[] counts) {
+		int length = counts.length;
+		while (length > 0 && counts[length - 1] == 0)
+			length--;
+		this.alphabet = alphabet;
+		this.counts = length == counts.length ? counts : Arrays.copyOf(counts, length);
+		this.hash = Arrays.hashCode(this.counts);
+	}
+
+	/**
+	 * Create the empty Parikh vector.
+	 * @param alphabet The alphabet of the Parikh vector.
+	 */
+	public DenseParikhVector(Alphabet alphabet) {
+		this(alphabet, new int[0]);
+	}
+
+	/**
+	 * Create the Parikh vector of a sequence. Labels that are not yet part of the alphabet are added to it.
+	 * @param alphabet The alphabet of the Parikh vector.
+	 * @param sequence The sequence of labels.
+	 * @return The Parikh vector.
+	 */
+	public static DenseParikhVector of(Alphabet alphabet, List<String> sequence) {
+		int[] indices = new int[sequence.size()];
+		int length = 0;
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = alphabet.intern(sequence.get(i));
+			length = Math.max(length, indices[i] + 1);
+		}
+		int[] counts = new int[length];
+		for (int index : indices)
+			counts[index]++;
+		return new DenseParikhVector(alphabet, counts);
+	}
+
+	/**
+	 * Convert a Parikh vector into a dense Parikh vector. Labels that are not yet part of the alphabet are added to
+	 * it.
+	 * @param alphabet The alphabet of the Parikh vector.
+	 * @param pv The Parikh vector to convert.
+	 * @return The dense Parikh vector.
+	 */
+	public static DenseParikhVector of(Alphabet alphabet, ParikhVector pv) {
+		int[] counts = new int[alphabet.size()];
+		for (String label : pv.getLabels()) {
+			int index = alphabet.intern(label);
+			if (index >= counts.length)
+				counts = Arrays.copyOf(counts, Math.max(index + 1, alphabet.size()));
+			counts[index] = pv.get(label);
+		}
+		return new DenseParikhVector(alphabet, counts);
+	}
+
+	/**
+	 * Get the alphabet of this Parikh vector.
+	 * @return The alphabet.
+	 */
+	public Alphabet getAlphabet() {
+		return alphabet;
+	}
+
+	/**
+	 * Get the number of occurrences of the label with the given index.
+	 * @param index The index of the label in the alphabet.
+	 * @return The number of occurrences.
+	 */
+	public int get(int index) {
+		return index < counts.length ? counts[index] : 0;
+	}
+
+	/**
+	 * Get the number of occurrences of the given label.
+	 * @param label The label.
+	 * @return The number of occurrences.
+	 */
+	public int get(String label) {
+		int index = alphabet.indexOf(label);
+		return index < 0 ? 0 : get(index);
+	}
+
+	/**
+	 * Get the counts of this Parikh vector as an array.
+	 * @return A new array that has an entry for every label of the alphabet.
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(counts, Math.max(counts.length, alphabet.size()));
+	}
+
+	/**
+	 * Create a Parikh vector where the label with the given index occurs once more.
+	 * @param index The index of the label in the alphabet.
+	 * @return The new Parikh vector.
+	 */
+	public DenseParikhVector add(int index) {
+		int[] result = Arrays.copyOf(counts, Math.max(counts.length, index + 1));
+		result[index]++;
+		return new DenseParikhVector(alphabet, result);
+	}
+
+	/**
+	 * Create a Parikh vector where the given label occurs once more. The label is added to the alphabet if
+	 * necessary.
+	 * @param label The label.
+	 * @return The new Parikh vector.
+	 */
+	public DenseParikhVector add(String label) {
+		return add(alphabet.intern(label));
+	}
+
+	/**
+	 * Combine two Parikh vectors to a new one.
+	 * @param other The Parikh vector to add.
+	 * @return The sum of this and the other Parikh vector.
+	 */
+	public DenseParikhVector add(DenseParikhVector other) {
+		checkAlphabet(other);
+		int[] result = Arrays.copyOf(counts, Math.max(counts.length, other.counts.length));
+		for (int i = 0; i < other.counts.length; i++)
+			result[i] += other.counts[i];
+		return new DenseParikhVector(alphabet, result);
+	}
+
+	/**
+	 * Compute the residual of this Parikh vector with another Parikh vector, i.e. the difference of the two
+	 * Parikh vectors where subtraction saturates at zero.
+	 * @param other The Parikh vector to subtract.
+	 * @return The residual.
+	 * @see ParikhVector#residual
+	 */
+	public DenseParikhVector residual(DenseParikhVector other) {
+		checkAlphabet(other);
+		int[] result = counts.clone();
+		int length = Math.min(counts.length, other.counts.length);
+		for (int i = 0; i < length; i++)
+			result[i] = Math.max(0, result[i] - other.counts[i]);
+		return new DenseParikhVector(alphabet, result);
+	}
+
+	/**
+	 * Compare this Parikh vector with the given Parikh vector.
+	 * @param other The Parikh vector to compare to.
+	 * @return The result of the comparison.
+	 */
+	public ParikhVector.Comparison compare(DenseParikhVector other) {
+		checkAlphabet(other);
+		boolean greater = counts.length > other.counts.length;
+		boolean less = counts.length < other.counts.length;
+		int length = Math.min(counts.length, other.counts.length);
+		for (int i = 0; i < length; i++) {
+			greater |= counts[i] > other.counts[i];
+			less |= counts[i] < other.counts[i];
+		}
+		if (greater && less)
+			return ParikhVector.Comparison.INCOMPARABLE;
+		if (greater)
+			return ParikhVector.Comparison.GREATER_THAN;
+		if (less)
+			return ParikhVector.Comparison.LESS_THAN;
+		return ParikhVector.Comparison.EQUAL;
+	}
+
+	/**
+	 * Check if two Parikh vectors are mutually disjoint, i.e. if there is no label for which both Parikh vectors
+	 * have a non-zero count.
+	 * @param other The Parikh vector to compare with.
+	 * @return true if the Parikh vectors are mutually disjoint.
+	 */
+	public boolean mutuallyDisjoint(DenseParikhVector other) {
+		checkAlphabet(other);
+		int length = Math.min(counts.length, other.counts.length);
+		for (int i = 0; i < length; i++)
+			if (counts[i] != 0 && other.counts[i] != 0)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Check if two Parikh vectors are equal or mutually disjoint.
+	 * @param other The Parikh vector to compare with.
+	 * @return true if the Parikh vectors are equal or mutually disjoint.
+	 */
+	public boolean sameOrMutuallyDisjoint(DenseParikhVector other) {
+		return equals(other) || mutuallyDisjoint(other);
+	}
+
+	/**
+	 * Get the labels for which this Parikh vector contains a non-zero entry.
+	 * @return A new set containing the indices of these labels.
+	 */
+	public BitSet getSupport() {
+		BitSet result = new BitSet(counts.length);
+		for (int i = 0; i < counts.length; i++)
+			if (counts[i] != 0)
+				result.set(i);
+		return result;
+	}
+
+	/**
+	 * Convert this Parikh vector into a {@link ParikhVector}.
+	 * @return The Parikh vector.
+	 */
+	public ParikhVector toParikhVector() {
+		Map<String, Integer> result = new HashMap<>();
+		for (int i = 0; i < counts.length; i++)
+			if (counts[i] != 0)
+				result.put(alphabet.getLabel(i), counts[i]);
+		return new ParikhVector(result);
+	}
+
+	private void checkAlphabet(DenseParikhVector other) {
+		if (alphabet != other.alphabet)
+			throw new IllegalArgumentException("Parikh vectors over different alphabets cannot be combined");
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (!(obj instanceof DenseParikhVector))
+			return false;
+		DenseParikhVector other = (DenseParikhVector) obj;
+		return hash == other.hash && alphabet == other.alphabet && Arrays.equals(counts, other.counts);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return toParikhVector().toString();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -80,6 +80,7 @@ public class State extends Node<TransitionSystem, Arc, State> {
 	 *         have the given label
 	 */
 	public Set<Arc> getPresetEdgesByLabel(String label) {
+		graph.validateLabelCaches();
 		Set<Arc> result = presetEdgesByLabel.get(label);
 		if (result == null)
 			return Collections.emptySet();
@@ -109,6 +110,7 @@ public class State extends Node<TransitionSystem, Arc, State> {
 	 *         label
 	 */
 	public Set<Arc> getPostsetEdgesByLabel(String label) {
+		graph.validateLabelCaches();
 		Set<Arc> result = postsetEdgesByLabel.get(label);
 		if (result == null)
 			return Collections.emptySet();
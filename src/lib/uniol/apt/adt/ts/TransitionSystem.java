@@ -63,6 +63,8 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	private final Map<String, Bag<State>> postsetNodes = new SoftMap<>();
 	private int numArcs = 0;
 	private State initialState = null;
+	private boolean bulkLoading = false;
+	private boolean labelCachesValid = true;
 
 	/**
 	 * Creates a new TransitionSystem with no name (e.g. "").
@@ -86,6 +88,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	public TransitionSystem(TransitionSystem ts) {
 		this.name = ts.name;
 		this.nextStateId = ts.nextStateId;
+		beginBulkLoad();
 		for (Map.Entry<String, State> entry : ts.states.entrySet()) {
 			addState(entry.getKey(), new State(this, entry.getValue()));
 		}
@@ -101,6 +104,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 			event.copyExtensions(ts.getEvent(event.getLabel()));
 		this.initialState = states.get(ts.getInitialState().getId());
 		copyExtensions(ts);
+		finishBulkLoad();
 	}
 
 	/**
@@ -166,8 +170,11 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		if (postNodes != null) {
 			postNodes.add(arc.getTarget());
 		}
-		// Update postsetByLabel cache.
-		onArcAddedUpdateByLabelCache(arc);
+		// Update postsetByLabel cache. While bulk loading, it is rebuilt when it is needed next.
+		if (bulkLoading)
+			labelCachesValid = false;
+		else
+			onArcAddedUpdateByLabelCache(arc);
 		invokeListeners();
 		return arc;
 	}
@@ -266,9 +273,11 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	 */
 	private State addState(String id, State state) {
 		states.put(id, state);
-		// update pre- and postsets
-		presetNodes.put(id, new HashBag<State>());
-		postsetNodes.put(id, new HashBag<State>());
+		// update pre- and postsets; while bulk loading, they are calculated when they are needed
+		if (!bulkLoading) {
+			presetNodes.put(id, new HashBag<State>());
+			postsetNodes.put(id, new HashBag<State>());
+		}
 		invokeListeners();
 		return state;
 	}
@@ -419,6 +428,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		assert old == a;
 		this.numArcs--;
 		removeEvent(a.getEvent());
+		onEdgeRemoved(a);
 		invokeListeners();
 	}
 
@@ -484,6 +494,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 			initialState = null;
 		}
 		this.states.remove(id);
+		onNodeRemoved(state);
 		invokeListeners();
 	}
 
@@ -1031,6 +1042,8 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	 * @param arc the added arc
 	 */
 	private void onArcAddedUpdateByLabelCache(Arc arc) {
+		if (!labelCachesValid)
+			return;
 		// Update postset arc by label cache.
 		Map<String, Set<Arc>> postsetsByLabel = arc.getSource().postsetEdgesByLabel;
 		Set<Arc> postset = postsetsByLabel.get(arc.getLabel());
@@ -1056,6 +1069,8 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	 * @param arc the removed arc
 	 */
 	private void onArcRemovedUpdateByLabelCache(Arc arc) {
+		if (!labelCachesValid)
+			return;
 		// Update postset arc by label cache.
 		Map<String, Set<Arc>> postsetsByLabel = arc.getSource().postsetEdgesByLabel;
 		Set<Arc> postset = postsetsByLabel.get(arc.getLabel());
@@ -1070,6 +1085,42 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		}
 	}
 
+	/**
+	 * Rebuild the pre- and postset by label caches of all states if they were not maintained while bulk loading.
+	 */
+	void validateLabelCaches() {
+		if (labelCachesValid)
+			return;
+		for (State state : states.values()) {
+			state.postsetEdgesByLabel.clear();
+			state.presetEdgesByLabel.clear();
+		}
+		labelCachesValid = true;
+		for (State state : states.values())
+			for (Arc arc : state.postsetEdges.values())
+				onArcAddedUpdateByLabelCache(arc);
+	}
+
+	/**
+	 * Start bulk loading this transition system. Until {@link #finishBulkLoad()} is called, listeners are not
+	 * invoked and some caches are not maintained.
+	 * @see TransitionSystemBuilder
+	 */
+	void beginBulkLoad() {
+		bulkLoading = true;
+		deferListeners();
+	}
+
+	/**
+	 * Finish bulk loading this transition system. All caches are brought up to date and listeners are invoked if
+	 * anything changed.
+	 */
+	void finishBulkLoad() {
+		bulkLoading = false;
+		validateLabelCaches();
+		resumeListeners();
+	}
+
 	/**
 	 * Returns true if this TS contains a state with the given id.
 	 *
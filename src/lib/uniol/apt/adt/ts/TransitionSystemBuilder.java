@@ -0,0 +1,122 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.ts;
+
+/**
+ * Builder for transition systems with many states and arcs. While a transition system is built, its listeners are not
+ * invoked and the caches of the pre- and postsets by label are not maintained for every new arc. Instead, this work is
+ * done once in {@link #build()}.
+ *
+ * The transition system under construction is available via {@link #getTransitionSystem()} and can be used normally,
+ * e.g. for putting extensions on it or on its states and arcs. Caches are rebuilt when they are queried, so this is
+ * correct, but it is expensive if done repeatedly.
+ * @author agent
+ */
+public class TransitionSystemBuilder {
+	private final TransitionSystem ts;
+
+	/**
+	 * Start building a transition system with no name.
+	 */
+	public TransitionSystemBuilder() {
+		this("");
+	}
+
+	/**
+	 * Start building a transition system with the given name.
+	 * @param name the name of the transition system.
+	 */
+	public TransitionSystemBuilder(String name) {
+		this.ts = new TransitionSystem(name);
+		this.ts.beginBulkLoad();
+	}
+
+	/**
+	 * Get the transition system under construction.
+	 * @return the transition system.
+	 */
+	public TransitionSystem getTransitionSystem() {
+		return ts;
+	}
+
+	/**
+	 * Creates a new state with the given id.
+	 * @param id the id of the state.
+	 * @return the created state.
+	 * @see TransitionSystem#createState(String)
+	 */
+	public State createState(String id) {
+		return ts.createState(id);
+	}
+
+	/**
+	 * Creates a new state with an auto-generated id.
+	 * @return the created state.
+	 * @see TransitionSystem#createState()
+	 */
+	public State createState() {
+		return ts.createState();
+	}
+
+	/**
+	 * Creates an arc with the given source, target and label.
+	 * @param sourceId the id of the source state.
+	 * @param targetId the id of the target state.
+	 * @param label the label of the arc.
+	 * @return the created arc.
+	 * @see TransitionSystem#createArc(String, String, String)
+	 */
+	public Arc createArc(String sourceId, String targetId, String label) {
+		return ts.createArc(sourceId, targetId, label);
+	}
+
+	/**
+	 * Creates an arc with the given source, target and label.
+	 * @param source the source state.
+	 * @param target the target state.
+	 * @param label the label of the arc.
+	 * @return the created arc.
+	 * @see TransitionSystem#createArc(State, State, String)
+	 */
+	public Arc createArc(State source, State target, String label) {
+		return ts.createArc(source, target, label);
+	}
+
+	/**
+	 * Sets the initial state.
+	 * @param state the new initial state.
+	 * @see TransitionSystem#setInitialState(State)
+	 */
+	public void setInitialState(State state) {
+		ts.setInitialState(state);
+	}
+
+	/**
+	 * Finish building the transition system. All caches are brought up to date and listeners are invoked once.
+	 * After this, the transition system behaves exactly as if it was constructed without this builder.
+	 * @return the transition system.
+	 */
+	public TransitionSystem build() {
+		ts.finishBulkLoad();
+		return ts;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,351 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight instrumentation with named counters, timers and gauges. Metrics are registered once, usually in a
+ * static field, and then updated from anywhere:
+ * <pre>
+ * {@code
+ * static private final Metrics.Timer TIMER = Metrics.getTimer("example.phase");
+ *
+ * long start = TIMER.start();
+ * try {
+ *     ...
+ * } finally {
+ *     TIMER.stop(start);
+ * }
+ * }
+ * </pre>
+ * Recording is disabled by default and can be enabled with the system property <pre>apt.metrics</pre> or via {@link
+ * #setEnabled}. While disabled, updating a metric only reads a volatile flag. All metrics are global and can be
+ * updated from multiple threads concurrently. Thus, the values recorded during some operation are only exact if no
+ * other operation runs at the same time.
+ * @author agent
+ */
+final public class Metrics {
+	static private final ConcurrentMap<String, Metric> METRICS = new ConcurrentHashMap<>();
+	static private volatile boolean enabled = Boolean.getBoolean("apt.metrics");
+
+	/**
+	 * Private constructor, don't create instances of this.
+	 */
+	private Metrics() {
+	}
+
+	/**
+	 * Check if metrics are recorded.
+	 * @return true if metrics are recorded.
+	 */
+	static public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enable or disable the recording of metrics.
+	 * @param enable Whether metrics should be recorded.
+	 */
+	static public void setEnabled(boolean enable) {
+		enabled = enable;
+	}
+
+	static private <M extends Metric> M register(String name, Class<M> klass, M metric) {
+		Metric existing = METRICS.putIfAbsent(name, metric);
+		if (existing == null)
+			return metric;
+		if (!klass.isInstance(existing))
+			throw new IllegalArgumentException("Metric " + name + " already exists as a "
+					+ existing.getClass().getSimpleName());
+		return klass.cast(existing);
+	}
+
+	/**
+	 * Get the counter with the given name, creating it if it does not exist yet.
+	 * @param name The name of the counter.
+	 * @return The counter.
+	 * @throws IllegalArgumentException if a metric of another type has this name.
+	 */
+	static public Counter getCounter(String name) {
+		return register(name, Counter.class, new Counter());
+	}
+
+	/**
+	 * Get the timer with the given name, creating it if it does not exist yet.
+	 * @param name The name of the timer.
+	 * @return The timer.
+	 * @throws IllegalArgumentException if a metric of another type has this name.
+	 */
+	static public Timer getTimer(String name) {
+		return register(name, Timer.class, new Timer());
+	}
+
+	/**
+	 * Get the gauge with the given name, creating it if it does not exist yet.
+	 * @param name The name of the gauge.
+	 * @return The gauge.
+	 * @throws IllegalArgumentException if a metric of another type has this name.
+	 */
+	static public Gauge getGauge(String name) {
+		return register(name, Gauge.class, new Gauge());
+	}
+
+	/**
+	 * Get the current values of all metrics. A counter produces an entry with its name. A timer produces the
+	 * entries <code>name.calls</code> and <code>name.nanoseconds</code>. A gauge produces an entry with its name
+	 * for its last value and <code>name.max</code> for its largest value.
+	 * @return The values sorted by name.
+	 */
+	static public Map<String, Long> getValues() {
+		Map<String, Long> result = new TreeMap<>();
+		for (Map.Entry<String, Metric> entry : METRICS.entrySet())
+			entry.getValue().addValues(entry.getKey(), result);
+		return result;
+	}
+
+	/**
+	 * Get the values that changed since an earlier call to {@link #getValues}. The values of counters and timers
+	 * are the differences to the earlier values. Gauges produce their current values.
+	 * @param earlier The result of an earlier call to {@link #getValues}.
+	 * @return The changed values sorted by name.
+	 */
+	static public Map<String, Long> getValuesSince(Map<String, Long> earlier) {
+		Map<String, Long> result = new TreeMap<>();
+		Map<String, Long> values = new TreeMap<>();
+		for (Map.Entry<String, Metric> entry : METRICS.entrySet()) {
+			Metric metric = entry.getValue();
+			values.clear();
+			metric.addValues(entry.getKey(), values);
+			for (Map.Entry<String, Long> value : values.entrySet()) {
+				Long old = earlier.get(value.getKey());
+				long current = value.getValue();
+				if (old != null && old == current)
+					continue;
+				if (old != null && metric.isCumulative())
+					current -= old;
+				result.put(value.getKey(), current);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reset all metrics to zero.
+	 */
+	static public void reset() {
+		for (Metric metric : METRICS.values())
+			metric.reset();
+	}
+
+	/**
+	 * Base class for all metrics.
+	 */
+	static public abstract class Metric {
+		private Metric() {
+		}
+
+		abstract void addValues(String name, Map<String, Long> values);
+
+		abstract boolean isCumulative();
+
+		abstract void reset();
+	}
+
+	/**
+	 * A counter for events.
+	 */
+	static public final class Counter extends Metric {
+		private final AtomicLong count = new AtomicLong();
+
+		private Counter() {
+		}
+
+		/**
+		 * Increment the counter by one.
+		 */
+		public void increment() {
+			if (enabled)
+				count.incrementAndGet();
+		}
+
+		/**
+		 * Add a value to the counter.
+		 * @param value The value to add.
+		 */
+		public void add(long value) {
+			if (enabled)
+				count.addAndGet(value);
+		}
+
+		/**
+		 * Get the value of the counter.
+		 * @return The value.
+		 */
+		public long get() {
+			return count.get();
+		}
+
+		@Override
+		void addValues(String name, Map<String, Long> values) {
+			values.put(name, count.get());
+		}
+
+		@Override
+		boolean isCumulative() {
+			return true;
+		}
+
+		@Override
+		void reset() {
+			count.set(0);
+		}
+	}
+
+	/**
+	 * A timer that measures how often and how long something was executed.
+	 */
+	static public final class Timer extends Metric {
+		static private final long NOT_STARTED = Long.MIN_VALUE;
+
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong nanoseconds = new AtomicLong();
+
+		private Timer() {
+		}
+
+		/**
+		 * Start a measurement.
+		 * @return A token that must be passed to {@link #stop}.
+		 */
+		public long start() {
+			return enabled ? System.nanoTime() : NOT_STARTED;
+		}
+
+		/**
+		 * Finish a measurement.
+		 * @param start The result of the corresponding call to {@link #start}.
+		 */
+		public void stop(long start) {
+			if (start == NOT_STARTED || !enabled)
+				return;
+			nanoseconds.addAndGet(System.nanoTime() - start);
+			calls.incrementAndGet();
+		}
+
+		/**
+		 * Get the number of finished measurements.
+		 * @return The number of measurements.
+		 */
+		public long getCalls() {
+			return calls.get();
+		}
+
+		/**
+		 * Get the total duration of all finished measurements.
+		 * @return The duration in nanoseconds.
+		 */
+		public long getNanoseconds() {
+			return nanoseconds.get();
+		}
+
+		@Override
+		void addValues(String name, Map<String, Long> values) {
+			values.put(name + ".calls", calls.get());
+			values.put(name + ".nanoseconds", nanoseconds.get());
+		}
+
+		@Override
+		boolean isCumulative() {
+			return true;
+		}
+
+		@Override
+		void reset() {
+			calls.set(0);
+			nanoseconds.set(0);
+		}
+	}
+
+	/**
+	 * A gauge for the current value of some quantity, e.g. the size of a data structure. The largest value is
+	 * remembered, too.
+	 */
+	static public final class Gauge extends Metric {
+		private final AtomicLong value = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+
+		private Gauge() {
+		}
+
+		/**
+		 * Set the value of the gauge.
+		 * @param newValue The new value.
+		 */
+		public void set(long newValue) {
+			if (!enabled)
+				return;
+			value.set(newValue);
+			long oldMax = max.get();
+			while (newValue > oldMax && !max.compareAndSet(oldMax, newValue))
+				oldMax = max.get();
+		}
+
+		/**
+		 * Get the last value of the gauge.
+		 * @return The value.
+		 */
+		public long get() {
+			return value.get();
+		}
+
+		/**
+		 * Get the largest value of the gauge.
+		 * @return The largest value.
+		 */
+		public long getMaximum() {
+			return max.get();
+		}
+
+		@Override
+		void addValues(String name, Map<String, Long> values) {
+			values.put(name, value.get());
+			values.put(name + ".max", max.get());
+		}
+
+		@Override
+		boolean isCumulative() {
+			return false;
+		}
+
+		@Override
+		void reset() {
+			value.set(0);
+			max.set(0);
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
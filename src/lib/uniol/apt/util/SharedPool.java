@@ -0,0 +1,163 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The fork/join pool that is shared by all parallel algorithms. Java 8 provides ForkJoinPool.commonPool(), but Java 7
+ * does not, so a single pool is created when it is first needed. Its parallelism is the number of available
+ * processors and its worker threads are daemon threads, so it never has to be shut down.
+ *
+ * Algorithms that should use a certain number of threads do not get a pool of their own. Instead, {@link #run(int,
+ * int, Job)} limits how many of their jobs run at the same time.
+ *
+ * @author agent
+ */
+public class SharedPool {
+	/**
+	 * No, you should not create instances of this class.
+	 */
+	private SharedPool() {
+	}
+
+	// The pool is only created when it is first used
+	static private class Holder {
+		static private final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * A job that is identified by its number.
+	 */
+	public interface Job {
+		/**
+		 * Run the job.
+		 * @param index The number of the job.
+		 * @param interrupt A token for polling for interruption in the current thread.
+		 */
+		void run(int index, InterruptToken interrupt);
+	}
+
+	/**
+	 * Get the shared pool.
+	 * @return The shared pool.
+	 */
+	public static ForkJoinPool getPool() {
+		return Holder.POOL;
+	}
+
+	/**
+	 * Get the number of threads of the shared pool.
+	 * @return The parallelism of the shared pool.
+	 */
+	public static int getParallelism() {
+		return getPool().getParallelism();
+	}
+
+	/**
+	 * Run the jobs with the numbers 0 to count - 1. The jobs are started in the order of their numbers. At most
+	 * the given number of jobs and at most as many jobs as the pool has threads run at the same time. With a
+	 * single thread, the jobs are run in the calling thread.
+	 *
+	 * The jobs are run with the interrupter of the calling thread. If a job throws an exception, no further jobs
+	 * are started and the exception is rethrown in the calling thread after the running jobs finished.
+	 * @param count The number of jobs.
+	 * @param threads The maximum number of jobs that run at the same time.
+	 * @param job The jobs to run. This must be thread-safe.
+	 */
+	public static void run(int count, int threads, Job job) {
+		if (threads <= 0)
+			throw new IllegalArgumentException("The number of threads must be positive, but is " + threads);
+
+		// Each worker runs jobs until none are left. The pool never runs more workers at the same time than it
+		// has threads.
+		int workers = Math.min(count, threads);
+		if (workers <= 1) {
+			InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+			for (int index = 0; index < count; index++)
+				job.run(index, interrupt);
+			return;
+		}
+
+		Jobs jobs = new Jobs(count, job, InterrupterRegistry.getCurrentThreadInterrupter());
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int i = 0; i < workers; i++)
+			tasks.add(getPool().submit(jobs.new Worker()));
+		for (ForkJoinTask<?> task : tasks)
+			task.join();
+
+		// The pool would wrap exceptions into new instances, so the original exception is rethrown here
+		Throwable cause = jobs.failure.get();
+		if (cause instanceof RuntimeException)
+			throw (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+	}
+
+	// The state of a single call to run() which is shared by its workers
+	static private class Jobs {
+		private final int count;
+		private final Job job;
+		private final Interrupter interrupter;
+		private final AtomicInteger next = new AtomicInteger();
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private Jobs(int count, Job job, Interrupter interrupter) {
+			this.count = count;
+			this.job = job;
+			this.interrupter = interrupter;
+		}
+
+		// A worker runs jobs until none are left
+		private class Worker extends RecursiveAction {
+			public static final long serialVersionUID = 0x1l;
+
+			@Override
+			protected void compute() {
+				// The pool is shared and a job might run another parallel algorithm in this thread,
+				// so the previous interrupter of this thread is restored afterwards
+				Interrupter previous = InterrupterRegistry.getCurrentThreadInterrupter();
+				InterrupterRegistry.setCurrentThreadInterrupter(interrupter);
+				try {
+					InterruptToken interrupt = new InterruptToken(interrupter);
+					int index;
+					while (failure.get() == null && (index = next.getAndIncrement()) < count)
+						job.run(index, interrupt);
+				} catch (RuntimeException | Error e) {
+					failure.compareAndSet(null, e);
+				} finally {
+					InterrupterRegistry.setCurrentThreadInterrupter(previous);
+				}
+			}
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
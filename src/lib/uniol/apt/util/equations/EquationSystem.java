@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 import static uniol.apt.util.DebugUtil.debug;
@@ -74,6 +75,8 @@ public class EquationSystem {
 			debug("solve called");
 			debug("============");
 
+			InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+
 			while (!equations2.isEmpty()) {
 				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
@@ -92,7 +95,7 @@ public class EquationSystem {
 				// "Reduce" the equation to a single, non-zero coefficient
 				// TODO: Baaaaad performance
 				while (true) {
-					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+					interrupt.throwIfInterruptRequested();
 					boolean restart = false;
 
 					// Find two coefficients with 0 < lambda_i <= lambda_j
@@ -41,6 +41,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
 
+import uniol.apt.util.Metrics;
 import uniol.apt.util.interrupt.UncheckedInterruptedException;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 import uniol.apt.util.equations.InequalitySystem.Inequality;
@@ -52,6 +53,8 @@ import static uniol.apt.util.DebugUtil.debug;
  * @author Uli Schlachter
  */
 public class InequalitySystemSolver {
+	static private final Metrics.Timer FIND_SOLUTION_TIMER = Metrics.getTimer("smt.find_solution");
+
 	private final Script script;
 	private final List<InequalitySystem[]> systems = new LinkedList<>();
 	private final Deque<Integer> systemsLengthStack = new LinkedList<>();
@@ -180,7 +183,13 @@ public class InequalitySystemSolver {
 	 * @return A solution to the systems or an empty list if unsolvable
 	 */
 	public List<BigInteger> findSolution() {
-		List<BigInteger> solution = handleSolution(script, variablesStack.peekLast());
+		List<BigInteger> solution;
+		long start = FIND_SOLUTION_TIMER.start();
+		try {
+			solution = handleSolution(script, variablesStack.peekLast());
+		} finally {
+			FIND_SOLUTION_TIMER.stop(start);
+		}
 		if (solution.isEmpty()) {
 			debug("No solution found for:");
 			for (InequalitySystem[] disjunction : systems) {
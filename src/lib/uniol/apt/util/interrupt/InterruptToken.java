@@ -0,0 +1,63 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util.interrupt;
+
+/**
+ * A cheap way to poll for interruption in hot loops. A token is fetched once via {@link
+ * InterrupterRegistry#getCurrentThreadToken} before a loop is entered. Afterwards, {@link #throwIfInterruptRequested}
+ * avoids the thread-local lookup of the current interrupter and only asks the interrupter on every {@value
+ * #CHECK_INTERVAL}th call. The first call always asks the interrupter.
+ *
+ * A token is not thread-safe and should not be kept beyond the loop it is used in.
+ * @author agent
+ */
+public final class InterruptToken {
+	/**
+	 * The number of calls to {@link #throwIfInterruptRequested} after which the interrupter is asked again.
+	 */
+	public static final int CHECK_INTERVAL = 256;
+
+	private final Interrupter interrupter;
+	private int countdown = 1;
+
+	/**
+	 * Create a new token.
+	 * @param interrupter The interrupter that is asked.
+	 */
+	public InterruptToken(Interrupter interrupter) {
+		this.interrupter = interrupter;
+	}
+
+	/**
+	 * Throws an exception if the interrupter of this token determines that a task should be aborted. The
+	 * interrupter is only consulted on every {@value #CHECK_INTERVAL}th call.
+	 *
+	 * @throws UncheckedInterruptedException on interruption
+	 */
+	public void throwIfInterruptRequested() {
+		if (--countdown > 0)
+			return;
+		countdown = CHECK_INTERVAL;
+		if (interrupter.isInterruptRequested())
+			throw new UncheckedInterruptedException();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -61,6 +61,14 @@ public class InterrupterRegistry {
 		}
 	}
 
+	/**
+	 * Returns a token for cheaply polling the interrupter of the currently executing (calling) thread in hot loops.
+	 * @return A new token for the current thread's interrupter.
+	 */
+	public static InterruptToken getCurrentThreadToken() {
+		return new InterruptToken(getCurrentThreadInterrupter());
+	}
+
 	/**
 	 * Throws an exception if the interrupter for the currently executing
 	 * (calling) thread determines that a task should be aborted.
@@ -62,6 +62,7 @@ import uniol.apt.ui.impl.AptParametersTransformer;
 import uniol.apt.ui.impl.AptReturnValuesTransformer;
 import uniol.apt.ui.impl.SimpleParametersParser;
 import uniol.apt.ui.impl.UIUtils;
+import uniol.apt.util.Metrics;
 
 /**
  * @author Renke Grunwald
@@ -130,7 +131,8 @@ public class APT {
 	}
 
 	/**
-	 * Program entry point.
+	 * Program entry point. With <code>--metrics</code> as the first argument, the metrics recorded while the module
+	 * runs are printed to the standard error output.
 	 *
 	 * @param args
 	 *                command line arguments
@@ -138,6 +140,11 @@ public class APT {
 	public static void main(String[] args) {
 		addRemovedModules();
 
+		if (args.length > 0 && args[0].equals("--metrics")) {
+			Metrics.setEnabled(true);
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+
 		PARAMETERS_PARSER.parse(args);
 
 		String[] moduleNames = PARAMETERS_PARSER.getModuleNames();
@@ -218,15 +225,27 @@ public class APT {
 			ExitStatus status = statusChecker.check(module, values);
 
 			OUT_PRINTER.flush();
+			printMetrics();
 			System.exit(status.getValue());
 		} catch (ModuleException e) {
 			ERR_PRINTER.println(String.format("Error while invoking module '%s':%n  %s",
 						module.getName(), e.getMessage()));
+			printMetrics();
 			ERR_PRINTER.flush();
 			System.exit(ExitStatus.ERROR.getValue());
 		}
 	}
 
+	private static void printMetrics() {
+		if (!Metrics.isEnabled())
+			return;
+		ERR_PRINTER.println("Metrics:");
+		for (Map.Entry<String, Long> entry : Metrics.getValues().entrySet())
+			if (entry.getValue() != 0)
+				ERR_PRINTER.println("  " + entry.getKey() + ": " + entry.getValue());
+		ERR_PRINTER.flush();
+	}
+
 	private static void checkNoTwoStdinParameters(String[] moduleArgs, int numberOfUsedParameters,
 			List<Parameter> allParameters) {
 		boolean hasStdInParameter = false;
@@ -431,7 +450,7 @@ public class APT {
 
 	private static void printUsageAndExit() {
 		printVersion();
-		OUT_PRINTER.println("Usage: apt <module> <arguments>");
+		OUT_PRINTER.println("Usage: apt [--metrics] <module> <arguments>");
 		OUT_PRINTER.println();
 
 		OUT_PRINTER.println("Available modules:");
@@ -26,6 +26,7 @@ import uniol.apt.io.parser.ParseException;
 import uniol.apt.io.parser.Parser;
 import uniol.apt.module.exception.ModuleException;
 import uniol.apt.ui.StreamParameterTransformation;
+import uniol.apt.util.Metrics;
 
 /**
  * Abstract transformation that uses a parser to interpret a given string.
@@ -37,6 +38,8 @@ import uniol.apt.ui.StreamParameterTransformation;
  */
 public abstract class AbstractParserParameterTransformation<G> extends StreamParameterTransformation<G> {
 
+	static private final Metrics.Timer PARSE_TIMER = Metrics.getTimer("io.parse");
+
 	private final Parser<G> parser;
 	private final String objectName;
 
@@ -47,10 +50,13 @@ public abstract class AbstractParserParameterTransformation<G> extends StreamPar
 
 	@Override
 	public G transform(InputStream input) throws ModuleException, IOException {
+		long start = PARSE_TIMER.start();
 		try {
 			return parser.parse(input);
 		} catch (ParseException ex) {
 			throw new ModuleException("Can't parse " + objectName + ": " + ex.getMessage(), ex);
+		} finally {
+			PARSE_TIMER.stop(start);
 		}
 	}
 
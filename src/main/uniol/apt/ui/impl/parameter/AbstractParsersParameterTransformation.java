@@ -29,12 +29,15 @@ import uniol.apt.io.parser.ParserNotFoundException;
 import uniol.apt.io.parser.Parsers;
 import uniol.apt.module.exception.ModuleException;
 import uniol.apt.ui.StreamWithOptionsParameterTransformation;
+import uniol.apt.util.Metrics;
 
 /**
  * Transformation allowing to choose some parser to do the transformation.
  * @author Uli Schlachter
  */
 public abstract class AbstractParsersParameterTransformation<G> extends StreamWithOptionsParameterTransformation<G> {
+	static private final Metrics.Timer PARSE_TIMER = Metrics.getTimer("io.parse");
+
 	private final Parsers<G> parsers;
 	private final String defaultParser;
 	private final String objectName;
@@ -49,6 +52,7 @@ public abstract class AbstractParsersParameterTransformation<G> extends StreamWi
 	public G transform(InputStream input, String parser) throws ModuleException, IOException {
 		if (parser.isEmpty())
 			parser = defaultParser;
+		long start = PARSE_TIMER.start();
 		try {
 			return parsers.getParser(parser).parse(input);
 		} catch (ParseException ex) {
@@ -61,6 +65,8 @@ public abstract class AbstractParsersParameterTransformation<G> extends StreamWi
 				message.append(' ').append(name);
 			}
 			throw new ParserNotFoundException(message.toString(), ex);
+		} finally {
+			PARSE_TIMER.stop(start);
 		}
 	}
 
@@ -19,19 +19,24 @@
 
 package uniol.apt.ui.impl.parameter;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import uniol.apt.adt.IGraph;
 import uniol.apt.adt.PetriNetOrTransitionSystem;
 import uniol.apt.ui.AptParameterTransformation;
 import uniol.apt.ui.ParameterTransformation;
+import uniol.apt.ui.StreamParameterTransformation;
 import uniol.apt.module.exception.ModuleException;
 
 /**
  * @author Uli Schlachter
  */
 @AptParameterTransformation(value = IGraph.class, fileSource = true)
-public class GraphParameterTransformation implements ParameterTransformation<IGraph<?, ?, ?>> {
+public class GraphParameterTransformation extends StreamParameterTransformation<IGraph<?, ?, ?>>
+		implements ParameterTransformation<IGraph<?, ?, ?>> {
 	@Override
-	public IGraph<?, ?, ?> transform(String arg) throws ModuleException {
+	public IGraph<?, ?, ?> transform(InputStream arg) throws ModuleException, IOException {
 		PetriNetOrTransitionSystem result = new NetOrTSParameterTransformation().transform(arg);
 		if (result.getNet() != null)
 			return result.getNet();
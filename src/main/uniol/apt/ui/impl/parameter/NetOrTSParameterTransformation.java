@@ -20,26 +20,80 @@
 
 package uniol.apt.ui.impl.parameter;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+
 import uniol.apt.adt.PetriNetOrTransitionSystem;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.io.parser.AbstractParsers;
+import uniol.apt.io.parser.LTSParsers;
+import uniol.apt.io.parser.PNParsers;
 import uniol.apt.io.parser.ParseException;
+import uniol.apt.io.parser.Parser;
 import uniol.apt.io.parser.impl.AptLTSParser;
 import uniol.apt.io.parser.impl.AptPNParser;
 import uniol.apt.module.exception.ModuleException;
 import uniol.apt.ui.AptParameterTransformation;
 import uniol.apt.ui.ParameterTransformation;
+import uniol.apt.ui.StreamParameterTransformation;
+import uniol.apt.util.Metrics;
 
 /**
- * Use a filename to get either a Petri net or labeled transition system.
+ * Use a filename to get either a Petri net or labeled transition system. The format of the input is detected from
+ * its beginning, so that only a single parser has to be run. Only if this detection fails, the input is given to both
+ * the Petri net and the transition system parser for the apt format.
  *
  * @author vsp
  */
 @AptParameterTransformation(value = PetriNetOrTransitionSystem.class, fileSource = true)
-public class NetOrTSParameterTransformation implements ParameterTransformation<PetriNetOrTransitionSystem> {
+public class NetOrTSParameterTransformation extends StreamParameterTransformation<PetriNetOrTransitionSystem>
+		implements ParameterTransformation<PetriNetOrTransitionSystem> {
+	static private final Metrics.Timer PARSE_TIMER = Metrics.getTimer("io.parse");
 
 	@Override
-	public PetriNetOrTransitionSystem transform(String input) throws ModuleException {
+	public PetriNetOrTransitionSystem transform(InputStream input) throws ModuleException, IOException {
+		long start = PARSE_TIMER.start();
+		try {
+			return parse(input);
+		} finally {
+			PARSE_TIMER.stop(start);
+		}
+	}
+
+	private PetriNetOrTransitionSystem parse(InputStream input) throws ModuleException, IOException {
+		if (!input.markSupported())
+			input = new BufferedInputStream(input);
+
+		byte[] header = new byte[AbstractParsers.HEADER_LENGTH];
+		int length = AbstractParsers.readHeader(input, header);
+		Parser<PetriNet> pnParser = PNParsers.INSTANCE.detectParser(header, length);
+		Parser<TransitionSystem> tsParser = LTSParsers.INSTANCE.detectParser(header, length);
+
+		// parseString() falls back to the grammar-based apt parsers for their more detailed error messages
+		String text = IOUtils.toString(input);
+		if (pnParser != null && tsParser == null) {
+			try {
+				return new PetriNetOrTransitionSystem(pnParser.parseString(text));
+			} catch (ParseException ex) {
+				throw new ModuleException("Can't parse Petri net: " + ex.getMessage(), ex);
+			}
+		}
+		if (tsParser != null && pnParser == null) {
+			try {
+				return new PetriNetOrTransitionSystem(tsParser.parseString(text));
+			} catch (ParseException ex) {
+				throw new ModuleException("Can't parse transition system: " + ex.getMessage(), ex);
+			}
+		}
+
+		return tryBothParsers(text);
+	}
+
+	private PetriNetOrTransitionSystem tryBothParsers(String input) throws ModuleException {
 		PetriNet pn = null;
 		ParseException pnEx = null;
 		TransitionSystem ts = null;
@@ -26,12 +26,15 @@ import uniol.apt.io.renderer.RendererNotFoundException;
 import uniol.apt.io.renderer.Renderers;
 import uniol.apt.module.exception.ModuleException;
 import uniol.apt.ui.ReturnValueTransformationWithOptions;
+import uniol.apt.util.Metrics;
 
 /**
  * Transform an object into a String by using a renderer.
  * @author Uli Schlachter
  */
 public abstract class AbstractRenderersReturnValueTransformation<T> implements ReturnValueTransformationWithOptions<T> {
+	static private final Metrics.Timer RENDER_TIMER = Metrics.getTimer("io.render");
+
 	private final Renderers<T> renderers;
 	private final String defaultRenderer;
 
@@ -47,6 +50,7 @@ public abstract class AbstractRenderersReturnValueTransformation<T> implements R
 
 	@Override
 	public void transform(Writer output, T arg, String renderer) throws ModuleException, IOException {
+		long start = RENDER_TIMER.start();
 		try {
 			renderers.getRenderer(renderer).render(arg, output);
 		} catch (RendererNotFoundException ex) {
@@ -57,6 +61,8 @@ public abstract class AbstractRenderersReturnValueTransformation<T> implements R
 				message.append(' ').append(name);
 			}
 			throw new RendererNotFoundException(message.toString(), ex);
+		} finally {
+			RENDER_TIMER.stop(start);
 		}
 	}
 
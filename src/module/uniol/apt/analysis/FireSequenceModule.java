@@ -19,13 +19,13 @@
 
 package uniol.apt.analysis;
 
-import uniol.apt.adt.exception.NoSuchNodeException;
-import uniol.apt.adt.exception.TransitionFireException;
+import java.util.Collections;
+
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
-import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.language.FiringSequence;
 import uniol.apt.analysis.language.Word;
+import uniol.apt.analysis.language.WordInLanguage;
 import uniol.apt.module.AbstractModule;
 import uniol.apt.module.AptModule;
 import uniol.apt.module.Category;
@@ -35,7 +35,6 @@ import uniol.apt.module.ModuleInputSpec;
 import uniol.apt.module.ModuleOutput;
 import uniol.apt.module.ModuleOutputSpec;
 import uniol.apt.module.exception.ModuleException;
-import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
  * Try to fire a given sequence in a Petri net.
@@ -79,24 +78,19 @@ public class FireSequenceModule extends AbstractModule implements InterruptibleM
 	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
 		PetriNet pn = input.getParameter("pn", PetriNet.class);
 		Word sequence = input.getParameter("sequence", Word.class);
-		Marking marking = pn.getInitialMarking();
-		FiringSequence fired = new FiringSequence();
-		boolean success = true;
+		WordInLanguage.Result result = new WordInLanguage(pn, true)
+			.checkWords(Collections.singletonList(sequence)).get(0);
+		boolean success = result.isInLanguage();
+		FiringSequence fired = result.getFiringSequence();
+		Marking marking = result.getReachedMarking();
 
-		try {
-			for (String name : sequence) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				Transition trans = pn.getTransition(name);
-				marking = trans.fire(marking);
-				fired.add(trans);
-			}
+		if (success) {
 			// Unset list in case everything worked successfully
 			fired = null;
-		} catch (NoSuchNodeException e) {
-			String msg = "No transition named '" + e.getNodeId() + "' exists";
-			throw new ModuleException(msg, e);
-		} catch (TransitionFireException e) {
-			success = false;
+		} else {
+			String name = sequence.get(fired.size());
+			if (!pn.containsTransition(name))
+				throw new ModuleException("No transition named '" + name + "' exists");
 		}
 
 		output.setReturnValue("success", Boolean.class, success);
@@ -20,7 +20,6 @@
 package uniol.apt.analysis;
 
 import java.util.Map;
-import java.util.Iterator;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.ArrayList;
@@ -37,6 +36,7 @@ import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
 import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 import static uniol.apt.util.PowerSet.powerSet;
@@ -115,32 +115,13 @@ public class GenerateStepNet {
 	}
 
 	/**
-	 * Get all pairwise uncomparable reachable markings of a Petri net.
+	 * Get all pairwise uncomparable reachable markings of a Petri net, i.e. its minimal coverability set.
 	 * @param pn The Petri net whose markings should be computed
 	 * @return A set of reachable markings. There are no two entries a and b in this set for which {@link
 	 * isMarkingLessOrEqual} returns true.
 	 */
 	static public Collection<Marking> getMaximalReachableMarkings(PetriNet pn) {
-		Collection<Marking> result = new HashSet<>();
-		for (CoverabilityGraphNode node : CoverabilityGraph.get(pn).getNodes()) {
-			Marking mark = node.getMarking();
-			Iterator<Marking> iter = result.iterator();
-			boolean skip = false;
-			while (iter.hasNext()) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				Marking mark2 = iter.next();
-				if (isMarkingLessOrEqual(mark, mark2)) {
-					skip = true;
-					break;
-				}
-				if (isMarkingLessOrEqual(mark2, mark)) {
-					iter.remove();
-				}
-			}
-			if (!skip)
-				result.add(mark);
-		}
-		return result;
+		return new HashSet<>(MinimalCoverabilitySet.get(pn).getMarkings());
 	}
 
 	/**
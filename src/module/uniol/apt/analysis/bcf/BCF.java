@@ -21,19 +21,23 @@ package uniol.apt.analysis.bcf;
 
 import static java.util.Collections.disjoint;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
 import uniol.apt.analysis.coverability.CoverabilityGraphNode;
 import uniol.apt.analysis.exception.UnboundedException;
-import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.analysis.lts.LocalPropertyChecker;
+import uniol.apt.util.interrupt.InterruptToken;
 
 /**
  * Tests if a Petri net is behaviourally conflict-free. A Petri Net is BCF if
@@ -42,6 +46,9 @@ import uniol.apt.util.interrupt.InterrupterRegistry;
  * @author Uli Schlachter, vsp
  */
 public class BCF {
+	// The number of coverability graph nodes that are checked together
+	private static final int CHUNK_SIZE = 4 * LocalPropertyChecker.PARALLEL_THRESHOLD;
+
 	/** This class represents the result of check(). */
 	public static class Result {
 		public final Transition t1, t2;
@@ -72,30 +79,62 @@ public class BCF {
 	public Result check(PetriNet pn) throws UnboundedException {
 		CoverabilityGraph cover = CoverabilityGraph.get(pn);
 
-		for (CoverabilityGraphNode node : cover.getNodes()) {
-			Set<CoverabilityGraphEdge> edges = new HashSet<>(node.getPostsetEdges());
-			Marking marking = node.getMarking();
-			if (marking.hasOmega()) {
-				throw new UnboundedException(marking.getNet());
+		// The Petri net caches presets and this is not thread-safe either, so the presets are computed here
+		final Map<Transition, Set<Place>> presets = new HashMap<>();
+		for (Transition t : pn.getTransitions())
+			presets.put(t, t.getPreset());
+
+		// The coverability graph is computed lazily and this is not thread-safe. Thus, nodes are collected
+		// in chunks in this thread and then the nodes of each chunk are checked in parallel. This still allows
+		// to stop early without computing the whole coverability graph.
+		final List<CoverabilityGraphNode> chunk = new ArrayList<>();
+		final List<List<CoverabilityGraphEdge>> chunkEdges = new ArrayList<>();
+		Iterator<CoverabilityGraphNode> iter = cover.getNodes().iterator();
+		while (iter.hasNext()) {
+			chunk.clear();
+			chunkEdges.clear();
+			boolean unbounded = false;
+			while (iter.hasNext() && chunk.size() < CHUNK_SIZE) {
+				CoverabilityGraphNode node = iter.next();
+				if (node.getMarking().hasOmega()) {
+					// Nodes before this one might still contain a counter-example
+					unbounded = true;
+					break;
+				}
+				chunk.add(node);
+				chunkEdges.add(new ArrayList<>(node.getPostsetEdges()));
 			}
 
-			// We have to check all pairs of edges. We do that by picking a random edge, removing it from
-			// the set and then checking it against all the edges that are left. Repeat until done.
-			while (!edges.isEmpty()) {
-				Iterator<CoverabilityGraphEdge> it = edges.iterator();
-				CoverabilityGraphEdge edge1 = it.next();
-				Transition trans1 = edge1.getTransition();
-				it.remove();
-
-				for (CoverabilityGraphEdge edge2 : edges) {
-					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-					Transition trans2 = edge2.getTransition();
-					assert edge1 != edge2;
-					if (!check(marking, trans1, trans2)) {
-						// Found a counterexample!
-						return new Result(marking, node.getFiringSequence(), trans1, trans2);
-					}
+			Result result = LocalPropertyChecker.findFirstCounterExample(chunk.size(),
+					new LocalPropertyChecker.LocalCheck<Result>() {
+						@Override
+						public Result check(int index, InterruptToken interrupt) {
+							return checkNode(chunk.get(index), chunkEdges.get(index),
+									presets, interrupt);
+						}
+					});
+			if (result != null)
+				return result;
+			if (unbounded)
+				throw new UnboundedException(pn);
+		}
+		return null;
+	}
+
+	private Result checkNode(CoverabilityGraphNode node, List<CoverabilityGraphEdge> edges,
+			Map<Transition, Set<Place>> presets, InterruptToken interrupt) {
+		Marking marking = node.getMarking();
+
+		// We have to check all pairs of edges.
+		for (int i = 0; i < edges.size(); i++) {
+			Transition trans1 = edges.get(i).getTransition();
+			for (int j = i + 1; j < edges.size(); j++) {
+				interrupt.throwIfInterruptRequested();
+
+				Transition trans2 = edges.get(j).getTransition();
+				if (!check(marking, trans1, trans2, presets)) {
+					// Found a counterexample!
+					return new Result(marking, node.getFiringSequence(), trans1, trans2);
 				}
 			}
 		}
@@ -103,17 +142,18 @@ public class BCF {
 	}
 
 	/**
-	 * Check if the given arguments satisfy the BCF-condition.
+	 * Check if the given arguments satisfy the BCF-condition. This method is called from several threads at once.
 	 * @param mark The marking that should be examined.
 	 * @param t1 The first transition.
 	 * @param t2 The second transition.
+	 * @param presets The presets of all transitions of the Petri net.
 	 * @return true if the arguments satisfy the BCF-condition
 	 */
-	protected boolean check(Marking mark, Transition t1, Transition t2) {
+	protected boolean check(Marking mark, Transition t1, Transition t2, Map<Transition, Set<Place>> presets) {
 		// Precondition: t1 and t2 are activated/fireable under mark
 
 		// If the intersection of the two presets is *not* empty, the Petri net in question is not BCF.
-		return disjoint(t1.getPreset(), t2.getPreset());
+		return disjoint(presets.get(t1), presets.get(t2));
 	}
 }
 
@@ -19,6 +19,9 @@
 
 package uniol.apt.analysis.bicf;
 
+import java.util.Map;
+import java.util.Set;
+
 import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.Place;
@@ -39,10 +42,11 @@ public class BiCF extends BCF {
 	 * @param mark The marking that should be examined.
 	 * @param t1 The first transition.
 	 * @param t2 The second transition.
+	 * @param presets The presets of all transitions of the Petri net.
 	 * @return true if the arguments satisfy the BiCF-condition
 	 */
 	@Override
-	protected boolean check(Marking mark, Transition t1, Transition t2) {
+	protected boolean check(Marking mark, Transition t1, Transition t2, Map<Transition, Set<Place>> presets) {
 		// Precondition: t1 and t2 are activated/fireable under mark
 
 		// This checks:
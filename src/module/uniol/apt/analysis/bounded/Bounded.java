@@ -28,8 +28,8 @@ import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Token;
 import uniol.apt.adt.pn.Transition;
-import uniol.apt.analysis.coverability.CoverabilityGraph;
-import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.coverability.CoverabilityTreeNode;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
 import uniol.apt.analysis.language.FiringSequence;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
@@ -57,13 +57,13 @@ public class Bounded {
 	 */
 	static public BoundedResult checkBounded(PetriNet pn) {
 		Collection<Place> places = pn.getPlaces();
-		CoverabilityGraph cover = CoverabilityGraph.get(pn);
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
 		List<Transition> sequence = new FiringSequence();
 		Place witness = null;
 		long k = 0;
 
 		// Now check all markings and places and remember the largest token count that is seen.
-		for (CoverabilityGraphNode n : cover.getNodes()) {
+		for (CoverabilityTreeNode n : cover.getNodes()) {
 			Marking mark = n.getMarking();
 			for (Place p : places) {
 				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
@@ -71,7 +71,7 @@ public class Bounded {
 
 				if (val.isOmega()) {
 					// The net is unbounded, it can't get worse than this
-					CoverabilityGraphNode covered = n.getCoveredNode();
+					CoverabilityTreeNode covered = n.getCoveredNode();
 					return new BoundedResult(pn, p, null, covered.getFiringSequence(),
 							n.getFiringSequenceFromCoveredNode());
 				}
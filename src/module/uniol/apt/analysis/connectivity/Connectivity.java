@@ -22,10 +22,8 @@ package uniol.apt.analysis.connectivity;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import uniol.apt.adt.IGraph;
@@ -142,7 +140,7 @@ public class Connectivity {
 	 * @return true if the graph is strongly connected.
 	 */
 	public static <G extends IGraph<G, ?, N>, N extends INode<G, ?, N>> boolean isStronglyConnected(G graph) {
-		return getStronglyConnectedComponents(graph).size() <= 1;
+		return IndexedGraph.of(graph).getStronglyConnectedComponents().getNumberOfComponents() <= 1;
 	}
 
 	/**
@@ -154,115 +152,11 @@ public class Connectivity {
 	 * @param <G> The type of the graph that is examine.
 	 * @param <N> The type of the graph's nodes.
 	 * @return A partition of the graph's nodes into components.
+	 * @see IndexedGraph#getStronglyConnectedComponents
 	 */
 	public static <G extends IGraph<G, ?, N>, N extends INode<G, ?, N>>
 			Set<? extends Set<N>> getStronglyConnectedComponents(G graph) {
-		Set<Set<N>> result = new HashSet<>();
-		Map<N, Integer> dfsNumbers = new HashMap<>();
-		Map<N, Integer> minNumbers = new HashMap<>();
-		int counter = 0;
-
-		// Implemented per 'Algorithmische Datenstrukturen' Sommersemester 2012, algorithm 13.
-		// This algorithm does a depth-first-search (DFS) through the graph. Each visited node gets assigned a
-		// dfsNumber. In other words, nodes are numbered by the order in which they are visited.
-		//
-		// Additionally, a minNr is maintained for each node which is initialized to the node's dfsNumber. This
-		// number will be the smallest dfsNumber that is reachable from this node via the DFS. When a node's
-		// dfsNumber is equal to its minNumber, it is the root of a strongly connected component.
-		// While doing this search, we manage a list of visited nodes. When we find a root of a component, all
-		// of the nodes on this list up to the root form a strongly connected component.
-
-		// Handle all of the graph's nodes.
-		for (N node : graph.getNodes()) {
-			if (!dfsNumbers.containsKey(node)) {
-				counter = handleStronglyConnectedComponents(node, result, dfsNumbers, minNumbers,
-						counter);
-			}
-		}
-
-		return result;
-	}
-
-	/*
-	 * Compute the strongly connected components reachable from node.
-	 * No, I will not explain the parameters.
-	 */
-	private static <N extends INode<?, ?, N>> int handleStronglyConnectedComponents(N node, Set<Set<N>> result,
-			Map<N, Integer> dfsNumbers, Map<N, Integer> minNumbers, int counter) {
-		Deque<N> callers = new ArrayDeque<>();
-		Deque<N> stack = new ArrayDeque<>();
-		Set<N> stackAsSet = new HashSet<>();
-
-		counter = visitNode(node, dfsNumbers, minNumbers, counter, stack, stackAsSet);
-		do {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-			boolean done = true;
-			for (N current : node.getPostsetNodes()) {
-				if (!dfsNumbers.containsKey(current)) {
-					// 'current' was not visited yet
-					callers.addLast(node);
-					node = current;
-
-					counter = visitNode(node, dfsNumbers, minNumbers, counter, stack, stackAsSet);
-					done = false;
-					break;
-				} else if (stackAsSet.contains(current)
-						&& minNumbers.get(node) > minNumbers.get(current)) {
-					// Set our own minNumbers to current's depth search number if it is smaller
-					minNumbers.put(node, Math.min(minNumbers.get(node), dfsNumbers.get(current)));
-				}
-			}
-
-			if (done) {
-				if (dfsNumbers.get(node).equals(minNumbers.get(node))) {
-					// We are the root of the current component, let's get it from the stack. All of
-					// the nodes on the stack up to the current node form a strongly connected
-					// component.
-					Set<N> component = new HashSet<>();
-					N cur = null;
-
-					while (cur != node) {
-						cur = stack.removeLast();
-						boolean removed = stackAsSet.remove(cur);
-						assert removed;
-						component.add(cur);
-					}
-					result.add(component);
-				}
-
-				N next = callers.pollLast();
-				if (next != null)
-					// Set our own minNumber to current's number if that one is smaller
-					minNumbers.put(next, Math.min(minNumbers.get(next), minNumbers.get(node)));
-				node = next;
-			}
-		} while (node != null);
-
-		assert callers.isEmpty();
-		assert stack.isEmpty();
-		assert stackAsSet.isEmpty();
-		return counter;
-	}
-
-	/*
-	 * Update the data structures for the visit of a new node.
-	 * Nope, the parameters aren't explained here either.
-	 */
-	private static <N extends INode<?, ?, ?>> int visitNode(N node, Map<N, Integer> dfsNumbers,
-			Map<N, Integer> minNumbers, int counter, Deque<N> stack, Set<N> stackAsSet) {
-		// Node should not have been visited before.
-		assert !dfsNumbers.containsKey(node);
-		assert !minNumbers.containsKey(node);
-
-		counter++;
-		dfsNumbers.put(node, counter);
-		minNumbers.put(node, counter);
-		stack.add(node);
-		boolean added = stackAsSet.add(node);
-		assert added;
-
-		return counter;
+		return IndexedGraph.of(graph).getStronglyConnectedComponents().toSets();
 	}
 }
 
@@ -0,0 +1,336 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.connectivity;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.INode;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * A snapshot of the structure of a graph where nodes are identified by numbers. The nodes are numbered in the
+ * iteration order of {@link IGraph#getNodes()} and the successors and predecessors of all nodes are stored in flat
+ * int arrays. Algorithms on this representation do not need to hash nodes. Sets of nodes are represented as
+ * {@link BitSet}s of node numbers.
+ * @param <N> The type of the graph's nodes.
+ * @author agent
+ */
+public final class IndexedGraph<N extends INode<?, ?, N>> {
+	private final List<N> nodes;
+	private final Map<N, Integer> indices;
+	// The successors of node i are successors[successorOffsets[i]] up to successors[successorOffsets[i + 1] - 1]
+	private final int[] successorOffsets;
+	private final int[] successors;
+	// The same for the predecessors
+	private final int[] predecessorOffsets;
+	private final int[] predecessors;
+
+	private IndexedGraph(List<N> nodes, Map<N, Integer> indices, int[][] successorLists) {
+		this.nodes = nodes;
+		this.indices = indices;
+
+		int size = nodes.size();
+		successorOffsets = new int[size + 1];
+		int[] inDegree = new int[size];
+		for (int i = 0; i < size; i++)
+			successorOffsets[i + 1] = successorOffsets[i] + successorLists[i].length;
+		successors = new int[successorOffsets[size]];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < successorLists[i].length; j++) {
+				int target = successorLists[i][j];
+				successors[successorOffsets[i] + j] = target;
+				inDegree[target]++;
+			}
+		}
+
+		// The predecessors are computed by transposing the successors
+		predecessorOffsets = new int[size + 1];
+		for (int i = 0; i < size; i++)
+			predecessorOffsets[i + 1] = predecessorOffsets[i] + inDegree[i];
+		predecessors = new int[successors.length];
+		int[] fill = new int[size];
+		for (int i = 0; i < size; i++)
+			for (int j = successorOffsets[i]; j < successorOffsets[i + 1]; j++) {
+				int target = successors[j];
+				predecessors[predecessorOffsets[target] + fill[target]++] = i;
+			}
+	}
+
+	/**
+	 * Create a snapshot of a graph.
+	 * @param graph The graph.
+	 * @param <G> The type of the graph.
+	 * @param <N> The type of the graph's nodes.
+	 * @return The snapshot.
+	 */
+	public static <G extends IGraph<G, ?, N>, N extends INode<G, ?, N>> IndexedGraph<N> of(G graph) {
+		List<N> nodes = new ArrayList<>(graph.getNodes());
+		Map<N, Integer> indices = new HashMap<>();
+		for (N node : nodes)
+			indices.put(node, indices.size());
+
+		int[][] successorLists = new int[nodes.size()][];
+		for (int i = 0; i < nodes.size(); i++) {
+			Set<N> postset = nodes.get(i).getPostsetNodes();
+			successorLists[i] = new int[postset.size()];
+			int j = 0;
+			for (N target : postset)
+				successorLists[i][j++] = indices.get(target);
+		}
+		return new IndexedGraph<N>(nodes, indices, successorLists);
+	}
+
+	/**
+	 * Create a graph with the same nodes and the same numbering, but with other edges. This can be used to examine
+	 * subgraphs without numbering the nodes again.
+	 * @param successorLists For each node number, the numbers of the node's successors in the new graph. Each
+	 * successor should be listed only once.
+	 * @return The new graph.
+	 */
+	public IndexedGraph<N> withSuccessors(int[][] successorLists) {
+		if (successorLists.length != nodes.size())
+			throw new IllegalArgumentException("Expected successors for " + nodes.size()
+					+ " nodes, but got " + successorLists.length);
+		return new IndexedGraph<N>(nodes, indices, successorLists);
+	}
+
+	/**
+	 * Get the number of nodes.
+	 * @return The number of nodes.
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Get the node with the given number.
+	 * @param index The number of the node.
+	 * @return The node.
+	 */
+	public N getNode(int index) {
+		return nodes.get(index);
+	}
+
+	/**
+	 * Get the number of a node.
+	 * @param node The node.
+	 * @return The number of the node.
+	 * @throws IllegalArgumentException If the node does not belong to the graph.
+	 */
+	public int getIndex(N node) {
+		Integer index = indices.get(node);
+		if (index == null)
+			throw new IllegalArgumentException("Node " + node + " does not belong to this graph");
+		return index;
+	}
+
+	/**
+	 * Get the nodes that belong to a set of numbers.
+	 * @param set The numbers of the nodes.
+	 * @return The nodes in the order of their numbers.
+	 */
+	public List<N> getNodes(BitSet set) {
+		List<N> result = new ArrayList<>(set.cardinality());
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+			result.add(nodes.get(i));
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Check if a node has an edge to itself.
+	 * @param node The number of the node.
+	 * @return true if the node is its own successor.
+	 */
+	public boolean hasLoop(int node) {
+		for (int j = successorOffsets[node]; j < successorOffsets[node + 1]; j++)
+			if (successors[j] == node)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Compute the nodes that are reachable from a given node.
+	 * @param node The node to start from.
+	 * @return The numbers of all reachable nodes, including the given node.
+	 */
+	public BitSet getReachable(N node) {
+		BitSet sources = new BitSet(size());
+		sources.set(getIndex(node));
+		return getReachable(sources);
+	}
+
+	/**
+	 * Compute the nodes that are reachable from some node in a set.
+	 * @param sources The numbers of the nodes to start from.
+	 * @return The numbers of all reachable nodes, including the sources.
+	 */
+	public BitSet getReachable(BitSet sources) {
+		return search(sources, successorOffsets, successors);
+	}
+
+	/**
+	 * Compute the nodes from which a given node is reachable.
+	 * @param node The node that should be reached.
+	 * @return The numbers of all nodes that can reach the given node, including the given node.
+	 */
+	public BitSet getCoReachable(N node) {
+		BitSet targets = new BitSet(size());
+		targets.set(getIndex(node));
+		return getCoReachable(targets);
+	}
+
+	/**
+	 * Compute the nodes from which some node in a set is reachable.
+	 * @param targets The numbers of the nodes that should be reached.
+	 * @return The numbers of all nodes that can reach one of the targets, including the targets.
+	 */
+	public BitSet getCoReachable(BitSet targets) {
+		return search(targets, predecessorOffsets, predecessors);
+	}
+
+	/**
+	 * Compute the nodes that are reachable from some node in a set without leaving a set of allowed nodes.
+	 * @param sources The numbers of the nodes to start from.
+	 * @param within The numbers of the nodes that may be visited.
+	 * @return The numbers of all nodes that are reachable via allowed nodes, including the sources.
+	 */
+	public BitSet getReachable(BitSet sources, BitSet within) {
+		return search(sources, within, successorOffsets, successors);
+	}
+
+	/**
+	 * Compute the nodes from which some node in a set is reachable without leaving a set of allowed nodes.
+	 * @param targets The numbers of the nodes that should be reached.
+	 * @param within The numbers of the nodes that may be visited.
+	 * @return The numbers of all allowed nodes that can reach one of the targets via allowed nodes, including the
+	 * targets.
+	 */
+	public BitSet getCoReachable(BitSet targets, BitSet within) {
+		return search(targets, within, predecessorOffsets, predecessors);
+	}
+
+	// Breadth-first search along the given adjacency
+	private BitSet search(BitSet start, int[] offsets, int[] neighbours) {
+		return search(start, null, offsets, neighbours);
+	}
+
+	// Breadth-first search along the given adjacency that only visits nodes in 'within', unless that is null
+	private BitSet search(BitSet start, BitSet within, int[] offsets, int[] neighbours) {
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+		BitSet result = (BitSet) start.clone();
+		int[] queue = new int[size()];
+		int queueSize = 0;
+		for (int i = start.nextSetBit(0); i >= 0; i = start.nextSetBit(i + 1))
+			queue[queueSize++] = i;
+		for (int i = 0; i < queueSize; i++) {
+			interrupt.throwIfInterruptRequested();
+			int node = queue[i];
+			for (int j = offsets[node]; j < offsets[node + 1]; j++) {
+				int next = neighbours[j];
+				if (!result.get(next) && (within == null || within.get(next))) {
+					result.set(next);
+					queue[queueSize++] = next;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the strongly connected components of the graph. This uses Tarjan's algorithm without recursion.
+	 * @return The components.
+	 */
+	public StronglyConnectedComponents<N> getStronglyConnectedComponents() {
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+		int size = size();
+		int[] component = new int[size];
+		int numberOfComponents = 0;
+		// Zero means that a node was not visited yet
+		int[] dfsNumber = new int[size];
+		int[] lowLink = new int[size];
+		int[] nextSuccessor = new int[size];
+		int[] callStack = new int[size];
+		int callStackSize = 0;
+		int[] stack = new int[size];
+		int stackSize = 0;
+		BitSet onStack = new BitSet(size);
+		int counter = 0;
+
+		for (int root = 0; root < size; root++) {
+			if (dfsNumber[root] != 0)
+				continue;
+
+			dfsNumber[root] = lowLink[root] = ++counter;
+			nextSuccessor[root] = successorOffsets[root];
+			stack[stackSize++] = root;
+			onStack.set(root);
+			callStack[callStackSize++] = root;
+
+			while (callStackSize > 0) {
+				interrupt.throwIfInterruptRequested();
+				int node = callStack[callStackSize - 1];
+				if (nextSuccessor[node] < successorOffsets[node + 1]) {
+					int next = successors[nextSuccessor[node]++];
+					if (dfsNumber[next] == 0) {
+						dfsNumber[next] = lowLink[next] = ++counter;
+						nextSuccessor[next] = successorOffsets[next];
+						stack[stackSize++] = next;
+						onStack.set(next);
+						callStack[callStackSize++] = next;
+					} else if (onStack.get(next)) {
+						lowLink[node] = Math.min(lowLink[node], dfsNumber[next]);
+					}
+					continue;
+				}
+
+				callStackSize--;
+				if (callStackSize > 0) {
+					int caller = callStack[callStackSize - 1];
+					lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+				}
+				if (lowLink[node] == dfsNumber[node]) {
+					// 'node' is the root of a component which consists of the nodes on the stack up
+					// to and including 'node'
+					int top;
+					do {
+						top = stack[--stackSize];
+						onStack.clear(top);
+						component[top] = numberOfComponents;
+					} while (top != node);
+					numberOfComponents++;
+				}
+			}
+		}
+
+		return new StronglyConnectedComponents<>(this, component, numberOfComponents, successorOffsets,
+				successors);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,8 +19,6 @@
 
 package uniol.apt.analysis.connectivity;
 
-import java.util.Iterator;
-import java.util.Set;
 
 import uniol.apt.adt.IGraph;
 import uniol.apt.adt.INode;
@@ -66,20 +64,19 @@ public class StrongConnectivityModule extends AbstractModule implements Interrup
 	@Override
 	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
 		IGraph<?, ?, ?> graph = input.getParameter("graph", IGraph.class);
-		Set<? extends Set<? extends INode<?, ?, ?>>> components = run(graph);
-		boolean connected = components.size() <= 1;
+		StronglyConnectedComponents<? extends INode<?, ?, ?>> components = run(graph);
+		boolean connected = components.getNumberOfComponents() <= 1;
 		output.setReturnValue("strongly_connected", Boolean.class, connected);
 		if (!connected) {
-			Iterator<? extends Set<? extends INode<?, ?, ?>>> it = components.iterator();
-			output.setReturnValue("witness_node1", INode.class, it.next().iterator().next());
-			output.setReturnValue("witness_node2", INode.class, it.next().iterator().next());
+			output.setReturnValue("witness_node1", INode.class, components.getNodes(0).get(0));
+			output.setReturnValue("witness_node2", INode.class, components.getNodes(1).get(0));
 		}
 	}
 
 	@SuppressWarnings("unchecked")
 	private static <G extends IGraph<G, ?, N>, N extends INode<G, ?, N>>
-			Set<? extends Set<? extends INode<?, ?, ?>>> run(IGraph<?, ?, ?> graph) {
-		return Connectivity.getStronglyConnectedComponents((G) graph);
+			StronglyConnectedComponents<? extends INode<?, ?, ?>> run(IGraph<?, ?, ?> graph) {
+		return IndexedGraph.of((G) graph).getStronglyConnectedComponents();
 	}
 
 	@Override
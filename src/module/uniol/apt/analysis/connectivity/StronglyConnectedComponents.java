@@ -0,0 +1,210 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.connectivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import uniol.apt.adt.CollectionToUnmodifiableSetAdapter;
+import uniol.apt.adt.INode;
+
+/**
+ * The strongly connected components of an {@link IndexedGraph}. Components are numbered in the order in which
+ * Tarjan's algorithm completes them. This is a reverse topological order of the condensation of the graph: Every edge
+ * between different components leads from a component to one with a smaller number.
+ * @param <N> The type of the graph's nodes.
+ * @author agent
+ */
+public final class StronglyConnectedComponents<N extends INode<?, ?, N>> {
+	private final IndexedGraph<N> graph;
+	private final int[] component;
+	private final int numberOfComponents;
+	// The nodes of component c are members[memberOffsets[c]] up to members[memberOffsets[c + 1] - 1]
+	private final int[] memberOffsets;
+	private final int[] members;
+	// The same for the successors of component c in the condensation
+	private final int[] successorOffsets;
+	private final int[] successors;
+
+	StronglyConnectedComponents(IndexedGraph<N> graph, int[] component, int numberOfComponents,
+			int[] nodeSuccessorOffsets, int[] nodeSuccessors) {
+		this.graph = graph;
+		this.component = component;
+		this.numberOfComponents = numberOfComponents;
+
+		int size = component.length;
+		memberOffsets = new int[numberOfComponents + 1];
+		for (int node = 0; node < size; node++)
+			memberOffsets[component[node] + 1]++;
+		for (int c = 0; c < numberOfComponents; c++)
+			memberOffsets[c + 1] += memberOffsets[c];
+		members = new int[size];
+		int[] fill = Arrays.copyOf(memberOffsets, numberOfComponents);
+		for (int node = 0; node < size; node++)
+			members[fill[component[node]]++] = node;
+
+		// Compute the condensation, each successor only once
+		int[] lastSeen = new int[numberOfComponents];
+		Arrays.fill(lastSeen, -1);
+		int[] buffer = new int[nodeSuccessors.length];
+		int count = 0;
+		successorOffsets = new int[numberOfComponents + 1];
+		for (int c = 0; c < numberOfComponents; c++) {
+			for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+				int node = members[i];
+				for (int j = nodeSuccessorOffsets[node]; j < nodeSuccessorOffsets[node + 1]; j++) {
+					int target = component[nodeSuccessors[j]];
+					if (target != c && lastSeen[target] != c) {
+						lastSeen[target] = c;
+						buffer[count++] = target;
+					}
+				}
+			}
+			successorOffsets[c + 1] = count;
+		}
+		successors = Arrays.copyOf(buffer, count);
+	}
+
+	/**
+	 * Get the graph whose components these are.
+	 * @return The graph.
+	 */
+	public IndexedGraph<N> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Get the number of components.
+	 * @return The number of components.
+	 */
+	public int getNumberOfComponents() {
+		return numberOfComponents;
+	}
+
+	/**
+	 * Get the component of a node.
+	 * @param node The number of the node.
+	 * @return The number of the node's component.
+	 */
+	public int getComponent(int node) {
+		return component[node];
+	}
+
+	/**
+	 * Get the component of a node.
+	 * @param node The node.
+	 * @return The number of the node's component.
+	 */
+	public int getComponent(N node) {
+		return component[graph.getIndex(node)];
+	}
+
+	/**
+	 * Check if two nodes are in the same component, which means that each of them is reachable from the other.
+	 * @param node1 The first node.
+	 * @param node2 The second node.
+	 * @return true if both nodes are in the same component.
+	 */
+	public boolean inSameComponent(N node1, N node2) {
+		return getComponent(node1) == getComponent(node2);
+	}
+
+	/**
+	 * Get the size of a component.
+	 * @param c The number of the component.
+	 * @return The number of nodes in the component.
+	 */
+	public int getComponentSize(int c) {
+		return memberOffsets[c + 1] - memberOffsets[c];
+	}
+
+	/**
+	 * Get the nodes of a component.
+	 * @param c The number of the component.
+	 * @return The nodes in the order of their numbers.
+	 */
+	public List<N> getNodes(int c) {
+		List<N> result = new ArrayList<>(getComponentSize(c));
+		for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++)
+			result.add(graph.getNode(members[i]));
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Get the numbers of the nodes of a component.
+	 * @param c The number of the component.
+	 * @return A new set containing the numbers of the component's nodes.
+	 */
+	public BitSet getMembers(int c) {
+		BitSet result = new BitSet(graph.size());
+		for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++)
+			result.set(members[i]);
+		return result;
+	}
+
+	/**
+	 * Check if a component contains a cycle. This is the case if it contains more than one node or if its single
+	 * node has an edge to itself.
+	 * @param c The number of the component.
+	 * @return true if the component contains a cycle.
+	 */
+	public boolean hasCycle(int c) {
+		return getComponentSize(c) > 1 || graph.hasLoop(members[memberOffsets[c]]);
+	}
+
+	/**
+	 * Get the successors of a component in the condensation of the graph. A component is a successor of another
+	 * one if an edge leads from a node of the one to a node of the other. A component is not its own successor.
+	 * @param c The number of the component.
+	 * @return The numbers of the successor components. All of them are smaller than c.
+	 */
+	public int[] getSuccessorComponents(int c) {
+		return Arrays.copyOfRange(successors, successorOffsets[c], successorOffsets[c + 1]);
+	}
+
+	/**
+	 * Check if a component is a bottom component, which means that no edge leaves it.
+	 * @param c The number of the component.
+	 * @return true if this component has no successors in the condensation.
+	 */
+	public boolean isBottom(int c) {
+		return successorOffsets[c] == successorOffsets[c + 1];
+	}
+
+	/**
+	 * Get the components as sets of nodes.
+	 * @return A partition of the graph's nodes into components.
+	 */
+	public Set<? extends Set<N>> toSets() {
+		List<Set<N>> result = new ArrayList<>(numberOfComponents);
+		for (int c = 0; c < numberOfComponents; c++)
+			result.add(new HashSet<>(getNodes(c)));
+		// The components are pairwise different, so the list does not need to be hashed to get a set
+		return new CollectionToUnmodifiableSetAdapter<>(result);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 
 import uniol.apt.adt.StructuralExtensionRemover;
+import uniol.apt.adt.extension.ExtensionKey;
 import uniol.apt.adt.extension.ExtensionProperty;
 import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.Marking;
@@ -37,11 +38,13 @@ import uniol.apt.adt.pn.Transition;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
 import uniol.apt.util.Pair;
 
 import uniol.apt.adt.exception.ArcExistsException;
 import uniol.apt.adt.exception.StructureException;
 import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.util.Metrics;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -54,6 +57,37 @@ import uniol.apt.util.interrupt.InterrupterRegistry;
  * @author Uli Schlachter, vsp
  */
 public class CoverabilityGraph {
+	/**
+	 * Key of the extension on the states of a transition system from {@link #toReachabilityLTS()} or {@link
+	 * #toCoverabilityLTS()} that contains the state's marking.
+	 */
+	public static final ExtensionKey<Marking> MARKING_KEY =
+		new ExtensionKey<>(Marking.class.getName(), Marking.class);
+
+	/**
+	 * Key of the extension on the states of a transition system from {@link #toReachabilityLTS()} or {@link
+	 * #toCoverabilityLTS()} that contains the corresponding node of the coverability graph.
+	 */
+	public static final ExtensionKey<CoverabilityGraphNode> NODE_KEY =
+		new ExtensionKey<>(CoverabilityGraphNode.class.getName(), CoverabilityGraphNode.class);
+
+	/**
+	 * Key of the extension on the arcs of a transition system from {@link #toReachabilityLTS()} or {@link
+	 * #toCoverabilityLTS()} that contains the arc's transition.
+	 */
+	public static final ExtensionKey<Transition> TRANSITION_KEY =
+		new ExtensionKey<>(Transition.class.getName(), Transition.class);
+
+	/**
+	 * Key of the extension on the arcs of a transition system from {@link #toReachabilityLTS()} or {@link
+	 * #toCoverabilityLTS()} that contains the corresponding edge of the coverability graph.
+	 */
+	public static final ExtensionKey<CoverabilityGraphEdge> EDGE_KEY =
+		new ExtensionKey<>(CoverabilityGraphEdge.class.getName(), CoverabilityGraphEdge.class);
+
+	static private final Metrics.Timer EXPAND_TIMER = Metrics.getTimer("coverability.expand");
+	static private final Metrics.Counter NODES_COUNTER = Metrics.getCounter("coverability.nodes");
+	static private final Metrics.Counter EDGES_COUNTER = Metrics.getCounter("coverability.edges");
 
 	// The Petri net that we are handling
 	private final PetriNet pn;
@@ -65,6 +99,9 @@ public class CoverabilityGraph {
 	private final List<CoverabilityGraphNode> nodes = new ArrayList<>();
 	// Are we generating a coverability or a reachability graph?
 	private final boolean reachabilityGraph;
+	// Results of firing transitions which are kept across changes to the Petri net, or null if the Petri net did
+	// not opt in to this
+	private final FiringCache firings;
 
 	/**
 	 * Construct the coverability graph for a given Petri net. If a coverability graph for this Petri net is already
@@ -87,6 +124,17 @@ public class CoverabilityGraph {
 		return get(pn, true);
 	}
 
+	/**
+	 * Keep the results of firing transitions of the given Petri net across changes to it. Coverability graphs
+	 * computed after an edit then only fire the transitions whose flows were changed. This costs memory for every
+	 * marking of the last two coverability graphs and is only useful for loops which repeatedly edit a Petri net
+	 * and analyse it again.
+	 * @param pn The Petri net which is going to be edited repeatedly.
+	 */
+	static public void keepFiringsAcrossChanges(PetriNet pn) {
+		FiringCache.attach(pn);
+	}
+
 	/**
 	 * Construct the coverability graph for a given Petri net. If a coverability graph for this Petri net is already
 	 * known, that instance is re-used instead of creating a new one.
@@ -127,6 +175,9 @@ public class CoverabilityGraph {
 	private CoverabilityGraph(PetriNet pn, boolean reachabilityGraph) {
 		this.pn = pn;
 		this.reachabilityGraph = reachabilityGraph;
+		this.firings = FiringCache.find(pn);
+		if (this.firings != null)
+			this.firings.beginGraph();
 		getNode(null, pn.getInitialMarking(), null, null);
 	}
 
@@ -160,26 +211,43 @@ public class CoverabilityGraph {
 	 * @return The node's postset
 	 */
 	Set<CoverabilityGraphEdge> getPostsetEdges(CoverabilityGraphNode node) {
-		// Now follow all activated transitions of that node
-		final Marking marking = node.getMarking();
-		final Set<CoverabilityGraphEdge> result = new HashSet<>();
-		for (Transition t : pn.getTransitions()) {
-			if (!t.isFireable(marking)) {
-				continue;
+		long start = EXPAND_TIMER.start();
+		try {
+			// Now follow all activated transitions of that node
+			final Marking marking = node.getMarking();
+			FiringCache.Successors successors = null;
+			if (firings != null)
+				successors = firings.getSuccessors(marking);
+			final Set<CoverabilityGraphEdge> result = new HashSet<>();
+			for (Transition t : pn.getTransitions()) {
+				Marking newMarking;
+				if (successors != null) {
+					newMarking = successors.fire(t);
+					if (newMarking == null) {
+						continue;
+					}
+				} else {
+					if (!t.isFireable(marking)) {
+						continue;
+					}
+					newMarking = t.fire(marking);
+				}
+
+				// checkCover() will also change the marking of the Petri net if some OMEGAs are created!
+				Pair<CoverabilityGraphNode, Marking> covered = checkCover(newMarking, node);
+				CoverabilityGraphNode target;
+				if (covered == null)
+					target = getNode(t, newMarking, node, null);
+				else
+					target = getNode(t, covered.getSecond(), node, covered.getFirst());
+				result.add(new CoverabilityGraphEdge(t, node, target));
 			}
 
-			Marking newMarking = t.fire(marking);
-			// checkCover() will also change the marking of the Petri net if some OMEGAs are created!
-			Pair<CoverabilityGraphNode, Marking> covered = checkCover(newMarking, node);
-			CoverabilityGraphNode target;
-			if (covered == null)
-				target = getNode(t, newMarking, node, null);
-			else
-				target = getNode(t, covered.getSecond(), node, covered.getFirst());
-			result.add(new CoverabilityGraphEdge(t, node, target));
+			EDGES_COUNTER.add(result.size());
+			return result;
+		} finally {
+			EXPAND_TIMER.stop(start);
 		}
-
-		return result;
 	}
 
 	/**
@@ -217,6 +285,7 @@ public class CoverabilityGraph {
 			state = new CoverabilityGraphNode(this, transition, cur, from, covered);
 			states.put(cur, state);
 			nodes.add(state);
+			NODES_COUNTER.increment();
 		}
 		return state;
 	}
@@ -324,7 +393,8 @@ public class CoverabilityGraph {
 	private TransitionSystem toLTS(boolean onlyReachability) throws UnboundedException {
 		String name = (onlyReachability ? "Reachability" : "Coverability") + " graph of " + this.pn.getName();
 		Map<Marking, State> ltsStates = new HashMap<>();
-		TransitionSystem lts = new TransitionSystem(name);
+		TransitionSystemBuilder builder = new TransitionSystemBuilder(name);
+		TransitionSystem lts = builder.getTransitionSystem();
 		lts.putExtension(PetriNet.class.getName(), this.pn);
 
 		for (CoverabilityGraphNode node : this.getNodes()) {
@@ -335,8 +405,8 @@ public class CoverabilityGraph {
 
 			State n = lts.createState();
 			ltsStates.put(mark, n);
-			n.putExtension(Marking.class.getName(), mark);
-			n.putExtension(CoverabilityGraphNode.class.getName(), node);
+			n.putExtension(MARKING_KEY, mark);
+			n.putExtension(NODE_KEY, node);
 
 			if (onlyReachability && mark.hasOmega()) {
 				throw new UnboundedException(this.pn);
@@ -352,8 +422,8 @@ public class CoverabilityGraph {
 				Transition transition = edge.getTransition();
 				try {
 					Arc e = lts.createArc(source.getId(), target.getId(), transition.getLabel());
-					e.putExtension(Transition.class.getName(), transition);
-					e.putExtension(CoverabilityGraphEdge.class.getName(), edge);
+					e.putExtension(TRANSITION_KEY, transition);
+					e.putExtension(EDGE_KEY, edge);
 				} catch (ArcExistsException e) {
 					// Ignore this. Continue your life. Go away. There is nothing to see here.
 					//
@@ -377,7 +447,7 @@ public class CoverabilityGraph {
 		lts.setInitialState(initialNode);
 		assert initialNode != null;
 
-		return lts;
+		return builder.build();
 	}
 }
 
@@ -77,8 +77,7 @@ public class CoverabilityModule extends AbstractModule implements InterruptibleM
 		TransitionSystem result = getGraph(pn).toCoverabilityLTS();
 		boolean isReachability = true;
 		for (State node : result.getNodes()) {
-			CoverabilityGraphNode coverNode =
-				(CoverabilityGraphNode) node.getExtension(CoverabilityGraphNode.class.getName());
+			CoverabilityGraphNode coverNode = node.getExtension(CoverabilityGraph.NODE_KEY);
 			if (coverNode.getMarking().hasOmega()) {
 				isReachability = false;
 			}
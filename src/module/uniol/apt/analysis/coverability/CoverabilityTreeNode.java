@@ -0,0 +1,150 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.reverse;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Transition;
+
+/**
+ * A node in the pruned Karp-Miller tree that is built by {@link MinimalCoverabilitySet}. Like a {@link
+ * CoverabilityGraphNode}, a node is labeled with a marking and knows a firing sequence with which it can be reached
+ * from the initial marking of the underlying Petri net.
+ * @author agent
+ */
+public class CoverabilityTreeNode {
+	private final Marking marking;
+	private final long[] tokens;
+	private final Transition reachingTransition;
+	private final CoverabilityTreeNode parent;
+	private final CoverabilityTreeNode covered;
+	private boolean dominated = false;
+
+	/**
+	 * Construct a new node.
+	 * @param transition The transition that is fired from this node's parent to reach this new node.
+	 * @param marking The marking of this node.
+	 * @param parent The parent node of this node.
+	 * @param covered The ancestor which is covered by this node.
+	 */
+	CoverabilityTreeNode(Transition transition, Marking marking, CoverabilityTreeNode parent,
+			CoverabilityTreeNode covered) {
+		this.marking = marking;
+		this.tokens = MarkingAntichain.toTokenArray(marking);
+		this.reachingTransition = transition;
+		this.parent = parent;
+		this.covered = covered;
+	}
+
+	/**
+	 * Get the parent of this node in the tree.
+	 * @return the parent or null
+	 */
+	CoverabilityTreeNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Get the marking of this node without copying it.
+	 * @return The marking.
+	 */
+	Marking getMarkingInternal() {
+		return marking;
+	}
+
+	/**
+	 * Get the token counts of this node's marking, see {@link MarkingAntichain#toTokenArray}.
+	 * @return The token counts. The caller must not modify this array.
+	 */
+	long[] getTokens() {
+		return tokens;
+	}
+
+	/**
+	 * Check if a node with a strictly larger marking was found after this node was created.
+	 * @return true if this node is dominated.
+	 */
+	boolean isDominated() {
+		return dominated;
+	}
+
+	/**
+	 * Remember that a node with a strictly larger marking was found.
+	 */
+	void setDominated() {
+		dominated = true;
+	}
+
+	/**
+	 * Get the ancestor of this node whose marking was covered when this node was created, if such a node exists.
+	 * In this case, OMEGAs were introduced in this node's marking for all places where it has more tokens than the
+	 * covered node.
+	 * @return the covered node or null
+	 */
+	public CoverabilityTreeNode getCoveredNode() {
+		return covered;
+	}
+
+	/**
+	 * Get the marking that this node represents.
+	 * @return The marking.
+	 */
+	public Marking getMarking() {
+		return new Marking(marking);
+	}
+
+	/**
+	 * Get the firing sequence which reaches the marking represented by this instance from the initial marking of
+	 * the Petri net.
+	 * @return The firing sequence.
+	 */
+	public List<Transition> getFiringSequence() {
+		List<Transition> result = new ArrayList<>();
+		CoverabilityTreeNode node = this;
+		while (node.reachingTransition != null) {
+			result.add(node.reachingTransition);
+			node = node.parent;
+		}
+		reverse(result);
+		return unmodifiableList(result);
+	}
+
+	/**
+	 * Get the firing sequence which reaches this node from the covered node, or null. If the return value is not
+	 * null, the sequence can be fired in an infinite loop in the marking of the covered node and increases the
+	 * number of tokens on all places that have an OMEGA in this node, but not in the covered node.
+	 * @return The firing sequence.
+	 * @see #getCoveredNode
+	 */
+	public List<Transition> getFiringSequenceFromCoveredNode() {
+		if (covered == null)
+			return null;
+		int coveredSequenceLength = covered.getFiringSequence().size();
+		List<Transition> firingSequence = getFiringSequence();
+		return firingSequence.subList(coveredSequenceLength, firingSequence.size());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
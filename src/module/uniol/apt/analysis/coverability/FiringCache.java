@@ -0,0 +1,254 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.coverability;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.IGraphListener;
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Node;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.Pair;
+
+/**
+ * A cache of the firing relation of a Petri net: For a marking and a transition, it remembers whether the transition
+ * is enabled and which marking is reached by firing it. The coverability graph of a net is thrown away on every
+ * change to the net, but this cache is kept, so that a new coverability graph after an edit only has to fire the
+ * transitions whose result might have changed. The cache is only attached to nets which are repeatedly edited and
+ * analysed, see {@link CoverabilityGraph#keepFiringsAcrossChanges(PetriNet)}.
+ *
+ * After the net was changed, the cache compares the flows of all transitions with the flows that were used for
+ * computing the cached results. Results are only forgotten for transitions whose flows changed. Thus, changing the
+ * initial marking or a label does not invalidate anything and adding a transition or changing the weight of a flow
+ * only invalidates the results for the affected transition.
+ *
+ * Only the firings are kept, not parts of the coverability graph itself: Where omegas are inserted depends on the
+ * path by which the breadth-first search reaches a marking, so a subgraph of the old graph cannot simply be reused.
+ * The new graph is still built completely, but it only fires transitions whose flows were changed.
+ * CoverabilityGraphEditBenchmark measures the gain.
+ *
+ * To limit the memory usage, only the markings that were used by the most recently created coverability graph and
+ * the one before it are kept.
+ * @author agent
+ */
+final class FiringCache implements IGraphListener<PetriNet, Flow, Node> {
+	private static final String KEY = FiringCache.class.getName();
+
+	private final PetriNet pn;
+	// The ids of the places when the cached results were computed
+	private Set<String> places;
+	// The preset and postset weights of each transition when the cached results were computed
+	private final Map<String, Pair<Map<String, Integer>, Map<String, Integer>>> flows = new HashMap<>();
+	// Was the net changed since the cache was last synchronized with it?
+	private boolean dirty = false;
+	// For each marking, the markings reached by firing transitions (identified by their id) or null if a
+	// transition is not enabled
+	private Map<Marking, Map<String, Marking>> current = new HashMap<>();
+	private Map<Marking, Map<String, Marking>> previous = new HashMap<>();
+
+	private FiringCache(PetriNet pn) {
+		this.pn = pn;
+		this.places = getPlaceIds(pn);
+		pn.addListener(this);
+	}
+
+	/**
+	 * Get the cache for the given Petri net.
+	 * @param pn The Petri net.
+	 * @return The cache or null if no cache was attached to the Petri net.
+	 */
+	static FiringCache find(PetriNet pn) {
+		Object extension = null;
+		try {
+			extension = pn.getExtension(KEY);
+		} catch (StructureException e) {
+			// No such extension
+		}
+		if (extension instanceof FiringCache)
+			return (FiringCache) extension;
+		return null;
+	}
+
+	/**
+	 * Get the cache for the given Petri net, attaching a new one if necessary.
+	 * @param pn The Petri net.
+	 * @return The cache.
+	 */
+	static FiringCache attach(PetriNet pn) {
+		FiringCache result = find(pn);
+		if (result != null)
+			return result;
+
+		result = new FiringCache(pn);
+		pn.putExtension(KEY, result, ExtensionProperty.NOCOPY);
+		return result;
+	}
+
+	@Override
+	public boolean changeOccurred(IGraph<PetriNet, Flow, Node> graph) {
+		dirty = true;
+		return true;
+	}
+
+	/**
+	 * Tell the cache that a new coverability graph is constructed. Markings that were not used since the last call
+	 * are forgotten.
+	 */
+	void beginGraph() {
+		synchronize();
+		previous = current;
+		current = new HashMap<>();
+	}
+
+	/**
+	 * Get the cached firing results for a marking.
+	 * @param marking The marking.
+	 * @return An object for firing transitions in the given marking.
+	 */
+	Successors getSuccessors(Marking marking) {
+		synchronize();
+		Map<String, Marking> results = current.get(marking);
+		if (results == null) {
+			results = previous.remove(marking);
+			if (results == null)
+				results = new HashMap<>();
+			current.put(marking, results);
+		}
+		return new Successors(marking, results);
+	}
+
+	/**
+	 * Get the number of markings for which firing results are cached.
+	 * @return The number of markings.
+	 */
+	int size() {
+		synchronize();
+		return current.size() + previous.size();
+	}
+
+	// Forget all results which might have been changed by modifications of the net
+	private void synchronize() {
+		if (!dirty)
+			return;
+		dirty = false;
+
+		Set<String> invalid = new HashSet<>();
+		Map<String, Pair<Map<String, Integer>, Map<String, Integer>>> newFlows = new HashMap<>();
+		for (Transition t : pn.getTransitions()) {
+			Pair<Map<String, Integer>, Map<String, Integer>> tFlows = getFlows(t);
+			Pair<Map<String, Integer>, Map<String, Integer>> old = flows.get(t.getId());
+			if (old != null && !old.equals(tFlows))
+				invalid.add(t.getId());
+			newFlows.put(t.getId(), tFlows);
+		}
+		for (String id : flows.keySet())
+			if (!newFlows.containsKey(id))
+				invalid.add(id);
+		flows.clear();
+		flows.putAll(newFlows);
+
+		// Markings adapt themselves to added and removed places, which changes their hash codes. Thus, the
+		// tables have to be rebuilt. Transitions whose flows did not change are not affected by the places, so
+		// their results are still correct.
+		Set<String> newPlaces = getPlaceIds(pn);
+		boolean rehash = !newPlaces.equals(places);
+		places = newPlaces;
+
+		if (invalid.isEmpty() && !rehash)
+			return;
+		current = invalidate(current, invalid, rehash);
+		previous = invalidate(previous, invalid, rehash);
+	}
+
+	private static Map<Marking, Map<String, Marking>> invalidate(Map<Marking, Map<String, Marking>> table,
+			Set<String> invalid, boolean rehash) {
+		if (!invalid.isEmpty()) {
+			Iterator<Map<String, Marking>> iter = table.values().iterator();
+			while (iter.hasNext()) {
+				Map<String, Marking> results = iter.next();
+				results.keySet().removeAll(invalid);
+				if (results.isEmpty())
+					iter.remove();
+			}
+		}
+		if (rehash)
+			table = new HashMap<>(table);
+		return table;
+	}
+
+	private static Set<String> getPlaceIds(PetriNet pn) {
+		Set<String> result = new HashSet<>();
+		for (Place p : pn.getPlaces())
+			result.add(p.getId());
+		return result;
+	}
+
+	private static Pair<Map<String, Integer>, Map<String, Integer>> getFlows(Transition t) {
+		Map<String, Integer> preset = new HashMap<>();
+		for (Flow f : t.getPresetEdges())
+			preset.put(f.getSource().getId(), f.getWeight());
+		Map<String, Integer> postset = new HashMap<>();
+		for (Flow f : t.getPostsetEdges())
+			postset.put(f.getTarget().getId(), f.getWeight());
+		return new Pair<>(preset, postset);
+	}
+
+	/**
+	 * The cached firing results for a single marking.
+	 */
+	final class Successors {
+		private final Marking marking;
+		private final Map<String, Marking> results;
+
+		private Successors(Marking marking, Map<String, Marking> results) {
+			this.marking = marking;
+			this.results = results;
+		}
+
+		/**
+		 * Fire a transition in the marking.
+		 * @param t The transition to fire.
+		 * @return The reached marking or null if the transition is not enabled.
+		 */
+		Marking fire(Transition t) {
+			String id = t.getId();
+			if (results.containsKey(id))
+				return results.get(id);
+			if (!flows.containsKey(id))
+				flows.put(id, getFlows(t));
+			Marking result = t.isFireable(marking) ? t.fire(marking) : null;
+			results.put(id, result);
+			return result;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,203 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Token;
+
+/**
+ * A set of pairwise incomparable markings, each of which is associated with a value. Adding a marking which is
+ * covered by a marking in the set does not change anything, while adding a marking which is not covered removes all
+ * markings from the set that the new marking covers.
+ *
+ * To make covering queries cheaper than a scan over all markings, the markings are grouped by their sum of tokens
+ * (with OMEGA counting as infinitely many tokens), so that only markings with more tokens need to be looked at. A
+ * marking with the same, finite number of tokens covers another one only if both are equal, which is a hash lookup.
+ * Thus, for example the reachable markings of a conservative net are handled in constant time. Additionally, an upper
+ * bound for each place over all markings is kept, which answers many queries without looking at any marking at
+ * all.
+ * @param <T> The type of values that are associated with the markings.
+ * @author agent
+ */
+class MarkingAntichain<T> {
+	/**
+	 * The token count that is used for OMEGA.
+	 */
+	static final long OMEGA = Long.MAX_VALUE;
+
+	private final TreeMap<Long, Set<Entry<T>>> entriesBySum = new TreeMap<>();
+	private long[] bounds = null;
+	private int size = 0;
+
+	static private class Entry<T> {
+		final long[] tokens;
+		final T value;
+
+		Entry(long[] tokens, T value) {
+			this.tokens = tokens;
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(tokens);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+			return Arrays.equals(tokens, ((Entry<?>) o).tokens);
+		}
+	}
+
+	/**
+	 * Get the token counts of a marking with OMEGA represented as {@link Long#MAX_VALUE}.
+	 * @param marking The marking
+	 * @return The token counts in the order of the places of the net.
+	 */
+	static long[] toTokenArray(Marking marking) {
+		Collection<Token> values = marking.values();
+		long[] result = new long[values.size()];
+		int idx = 0;
+		for (Token token : values)
+			result[idx++] = token.isOmega() ? OMEGA : token.getValue();
+		return result;
+	}
+
+	static private long sum(long[] tokens) {
+		long result = 0;
+		for (long value : tokens) {
+			if (value == OMEGA)
+				return OMEGA;
+			result += value;
+		}
+		return result;
+	}
+
+	// Is every entry of tokens1 at most the corresponding entry of tokens2?
+	static private boolean lessOrEqual(long[] tokens1, long[] tokens2) {
+		for (int i = 0; i < tokens1.length; i++)
+			if (tokens1[i] > tokens2[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Check if some marking in this set covers the given marking, i.e. has at least as many tokens on each place.
+	 * @param tokens The token counts of the marking, see {@link #toTokenArray}.
+	 * @return true if the marking is covered.
+	 */
+	boolean isCovered(long[] tokens) {
+		if (bounds == null || !lessOrEqual(tokens, bounds))
+			return false;
+
+		long sum = sum(tokens);
+		if (sum != OMEGA) {
+			Set<Entry<T>> sameSum = entriesBySum.get(sum);
+			if (sameSum != null && sameSum.contains(new Entry<T>(tokens, null)))
+				return true;
+		}
+		for (Set<Entry<T>> entries : entriesBySum.tailMap(sum, sum == OMEGA).values())
+			for (Entry<T> entry : entries)
+				if (lessOrEqual(tokens, entry.tokens))
+					return true;
+		return false;
+	}
+
+	/**
+	 * Add a marking to this set, unless it is covered by some marking in the set.
+	 * @param tokens The token counts of the marking, see {@link #toTokenArray}.
+	 * @param value The value associated with the marking.
+	 * @param removed Collection to which the values of markings are added that are removed because they are covered
+	 * by the new marking.
+	 * @return true if the marking was added, false if it was already covered.
+	 */
+	boolean add(long[] tokens, T value, Collection<? super T> removed) {
+		if (isCovered(tokens))
+			return false;
+
+		// A marking with the same, finite number of tokens is not covered, because it is not equal
+		long sum = sum(tokens);
+		Iterator<Set<Entry<T>>> setIter = entriesBySum.headMap(sum, sum == OMEGA).values().iterator();
+		while (setIter.hasNext()) {
+			Set<Entry<T>> entries = setIter.next();
+			Iterator<Entry<T>> iter = entries.iterator();
+			while (iter.hasNext()) {
+				Entry<T> entry = iter.next();
+				if (lessOrEqual(entry.tokens, tokens)) {
+					iter.remove();
+					size--;
+					removed.add(entry.value);
+				}
+			}
+			if (entries.isEmpty())
+				setIter.remove();
+		}
+
+		Set<Entry<T>> entries = entriesBySum.get(sum);
+		if (entries == null) {
+			entries = new LinkedHashSet<>();
+			entriesBySum.put(sum, entries);
+		}
+		entries.add(new Entry<T>(tokens, value));
+		size++;
+
+		// The bounds only grow. After removals they are still valid upper bounds, just not tight ones.
+		if (bounds == null) {
+			bounds = tokens.clone();
+		} else {
+			for (int i = 0; i < tokens.length; i++)
+				bounds[i] = Math.max(bounds[i], tokens[i]);
+		}
+		return true;
+	}
+
+	/**
+	 * Get the values associated with the markings in this set.
+	 * @return The values.
+	 */
+	List<T> values() {
+		List<T> result = new ArrayList<>(size);
+		for (Set<Entry<T>> entries : entriesBySum.values())
+			for (Entry<T> entry : entries)
+				result.add(entry.value);
+		return result;
+	}
+
+	/**
+	 * Get the number of markings in this set.
+	 * @return The size.
+	 */
+	int size() {
+		return size;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
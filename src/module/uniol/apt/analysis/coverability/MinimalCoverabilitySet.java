@@ -0,0 +1,187 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+import uniol.apt.adt.StructuralExtensionRemover;
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Node;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The minimal coverability set of a Petri net. This is the set of maximal markings (possibly with OMEGAs) of the
+ * coverability graph, i.e. every reachable marking is covered by one of these markings and no two of them are
+ * comparable.
+ *
+ * The set is computed with a breadth-first Karp-Miller construction that prunes dominated nodes. A new node whose
+ * marking is covered by the marking of a node that already exists is not created, and a node that is dominated by a
+ * node with a strictly larger marking before its successors were computed is not expanded. Dominated nodes stay in
+ * the tree, so that the accelerations along the path to the root of later nodes are the same as in the Karp-Miller
+ * tree. Thus, the tree is a subtree of the Karp-Miller tree and the construction terminates. Since markings only
+ * grow along this domination relation and firing is monotonic, every reachable marking is still covered by some
+ * node.
+ *
+ * The markings of the nodes that are not dominated are kept in an antichain that is indexed by token sums, so that
+ * the check whether a new marking is covered does not need to look at all nodes.
+ * @author agent
+ */
+public class MinimalCoverabilitySet {
+	private final PetriNet pn;
+	private final List<CoverabilityTreeNode> nodes = new ArrayList<>();
+	private final MarkingAntichain<CoverabilityTreeNode> maximal = new MarkingAntichain<>();
+
+	/**
+	 * Get the minimal coverability set of a Petri net. If it was already computed for this Petri net, that
+	 * instance is re-used instead of computing it again.
+	 * @param pn The Petri net whose minimal coverability set is wanted.
+	 * @return The minimal coverability set.
+	 */
+	static public MinimalCoverabilitySet get(PetriNet pn) {
+		String key = MinimalCoverabilitySet.class.getName();
+
+		Object extension = null;
+		try {
+			extension = pn.getExtension(key);
+		} catch (StructureException e) {
+			// No such extension.
+		}
+
+		if (extension instanceof MinimalCoverabilitySet)
+			return (MinimalCoverabilitySet) extension;
+
+		MinimalCoverabilitySet result = new MinimalCoverabilitySet(pn);
+		// Save the result as an extension, but make sure that it is removed if the structure of the Petri net
+		// is changed in any way.
+		pn.putExtension(key, result, ExtensionProperty.NOCOPY);
+		pn.addListener(new StructuralExtensionRemover<PetriNet, Flow, Node>(key));
+		return result;
+	}
+
+	private MinimalCoverabilitySet(PetriNet pn) {
+		this.pn = pn;
+		calculate();
+	}
+
+	private void calculate() {
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+		Collection<CoverabilityTreeNode> removed = new ArrayList<>();
+		Deque<CoverabilityTreeNode> unvisited = new ArrayDeque<>();
+
+		CoverabilityTreeNode root = new CoverabilityTreeNode(null, pn.getInitialMarking(), null, null);
+		nodes.add(root);
+		maximal.add(root.getTokens(), root, removed);
+		unvisited.add(root);
+
+		while (!unvisited.isEmpty()) {
+			CoverabilityTreeNode node = unvisited.removeFirst();
+			if (node.isDominated())
+				continue;
+
+			Marking marking = node.getMarkingInternal();
+			for (Transition t : pn.getTransitions()) {
+				interrupt.throwIfInterruptRequested();
+				if (!t.isFireable(marking))
+					continue;
+
+				// Add OMEGAs if the new marking covers the marking of an ancestor. Comparing the token
+				// arrays first avoids creating new markings for ancestors that are not covered.
+				Marking newMarking = t.fire(marking);
+				long[] tokens = MarkingAntichain.toTokenArray(newMarking);
+				CoverabilityTreeNode covered = null;
+				for (CoverabilityTreeNode ancestor = node; ancestor != null; ancestor = ancestor.getParent()) {
+					if (introducesOmega(tokens, ancestor.getTokens())) {
+						newMarking = newMarking.cover(ancestor.getMarkingInternal());
+						tokens = MarkingAntichain.toTokenArray(newMarking);
+						covered = ancestor;
+						break;
+					}
+				}
+
+				if (maximal.isCovered(tokens))
+					continue;
+
+				CoverabilityTreeNode child = new CoverabilityTreeNode(t, newMarking, node, covered);
+				removed.clear();
+				maximal.add(tokens, child, removed);
+				for (CoverabilityTreeNode dominated : removed)
+					dominated.setDominated();
+				nodes.add(child);
+				unvisited.add(child);
+			}
+		}
+	}
+
+	// Does Marking.cover() return a new marking for these token counts? This is the case if tokens is at least
+	// ancestor on all places and larger on some place which is not yet OMEGA.
+	static private boolean introducesOmega(long[] tokens, long[] ancestor) {
+		boolean larger = false;
+		for (int i = 0; i < tokens.length; i++) {
+			if (tokens[i] < ancestor[i])
+				return false;
+			if (tokens[i] > ancestor[i] && tokens[i] != MarkingAntichain.OMEGA)
+				larger = true;
+		}
+		return larger;
+	}
+
+	/**
+	 * Get the markings in the minimal coverability set.
+	 * @return The pairwise incomparable markings that cover all reachable markings.
+	 */
+	public Collection<Marking> getMarkings() {
+		List<Marking> result = new ArrayList<>();
+		for (CoverabilityTreeNode node : maximal.values())
+			result.add(node.getMarking());
+		return result;
+	}
+
+	/**
+	 * Get the nodes whose markings form the minimal coverability set.
+	 * @return The nodes.
+	 */
+	public Collection<CoverabilityTreeNode> getMaximalNodes() {
+		return unmodifiableList(maximal.values());
+	}
+
+	/**
+	 * Get all nodes of the pruned Karp-Miller tree in the order in which they were created. Every reachable
+	 * marking is covered by some node. If the Petri net is bounded, each node's marking is reachable and thus the
+	 * maximal number of tokens on a place over all reachable markings is the maximum over these nodes.
+	 * @return The nodes.
+	 */
+	public List<CoverabilityTreeNode> getNodes() {
+		return unmodifiableList(nodes);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,102 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.module.AbstractModule;
+import uniol.apt.module.AptModule;
+import uniol.apt.module.Category;
+import uniol.apt.module.InterruptibleModule;
+import uniol.apt.module.ModuleInput;
+import uniol.apt.module.ModuleInputSpec;
+import uniol.apt.module.ModuleOutput;
+import uniol.apt.module.ModuleOutputSpec;
+import uniol.apt.module.exception.ModuleException;
+
+/**
+ * Provide the minimal coverability set as a module.
+ * @author agent
+ */
+@AptModule
+public class MinimalCoverabilitySetModule extends AbstractModule implements InterruptibleModule {
+
+	@Override
+	public String getShortDescription() {
+		return "Compute a Petri net's minimal coverability set";
+	}
+
+	@Override
+	public String getLongDescription() {
+		return getShortDescription()
+			+ ". This is the set of maximal markings of the coverability graph. Every reachable marking is "
+			+ "covered by one of these markings. This is computed without constructing the whole "
+			+ "coverability graph.";
+	}
+
+	@Override
+	public String getName() {
+		return "minimal_coverability_set";
+	}
+
+	@Override
+	public void require(ModuleInputSpec inputSpec) {
+		inputSpec.addParameter("pn", PetriNet.class, "The Petri net that should be examined");
+	}
+
+	@Override
+	public void provide(ModuleOutputSpec outputSpec) {
+		outputSpec.addReturnValue("markings", String.class);
+		outputSpec.addReturnValue("bounded", Boolean.class);
+	}
+
+	@Override
+	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
+		PetriNet pn = input.getParameter("pn", PetriNet.class);
+		List<String> markings = new ArrayList<>();
+		boolean bounded = true;
+		for (Marking marking : MinimalCoverabilitySet.get(pn).getMarkings()) {
+			markings.add(marking.toString());
+			if (marking.hasOmega())
+				bounded = false;
+		}
+		Collections.sort(markings);
+
+		StringBuilder result = new StringBuilder();
+		for (String marking : markings) {
+			if (result.length() > 0)
+				result.append('\n');
+			result.append(marking);
+		}
+		output.setReturnValue("markings", String.class, result.toString());
+		output.setReturnValue("bounded", Boolean.class, bounded);
+	}
+
+	@Override
+	public Category[] getCategories() {
+		return new Category[]{Category.PN};
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
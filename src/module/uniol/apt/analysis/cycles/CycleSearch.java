@@ -35,7 +35,9 @@ import uniol.apt.adt.INode;
 import uniol.apt.adt.subgraph.SubEdge;
 import uniol.apt.adt.subgraph.SubGraph;
 import uniol.apt.adt.subgraph.SubNode;
-import uniol.apt.analysis.connectivity.Connectivity;
+import uniol.apt.analysis.connectivity.IndexedGraph;
+import uniol.apt.analysis.connectivity.StronglyConnectedComponents;
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -49,8 +51,11 @@ public class CycleSearch {
 	public <G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>> void
 			searchCycles(G graph, CycleCallback<G, E, N> cycleCb) {
 		Deque<SubGraph<G, E, N>> componentSubgraphs = new ArrayDeque<>();
-		for (Set<N> component : Connectivity.getStronglyConnectedComponents(graph)) {
-			componentSubgraphs.add(SubGraph.getSubGraphByNodes(graph, component));
+		StronglyConnectedComponents<N> components = IndexedGraph.of(graph).getStronglyConnectedComponents();
+		for (int c = 0; c < components.getNumberOfComponents(); c++) {
+			// Components without a cycle cannot contain any elementary cycles
+			if (components.hasCycle(c))
+				componentSubgraphs.add(SubGraph.getSubGraphByNodes(graph, components.getNodes(c)));
 		}
 		while (!componentSubgraphs.isEmpty()) {
 			SubGraph<G, E, N> subgraph = componentSubgraphs.removeLast();
@@ -61,8 +66,11 @@ public class CycleSearch {
 			new DoDfs<G, E, N>(start, subgraph, cycleCb);
 			it.remove();
 			subgraph = subgraph.getFlatSubGraphByNodes(nodes);
-			for (Set<SubNode<G, E, N>> component : Connectivity.getStronglyConnectedComponents(subgraph)) {
-				componentSubgraphs.add(subgraph.getFlatSubGraphByNodes(component));
+			StronglyConnectedComponents<SubNode<G, E, N>> subComponents
+				= IndexedGraph.of(subgraph).getStronglyConnectedComponents();
+			for (int c = 0; c < subComponents.getNumberOfComponents(); c++) {
+				if (subComponents.hasCycle(c))
+					componentSubgraphs.add(subgraph.getFlatSubGraphByNodes(subComponents.getNodes(c)));
 			}
 		}
 	}
@@ -77,6 +85,7 @@ public class CycleSearch {
 		private final Deque<SubEdge<G, E, N>> lStack;
 		private final Set<SubNode<G, E, N>> blocked;
 		private final Map<SubNode<G, E, N>, Set<SubNode<G, E, N>>> b;
+		private final InterruptToken interrupt;
 
 		public DoDfs(SubNode<G, E, N> start, SubGraph<G, E, N> graph, CycleCallback<G, E, N> cycleCb) {
 			this.start   = start;
@@ -86,6 +95,7 @@ public class CycleSearch {
 			this.lStack  = new ArrayDeque<>();
 			this.blocked = new HashSet<>();
 			this.b       = new HashMap<SubNode<G, E, N>, Set<SubNode<G, E, N>>>();
+			this.interrupt = InterrupterRegistry.getCurrentThreadToken();
 
 			for (SubNode<G, E, N> node : graph.getNodes()) {
 				this.b.put(node, new HashSet<SubNode<G, E, N>>());
@@ -104,7 +114,7 @@ public class CycleSearch {
 			blocked.add(cur);
 			sStack.addLast(cur);
 			for (SubEdge<G, E, N> arc : cur.getPostsetEdges()) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				interrupt.throwIfInterruptRequested();
 				lStack.addLast(arc);
 				SubNode<G, E, N> next = arc.getTarget();
 				if (next.equals(start)) {
@@ -129,8 +139,9 @@ public class CycleSearch {
 			if (foundCycle) {
 				unblock(cur);
 			} else {
+				// Unblock 'cur' when any of its successors is unblocked
 				for (SubNode<G, E, N> next : cur.getPostsetNodes()) {
-					b.get(cur).add(next);
+					b.get(next).add(cur);
 				}
 			}
 
@@ -0,0 +1,282 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.cycles;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.IEdge;
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.INode;
+import uniol.apt.analysis.connectivity.IndexedGraph;
+import uniol.apt.analysis.connectivity.StronglyConnectedComponents;
+import uniol.apt.util.SharedPool;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Compute elementary cycles via Johnson's algorithm using multiple threads. This finds the same cycles as {@link
+ * CycleSearch}, but works on an {@link IndexedGraph} where nodes are numbered, so that blocked sets can be bit sets.
+ *
+ * Every cycle is found by the search from its node with the smallest number. The search from a node only has to
+ * consider nodes with larger numbers that are in the same strongly connected component of the subgraph induced by
+ * these nodes. Thus, the searches for different start nodes are independent and are handed to a shared pool of
+ * threads. Small graphs are searched in the calling thread, unless a number of threads is explicitly requested.
+ *
+ * The callback is called concurrently from the worker threads and must be thread-safe. The order in which cycles are
+ * found is unspecified. When the callback has found what it needs, it can call {@link #stop()}, after which no new
+ * cycles are reported and the search finishes soon.
+ *
+ * @author agent
+ */
+public class ParallelCycleSearch {
+	/**
+	 * The minimum number of nodes for which the default instance searches in parallel. Smaller graphs are searched
+	 * in the calling thread, because handing out the searches would take longer than the searches themselves.
+	 */
+	public static final int PARALLEL_THRESHOLD = 512;
+
+	private final int threads;
+	// The minimum number of nodes for which the search is done in parallel
+	private final int parallelThreshold;
+	private volatile boolean stopped = false;
+
+	/**
+	 * Create an instance that uses all threads of the {@link SharedPool}. Graphs with less than {@link
+	 * #PARALLEL_THRESHOLD} nodes are searched in the calling thread.
+	 */
+	public ParallelCycleSearch() {
+		this(SharedPool.getParallelism(), PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Create an instance that uses at most the given number of threads for all graphs.
+	 * @param threads The maximum number of threads. With a single thread, the search is done in the calling
+	 * thread.
+	 */
+	public ParallelCycleSearch(int threads) {
+		this(threads, 0);
+	}
+
+	private ParallelCycleSearch(int threads, int parallelThreshold) {
+		if (threads <= 0)
+			throw new IllegalArgumentException("Need at least one thread, but got " + threads);
+		this.threads = threads;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Stop the search. Cycles that are currently being reported are still delivered, but no further cycles are
+	 * found. This method can be called from the callback.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Check if the search was stopped.
+	 * @return true if {@link #stop()} was called.
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Search all elementary cycles of a graph.
+	 * @param graph The graph to examine.
+	 * @param cycleCb The callback that is informed about each cycle. It must be thread-safe.
+	 * @param <G> The type of the graph.
+	 * @param <E> The type of edges of the graph.
+	 * @param <N> The type of nodes of the graph.
+	 */
+	public <G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>> void
+			searchCycles(G graph, CycleCallback<G, E, N> cycleCb) {
+		Edges<G, E, N> edges = new Edges<>(IndexedGraph.of(graph));
+		List<Integer> starts = new ArrayList<>();
+		for (int node = 0; node < edges.graph.size(); node++)
+			if (edges.components.hasCycle(edges.components.getComponent(node)))
+				starts.add(node);
+
+		if (threads == 1 || starts.size() <= 1 || edges.graph.size() < parallelThreshold) {
+			InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+			for (int start : starts) {
+				if (stopped)
+					break;
+				new Search<>(edges, start, cycleCb, interrupt).run();
+			}
+			return;
+		}
+
+		searchInParallel(edges, starts, cycleCb);
+	}
+
+	private <G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>> void
+			searchInParallel(final Edges<G, E, N> edges, final List<Integer> starts,
+					final CycleCallback<G, E, N> cycleCb) {
+		SharedPool.run(starts.size(), threads, new SharedPool.Job() {
+			@Override
+			public void run(int index, InterruptToken interrupt) {
+				if (stopped)
+					return;
+				try {
+					new Search<>(edges, starts.get(index), cycleCb, interrupt).run();
+				} catch (RuntimeException | Error e) {
+					// The remaining searches should not start anymore
+					stop();
+					throw e;
+				}
+			}
+		});
+	}
+
+	// The edges of an indexed graph. Different edges between the same nodes lead to different cycles, so they are
+	// all needed, while IndexedGraph only knows which nodes are adjacent.
+	static private class Edges<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>> {
+		private final IndexedGraph<N> graph;
+		private final StronglyConnectedComponents<N> components;
+		// For each node, the edges leaving it and their targets
+		private final List<List<E>> edges = new ArrayList<>();
+		private final int[][] targets;
+
+		Edges(IndexedGraph<N> graph) {
+			this.graph = graph;
+			this.components = graph.getStronglyConnectedComponents();
+			targets = new int[graph.size()][];
+			for (int node = 0; node < graph.size(); node++) {
+				List<E> postset = new ArrayList<>(graph.getNode(node).getPostsetEdges());
+				edges.add(postset);
+				targets[node] = new int[postset.size()];
+				for (int i = 0; i < postset.size(); i++)
+					targets[node][i] = graph.getIndex(postset.get(i).getTarget());
+			}
+		}
+	}
+
+	// The search for cycles whose smallest node is 'start'. This is CIRCUIT() in the paper.
+	private class Search<G extends IGraph<G, E, N>, E extends IEdge<G, E, N>, N extends INode<G, E, N>> {
+		private final Edges<G, E, N> graph;
+		private final int start;
+		private final CycleCallback<G, E, N> cycleCb;
+		private final InterruptToken interrupt;
+
+		// The nodes that may be visited: Those with a number of at least 'start' in its strongly connected
+		// component of this subgraph
+		private final BitSet allowed;
+		private final BitSet blocked = new BitSet();
+		// B(w) from the paper: The nodes that are unblocked when w is unblocked
+		private final Map<Integer, BitSet> b = new HashMap<>();
+		private final int[] sStack;
+		private int sStackSize = 0;
+		private final List<E> lStack = new ArrayList<>();
+
+		Search(Edges<G, E, N> graph, int start, CycleCallback<G, E, N> cycleCb, InterruptToken interrupt) {
+			this.graph = graph;
+			this.start = start;
+			this.cycleCb = cycleCb;
+			this.interrupt = interrupt;
+			this.allowed = computeAllowed();
+			this.sStack = new int[allowed.cardinality()];
+		}
+
+		// Nodes with a number of at least 'start' that are on a cycle through 'start' that only uses such nodes.
+		// These are the nodes that are reachable from 'start' and from which 'start' can be reached, both
+		// within the component of 'start'.
+		private BitSet computeAllowed() {
+			BitSet within = graph.components.getMembers(graph.components.getComponent(start));
+			within.clear(0, start);
+			BitSet startSet = new BitSet();
+			startSet.set(start);
+			BitSet result = graph.graph.getReachable(startSet, within);
+			result.and(graph.graph.getCoReachable(startSet, within));
+			return result;
+		}
+
+		void run() {
+			doDfs(start);
+			assert sStackSize == 0;
+			assert lStack.isEmpty();
+		}
+
+		private boolean doDfs(int cur) {
+			boolean foundCycle = false;
+
+			blocked.set(cur);
+			sStack[sStackSize++] = cur;
+			List<E> edges = graph.edges.get(cur);
+			int[] targets = graph.targets[cur];
+			for (int i = 0; i < targets.length && !stopped; i++) {
+				interrupt.throwIfInterruptRequested();
+				int next = targets[i];
+				if (!allowed.get(next))
+					continue;
+
+				lStack.add(edges.get(i));
+				if (next == start) {
+					reportCycle();
+					foundCycle = true;
+				} else if (!blocked.get(next)) {
+					foundCycle |= doDfs(next);
+				}
+				lStack.remove(lStack.size() - 1);
+			}
+			sStackSize--;
+
+			if (foundCycle) {
+				unblock(cur);
+			} else {
+				for (int next : targets) {
+					if (!allowed.get(next))
+						continue;
+					BitSet bNext = b.get(next);
+					if (bNext == null) {
+						bNext = new BitSet();
+						b.put(next, bNext);
+					}
+					bNext.set(cur);
+				}
+			}
+
+			return foundCycle;
+		}
+
+		private void unblock(int node) {
+			blocked.clear(node);
+			BitSet bNode = b.remove(node);
+			if (bNode == null)
+				return;
+			for (int prev = bNode.nextSetBit(0); prev >= 0; prev = bNode.nextSetBit(prev + 1)) {
+				if (blocked.get(prev))
+					unblock(prev);
+			}
+		}
+
+		private void reportCycle() {
+			List<N> sCycle = new ArrayList<>(sStackSize);
+			for (int i = 0; i < sStackSize; i++)
+				sCycle.add(graph.graph.getNode(sStack[i]));
+			cycleCb.cycleFound(sCycle, new ArrayList<>(lStack));
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -20,20 +20,24 @@
 package uniol.apt.analysis.cycles.lts;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.DenseParikhVector;
 import uniol.apt.adt.ts.ParikhVector;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 
 import uniol.apt.analysis.cycles.CycleCallback;
-import uniol.apt.analysis.cycles.CycleSearch;
 import uniol.apt.analysis.cycles.CycleSearchViaChords;
+import uniol.apt.analysis.cycles.ParallelCycleSearch;
 import uniol.apt.analysis.exception.NonDisjointCyclesException;
 import uniol.apt.analysis.exception.PreconditionFailedException;
 
@@ -100,31 +104,37 @@ public class ComputeSmallestCycles {
 	 */
 	public Set<Cycle> computePVsOfSmallestCyclesViaCycleSearch(TransitionSystem ts,
 			final boolean smallest) {
-		final Set<Cycle> cycles = new HashSet<>();
-		new CycleSearch().searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+		// The Parikh vectors of the cycles are compared as dense Parikh vectors
+		final DenseParikhVector.Alphabet alphabet = new DenseParikhVector.Alphabet(ts.getAlphabet());
+		final Map<Cycle, DenseParikhVector> cycles = new LinkedHashMap<>();
+		// The callback is called concurrently, so all access to 'cycles' and 'alphabet' is synchronized
+		new ParallelCycleSearch().searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
 			@Override
 			public void cycleFound(List<State> nodes, List<Arc> edges) {
 				Cycle newCycle = new Cycle(nodes, edges);
-				if (smallest) {
-					ParikhVector pv = newCycle.getParikhVector();
-					Iterator<Cycle> iter = cycles.iterator();
-					while (iter.hasNext()) {
-						Cycle cycle = iter.next();
-						int comp = cycle.getParikhVector().compare(pv).asInt();
-						if (comp < 0) {
-							// cycle has a smaller Parikh vector
-							return;
-						}
-						if (comp > 0) {
-							// This vector is smaller than cycle.
-							iter.remove();
+				ParikhVector newPV = smallest ? newCycle.getParikhVector() : null;
+				synchronized (cycles) {
+					DenseParikhVector pv = null;
+					if (smallest) {
+						pv = DenseParikhVector.of(alphabet, newPV);
+						Iterator<DenseParikhVector> iter = cycles.values().iterator();
+						while (iter.hasNext()) {
+							int comp = iter.next().compare(pv).asInt();
+							if (comp < 0) {
+								// cycle has a smaller Parikh vector
+								return;
+							}
+							if (comp > 0) {
+								// This vector is smaller than cycle.
+								iter.remove();
+							}
 						}
 					}
+					cycles.put(newCycle, pv);
 				}
-				cycles.add(newCycle);
 			}
 		});
-		return cycles;
+		return new HashSet<>(cycles.keySet());
 	}
 
 	/**
@@ -184,15 +194,27 @@ public class ComputeSmallestCycles {
 	 */
 	public boolean checkSameOrMutallyDisjointPVs(Collection<? extends CyclePV> cycles) {
 		counterExample = null;
-		for (CyclePV cycle1 : cycles) {
-			for (CyclePV cycle2 : cycles) {
-				if (cycle1 != cycle2) {
-					if (!cycle1.getParikhVector().sameOrMutuallyDisjoint(cycle2.getParikhVector())) {
-						counterExample = new CycleCounterExample(cycle1, cycle2);
+		// Equal Parikh vectors are fine, so only one cycle per Parikh vector needs to be checked. The remaining
+		// Parikh vectors must have pairwise disjoint supports. Only when a support intersects the union of the
+		// previous supports, the conflicting Parikh vector has to be searched for.
+		Map<DenseParikhVector, CyclePV> distinct = groupByPV(cycles);
+		List<DenseParikhVector> seen = new ArrayList<>();
+		BitSet seenLabels = new BitSet();
+		for (Map.Entry<DenseParikhVector, CyclePV> entry : distinct.entrySet()) {
+			DenseParikhVector pv = entry.getKey();
+			BitSet support = pv.getSupport();
+			if (support.intersects(seenLabels)) {
+				for (DenseParikhVector other : seen) {
+					if (!pv.mutuallyDisjoint(other)) {
+						counterExample = new CycleCounterExample(distinct.get(other), entry.getValue());
 						return false;
 					}
 				}
+				throw new AssertionError("Support " + support + " intersects " + seenLabels
+						+ ", but no conflicting Parikh vector was found");
 			}
+			seenLabels.or(support);
+			seen.add(pv);
 		}
 		return true;
 	}
@@ -204,17 +226,26 @@ public class ComputeSmallestCycles {
 	 */
 	public boolean checkSamePVs(Collection<? extends CyclePV> cycles) {
 		counterExample = null;
-		for (CyclePV cycle1 : cycles) {
-			for (CyclePV cycle2 : cycles) {
-				if (cycle1 != cycle2) {
-					if (!cycle1.getParikhVector().equals(cycle2.getParikhVector())) {
-						counterExample = new CycleCounterExample(cycle1, cycle2);
-						return false;
-					}
-				}
-			}
+		Map<DenseParikhVector, CyclePV> distinct = groupByPV(cycles);
+		if (distinct.size() <= 1)
+			return true;
+
+		Iterator<CyclePV> iter = distinct.values().iterator();
+		counterExample = new CycleCounterExample(iter.next(), iter.next());
+		return false;
+	}
+
+	// Map each Parikh vector that occurs to the first cycle with this Parikh vector. Since dense Parikh vectors
+	// have a precomputed hash value, equal Parikh vectors are found without comparing all pairs of cycles.
+	static private Map<DenseParikhVector, CyclePV> groupByPV(Collection<? extends CyclePV> cycles) {
+		DenseParikhVector.Alphabet alphabet = new DenseParikhVector.Alphabet();
+		Map<DenseParikhVector, CyclePV> result = new LinkedHashMap<>();
+		for (CyclePV cycle : cycles) {
+			DenseParikhVector pv = DenseParikhVector.of(alphabet, cycle.getParikhVector());
+			if (!result.containsKey(pv))
+				result.put(pv, cycle);
 		}
-		return true;
+		return result;
 	}
 
 	/**
@@ -26,6 +26,7 @@ import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.exception.NonDeterministicException;
+import uniol.apt.analysis.product.LazyProduct;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -130,6 +131,25 @@ public class Deterministic {
 		node = null;
 	}
 
+	/**
+	 * Find a state of a product of two transition systems with two leaving arcs with the same label. The product
+	 * is explored on the fly and the exploration stops at the first such state.
+	 *
+	 * @param product the product to check
+	 * @return a non-deterministic state or null if the product is deterministic
+	 */
+	static public LazyProduct.ProductState findNonDeterministicState(LazyProduct product) {
+		for (int i = 0; i < product.getNumberOfDiscoveredStates(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			LazyProduct.ProductState state = product.getState(i);
+			Set<String> labels = new HashSet<>();
+			for (LazyProduct.ProductArc arc : state.getPostsetEdges())
+				if (!labels.add(arc.getLabel()))
+					return state;
+		}
+		return null;
+	}
+
 	/**
 	 * Throw a {@link NonDeterministicException} if the labeled transition system is not deterministic, else do
 	 * nothing.
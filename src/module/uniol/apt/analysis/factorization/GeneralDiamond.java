@@ -19,14 +19,13 @@
 
 package uniol.apt.analysis.factorization;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
-import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.util.interrupt.InterrupterRegistry;
-import uniol.apt.util.Pair;
+import uniol.apt.analysis.lts.IndexedLTS;
+import uniol.apt.analysis.lts.LocalPropertyChecker;
+import uniol.apt.util.interrupt.InterruptToken;
 
 /**
  * Allows to check a LTS for the general diamond property.
@@ -35,6 +34,9 @@ import uniol.apt.util.Pair;
  */
 public class GeneralDiamond {
 
+	// The directions in which an arc can be followed: true for forward
+	private static final boolean[] DIRECTIONS = { true, false };
+
 	private GeneralDiamond() {
 	}
 
@@ -67,9 +69,10 @@ public class GeneralDiamond {
 	public static GeneralDiamondResult checkGdiam(TransitionSystem ts, Set<String> tPrime) {
 		Set<String> notLabelSubset = new HashSet<>(ts.getAlphabet());
 		notLabelSubset.removeAll(tPrime);
+		IndexedLTS lts = new IndexedLTS(ts);
 		for (String t : tPrime) {
 			for (String u : notLabelSubset) {
-				GeneralDiamondResult r = checkGdiam(ts, t, u);
+				GeneralDiamondResult r = checkGdiam(lts, t, u);
 				if (!r.isGdiam()) {
 					return r;
 				}
@@ -111,71 +114,81 @@ public class GeneralDiamond {
 	 *         the LTS is not a T'-gdiam
 	 */
 	public static GeneralDiamondResult checkGdiam(TransitionSystem ts, String a, String b) {
-		for (State s : ts.getNodes()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			Set<Pair<State, Boolean>> s1Set = getGenerallyReachable(s, a);
-			Set<Pair<State, Boolean>> s2Set = getGenerallyReachable(s, b);
-			for (Pair<State, Boolean> p1 : s1Set) {
-				for (Pair<State, Boolean> p2 : s2Set) {
-					Set<State> s1SetPrime = getReachableWithDirection(
-						p1.getFirst(), b, p2.getSecond()
-					);
-					Set<State> s2SetPrime = getReachableWithDirection(
-						p2.getFirst(), a, p1.getSecond()
-					);
-					if (Collections.disjoint(s1SetPrime, s2SetPrime)) {
-						return new GeneralDiamondResult(
-							s, a, b, p1.getSecond(), p2.getSecond()
-						);
-					}
-				}
-			}
+		return checkGdiam(new IndexedLTS(ts), a, b);
+	}
+
+	private static GeneralDiamondResult checkGdiam(final IndexedLTS lts, final String a, final String b) {
+		final int labelA = lts.getLabelIndex(a);
+		final int labelB = lts.getLabelIndex(b);
+		if (labelA < 0 || labelB < 0) {
+			// A label that does not occur cannot violate the property
+			return new GeneralDiamondResult();
 		}
-		return new GeneralDiamondResult();
+
+		GeneralDiamondResult result = LocalPropertyChecker.findFirstCounterExample(lts.getNumberOfStates(),
+				new LocalPropertyChecker.LocalCheck<GeneralDiamondResult>() {
+					@Override
+					public GeneralDiamondResult check(int s, InterruptToken interrupt) {
+						return checkGdiam(lts, s, a, labelA, b, labelB, interrupt);
+					}
+				});
+		if (result == null)
+			return new GeneralDiamondResult();
+		return result;
 	}
 
 	/**
-	 * Returns a set of pairs. Each pair contains a state that is directly
-	 * (single step) reachable from s with the given label regardless of arc
-	 * direction. The boolean signifies if the used arc was traveled in
-	 * forward (true) or backward (false) direction.
+	 * Checks the general diamond property in a single state. The state s1 is
+	 * directly reachable from s with label a, the state s2 with label b,
+	 * where arcs may be followed in either direction. From s1, label b is
+	 * followed in the direction that was used for s2 and from s2, label a
+	 * is followed in the direction that was used for s1. These two steps
+	 * must reach a common state.
 	 *
-	 * @param s
-	 *                starting state
-	 * @param label
-	 *                allowed labeling for arcs
-	 * @return set of pairs of state and arc direction to get to that state
+	 * @return a counter-example or null
 	 */
-	private static Set<Pair<State, Boolean>> getGenerallyReachable(State s, String label) {
-		Set<Pair<State, Boolean>> result = new HashSet<>();
-		for (State sPost : s.getPostsetNodesByLabel(label)) {
-			result.add(new Pair<>(sPost, true));
-		}
-		for (State sPre : s.getPresetNodesByLabel(label)) {
-			result.add(new Pair<>(sPre, false));
+	private static GeneralDiamondResult checkGdiam(IndexedLTS lts, int s, String a, int labelA, String b,
+			int labelB, InterruptToken interrupt) {
+		for (boolean forward1 : DIRECTIONS) {
+			IndexedLTS.Adjacency arcs1 = getArcs(lts, forward1);
+			int end1 = arcs1.upperBound(s, labelA);
+			for (int arc1 = arcs1.lowerBound(s, labelA); arc1 < end1; arc1++) {
+				int s1 = arcs1.getNeighbour(arc1);
+				for (boolean forward2 : DIRECTIONS) {
+					IndexedLTS.Adjacency arcs2 = getArcs(lts, forward2);
+					int end2 = arcs2.upperBound(s, labelB);
+					for (int arc2 = arcs2.lowerBound(s, labelB); arc2 < end2; arc2++) {
+						interrupt.throwIfInterruptRequested();
+						int s2 = arcs2.getNeighbour(arc2);
+						if (!haveSharedState(arcs2, s1, labelB, arcs1, s2, labelA)) {
+							return new GeneralDiamondResult(
+								lts.getState(s), a, b, forward1, forward2
+							);
+						}
+					}
+				}
+			}
 		}
-		return result;
+		return null;
+	}
+
+	private static IndexedLTS.Adjacency getArcs(IndexedLTS lts, boolean forward) {
+		return forward ? lts.getPostset() : lts.getPreset();
 	}
 
 	/**
-	 * Returns a set of states that is directly (single step) reachable from
-	 * s with the given label while using arcs in the specified direction.
-	 *
-	 * @param s
-	 *                starting state
-	 * @param label
-	 *                allowed labeling for arcs
-	 * @param forward
-	 *                true, if arcs must be followed in proper direction.
-	 *                false, if arcs must be followed in reverse direction
-	 * @return set of reachable states
+	 * Checks if the states directly reachable from s1 via label1 in
+	 * direction arcs1 and those directly reachable from s2 via label2 in
+	 * direction arcs2 intersect.
 	 */
-	private static Set<State> getReachableWithDirection(State s, String label, boolean forward) {
-		if (forward) {
-			return s.getPostsetNodesByLabel(label);
-		} else {
-			return s.getPresetNodesByLabel(label);
+	private static boolean haveSharedState(IndexedLTS.Adjacency arcs1, int s1, int label1,
+			IndexedLTS.Adjacency arcs2, int s2, int label2) {
+		int end = arcs1.upperBound(s1, label1);
+		for (int arc = arcs1.lowerBound(s1, label1); arc < end; arc++) {
+			if (arcs2.contains(s2, label2, arcs1.getNeighbour(arc)))
+				return true;
 		}
+		return false;
 	}
 
 }
@@ -65,6 +65,9 @@ public class FairnessModule extends AbstractModule implements InterruptibleModul
 				"If given, break if a k-unfair situation is found");
 		inputSpec.addOptionalParameterWithoutDefault("t", String.class,
 				"If given, fairness regarding this event is checked");
+		inputSpec.addOptionalParameterWithDefault("algorithm", String.class, "scc", "scc",
+				"Either 'scc' for checking strongly connected components or 'cycles' for checking "
+				+ "all elementary cycles");
 	}
 
 	@Override
@@ -82,11 +85,25 @@ public class FairnessModule extends AbstractModule implements InterruptibleModul
 		TransitionSystem ts = input.getParameter("pnTs", PetriNetOrTransitionSystem.class).getReachabilityLTS();
 		int k = input.getParameter("k", Integer.class);
 		String t = input.getParameter("t", String.class);
+		String algorithm = input.getParameter("algorithm", String.class);
 		FairnessResult result;
-		if (t == null) {
-			result = Fairness.checkFairness(ts, k);
-		} else {
-			result = Fairness.checkFairness(ts, k, ts.getEvent(t));
+		switch (algorithm) {
+			case "scc":
+				if (t == null) {
+					result = FairnessViaSCCs.checkFairness(ts, k);
+				} else {
+					result = FairnessViaSCCs.checkFairness(ts, k, ts.getEvent(t));
+				}
+				break;
+			case "cycles":
+				if (t == null) {
+					result = Fairness.checkFairness(ts, k);
+				} else {
+					result = Fairness.checkFairness(ts, k, ts.getEvent(t));
+				}
+				break;
+			default:
+				throw new ModuleException("Unknown algorithm '" + algorithm + "', expected 'scc' or 'cycles'");
 		}
 		boolean fair = result.isFair();
 		output.setReturnValue("fair", Boolean.class, fair);
@@ -0,0 +1,281 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.fairness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.Event;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.connectivity.IndexedGraph;
+import uniol.apt.analysis.connectivity.StronglyConnectedComponents;
+import uniol.apt.util.SpanningTree;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Check if a transition system is fair without enumerating its elementary cycles. This gives the same answer as
+ * {@link Fairness}, but works on strongly connected components.
+ *
+ * An event e is unfair if some reachable state s lies on a cycle which does not contain e and from s a state can be
+ * reached where e is enabled. Such a cycle exists if and only if s is in a non-trivial strongly connected component of
+ * the transition system without the arcs labelled with e. The distances to the states enabling e are computed with a
+ * breadth-first search backwards from these states. A witness cycle is only constructed for the unfair state that is
+ * reported.
+ *
+ * @author agent
+ */
+public class FairnessViaSCCs {
+	/**
+	 * Check if a transition system is fair
+	 * @param ts The transitions system to check.
+	 * @return An instance of FairnessResult describing the result. This function never returns null.
+	 */
+	static public FairnessResult checkFairness(TransitionSystem ts) {
+		return checkFairness(ts, 0);
+	}
+
+	/**
+	 * Check if a transition system is k-fair
+	 * @param ts The transitions system to check.
+	 * @param k Break if a situation which is k-unfair is found.
+	 * @return An instance of FairnessResult describing the result. This function never returns null.
+	 */
+	static public FairnessResult checkFairness(TransitionSystem ts, int k) {
+		FairnessViaSCCs fairness = new FairnessViaSCCs(ts);
+		for (Event e : ts.getAlphabetEvents()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			FairnessResult result = fairness.checkEvent(e, k);
+			if (!result.isFair())
+				return result;
+		}
+		return new FairnessResult(ts);
+	}
+
+	/**
+	 * Check if a transition system is fair regarding a specific event
+	 * @param ts The transition system to check.
+	 * @param e The event to check
+	 * @return An instance of FairnessResult describing the result. This function never returns null.
+	 */
+	static public FairnessResult checkFairness(TransitionSystem ts, Event e) {
+		return checkFairness(ts, 0, e);
+	}
+
+	/**
+	 * Check if a transition system is k-fair regarding a specific event
+	 * @param ts The transition system to check.
+	 * @param k Break if a situation which is k-unfair is found.
+	 * @param e The event to check
+	 * @return An instance of FairnessResult describing the result. This function never returns null.
+	 */
+	static public FairnessResult checkFairness(TransitionSystem ts, int k, Event e) {
+		return new FairnessViaSCCs(ts).checkEvent(e, k);
+	}
+
+	private final TransitionSystem ts;
+	private final IndexedGraph<State> graph;
+	// For each state, the arcs leaving it and the numbers of their targets
+	private final Arc[][] postset;
+	private final int[][] targets;
+	// For each state, the arcs reaching it and the numbers of their sources
+	private final Arc[][] preset;
+	private final int[][] sources;
+	private final BitSet reachable;
+
+	/**
+	 * Construct an instance to check fairness on a given {@link TransitionSystem}
+	 *
+	 * @param ts The transition system on which fairness should be checked.
+	 */
+	public FairnessViaSCCs(TransitionSystem ts) {
+		this.ts = ts;
+		this.graph = IndexedGraph.of(ts);
+
+		int size = graph.size();
+		postset = new Arc[size][];
+		targets = new int[size][];
+		preset = new Arc[size][];
+		sources = new int[size][];
+		for (int i = 0; i < size; i++) {
+			postset[i] = graph.getNode(i).getPostsetEdges().toArray(new Arc[0]);
+			targets[i] = new int[postset[i].length];
+			for (int j = 0; j < postset[i].length; j++)
+				targets[i][j] = graph.getIndex(postset[i][j].getTarget());
+
+			preset[i] = graph.getNode(i).getPresetEdges().toArray(new Arc[0]);
+			sources[i] = new int[preset[i].length];
+			for (int j = 0; j < preset[i].length; j++)
+				sources[i][j] = graph.getIndex(preset[i][j].getSource());
+		}
+
+		reachable = graph.getReachable(ts.getInitialState());
+	}
+
+	/**
+	 * Check if a given event is k-unfair
+	 *
+	 * @param e The event to check
+	 * @param k The value for k in k-unfairness
+	 * @return An instance of FairnessResult describing the result. This function never returns null.
+	 */
+	public FairnessResult checkEvent(Event e, int k) {
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+		int size = postset.length;
+
+		// Step 1: Calculate for each state how many events must at least get fired to enable the given event
+		// and which arc needs to be fired next on such a shortest path
+		int[] distance = new int[size];
+		Arc[] successors = new Arc[size];
+		Arrays.fill(distance, -1);
+		int[] queue = new int[size];
+		int queueSize = 0;
+		for (int state = 0; state < size; state++) {
+			for (Arc arc : postset[state]) {
+				if (e.equals(arc.getEvent())) {
+					distance[state] = 0;
+					queue[queueSize++] = state;
+					break;
+				}
+			}
+		}
+		for (int i = 0; i < queueSize; i++) {
+			int state = queue[i];
+			for (int j = 0; j < sources[state].length; j++) {
+				interrupt.throwIfInterruptRequested();
+				int source = sources[state][j];
+				if (distance[source] >= 0)
+					continue;
+				distance[source] = distance[state] + 1;
+				successors[source] = preset[state][j];
+				queue[queueSize++] = source;
+			}
+		}
+		if (queueSize == 0)
+			return new FairnessResult(this.ts);
+
+		// Step 2: Find the state with the smallest distance which is on a cycle without the given event
+		BitSet onCycle = getStatesOnCyclesWithout(e, interrupt);
+		int witness = -1;
+		for (int state = onCycle.nextSetBit(0); state >= 0; state = onCycle.nextSetBit(state + 1)) {
+			if (distance[state] < 0)
+				continue;
+			if (witness < 0 || distance[state] < distance[witness])
+				witness = state;
+			if (distance[witness] <= k)
+				break;
+		}
+
+		if (witness < 0)
+			return new FairnessResult(this.ts);
+
+		// Step 3: Construct the witness
+		State witnessState = graph.getNode(witness);
+		List<Arc> cycle = getShortestCycleWithout(e, witness, interrupt);
+		List<Arc> sequence = SpanningTree.get(this.ts, this.ts.getInitialState())
+			.getEdgePathFromStart(witnessState);
+		List<Arc> enabling = new ArrayList<>();
+		for (Arc a = successors[witness]; a != null; a = successors[graph.getIndex(a.getTarget())]) {
+			enabling.add(a);
+		}
+
+		return new FairnessResult(this.ts, witnessState, e, distance[witness], sequence, cycle, enabling);
+	}
+
+	// Compute the reachable states that are on a cycle which does not contain the given event. These are the states
+	// in strongly connected components with a cycle in the graph without the arcs labelled with the event.
+	private BitSet getStatesOnCyclesWithout(Event e, InterruptToken interrupt) {
+		int size = postset.length;
+		int[][] successors = new int[size][];
+		int[] buffer = new int[size];
+		// The state for which a successor was last added, so that every successor is added only once
+		int[] lastSeen = new int[size];
+		Arrays.fill(lastSeen, -1);
+		for (int state = 0; state < size; state++) {
+			interrupt.throwIfInterruptRequested();
+			int count = 0;
+			for (int i = 0; i < targets[state].length; i++) {
+				int next = targets[state][i];
+				if (!e.equals(postset[state][i].getEvent()) && lastSeen[next] != state) {
+					lastSeen[next] = state;
+					buffer[count++] = next;
+				}
+			}
+			successors[state] = Arrays.copyOf(buffer, count);
+		}
+
+		StronglyConnectedComponents<State> components = graph.withSuccessors(successors)
+			.getStronglyConnectedComponents();
+		boolean[] hasCycle = new boolean[components.getNumberOfComponents()];
+		for (int c = 0; c < hasCycle.length; c++)
+			hasCycle[c] = components.hasCycle(c);
+		BitSet result = new BitSet(size);
+		for (int state = reachable.nextSetBit(0); state >= 0; state = reachable.nextSetBit(state + 1))
+			if (hasCycle[components.getComponent(state)])
+				result.set(state);
+		return result;
+	}
+
+	// Find a shortest cycle through the given state which does not contain the given event. Such a cycle is
+	// elementary. The cycle begins and ends in the given state.
+	private List<Arc> getShortestCycleWithout(Event e, int start, InterruptToken interrupt) {
+		int size = postset.length;
+		Arc[] parent = new Arc[size];
+		int[] parentState = new int[size];
+		BitSet visited = new BitSet(size);
+		int[] queue = new int[size];
+		int queueSize = 0;
+		queue[queueSize++] = start;
+		visited.set(start);
+
+		List<Arc> result = new ArrayList<>();
+		for (int i = 0; i < queueSize; i++) {
+			int state = queue[i];
+			for (int j = 0; j < targets[state].length; j++) {
+				interrupt.throwIfInterruptRequested();
+				Arc arc = postset[state][j];
+				if (e.equals(arc.getEvent()))
+					continue;
+				int next = targets[state][j];
+				if (next == start) {
+					result.add(arc);
+					for (int cur = state; cur != start; cur = parentState[cur])
+						result.add(parent[cur]);
+					Collections.reverse(result);
+					return result;
+				}
+				if (!visited.get(next)) {
+					visited.set(next);
+					parent[next] = arc;
+					parentState[next] = state;
+					queue[queueSize++] = next;
+				}
+			}
+		}
+		throw new AssertionError("State is not on a cycle without event " + e.getLabel());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -30,6 +30,7 @@ import java.util.Set;
 
 import uniol.apt.adt.pn.Node;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 import uniol.apt.util.MathTools;
 import uniol.apt.util.Pair;
@@ -412,6 +413,7 @@ public class InvariantCalculator {
 		// for all columns (transitions)
 		// time: O()
 		// place: O()
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
 		for (int i = 0; i < cols; ++i) {
 			int offset = 1;
 			// time: O()
@@ -424,7 +426,7 @@ public class InvariantCalculator {
 				for (int j1 = 0; j1 < rows - 1; ++j1) {
 					final List<Integer> z1 = d.get(j1);
 					for (int j2 = j1 + offset; j2 < rows; ++j2) {
-						InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+						interrupt.throwIfInterruptRequested();
 						final List<Integer> z2 = d.get(j2);
 						// check opposite signum at position i
 						if (Math.signum(z1.get(i)) * Math.signum(z2.get(i)) < 0) {
@@ -19,10 +19,31 @@
 
 package uniol.apt.analysis.language;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.PetriNetOrTransitionSystem;
+import uniol.apt.adt.automaton.DFAState;
 import uniol.apt.adt.automaton.FiniteAutomaton;
+import uniol.apt.adt.automaton.Symbol;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
+import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.deterministic.Deterministic;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.analysis.product.LazyProduct;
+import uniol.apt.analysis.product.Product;
+import uniol.apt.util.interrupt.InterrupterRegistry;
 
 import static uniol.apt.adt.automaton.FiniteAutomatonUtility.*;
 
@@ -38,20 +59,197 @@ public class LanguageEquivalence {
 	}
 
 	/**
-	 * Check if two labelled transition systems accept the same language.
+	 * Check if two labelled transition systems accept the same language. If both LTS are deterministic, their
+	 * synchronous product is explored on the fly and the check stops at the first state where the two LTS enable
+	 * different labels.
 	 * @param lts1 The first LTS.
 	 * @param lts2 The second LTS.
 	 * @return Either null or a word that is only generated by one of the LTS.
 	 */
 	public static Word checkLanguageEquivalence(TransitionSystem lts1, TransitionSystem lts2) {
+		if (new Deterministic(lts1).isDeterministic() && new Deterministic(lts2).isDeterministic())
+			return checkDeterministicLanguageEquivalence(lts1, lts2);
+
 		FiniteAutomaton automaton1 = fromPrefixLanguageLTS(lts1);
 		FiniteAutomaton automaton2 = fromPrefixLanguageLTS(lts2);
 
-		List<String> wordDifference = findWordDifference(automaton1, automaton2);
+		return toWord(findWordDifference(automaton1, automaton2));
+	}
+
+	/**
+	 * Check if two Petri nets or labelled transition systems accept the same language. The reachability graphs of
+	 * Petri nets are only generated as far as needed, so that the check can stop at the first difference without
+	 * exploring all reachable markings.
+	 * @param arg1 The first Petri net or LTS.
+	 * @param arg2 The second Petri net or LTS.
+	 * @return Either null or a word that is only generated by one of the arguments.
+	 * @throws UnboundedException If one of the Petri nets is unbounded and this is noticed before a difference is
+	 * found.
+	 */
+	public static Word checkLanguageEquivalence(PetriNetOrTransitionSystem arg1, PetriNetOrTransitionSystem arg2)
+			throws UnboundedException {
+		if (arg1.getTs() != null && arg2.getTs() != null)
+			return checkLanguageEquivalence(arg1.getTs(), arg2.getTs());
+		try {
+			return toWord(findWordDifference(toAutomaton(arg1), toAutomaton(arg2)));
+		} catch (UnboundedRuntimeException e) {
+			throw e.getCause();
+		}
+	}
+
+	// Two deterministic LTS generate the same language iff the states of each reachable pair in their synchronous
+	// product enable the same labels. The product is searched breadth-first, so a shortest difference is found.
+	private static Word checkDeterministicLanguageEquivalence(TransitionSystem lts1, TransitionSystem lts2) {
+		LazyProduct product = new Product(lts1, lts2).getLazySyncProduct();
+		// For each discovered product state, the number of the state it was discovered from and the label of
+		// the arc; the initial state has no predecessor
+		List<Integer> predecessors = new ArrayList<>();
+		List<String> labels = new ArrayList<>();
+		predecessors.add(-1);
+		labels.add(null);
+
+		for (int i = 0; i < product.getNumberOfDiscoveredStates(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			LazyProduct.ProductState state = product.getState(i);
+			String label = findLabelDifference(state.getFirstState(), state.getSecondState());
+			if (label != null) {
+				LinkedList<String> word = new LinkedList<>();
+				word.add(label);
+				for (int j = i; predecessors.get(j) >= 0; j = predecessors.get(j))
+					word.addFirst(labels.get(j));
+				return new Word(word);
+			}
+
+			// States are numbered in the order in which they are discovered
+			for (LazyProduct.ProductArc arc : state.getPostsetEdges()) {
+				if (arc.getTarget().getNumber() == predecessors.size()) {
+					predecessors.add(i);
+					labels.add(arc.getLabel());
+				}
+			}
+		}
+		return null;
+	}
+
+	// Find a label that is enabled in exactly one of the given states
+	private static String findLabelDifference(State state1, State state2) {
+		Set<String> labels1 = new HashSet<>();
+		for (Arc arc : state1.getPostsetEdges())
+			labels1.add(arc.getLabel());
+		Set<String> labels2 = new HashSet<>();
+		for (Arc arc : state2.getPostsetEdges()) {
+			if (!labels1.contains(arc.getLabel()))
+				return arc.getLabel();
+			labels2.add(arc.getLabel());
+		}
+		for (String label : labels1)
+			if (!labels2.contains(label))
+				return label;
+		return null;
+	}
+
+	private static Word toWord(List<String> wordDifference) {
 		if (wordDifference == null)
 			return null;
 		return new Word(wordDifference);
 	}
+
+	private static FiniteAutomaton toAutomaton(PetriNetOrTransitionSystem arg) {
+		if (arg.getTs() != null)
+			return fromPrefixLanguageLTS(arg.getTs());
+
+		final PetriNet pn = arg.getNet();
+		final CoverabilityGraph graph = CoverabilityGraph.get(pn);
+		final CoverabilityGraphState initial = new CoverabilityGraphState(pn,
+				Collections.singleton(graph.getInitialNode()));
+		return new FiniteAutomaton() {
+			@Override
+			public DFAState getInitialState() {
+				return initial;
+			}
+		};
+	}
+
+	// Adaptor that turns the (lazily generated) coverability graph of a bounded Petri net into a deterministic
+	// finite automaton for its prefix language. Each state represents the set of markings reached by some word.
+	static private class CoverabilityGraphState extends DFAState {
+		private final PetriNet pn;
+		private final Set<CoverabilityGraphNode> nodes;
+		private Map<Symbol, Set<CoverabilityGraphNode>> transitions;
+
+		private CoverabilityGraphState(PetriNet pn, Set<CoverabilityGraphNode> nodes) {
+			this.pn = pn;
+			this.nodes = nodes;
+		}
+
+		private Map<Symbol, Set<CoverabilityGraphNode>> getTransitions() {
+			if (transitions != null)
+				return transitions;
+
+			transitions = new HashMap<>();
+			for (CoverabilityGraphNode node : nodes) {
+				for (CoverabilityGraphEdge edge : node.getPostsetEdges()) {
+					CoverabilityGraphNode target = edge.getTarget();
+					if (target.getCoveredNode() != null)
+						throw new UnboundedRuntimeException(new UnboundedException(pn));
+
+					Symbol symbol = new Symbol(edge.getTransition().getLabel());
+					Set<CoverabilityGraphNode> targets = transitions.get(symbol);
+					if (targets == null) {
+						targets = new HashSet<>();
+						transitions.put(symbol, targets);
+					}
+					targets.add(target);
+				}
+			}
+			return transitions;
+		}
+
+		@Override
+		public boolean isFinalState() {
+			return !nodes.isEmpty();
+		}
+
+		@Override
+		public Set<Symbol> getDefinedSymbols() {
+			return getTransitions().keySet();
+		}
+
+		@Override
+		public DFAState getFollowingState(Symbol atom) {
+			Set<CoverabilityGraphNode> targets = getTransitions().get(atom);
+			if (targets == null)
+				targets = Collections.emptySet();
+			return new CoverabilityGraphState(pn, targets);
+		}
+
+		@Override
+		public int hashCode() {
+			return nodes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof CoverabilityGraphState))
+				return false;
+			CoverabilityGraphState other = (CoverabilityGraphState) o;
+			return pn == other.pn && nodes.equals(other.nodes);
+		}
+	}
+
+	// Used to get an UnboundedException out of the DFAState interface
+	static private class UnboundedRuntimeException extends RuntimeException {
+		public static final long serialVersionUID = 0x1l;
+
+		private UnboundedRuntimeException(UnboundedException cause) {
+			super(cause);
+		}
+
+		@Override
+		public UnboundedException getCause() {
+			return (UnboundedException) super.getCause();
+		}
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
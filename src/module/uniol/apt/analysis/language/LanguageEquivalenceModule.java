@@ -20,7 +20,6 @@
 package uniol.apt.analysis.language;
 
 import uniol.apt.adt.PetriNetOrTransitionSystem;
-import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.module.AbstractModule;
 import uniol.apt.module.AptModule;
 import uniol.apt.module.Category;
@@ -67,10 +66,7 @@ public class LanguageEquivalenceModule extends AbstractModule implements Interru
 		PetriNetOrTransitionSystem arg1 = input.getParameter("pn_or_ts1", PetriNetOrTransitionSystem.class);
 		PetriNetOrTransitionSystem arg2 = input.getParameter("pn_or_ts2", PetriNetOrTransitionSystem.class);
 
-		TransitionSystem lts1 = arg1.getReachabilityLTS();
-		TransitionSystem lts2 = arg2.getReachabilityLTS();
-
-		Word word = LanguageEquivalence.checkLanguageEquivalence(lts1, lts2);
+		Word word = LanguageEquivalence.checkLanguageEquivalence(arg1, arg2);
 		output.setReturnValue("witness_word", Word.class, word);
 		output.setReturnValue("language_equivalent", Boolean.class, word == null);
 	}
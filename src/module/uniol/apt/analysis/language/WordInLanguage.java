@@ -19,15 +19,21 @@
 
 package uniol.apt.analysis.language;
 
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -35,36 +41,84 @@ import uniol.apt.util.interrupt.InterrupterRegistry;
  * is the alphabet with can be used for forming words. The prefix language of a Petri net is the language that contains
  * a word iff there is a fire sequence in the Petri net that is activated in the initial state where the label of each
  * fired transition is the next part of the word.
+ *
+ * The word is processed symbol by symbol. For each position in the word, the set of markings that can be reached by
+ * firing the prefix up to that position is computed. Since every marking is only examined once per position, many
+ * transitions with the same label do not cause an exponential blowup. A firing sequence is reconstructed from the
+ * transitions through which each marking was reached first.
  * @author Uli Schlachter
  */
 public class WordInLanguage {
 
 	private final PetriNet pn;
+	private final Map<String, List<Transition>> symbols;
 
 	/**
 	 * Constructor.
 	 * @param pn The Petri net whose prefix language should be analyzed.
 	 */
 	public WordInLanguage(PetriNet pn) {
-		this.pn = pn;
+		this(pn, false);
 	}
 
 	/**
-	 * Get all of the Petri nets labels. Please note that the result of this is only valid as long as no one
-	 * modifies the Petri net.
-	 * @return A map that maps a label to all transitions with that label.
+	 * Constructor.
+	 * @param pn The Petri net whose prefix language should be analyzed.
+	 * @param useTransitionIds If true, the symbols of words are the IDs of transitions instead of their labels, so
+	 * that words are firing sequences.
 	 */
-	Map<String, Set<Transition>> getLabels() {
-		Map<String, Set<Transition>> result = new HashMap<>();
+	public WordInLanguage(PetriNet pn, boolean useTransitionIds) {
+		this.pn = pn;
+		this.symbols = new HashMap<>();
 		for (Transition trans : this.pn.getTransitions()) {
-			Set<Transition> set = result.get(trans.getLabel());
-			if (set == null) {
-				set = new HashSet<>();
-				result.put(trans.getLabel(), set);
+			String symbol = useTransitionIds ? trans.getId() : trans.getLabel();
+			List<Transition> list = symbols.get(symbol);
+			if (list == null) {
+				list = new ArrayList<>();
+				symbols.put(symbol, list);
 			}
-			set.add(trans);
+			list.add(trans);
+		}
+	}
+
+	/**
+	 * The result of checking a single word.
+	 */
+	static public class Result {
+		private final boolean inLanguage;
+		private final FiringSequence sequence;
+		private final Marking marking;
+
+		private Result(boolean inLanguage, FiringSequence sequence, Marking marking) {
+			this.inLanguage = inLanguage;
+			this.sequence = sequence;
+			this.marking = marking;
+		}
+
+		/**
+		 * Check if the word is in the prefix language.
+		 * @return true if the word is in the prefix language.
+		 */
+		public boolean isInLanguage() {
+			return inLanguage;
+		}
+
+		/**
+		 * Get a firing sequence for the longest prefix of the word that is in the prefix language. If the word
+		 * is in the prefix language, this produces the whole word.
+		 * @return A firing sequence which is activated in the initial marking.
+		 */
+		public FiringSequence getFiringSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Get the marking that is reached by firing the sequence from {@link #getFiringSequence()}.
+		 * @return The reached marking.
+		 */
+		public Marking getReachedMarking() {
+			return marking;
 		}
-		return result;
 	}
 
 	/**
@@ -74,52 +128,133 @@ public class WordInLanguage {
 	 * word.
 	 */
 	public FiringSequence checkWord(List<String> word) {
-		return checkWord(pn.getInitialMarking(), word, 0, getLabels());
+		Result result = checkWords(Collections.singletonList(word)).get(0);
+		return result.isInLanguage() ? result.getFiringSequence() : null;
 	}
 
 	/**
-	 * Check if the given sub-word is in the language. The Petri net's current marking is used as the starting point
-	 * for the search.
-	 * @param curMarking Current marking.
-	 * @param word The complete word that is being checked.
-	 * @param idx The first index in #word that was not yet checked.
-	 * @param labels The Petri net's labels and the set of transitions for each label.
-	 * @return A fire sequence that produces the wanted word, or null.
+	 * Check if the given words are in the Petri net's prefix language. The words are arranged in a prefix tree so
+	 * that a common prefix of several words is only examined once.
+	 * @param words The words that should be checked.
+	 * @return A list containing the result for each word in the same order as the words.
 	 */
-	FiringSequence checkWord(Marking curMarking, List<String> word, int idx, Map<String, Set<Transition>> labels) {
-		/* Are we checking for the empty word? That one is always in the language */
-		if (idx == word.size()) {
-			return new FiringSequence();
+	public List<Result> checkWords(List<? extends List<String>> words) {
+		InterruptToken interrupt = InterrupterRegistry.getCurrentThreadToken();
+		TrieNode root = new TrieNode(null);
+		int index = 0;
+		for (List<String> word : words) {
+			TrieNode node = root;
+			for (String symbol : word) {
+				TrieNode child = node.children.get(symbol);
+				if (child == null) {
+					child = new TrieNode(symbol);
+					node.children.put(symbol, child);
+				}
+				node = child;
+			}
+			node.words.add(index++);
 		}
 
-		Set<Transition> transitions = labels.get(word.get(idx));
-		if (transitions == null) { // Invalid label found in the word.
-			return null;
-		}
+		Result[] results = new Result[index];
+		Marking initial = pn.getInitialMarking();
+		List<SearchNode> initialFrontier = Collections.singletonList(new SearchNode(initial, null, null));
+		visit(root, initialFrontier, results);
 
-		// Find a transition with which we can continue
-		for (Transition trans : transitions) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			if (!trans.isFireable(curMarking)) {
+		// Depth-first traversal, so that only the frontiers on the current path are kept in memory. Each entry
+		// contains a node of the prefix tree and the frontier of its parent.
+		Deque<Map.Entry<TrieNode, List<SearchNode>>> stack = new ArrayDeque<>();
+		for (TrieNode child : root.children.values())
+			stack.push(new AbstractMap.SimpleImmutableEntry<>(child, initialFrontier));
+		while (!stack.isEmpty()) {
+			Map.Entry<TrieNode, List<SearchNode>> entry = stack.pop();
+			TrieNode node = entry.getKey();
+			List<SearchNode> parentFrontier = entry.getValue();
+			List<SearchNode> frontier = fire(parentFrontier, node.symbol, interrupt);
+			if (frontier.isEmpty()) {
+				// No word in this subtree is in the language; the parent's prefix is the longest one that is
+				reject(node, parentFrontier.get(0), results);
 				continue;
 			}
+			visit(node, frontier, results);
+			for (TrieNode child : node.children.values())
+				stack.push(new AbstractMap.SimpleImmutableEntry<>(child, frontier));
+		}
+		return Arrays.asList(results);
+	}
 
-			// Yay, we can continue down this path, find the next part of the word
-			Marking newMarking = trans.fire(curMarking);
-			FiringSequence result = checkWord(newMarking, word, idx + 1, labels);
+	// Compute all markings that are reached by firing a transition with the given symbol in one of the markings
+	// from the given frontier.
+	private List<SearchNode> fire(List<SearchNode> frontier, String symbol, InterruptToken interrupt) {
+		List<Transition> transitions = symbols.get(symbol);
+		if (transitions == null) // Invalid symbol found in the word.
+			return Collections.emptyList();
 
-			if (result == null) {
-				// That didn't lead to a correct firing sequence, let's continue searching.
-				continue;
+		Map<Marking, SearchNode> result = new LinkedHashMap<>();
+		for (SearchNode node : frontier) {
+			for (Transition trans : transitions) {
+				interrupt.throwIfInterruptRequested();
+				if (!trans.isFireable(node.marking))
+					continue;
+				Marking newMarking = trans.fire(node.marking);
+				if (!result.containsKey(newMarking))
+					result.put(newMarking, new SearchNode(newMarking, node, trans));
 			}
+		}
+		return new ArrayList<>(result.values());
+	}
 
-			// Success!
-			result.add(0, trans);
-			return result;
+	// Record the result for the words ending in the given node of the prefix tree
+	private static void visit(TrieNode node, List<SearchNode> frontier, Result[] results) {
+		if (node.words.isEmpty())
+			return;
+		SearchNode reached = frontier.get(0);
+		Result result = new Result(true, reached.getSequence(), reached.marking);
+		for (int word : node.words)
+			results[word] = result;
+	}
+
+	// Record that no word in the subtree of the given node is in the language
+	private static void reject(TrieNode node, SearchNode reached, Result[] results) {
+		Result result = new Result(false, reached.getSequence(), reached.marking);
+		Deque<TrieNode> stack = new ArrayDeque<>();
+		stack.push(node);
+		while (!stack.isEmpty()) {
+			TrieNode current = stack.pop();
+			for (int word : current.words)
+				results[word] = result;
+			for (TrieNode child : current.children.values())
+				stack.push(child);
+		}
+	}
+
+	private static class TrieNode {
+		private final String symbol;
+		private final Map<String, TrieNode> children = new LinkedHashMap<>();
+		private final List<Integer> words = new ArrayList<>();
+
+		private TrieNode(String symbol) {
+			this.symbol = symbol;
 		}
+	}
+
+	private static class SearchNode {
+		private final Marking marking;
+		private final SearchNode parent;
+		private final Transition transition;
 
-		// We didn't find a good firing sequence :-(
-		return null;
+		private SearchNode(Marking marking, SearchNode parent, Transition transition) {
+			this.marking = marking;
+			this.parent = parent;
+			this.transition = transition;
+		}
+
+		private FiringSequence getSequence() {
+			FiringSequence result = new FiringSequence();
+			for (SearchNode node = this; node.parent != null; node = node.parent)
+				result.add(node.transition);
+			Collections.reverse(result);
+			return result;
+		}
 	}
 }
 
@@ -19,6 +19,8 @@
 
 package uniol.apt.analysis.language;
 
+import java.util.List;
+
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.module.AbstractModule;
 import uniol.apt.module.AptModule;
@@ -42,6 +44,13 @@ public class WordInLanguageModule extends AbstractModule implements Interruptibl
 		return "Check if a word is in a Petri net's prefix language";
 	}
 
+	@Override
+	public String getLongDescription() {
+		return getShortDescription() + ". The result in_language and the firing sequence only refer to the given"
+			+ " word. Further words can be checked together with it; those which are not in the prefix language"
+			+ " are listed in rejected_words.";
+	}
+
 	@Override
 	public String getName() {
 		return "word";
@@ -52,23 +61,43 @@ public class WordInLanguageModule extends AbstractModule implements Interruptibl
 		inputSpec.addParameter("pn", PetriNet.class, "The Petri net that should be examined");
 		inputSpec.addParameter("word", Word.class,
 			"The word which should be checked");
+		inputSpec.addOptionalParameterWithoutDefault("words", WordList.class,
+			"Further words which should be checked; those not in the prefix language are returned as"
+			+ " rejected_words");
 	}
 
 	@Override
 	public void provide(ModuleOutputSpec outputSpec) {
 		outputSpec.addReturnValue("in_language", Boolean.class, ModuleOutputSpec.PROPERTY_SUCCESS);
 		outputSpec.addReturnValue("firing_sequence", FiringSequence.class);
+		outputSpec.addReturnValue("rejected_words", WordList.class);
 	}
 
 	@Override
 	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
 		PetriNet pn = input.getParameter("pn", PetriNet.class);
 		Word word = input.getParameter("word", Word.class);
+		WordList words = input.getParameter("words", WordList.class);
+
+		WordList allWords = new WordList();
+		allWords.add(word);
+		if (words != null)
+			allWords.addAll(words);
+
 		WordInLanguage test = new WordInLanguage(pn);
-		FiringSequence result = test.checkWord(word);
-		output.setReturnValue("in_language", Boolean.class, result != null);
-		if (result != null) {
-			output.setReturnValue("firing_sequence", FiringSequence.class, result);
+		List<WordInLanguage.Result> results = test.checkWords(allWords);
+		WordList rejected = new WordList();
+		for (int i = 1; i < allWords.size(); i++)
+			if (!results.get(i).isInLanguage())
+				rejected.add(allWords.get(i));
+
+		output.setReturnValue("in_language", Boolean.class, results.get(0).isInLanguage());
+		if (results.get(0).isInLanguage()) {
+			output.setReturnValue("firing_sequence", FiringSequence.class,
+					results.get(0).getFiringSequence());
+		}
+		if (words != null) {
+			output.setReturnValue("rejected_words", WordList.class, rejected);
 		}
 	}
 
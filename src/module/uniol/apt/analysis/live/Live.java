@@ -19,10 +19,8 @@
 
 package uniol.apt.analysis.live;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Deque;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,7 +30,8 @@ import uniol.apt.adt.pn.Transition;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.analysis.connectivity.Connectivity;
+import uniol.apt.analysis.connectivity.IndexedGraph;
+import uniol.apt.analysis.connectivity.StronglyConnectedComponents;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
 import uniol.apt.analysis.coverability.CoverabilityGraphNode;
@@ -93,9 +92,9 @@ public class Live {
 	 */
 	static public Transition findNonWeaklyLiveTransition(PetriNet pn) throws UnboundedException {
 		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Set<? extends Set<State>> components = Connectivity.getStronglyConnectedComponents(lts);
+		Set<Transition> weaklyLive = getWeaklyLiveTransitions(lts);
 		for (Transition t : pn.getTransitions())
-			if (!checkWeaklyLive(lts, components, t))
+			if (!weaklyLive.contains(t))
 				return t;
 		return null;
 	}
@@ -110,19 +109,15 @@ public class Live {
 	 */
 	static public boolean checkWeaklyLive(PetriNet pn, Transition transition) throws UnboundedException {
 		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Set<? extends Set<State>> components = Connectivity.getStronglyConnectedComponents(lts);
-		return checkWeaklyLive(lts, components, transition);
+		return getWeaklyLiveTransitions(lts).contains(transition);
 	}
 
 	/**
-	 * Check if a transition is weakly live.
+	 * Compute the weakly live transitions.
 	 * @param lts The reachability graph of a PetriNet, generated via {@link CoverabilityGraph#toReachabilityLTS}.
-	 * @param components The strongly connected components of the lts.
-	 * @param transition The transition that should be checked.
-	 * @return true If the transition is weakly live, else false.
+	 * @return The transitions which are weakly live.
 	 */
-	static private boolean checkWeaklyLive(TransitionSystem lts, Set<? extends Set<State>> components,
-			Transition transition) {
+	static private Set<Transition> getWeaklyLiveTransitions(TransitionSystem lts) {
 		/* We are working with bounded Petri nets. Thus, an infinite fire sequence creates a circle in the
 		 * reachability graph. This means that there exists an edge for our transition in the graph which is
 		 * taken infinitely often. This means that both nodes of the transition belong to the same strongly
@@ -133,32 +128,16 @@ public class Live {
 		 * component, there obviously can't be an infinite fire sequence which contains the transition
 		 * infinitely often.
 		 */
+		StronglyConnectedComponents<State> components = IndexedGraph.of(lts).getStronglyConnectedComponents();
+		Set<Transition> result = new HashSet<>();
 		for (Arc edge : lts.getEdges()) {
 			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
-			// Look for edges labeled with our transition...
-			Transition trans = (Transition) edge.getExtension(Transition.class.getName());
-			if (!trans.equals(transition))
-				continue;
-
-			// ...where both endpoints are in the same component
-			State source = edge.getSource();
-			State target = edge.getTarget();
-			for (Set<State> component : components) {
-				if (component.contains(source)) {
-					if (component.contains(target))
-						// Both nodes in the same component
-						return true;
-
-					// We now know for sure that they can't be in the same component, because source
-					// can only be in a single component
-					break;
-				}
-			}
+			// Look for edges where both endpoints are in the same component
+			if (components.inSameComponent(edge.getSource(), edge.getTarget()))
+				result.add(edge.getExtension(CoverabilityGraph.TRANSITION_KEY));
 		}
-
-		// We didn't find a suitable component
-		return false;
+		return result;
 	}
 
 	/**
@@ -169,8 +148,10 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public Transition findNonStronglyLiveTransition(PetriNet pn) throws UnboundedException {
+		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
+		IndexedGraph<State> graph = IndexedGraph.of(lts);
 		for (Transition t : pn.getTransitions())
-			if (!checkStronglyLive(pn, t))
+			if (findKillingState(lts, graph, t) != null)
 				return t;
 		return null;
 	}
@@ -197,40 +178,38 @@ public class Live {
 	 */
 	static public List<Transition> findKillingFireSequence(PetriNet pn, Transition transition)
 			throws UnboundedException {
-		// We are looking for a node from which no edge for our transition is reachable
 		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Collection<State> nodes = new HashSet<>(lts.getNodes());
+		State node = findKillingState(lts, IndexedGraph.of(lts), transition);
+		if (node == null)
+			return null;
+		return node.getExtension(CoverabilityGraph.NODE_KEY).getFiringSequence();
+	}
+
+	/**
+	 * Find a state of the reachability graph in which the given transition can never fire again.
+	 * @param lts The reachability graph of a PetriNet, generated via {@link CoverabilityGraph#toReachabilityLTS}.
+	 * @param graph The reachability graph with numbered states.
+	 * @param transition The transition that is checked.
+	 * @return null if the transition is strongly live, else a state after which it can no longer fire.
+	 */
+	static private State findKillingState(TransitionSystem lts, IndexedGraph<State> graph, Transition transition) {
+		// We are looking for a node from which no edge for our transition is reachable
+		BitSet enabling = new BitSet(graph.size());
 
 		// Look for edges labeled with our transition...
 		for (Arc edge : lts.getEdges()) {
 			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			Transition trans = (Transition) edge.getExtension(Transition.class.getName());
-			if (!trans.equals(transition))
-				continue;
-			// All of the nodes in this edge's preset can reach a state where the transition is activated
-			handleStronglyLiveNode(nodes, edge.getSource());
+			Transition trans = edge.getExtension(CoverabilityGraph.TRANSITION_KEY);
+			if (trans.equals(transition))
+				enabling.set(graph.getIndex(edge.getSource()));
 		}
 
-		// everything which can eventually enable transition was removed, so the transition is strongly live if
-		// this collection is empty.
-		if (nodes.isEmpty())
+		// All of the nodes which can reach an edge's source can reach a state where the transition is
+		// activated. The transition is strongly live if these are all nodes.
+		int node = graph.getCoReachable(enabling).nextClearBit(0);
+		if (node >= graph.size())
 			return null;
-		State node = nodes.iterator().next();
-		return ((CoverabilityGraphNode) node.getExtension(CoverabilityGraphNode.class.getName()))
-			.getFiringSequence();
-	}
-
-	// Recursively remove the preset from the set of nodes
-	static private void handleStronglyLiveNode(Collection<State> nodes, State node) {
-		Deque<State> toRemove = new ArrayDeque<>();
-		toRemove.add(node);
-		while (!toRemove.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			node = toRemove.remove();
-			if (nodes.remove(node))
-				// Node was not yet handled
-				toRemove.addAll(node.getPresetNodes());
-		}
+		return graph.getNode(node);
 	}
 }
 
@@ -0,0 +1,287 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.lts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.connectivity.IndexedGraph;
+
+/**
+ * An immutable snapshot of a transition system where states and labels are identified by numbers. States are
+ * numbered like in the {@link IndexedGraph} of the transition system and labels in their natural order. The arcs
+ * of each state are sorted by label and then by the number of the other state, so that all arcs with a given label
+ * form a range which can be found via binary search. Since the snapshot is never modified, it can be used from
+ * multiple threads concurrently.
+ * @author agent
+ */
+public final class IndexedLTS {
+	/**
+	 * The arcs of all states in one direction. The arcs of state s are numbered from {@link #begin(int) begin(s)}
+	 * up to, but excluding, {@link #end(int) end(s)}.
+	 */
+	public static final class Adjacency {
+		private final int[] offsets;
+		private final int[] labels;
+		private final int[] neighbours;
+
+		private Adjacency(int[] offsets, int[] labels, int[] neighbours) {
+			this.offsets = offsets;
+			this.labels = labels;
+			this.neighbours = neighbours;
+		}
+
+		/**
+		 * Get the number of the first arc of a state.
+		 * @param state The number of the state.
+		 * @return The number of the first arc.
+		 */
+		public int begin(int state) {
+			return offsets[state];
+		}
+
+		/**
+		 * Get one more than the number of the last arc of a state.
+		 * @param state The number of the state.
+		 * @return The number after the last arc.
+		 */
+		public int end(int state) {
+			return offsets[state + 1];
+		}
+
+		/**
+		 * Get the label of an arc.
+		 * @param arc The number of the arc.
+		 * @return The number of the label.
+		 */
+		public int getLabel(int arc) {
+			return labels[arc];
+		}
+
+		/**
+		 * Get the state that an arc leads to in this direction.
+		 * @param arc The number of the arc.
+		 * @return The number of the state.
+		 */
+		public int getNeighbour(int arc) {
+			return neighbours[arc];
+		}
+
+		/**
+		 * Get the number of the first arc of a state with the given label or a larger label.
+		 * @param state The number of the state.
+		 * @param label The number of the label.
+		 * @return The number of the first arc of the range of arcs with this label.
+		 */
+		public int lowerBound(int state, int label) {
+			int low = offsets[state];
+			int high = offsets[state + 1];
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (labels[mid] < label)
+					low = mid + 1;
+				else
+					high = mid;
+			}
+			return low;
+		}
+
+		/**
+		 * Get the number of the first arc of a state with a larger label than the given one.
+		 * @param state The number of the state.
+		 * @param label The number of the label.
+		 * @return The number after the last arc of the range of arcs with this label.
+		 */
+		public int upperBound(int state, int label) {
+			return lowerBound(state, label + 1);
+		}
+
+		/**
+		 * Check if a state has an arc with the given label.
+		 * @param state The number of the state.
+		 * @param label The number of the label.
+		 * @return true if such an arc exists.
+		 */
+		public boolean hasLabel(int state, int label) {
+			int arc = lowerBound(state, label);
+			return arc < offsets[state + 1] && labels[arc] == label;
+		}
+
+		/**
+		 * Check if a state has an arc with the given label to the given neighbour.
+		 * @param state The number of the state.
+		 * @param label The number of the label.
+		 * @param neighbour The number of the neighbour.
+		 * @return true if such an arc exists.
+		 */
+		public boolean contains(int state, int label, int neighbour) {
+			int low = lowerBound(state, label);
+			int high = upperBound(state, label);
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (neighbours[mid] < neighbour)
+					low = mid + 1;
+				else if (neighbours[mid] > neighbour)
+					high = mid;
+				else
+					return true;
+			}
+			return false;
+		}
+	}
+
+	private final IndexedGraph<State> graph;
+	private final List<String> labels;
+	private final Map<String, Integer> labelIndices = new HashMap<>();
+	private final Adjacency postset;
+	private final Adjacency preset;
+
+	/**
+	 * Create a snapshot of a transition system.
+	 * @param ts The transition system.
+	 */
+	public IndexedLTS(TransitionSystem ts) {
+		graph = IndexedGraph.of(ts);
+		labels = new ArrayList<>(ts.getAlphabet());
+		Collections.sort(labels);
+		for (String label : labels)
+			labelIndices.put(label, labelIndices.size());
+
+		postset = createAdjacency(true);
+		preset = createAdjacency(false);
+	}
+
+	private Adjacency createAdjacency(boolean forward) {
+		int[] offsets = new int[graph.size() + 1];
+		for (int i = 0; i < graph.size(); i++) {
+			State state = graph.getNode(i);
+			offsets[i + 1] = offsets[i]
+				+ (forward ? state.getPostsetEdges() : state.getPresetEdges()).size();
+		}
+
+		// Arcs are sorted by encoding label and neighbour in a single long
+		int numArcs = offsets[graph.size()];
+		long[] keys = new long[numArcs];
+		for (int i = 0; i < graph.size(); i++) {
+			State state = graph.getNode(i);
+			int arc = offsets[i];
+			for (Arc a : forward ? state.getPostsetEdges() : state.getPresetEdges()) {
+				long label = labelIndices.get(a.getLabel());
+				long neighbour = graph.getIndex(forward ? a.getTarget() : a.getSource());
+				keys[arc++] = (label << 32) | neighbour;
+			}
+			Arrays.sort(keys, offsets[i], offsets[i + 1]);
+		}
+
+		int[] arcLabels = new int[numArcs];
+		int[] neighbours = new int[numArcs];
+		for (int arc = 0; arc < numArcs; arc++) {
+			arcLabels[arc] = (int) (keys[arc] >>> 32);
+			neighbours[arc] = (int) keys[arc];
+		}
+		return new Adjacency(offsets, arcLabels, neighbours);
+	}
+
+	/**
+	 * Get the number of states.
+	 * @return The number of states.
+	 */
+	public int getNumberOfStates() {
+		return graph.size();
+	}
+
+	/**
+	 * Get the state with the given number.
+	 * @param index The number of the state.
+	 * @return The state.
+	 */
+	public State getState(int index) {
+		return graph.getNode(index);
+	}
+
+	/**
+	 * Get the number of a state.
+	 * @param state The state.
+	 * @return The number of the state.
+	 */
+	public int getStateIndex(State state) {
+		return graph.getIndex(state);
+	}
+
+	/**
+	 * Get the graph structure of the transition system without labels. It uses the same numbers for states.
+	 * @return The graph.
+	 */
+	public IndexedGraph<State> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Get the number of labels.
+	 * @return The number of labels.
+	 */
+	public int getNumberOfLabels() {
+		return labels.size();
+	}
+
+	/**
+	 * Get the label with the given number.
+	 * @param index The number of the label.
+	 * @return The label.
+	 */
+	public String getLabel(int index) {
+		return labels.get(index);
+	}
+
+	/**
+	 * Get the number of a label.
+	 * @param label The label.
+	 * @return The number of the label or -1 if the transition system has no such label.
+	 */
+	public int getLabelIndex(String label) {
+		Integer index = labelIndices.get(label);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the arcs leaving the states. The neighbours are the targets of the arcs.
+	 * @return The arcs in forward direction.
+	 */
+	public Adjacency getPostset() {
+		return postset;
+	}
+
+	/**
+	 * Get the arcs reaching the states. The neighbours are the sources of the arcs.
+	 * @return The arcs in backward direction.
+	 */
+	public Adjacency getPreset() {
+		return preset;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,131 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.lts;
+
+import uniol.apt.util.SharedPool;
+import uniol.apt.util.interrupt.InterruptToken;
+
+/**
+ * Check a property that can be decided locally for each state (or other numbered item) independently of the others,
+ * e.g. a diamond property. Ranges of items are checked in parallel on the {@link SharedPool}. The result is the
+ * counterexample for the item with the smallest number, so it is the same as for a sequential check. As soon as a
+ * counterexample was found, items with larger numbers are no longer examined.
+ * @param <R> The type of counterexamples.
+ * @author agent
+ */
+public class LocalPropertyChecker<R> {
+	/**
+	 * The minimum number of items for which the check is done in parallel. Smaller inputs are checked in the
+	 * calling thread, because starting threads would take longer than the check.
+	 */
+	public static final int PARALLEL_THRESHOLD = 512;
+
+	// The number of items that a single job checks
+	private static final int GRAIN_SIZE = 64;
+
+	/**
+	 * The check for a single item. Implementations must be thread-safe.
+	 * @param <R> The type of counterexamples.
+	 */
+	public interface LocalCheck<R> {
+		/**
+		 * Check the property for a single item.
+		 * @param item The number of the item.
+		 * @param interrupt A token for polling for interruption in the current thread.
+		 * @return A counterexample or null if the property holds for this item.
+		 */
+		R check(int item, InterruptToken interrupt);
+	}
+
+	private final LocalCheck<R> check;
+	private volatile int firstCounterExample;
+	private R counterExample;
+
+	private LocalPropertyChecker(int size, LocalCheck<R> check) {
+		this.check = check;
+		this.firstCounterExample = size;
+	}
+
+	/**
+	 * Find the counterexample with the smallest number.
+	 * @param size The number of items to check. The items are numbered from 0 to size - 1.
+	 * @param check The check for a single item.
+	 * @param <R> The type of counterexamples.
+	 * @return The counterexample for the smallest item that violates the property or null if there is none.
+	 */
+	public static <R> R findFirstCounterExample(int size, LocalCheck<R> check) {
+		return findFirstCounterExample(size, check, size >= PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Find the counterexample with the smallest number.
+	 * @param size The number of items to check. The items are numbered from 0 to size - 1.
+	 * @param check The check for a single item.
+	 * @param parallel Whether the items should be checked in parallel.
+	 * @param <R> The type of counterexamples.
+	 * @return The counterexample for the smallest item that violates the property or null if there is none.
+	 */
+	public static <R> R findFirstCounterExample(int size, LocalCheck<R> check, boolean parallel) {
+		return findFirstCounterExample(size, check, parallel ? SharedPool.getParallelism() : 1);
+	}
+
+	/**
+	 * Find the counterexample with the smallest number.
+	 * @param size The number of items to check. The items are numbered from 0 to size - 1.
+	 * @param check The check for a single item.
+	 * @param threads The maximum number of threads that check items. With a single thread, the items are checked
+	 * in the calling thread.
+	 * @param <R> The type of counterexamples.
+	 * @return The counterexample for the smallest item that violates the property or null if there is none.
+	 */
+	public static <R> R findFirstCounterExample(final int size, LocalCheck<R> check, int threads) {
+		final LocalPropertyChecker<R> checker = new LocalPropertyChecker<>(size, check);
+		// Ranges are handed out in increasing order, so ranges behind a counterexample return immediately
+		int ranges = (size + GRAIN_SIZE - 1) / GRAIN_SIZE;
+		SharedPool.run(ranges, threads, new SharedPool.Job() {
+			@Override
+			public void run(int index, InterruptToken interrupt) {
+				int begin = index * GRAIN_SIZE;
+				checker.checkRange(begin, Math.min(size, begin + GRAIN_SIZE), interrupt);
+			}
+		});
+		return checker.counterExample;
+	}
+
+	private void checkRange(int begin, int end, InterruptToken interrupt) {
+		for (int item = begin; item < end && item < firstCounterExample; item++) {
+			interrupt.throwIfInterruptRequested();
+			R result = check.check(item, interrupt);
+			if (result != null) {
+				foundCounterExample(item, result);
+				return;
+			}
+		}
+	}
+
+	synchronized private void foundCounterExample(int item, R result) {
+		if (item < firstCounterExample) {
+			firstCounterExample = item;
+			counterExample = result;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
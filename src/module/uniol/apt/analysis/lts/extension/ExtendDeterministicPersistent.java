@@ -30,7 +30,7 @@ import java.util.Set;
 
 import uniol.apt.adt.exception.ArcExistsException;
 import uniol.apt.adt.ts.Arc;
-import uniol.apt.adt.ts.ParikhVector;
+import uniol.apt.adt.ts.DenseParikhVector;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.deterministic.Deterministic;
@@ -69,14 +69,16 @@ public class ExtendDeterministicPersistent {
 	}
 
 	private static List<String> residual(List<String> p, List<String> q) {
-		ParikhVector qPV = new ParikhVector(q);
+		DenseParikhVector.Alphabet alphabet = new DenseParikhVector.Alphabet();
+		int[] remaining = DenseParikhVector.of(alphabet, q).toArray();
+
 		List<String> res = new ArrayList<>();
 		for (String event : p) {
-			ParikhVector newPV = qPV.tryRemove(event, 1);
-			if (newPV == null) {
+			int index = alphabet.indexOf(event);
+			if (index < 0 || remaining[index] == 0) {
 				res.add(event);
 			} else {
-				qPV = newPV;
+				remaining[index]--;
 			}
 		}
 		return res;
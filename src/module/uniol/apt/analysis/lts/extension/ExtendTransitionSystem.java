@@ -20,6 +20,7 @@
 package uniol.apt.analysis.lts.extension;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
@@ -31,8 +32,10 @@ import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.cycles.lts.ComputeSmallestCycles;
+import uniol.apt.analysis.lts.LocalPropertyChecker;
 import uniol.apt.analysis.persistent.PersistentTS;
 import uniol.apt.analysis.reversible.ReversibleTS;
+import uniol.apt.util.interrupt.InterruptToken;
 
 /**
  * @author Renke Grunwald, Sören, Vincent
@@ -40,14 +43,23 @@ import uniol.apt.analysis.reversible.ReversibleTS;
  *         This class looks for an LTS which is reversible, persistent and all
  *         smallest cycles have the same parikh vectors.
  *
+ *         The search for valid codes can use multiple threads. Candidates are then generated in batches which
+ *         are checked in parallel. Since the first valid candidate of a batch is used, the results do not depend
+ *         on the number of threads.
+ *
  */
 public class ExtendTransitionSystem {
 
+	// The number of candidates that are checked in parallel
+	private static final int BATCH_SIZE = 1024;
+
 	private final TransitionSystem lts;
 	private final BitSet ltsCode;
 	private final ArrayList<String> ltsNodes;
 	private final ArrayList<String> ltsLabels;
+	private final int initialNode;
 	private List<BitSet> knownMinimalValids;
+	private int threads = 1;
 
 	private BitSet lastGenerated;
 	private boolean lastGeneratedValid;
@@ -75,6 +87,7 @@ public class ExtendTransitionSystem {
 		}
 		Collections.sort(ltsLabels);
 		this.ltsCode = generateCode();
+		this.initialNode = ltsNodes.indexOf(lts.getInitialState().getId());
 
 		knownMinimalValids = new ArrayList<>();
 	}
@@ -84,23 +97,34 @@ public class ExtendTransitionSystem {
 		knownMinimalValids = minimals;
 	}
 
+	/**
+	 * Set the number of threads that check candidates when searching for valid codes.
+	 * @param threads The number of threads.
+	 */
+	public void setThreads(int threads) {
+		if (threads <= 0)
+			throw new IllegalArgumentException("The number of threads must be positive, but is " + threads);
+		this.threads = threads;
+	}
+
+	/**
+	 * Get the number of threads that check candidates when searching for valid codes.
+	 * @return The number of threads.
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
 	/**
 	 * Find the next valid code for an lts.
 	 */
 	public void findNextValid() {
-		BitSet code = generateCode();
-		TransitionSystem lts = buildLTS(code);
-		while (!check(lts) || !newNodesReachable(lts)) {
-
-			code = nextCode(code);
-			if (code == null) {
-				lastGenerated = null;
-				lastGeneratedValid = false;
-				lastGeneratedMinimalValid = false;
-				return;
-			}
-
-			lts = buildLTS(code);
+		BitSet code = findFirstValid(generateCode(), false, true);
+		if (code == null) {
+			lastGenerated = null;
+			lastGeneratedValid = false;
+			lastGeneratedMinimalValid = false;
+			return;
 		}
 
 		lastGenerated = code;
@@ -115,18 +139,12 @@ public class ExtendTransitionSystem {
 	 * @param oldCode The old code to start the search from
 	 */
 	public void findNextValid(BitSet oldCode) {
-		BitSet code = nextCode(oldCode);
-
-		TransitionSystem lts = buildLTS(code);
-		while (!check(lts) || !newNodesReachable(lts)) {
-			code = nextCode(code);
-			if (code == null) {
-				lastGenerated = null;
-				lastGeneratedValid = false;
-				lastGeneratedMinimalValid = false;
-				return;
-			}
-			lts = buildLTS(code);
+		BitSet code = findFirstValid(nextCode(oldCode), false, true);
+		if (code == null) {
+			lastGenerated = null;
+			lastGeneratedValid = false;
+			lastGeneratedMinimalValid = false;
+			return;
 		}
 
 		lastGenerated = code;
@@ -184,13 +202,13 @@ public class ExtendTransitionSystem {
 	}
 
 	public void findNextMinimal(BitSet oldCode) {
-		BitSet code = (BitSet) oldCode.clone();
-
-		boolean minimal;
-		do {
-			code = nextCode(code);
-			minimal = noSmallerKnownValid(code);
-		} while (!minimal || !check(buildLTS(code)));
+		BitSet code = findFirstValid(nextCode(oldCode), true, false);
+		if (code == null) {
+			lastGenerated = null;
+			lastGeneratedValid = false;
+			lastGeneratedMinimalValid = false;
+			return;
+		}
 
 		lastGenerated = code;
 		lastGeneratedValid = true;
@@ -198,6 +216,156 @@ public class ExtendTransitionSystem {
 		knownMinimalValids.add(code);
 	}
 
+	/**
+	 * Find the first valid code in the enumeration order, beginning with the given code.
+	 * @param first The first code to check or null.
+	 * @param onlyMinimal Whether codes with a known smaller valid code are skipped.
+	 * @param requireReachable Whether all new nodes must be reachable from the initial state.
+	 * @return The first valid code or null if there is none.
+	 */
+	private BitSet findFirstValid(BitSet first, final boolean onlyMinimal, final boolean requireReachable) {
+		int batchSize = threads > 1 ? BATCH_SIZE : 1;
+		final List<BitSet> batch = new ArrayList<>(batchSize);
+		BitSet code = first;
+		while (code != null) {
+			batch.clear();
+			for (int i = 0; i < batchSize && code != null; i++) {
+				batch.add(code);
+				code = nextCode(code);
+			}
+
+			// The known minimal codes are not modified while the batch is checked. A valid code in the
+			// batch could only exclude later candidates, but those are not needed once it was found.
+			BitSet result = LocalPropertyChecker.findFirstCounterExample(batch.size(),
+					new LocalPropertyChecker.LocalCheck<BitSet>() {
+						@Override
+						public BitSet check(int item, InterruptToken interrupt) {
+							BitSet candidate = batch.get(item);
+							if (isValid(candidate, onlyMinimal, requireReachable))
+								return candidate;
+							return null;
+						}
+					}, batch.size() > 1 ? threads : 1);
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	// Check a candidate. This is called concurrently from multiple threads and only reads shared state.
+	private boolean isValid(BitSet code, boolean onlyMinimal, boolean requireReachable) {
+		if (onlyMinimal && !noSmallerKnownValid(code))
+			return false;
+		// Most candidates are not persistent or reversible. This is found out directly on the code, so that the
+		// transition system only has to be built for the remaining candidates.
+		if (!isReversibleAndPersistent(code))
+			return false;
+		TransitionSystem lts = buildLTS(code);
+		return check(lts) && (!requireReachable || newNodesReachable(lts));
+	}
+
+	/**
+	 * Check if the transition system described by a code is reversible and persistent. This gives the same result
+	 * as {@link ReversibleTS} and {@link PersistentTS} on the result of {@link #buildLTS}, because nodes which do
+	 * not appear in the code have no arcs.
+	 * @param code The code to check.
+	 * @return true if the transition system is reversible and persistent.
+	 */
+	private boolean isReversibleAndPersistent(BitSet code) {
+		int n = ltsNodes.size();
+		int nl = n * ltsLabels.size();
+
+		// Collect the arcs in both directions. Since the arcs are enumerated by target, the arcs of each node
+		// are sorted by target.
+		int numArcs = code.cardinality();
+		int[] postOffsets = new int[n + 1];
+		int[] preOffsets = new int[n + 1];
+		for (int i = code.nextSetBit(0); i >= 0; i = code.nextSetBit(i + 1)) {
+			postOffsets[i % n + 1]++;
+			preOffsets[i / nl + 1]++;
+		}
+		for (int node = 0; node < n; node++) {
+			postOffsets[node + 1] += postOffsets[node];
+			preOffsets[node + 1] += preOffsets[node];
+		}
+		int[] postNext = Arrays.copyOf(postOffsets, n);
+		int[] preNext = Arrays.copyOf(preOffsets, n);
+		int[] targets = new int[numArcs];
+		int[] postLabels = new int[numArcs];
+		int[] sources = new int[numArcs];
+		for (int i = code.nextSetBit(0); i >= 0; i = code.nextSetBit(i + 1)) {
+			int source = i % n;
+			int target = i / nl;
+			int arc = postNext[source]++;
+			targets[arc] = target;
+			postLabels[arc] = (i % nl) / n;
+			sources[preNext[target]++] = source;
+		}
+
+		// Reversible: Every node reachable from the initial node can reach it again
+		BitSet reachable = search(initialNode, postOffsets, targets);
+		reachable.andNot(search(initialNode, preOffsets, sources));
+		if (!reachable.isEmpty())
+			return false;
+
+		// Persistent: For arcs s -a-> s1 and s -b-> s2 with a != b there are arcs s1 -b-> s12 and s2 -a-> s12
+		for (int node = 0; node < n; node++) {
+			for (int arc1 = postOffsets[node]; arc1 < postOffsets[node + 1]; arc1++) {
+				for (int arc2 = postOffsets[node]; arc2 < postOffsets[node + 1]; arc2++) {
+					int label1 = postLabels[arc1];
+					int label2 = postLabels[arc2];
+					if (label1 >= label2 || hasSharedNode(code, label1, label2, node, postOffsets,
+								targets, postLabels))
+						continue;
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	// Check if some node is reached from the given node by both label1 label2 and label2 label1
+	private boolean hasSharedNode(BitSet code, int label1, int label2, int node, int[] offsets, int[] targets,
+			int[] labels) {
+		int n = ltsNodes.size();
+		int nl = n * ltsLabels.size();
+		for (int arc1 = offsets[node]; arc1 < offsets[node + 1]; arc1++) {
+			if (labels[arc1] != label1)
+				continue;
+			int node1 = targets[arc1];
+			for (int arc12 = offsets[node1]; arc12 < offsets[node1 + 1]; arc12++) {
+				if (labels[arc12] != label2)
+					continue;
+				int node12 = targets[arc12];
+				for (int arc2 = offsets[node]; arc2 < offsets[node + 1]; arc2++) {
+					if (labels[arc2] == label2 && code.get(node12 * nl + label1 * n + targets[arc2]))
+						return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	// Get the nodes reachable from the start node via the given adjacency lists
+	static private BitSet search(int start, int[] offsets, int[] neighbours) {
+		BitSet visited = new BitSet();
+		int[] queue = new int[offsets.length - 1];
+		int queueSize = 0;
+		visited.set(start);
+		queue[queueSize++] = start;
+		for (int i = 0; i < queueSize; i++) {
+			int node = queue[i];
+			for (int arc = offsets[node]; arc < offsets[node + 1]; arc++) {
+				int next = neighbours[arc];
+				if (!visited.get(next)) {
+					visited.set(next);
+					queue[queueSize++] = next;
+				}
+			}
+		}
+		return visited;
+	}
+
 	private boolean noSmallerKnownValid(BitSet code) {
 		for (BitSet known : knownMinimalValids) {
 			if (isSubgraph(code, known))
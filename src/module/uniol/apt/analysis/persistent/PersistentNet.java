@@ -64,7 +64,7 @@ public class PersistentNet {
 		PersistentTS ltsPersistent = new PersistentTS(ts, backwards_);
 		deterministic_ = ltsPersistent.isPersistent();
 		if (ltsPersistent.getNode() != null)
-			marking_ = (Marking) ltsPersistent.getNode().getExtension(Marking.class.getName());
+			marking_ = ltsPersistent.getNode().getExtension(CoverabilityGraph.MARKING_KEY);
 		label1 = ltsPersistent.getLabel1();
 		label2 = ltsPersistent.getLabel2();
 		return;
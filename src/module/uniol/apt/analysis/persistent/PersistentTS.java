@@ -19,18 +19,11 @@
 
 package uniol.apt.analysis.persistent;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Deque;
-import java.util.LinkedList;
-
-import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.analysis.lts.IndexedLTS;
+import uniol.apt.analysis.lts.LocalPropertyChecker;
+import uniol.apt.util.interrupt.InterruptToken;
 
 /**
  * Checks whether an LTS for persistance. The system is persistent, if it satisfies the "small diamond property".
@@ -52,19 +45,13 @@ import uniol.apt.util.interrupt.InterrupterRegistry;
  * @author Vincent Göbel, Uli Schlachter
  */
 public class PersistentTS {
-	private final TSWrapper wrapper;
-
 	private boolean persistent = true;
 	private State node_ = null;
 	private String label1_ = null;
 	private String label2_ = null;
 
 	public PersistentTS(TransitionSystem ts, boolean backwards) {
-		if (!backwards)
-			this.wrapper = new ForwardTSWrapper(ts);
-		else
-			this.wrapper = new BackwardTSWrapper(ts);
-		check();
+		check(new IndexedLTS(ts), backwards);
 	}
 
 	public PersistentTS(TransitionSystem ts) {
@@ -75,44 +62,60 @@ public class PersistentTS {
 	 * Checks whether or not the LTS is persistent. If it is not, a counterexample is saved in the variables
 	 * node, label1 and label2.
 	 */
-	private void check() {
-		// Go through all states
-		for (State node : wrapper.getNodes()) {
-			Map<String, Set<State>> postset = wrapper.getStatePostset(node);
-			Deque<String> unhandledLabels = new LinkedList<>(postset.keySet());
-			// Go through all pairs of (enabled) labels
-			while (!unhandledLabels.isEmpty()) {
-				String label1 = unhandledLabels.removeFirst();
-				Set<State> statesAfterLabel1 = postset.get(label1);
-				for (String label2 : unhandledLabels) {
-					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-					// Calculate states reached by first following label1 then label2
-					Set<State> statesAfter12 = new HashSet<>();
-					for (State node1 : statesAfterLabel1) {
-						statesAfter12.addAll(wrapper.getStatePostsetViaLabel(node1, label2));
+	private void check(final IndexedLTS lts, boolean backwards) {
+		final IndexedLTS.Adjacency arcs = backwards ? lts.getPreset() : lts.getPostset();
+		int[] counterExample = LocalPropertyChecker.findFirstCounterExample(lts.getNumberOfStates(),
+				new LocalPropertyChecker.LocalCheck<int[]>() {
+					@Override
+					public int[] check(int node, InterruptToken interrupt) {
+						return checkState(arcs, node, interrupt);
 					}
+				});
+		if (counterExample != null) {
+			this.persistent = false;
+			node_ = lts.getState(counterExample[0]);
+			label1_ = lts.getLabel(counterExample[1]);
+			label2_ = lts.getLabel(counterExample[2]);
+		}
+	}
 
-					// Check if any of these is also reached by label2, then label1
-					boolean foundSharedState = false;
-					for (State node2 : postset.get(label2)) {
-						if (!Collections.disjoint(statesAfter12,
-									wrapper.getStatePostsetViaLabel(node2, label1))) {
-							foundSharedState = true;
-							break;
-						}
-					}
+	// Check the small diamond property in a single state. Returns the state and the two labels of a
+	// counterexample or null.
+	static private int[] checkState(IndexedLTS.Adjacency arcs, int node, InterruptToken interrupt) {
+		// Go through all pairs of (enabled) labels. The arcs are sorted by label.
+		int end = arcs.end(node);
+		for (int begin1 = arcs.begin(node); begin1 < end;) {
+			int label1 = arcs.getLabel(begin1);
+			int end1 = arcs.upperBound(node, label1);
+			for (int begin2 = end1; begin2 < end;) {
+				interrupt.throwIfInterruptRequested();
+				int label2 = arcs.getLabel(begin2);
+				int end2 = arcs.upperBound(node, label2);
+				if (!haveSharedState(arcs, begin1, end1, label2, begin2, end2, label1))
+					return new int[] { node, label1, label2 };
+				begin2 = end2;
+			}
+			begin1 = end1;
+		}
+		return null;
+	}
 
-					if (!foundSharedState) {
-						this.persistent = false;
-						node_ = node;
-						label1_ = label1;
-						label2_ = label2;
-						return;
-					}
+	// Check if any state reached by first following label1 then label2 is also reached by label2, then label1.
+	// The arcs in the range [begin1, end1) have label1 and those in [begin2, end2) have label2.
+	static private boolean haveSharedState(IndexedLTS.Adjacency arcs, int begin1, int end1, int label2,
+			int begin2, int end2, int label1) {
+		for (int arc1 = begin1; arc1 < end1; arc1++) {
+			int node1 = arcs.getNeighbour(arc1);
+			int end12 = arcs.upperBound(node1, label2);
+			for (int arc12 = arcs.lowerBound(node1, label2); arc12 < end12; arc12++) {
+				int node12 = arcs.getNeighbour(arc12);
+				for (int arc2 = begin2; arc2 < end2; arc2++) {
+					if (arcs.contains(arcs.getNeighbour(arc2), label1, node12))
+						return true;
 				}
 			}
 		}
+		return false;
 	}
 
 	public boolean isPersistent() {
@@ -138,80 +141,6 @@ public class PersistentTS {
 	public String getLabel2() {
 		return label2_;
 	}
-
-	private abstract class TSWrapper {
-		private final TransitionSystem ts;
-		private final Map<State, Map<String, Set<State>>> statePostsetsCache = new HashMap<>();
-
-		private TSWrapper (TransitionSystem ts) {
-			this.ts = ts;
-		}
-
-		private Set<State> getNodes() {
-			return ts.getNodes();
-		}
-
-		private Map<String, Set<State>> getStatePostset(State node) {
-			Map<String, Set<State>> result = statePostsetsCache.get(node);
-			if (result != null)
-				return result;
-
-			result = new HashMap<>();
-			for (Arc arc : getPostsetEdges(node)) {
-				Set<State> set = result.get(arc.getLabel());
-				if (set == null) {
-					set = new HashSet<>();
-					result.put(arc.getLabel(), set);
-				}
-				set.add(getTarget(arc));
-			}
-			result = Collections.unmodifiableMap(result);
-			statePostsetsCache.put(node, result);
-			return result;
-		}
-
-		private Set<State> getStatePostsetViaLabel(State node, String label) {
-			Set<State> result = getStatePostset(node).get(label);
-			if (result == null)
-				return Collections.emptySet();
-			return result;
-		}
-
-		abstract protected Set<Arc> getPostsetEdges(State n);
-		abstract protected State getTarget(Arc arc);
-	}
-
-	private class ForwardTSWrapper extends TSWrapper {
-		private ForwardTSWrapper(TransitionSystem ts) {
-			super(ts);
-		}
-
-		@Override
-		protected Set<Arc> getPostsetEdges(State n) {
-			return n.getPostsetEdges();
-		}
-
-		@Override
-		protected State getTarget(Arc arc) {
-			return arc.getTarget();
-		}
-	}
-
-	private class BackwardTSWrapper extends TSWrapper {
-		private BackwardTSWrapper(TransitionSystem ts) {
-			super(ts);
-		}
-
-		@Override
-		protected Set<Arc> getPostsetEdges(State n) {
-			return n.getPresetEdges();
-		}
-
-		@Override
-		protected State getTarget(Arc arc) {
-			return arc.getSource();
-		}
-	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -20,7 +20,7 @@
 package uniol.apt.analysis.presynthesis.pps;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -30,8 +30,10 @@ import java.util.Set;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.lts.IndexedLTS;
+import uniol.apt.analysis.lts.LocalPropertyChecker;
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
-import uniol.apt.util.Pair;
 
 /**
  * Checks an LTS for several properties that must hold on the reachability graph
@@ -82,34 +84,42 @@ public class PpsPropertyChecker {
 	 *                transition system to examine
 	 */
 	public boolean hasPropertyB(TransitionSystem ts) {
-		for (State s : ts.getNodes()) {
-			if (!hasPropertyB(s)) {
-				return false;
-			}
+		final IndexedLTS lts = new IndexedLTS(ts);
+		PpsPropertyResult r = LocalPropertyChecker.findFirstCounterExample(lts.getNumberOfStates(),
+				new LocalPropertyChecker.LocalCheck<PpsPropertyResult>() {
+					@Override
+					public PpsPropertyResult check(int s, InterruptToken interrupt) {
+						return checkPropertyB(lts, s, interrupt);
+					}
+				});
+		if (r != null) {
+			result = r;
+			return false;
 		}
 		return true;
 	}
 
-	private boolean hasPropertyB(State s) {
-		List<Arc> preset = new ArrayList<>(s.getPresetEdges());
-		for (int i = 0; i < preset.size(); i++) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+	private static PpsPropertyResult checkPropertyB(IndexedLTS lts, int s, InterruptToken interrupt) {
+		IndexedLTS.Adjacency preset = lts.getPreset();
+		int end = preset.end(s);
+		for (int i = preset.begin(s); i < end; i++) {
+			interrupt.throwIfInterruptRequested();
 
-			for (int j = i + 1; j < preset.size(); j++) {
-				Arc a = preset.get(i);
-				Arc b = preset.get(j);
-				boolean bToMQuote = !a.getSource().getPresetEdgesByLabel(b.getLabel()).isEmpty();
-				boolean aToMQuoteQuote = !b.getSource().getPresetEdgesByLabel(a.getLabel()).isEmpty();
+			for (int j = i + 1; j < end; j++) {
+				int a = preset.getLabel(i);
+				int b = preset.getLabel(j);
+				boolean bToMQuote = preset.hasLabel(preset.getNeighbour(i), b);
+				boolean aToMQuoteQuote = preset.hasLabel(preset.getNeighbour(j), a);
 				if (bToMQuote != aToMQuoteQuote) {
-					result = new PpsPropertyResult("B");
-					result.getOffendingStates().put("M", s);
-					result.getTransitions().put("a", a.getLabel());
-					result.getTransitions().put("b", b.getLabel());
-					return false;
+					PpsPropertyResult r = new PpsPropertyResult("B");
+					r.getOffendingStates().put("M", lts.getState(s));
+					r.getTransitions().put("a", lts.getLabel(a));
+					r.getTransitions().put("b", lts.getLabel(b));
+					return r;
 				}
 			}
 		}
-		return true;
+		return null;
 	}
 
 	/**
@@ -125,28 +135,80 @@ public class PpsPropertyChecker {
 	 *                transition system to examine
 	 */
 	public boolean hasPropertyD(TransitionSystem ts) {
-		Set<Pair<String, String>> labelsToCheck = new HashSet<>();
-		for (State s : ts.getNodes()) {
-			labelsToCheck.addAll(getPostsetLabelPairs(s));
+		final IndexedLTS lts = new IndexedLTS(ts);
+		final int[][] labelsToCheck = getPostsetLabelPairs(lts);
+		PpsPropertyResult r = LocalPropertyChecker.findFirstCounterExample(lts.getNumberOfStates(),
+				new LocalPropertyChecker.LocalCheck<PpsPropertyResult>() {
+					@Override
+					public PpsPropertyResult check(int sk, InterruptToken interrupt) {
+						return checkPropertyD(lts, labelsToCheck, sk, interrupt);
+					}
+				});
+		if (r != null) {
+			result = r;
+			return false;
+		}
+		return true;
+	}
+
+	private static PpsPropertyResult checkPropertyD(IndexedLTS lts, int[][] labelsToCheck, int sk,
+			InterruptToken interrupt) {
+		for (int[] labels : labelsToCheck) {
+			interrupt.throwIfInterruptRequested();
+
+			boolean kab = hasSequence(lts.getPostset(), sk, labels[0], labels[1]);
+			boolean kba = hasSequence(lts.getPostset(), sk, labels[1], labels[0]);
+			if (kab != kba) {
+				PpsPropertyResult r = new PpsPropertyResult("D");
+				r.getOffendingStates().put("K", lts.getState(sk));
+				r.getTransitions().put("a", lts.getLabel(labels[0]));
+				r.getTransitions().put("b", lts.getLabel(labels[1]));
+				return r;
+			}
 		}
-		for (Pair<String, String> labels : labelsToCheck) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+		return null;
+	}
 
-			List<String> ab = Arrays.asList(labels.getFirst(), labels.getSecond());
-			List<String> ba = Arrays.asList(labels.getSecond(), labels.getFirst());
-			for (State sk : ts.getNodes()) {
-				Set<State> kab = getSequenceDestinations(sk, ab);
-				Set<State> kba = getSequenceDestinations(sk, ba);
-				if (kab.isEmpty() != kba.isEmpty()) {
-					result = new PpsPropertyResult("D");
-					result.getOffendingStates().put("K", sk);
-					result.getTransitions().put("a", labels.getFirst());
-					result.getTransitions().put("b", labels.getSecond());
-					return false;
+	/**
+	 * Returns all pairs of different labels that are enabled together in
+	 * some state. Pairs of equal labels trivially satisfy property (D).
+	 *
+	 * @param lts
+	 *                transition system to examine
+	 * @return label pairs where the first label is the smaller one
+	 */
+	private static int[][] getPostsetLabelPairs(IndexedLTS lts) {
+		IndexedLTS.Adjacency postset = lts.getPostset();
+		int numLabels = lts.getNumberOfLabels();
+		BitSet seen = new BitSet();
+		List<int[]> pairs = new ArrayList<>();
+		for (int s = 0; s < lts.getNumberOfStates(); s++) {
+			int end = postset.end(s);
+			for (int i = postset.begin(s); i < end; i++) {
+				for (int j = i + 1; j < end; j++) {
+					int a = postset.getLabel(i);
+					int b = postset.getLabel(j);
+					// Arcs are sorted by label, so a <= b
+					if (a != b && !seen.get(a * numLabels + b)) {
+						seen.set(a * numLabels + b);
+						pairs.add(new int[] { a, b });
+					}
 				}
 			}
 		}
-		return true;
+		return pairs.toArray(new int[0][]);
+	}
+
+	/**
+	 * Returns true if the word ab can be fired in the given state.
+	 */
+	private static boolean hasSequence(IndexedLTS.Adjacency postset, int s, int a, int b) {
+		int end = postset.upperBound(s, a);
+		for (int arc = postset.lowerBound(s, a); arc < end; arc++) {
+			if (postset.hasLabel(postset.getNeighbour(arc), b))
+				return true;
+		}
+		return false;
 	}
 
 	/**
@@ -243,26 +305,6 @@ public class PpsPropertyChecker {
 		return labels;
 	}
 
-	/**
-	 * Returns all pairs of labels of outgoing arcs from s.
-	 *
-	 * @param s
-	 *                state
-	 * @return set of label pairs
-	 */
-	private Set<Pair<String, String>> getPostsetLabelPairs(State s) {
-		Set<Pair<String, String>> pairs = new HashSet<>();
-		List<Arc> postset = new ArrayList<>(s.getPostsetEdges());
-		for (int i = 0; i < postset.size(); i++) {
-			for (int j = i + 1; j < postset.size(); j++) {
-				Arc a = postset.get(i);
-				Arc b = postset.get(j);
-				pairs.add(new Pair<>(a.getLabel(), b.getLabel()));
-			}
-		}
-		return pairs;
-	}
-
 	/**
 	 * Returns the set of states that can be reached by a sequence of edges
 	 * that leads from origin to destination with the given word. The result
@@ -26,6 +26,7 @@ import java.util.Map;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.collections4.TransformerUtils;
 
+import uniol.apt.adt.ts.DenseParikhVector;
 import uniol.apt.adt.ts.ParikhVector;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
@@ -40,6 +41,7 @@ import uniol.apt.adt.ts.TransitionSystem;
 public class CreateLTS {
 	private final TransitionSystem ts = new TransitionSystem();
 	private final Map<Object, State> stateMap = new HashMap<>();
+	private final DenseParikhVector.Alphabet alphabet = new DenseParikhVector.Alphabet();
 	private final Transformer<ParikhVector, ? extends Object> transformer;
 
 	private final static Transformer<ParikhVector, ?> NOP_TRANSFORMER = TransformerUtils.nopTransformer();
@@ -57,12 +59,15 @@ public class CreateLTS {
 	 */
 	public CreateLTS(Transformer<ParikhVector, ? extends Object> transformer) {
 		this.transformer = transformer;
-		ts.setInitialState(findOrCreateState(new ParikhVector()));
+		ts.setInitialState(findOrCreateState(new DenseParikhVector(alphabet)));
 	}
 
 	/// Find state reached by the given event (or null)
-	private State findOrCreateState(ParikhVector pv) {
-		Object transformedValue = transformer.transform(pv);
+	private State findOrCreateState(DenseParikhVector pv) {
+		// Without a transformation, the dense Parikh vector itself identifies the state
+		Object transformedValue = pv;
+		if (transformer != NOP_TRANSFORMER)
+			transformedValue = transformer.transform(pv.toParikhVector());
 		State result = stateMap.get(transformedValue);
 		if (result == null) {
 			result = ts.createState();
@@ -76,7 +81,7 @@ public class CreateLTS {
 	 * @param word The word to add
 	 */
 	public void addWord(List<String> word) {
-		ParikhVector pv = new ParikhVector();
+		DenseParikhVector pv = new DenseParikhVector(alphabet);
 		State lastState = ts.getInitialState();
 		for (String event : word) {
 			pv = pv.add(event);
@@ -0,0 +1,119 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.processmining;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.module.AbstractModule;
+import uniol.apt.module.AptModule;
+import uniol.apt.module.Category;
+import uniol.apt.module.InterruptibleModule;
+import uniol.apt.module.ModuleInput;
+import uniol.apt.module.ModuleInputSpec;
+import uniol.apt.module.ModuleOutput;
+import uniol.apt.module.ModuleOutputSpec;
+import uniol.apt.module.exception.ModuleException;
+
+/**
+ * Create an LTS from an event log file without loading the whole log into memory.
+ * @author agent
+ */
+@AptModule
+public class CreateLTSFromLogModule extends AbstractModule implements InterruptibleModule {
+
+	@Override
+	public String getShortDescription() {
+		return "Create an LTS from an event log file";
+	}
+
+	@Override
+	public String getLongDescription() {
+		return getShortDescription() + ". This produces the same LTS as create_lts without invariants, but "
+			+ "reads the traces one after another from a file, so that large logs can be handled. The "
+			+ "following formats are supported:\n"
+			+ "words: Each line is a trace and each character is an event, like for create_lts.\n"
+			+ "tokens: Each line is a trace and events are separated by whitespace or commas.\n"
+			+ "csv: A CSV file with a header line and the columns case, activity and an optional "
+			+ "timestamp. The events of a case must be on consecutive lines and are ordered by their "
+			+ "timestamps, which are compared as strings.";
+	}
+
+	@Override
+	public String getName() {
+		return "create_lts_from_log";
+	}
+
+	@Override
+	public void require(ModuleInputSpec inputSpec) {
+		inputSpec.addParameter("log", String.class, "The file containing the event log");
+		inputSpec.addOptionalParameterWithDefault("format", String.class, "words", "words",
+				"The format of the event log (words, tokens, csv)");
+		inputSpec.addOptionalParameterWithDefault("threads", Integer.class, 1, "1",
+				"The number of threads that process traces");
+	}
+
+	@Override
+	public void provide(ModuleOutputSpec outputSpec) {
+		outputSpec.addReturnValue("lts", TransitionSystem.class,
+			ModuleOutputSpec.PROPERTY_FILE, ModuleOutputSpec.PROPERTY_RAW);
+	}
+
+	@Override
+	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
+		String fileName = input.getParameter("log", String.class);
+		String formatName = input.getParameter("format", String.class);
+		int threads = input.getParameter("threads", Integer.class);
+
+		EventLogReader.Format format;
+		try {
+			format = EventLogReader.Format.fromName(formatName);
+		} catch (IllegalArgumentException e) {
+			throw new ModuleException(e.getMessage());
+		}
+		if (threads <= 0)
+			throw new ModuleException("The number of threads must be positive, but is " + threads);
+
+		TransitionSystem result;
+		try (Reader reader = new InputStreamReader(new FileInputStream(new File(fileName)),
+					StandardCharsets.UTF_8)) {
+			result = StreamingCreateLTS.create(new EventLogReader(reader, format), threads);
+		} catch (IOException e) {
+			throw new ModuleException("Can't read event log '" + fileName + "': " + e.getMessage(), e);
+		} catch (ParseException e) {
+			throw new ModuleException("Can't parse event log '" + fileName + "': " + e.getMessage(), e);
+		}
+
+		output.setReturnValue("lts", TransitionSystem.class, result);
+	}
+
+	@Override
+	public Category[] getCategories() {
+		return new Category[]{Category.LTS};
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
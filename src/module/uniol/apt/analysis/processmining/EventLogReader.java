@@ -0,0 +1,340 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.processmining;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import uniol.apt.io.parser.ParseException;
+
+/**
+ * Read the traces of an event log one after another. Event labels are interned, i.e. each label is replaced with a
+ * number and the same label always gets the same number. Numbers are assigned in the order in which labels are first
+ * encountered, starting at zero.
+ * @author agent
+ */
+public class EventLogReader {
+	/**
+	 * The formats of event logs that can be read.
+	 */
+	public enum Format {
+		/**
+		 * Each line is a trace and each character on a line is an event. This is the format that is used for
+		 * word lists.
+		 */
+		WORDS,
+		/**
+		 * Each line is a trace and the events are separated by whitespace or commas.
+		 */
+		TOKENS,
+		/**
+		 * A CSV file with a header line. The columns are the case identifier, the activity and optionally a
+		 * timestamp. All events of a case must be on consecutive lines. The events of a case are ordered by
+		 * their timestamps. A timestamp is either a number, e.g. seconds since the epoch, or an ISO 8601 date
+		 * with an optional time and UTC offset. Times without an offset are taken as UTC. All lines of a log
+		 * must use the same kind of timestamp or none at all. Events with equal timestamps stay in the order in
+		 * which they appear in the log.
+		 */
+		CSV;
+
+		/**
+		 * Get the format with the given name.
+		 * @param name The name of the format, case is ignored.
+		 * @return The format.
+		 * @throws IllegalArgumentException If no format with that name exists.
+		 */
+		public static Format fromName(String name) {
+			for (Format format : values())
+				if (format.name().equalsIgnoreCase(name))
+					return format;
+			throw new IllegalArgumentException("Unknown event log format '" + name + "'");
+		}
+	}
+
+	private final BufferedReader reader;
+	private final Format format;
+	private final Map<String, Integer> labelIndices = new HashMap<>();
+	private final List<String> labels = new ArrayList<>();
+	private int lineNumber = 0;
+
+	// State for the CSV format: The next line that was already read, and the cases that were already completed
+	private Row pendingRow;
+	private final Set<String> finishedCases = new HashSet<>();
+	private TimestampKind timestampKind;
+
+	// The kinds of timestamps in a CSV log, which cannot be compared with each other
+	private enum TimestampKind {
+		NONE, NUMBER, ISO_8601
+	}
+
+	// A line of a CSV log. The time is null if the line has no timestamp.
+	static private class Row {
+		private final String caseId;
+		private final String activity;
+		private final BigDecimal time;
+
+		private Row(String caseId, String activity, BigDecimal time) {
+			this.caseId = caseId;
+			this.activity = activity;
+			this.time = time;
+		}
+	}
+
+	private static final Pattern NUMBER = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)");
+	private static final Pattern ISO_8601 = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})"
+			+ "(?:[T ](\\d{2}):(\\d{2})(?::(\\d{2})(?:[.,](\\d+))?)?(Z|([+-])(\\d{2})(?::?(\\d{2}))?)?)?");
+
+	/**
+	 * Create a reader for an event log.
+	 * @param reader The reader to get the event log from.
+	 * @param format The format of the event log.
+	 * @throws IOException If reading fails.
+	 */
+	public EventLogReader(Reader reader, Format format) throws IOException {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		this.format = format;
+		if (format == Format.CSV) {
+			// Skip the header
+			nextLine();
+		}
+	}
+
+	/**
+	 * Get the labels that were encountered so far.
+	 * @return The labels, indexed by their interned numbers.
+	 */
+	public List<String> getLabels() {
+		return Collections.unmodifiableList(labels);
+	}
+
+	/**
+	 * Get the number of a label.
+	 * @param label The label.
+	 * @return The interned number of the label.
+	 */
+	public int internLabel(String label) {
+		Integer index = labelIndices.get(label);
+		if (index == null) {
+			index = labels.size();
+			labels.add(label);
+			labelIndices.put(label, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Read the next trace.
+	 * @return The next trace as a sequence of interned labels, or null if the end of the log was reached.
+	 * @throws IOException If reading fails.
+	 * @throws ParseException If the log is malformed.
+	 */
+	public int[] nextTrace() throws IOException, ParseException {
+		if (format == Format.CSV)
+			return nextCSVTrace();
+
+		String line = nextLine();
+		if (line == null)
+			return null;
+
+		List<String> events = new ArrayList<>();
+		if (format == Format.WORDS) {
+			for (int i = 0; i < line.length(); i++)
+				events.add(line.substring(i, i + 1));
+		} else {
+			for (String event : line.trim().split("[\\s,]+"))
+				if (!event.isEmpty())
+					events.add(event);
+		}
+
+		int[] trace = new int[events.size()];
+		for (int i = 0; i < trace.length; i++)
+			trace[i] = internLabel(events.get(i));
+		return trace;
+	}
+
+	private String nextLine() throws IOException {
+		String line = reader.readLine();
+		if (line != null)
+			lineNumber++;
+		return line;
+	}
+
+	private int[] nextCSVTrace() throws IOException, ParseException {
+		if (pendingRow == null)
+			pendingRow = nextCSVRow();
+		if (pendingRow == null)
+			return null;
+
+		String caseId = pendingRow.caseId;
+		if (!finishedCases.add(caseId))
+			throw new ParseException("Line " + lineNumber + ": The events of case '" + caseId
+					+ "' are not on consecutive lines");
+
+		List<Row> rows = new ArrayList<>();
+		boolean sorted = true;
+		do {
+			if (!rows.isEmpty() && TIMESTAMP_ORDER.compare(rows.get(rows.size() - 1), pendingRow) > 0)
+				sorted = false;
+			rows.add(pendingRow);
+			pendingRow = nextCSVRow();
+		} while (pendingRow != null && pendingRow.caseId.equals(caseId));
+
+		if (!sorted)
+			Collections.sort(rows, TIMESTAMP_ORDER);
+
+		int[] trace = new int[rows.size()];
+		for (int i = 0; i < trace.length; i++)
+			trace[i] = internLabel(rows.get(i).activity);
+		return trace;
+	}
+
+	private Row nextCSVRow() throws IOException, ParseException {
+		String line;
+		do {
+			line = nextLine();
+			if (line == null)
+				return null;
+		} while (line.trim().isEmpty());
+
+		List<String> fields = splitCSVLine(line);
+		if (fields.size() < 2)
+			throw new ParseException("Line " + lineNumber + ": Expected at least a case and an activity");
+		String timestamp = fields.size() > 2 ? fields.get(2) : "";
+		return new Row(fields.get(0), fields.get(1), parseTimestamp(timestamp));
+	}
+
+	// Parse a timestamp into a number that orders the events. ISO 8601 timestamps are converted to seconds since
+	// the epoch. Comparing them as strings would be wrong for different UTC offsets and other formats would not be
+	// ordered at all, so everything else is rejected.
+	private BigDecimal parseTimestamp(String timestamp) throws ParseException {
+		TimestampKind kind;
+		BigDecimal time = null;
+		if (timestamp.isEmpty()) {
+			kind = TimestampKind.NONE;
+		} else if (NUMBER.matcher(timestamp).matches()) {
+			kind = TimestampKind.NUMBER;
+			time = new BigDecimal(timestamp);
+		} else {
+			kind = TimestampKind.ISO_8601;
+			time = parseISO8601(timestamp);
+		}
+
+		if (timestampKind == null)
+			timestampKind = kind;
+		else if (timestampKind != kind)
+			throw new ParseException("Line " + lineNumber + ": Timestamp '" + timestamp
+					+ "' is not of the same kind as the previous timestamps");
+		return time;
+	}
+
+	private BigDecimal parseISO8601(String timestamp) throws ParseException {
+		Matcher matcher = ISO_8601.matcher(timestamp);
+		if (!matcher.matches())
+			throw new ParseException("Line " + lineNumber + ": Unsupported timestamp '" + timestamp
+					+ "'; expected a number or an ISO 8601 date and time");
+
+		Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+		calendar.setLenient(false);
+		calendar.clear();
+		calendar.set(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)) - 1,
+				Integer.parseInt(matcher.group(3)), getField(matcher, 4), getField(matcher, 5),
+				getField(matcher, 6));
+		long millis;
+		try {
+			millis = calendar.getTimeInMillis();
+		} catch (IllegalArgumentException e) {
+			throw new ParseException("Line " + lineNumber + ": Invalid timestamp '" + timestamp + "'", e);
+		}
+
+		BigDecimal time = BigDecimal.valueOf(millis / 1000);
+		if (matcher.group(7) != null)
+			time = time.add(new BigDecimal("0." + matcher.group(7)));
+		if (matcher.group(9) != null) {
+			int offset = getField(matcher, 10) * 3600 + getField(matcher, 11) * 60;
+			if (matcher.group(9).equals("+"))
+				offset = -offset;
+			time = time.add(BigDecimal.valueOf(offset));
+		}
+		return time;
+	}
+
+	private static int getField(Matcher matcher, int group) {
+		String field = matcher.group(group);
+		return field == null ? 0 : Integer.parseInt(field);
+	}
+
+	private List<String> splitCSVLine(String line) throws ParseException {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString().trim());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted)
+			throw new ParseException("Line " + lineNumber + ": Unterminated quoted field");
+		fields.add(field.toString().trim());
+		return fields;
+	}
+
+	// Collections.sort() is stable, so events with the same timestamp keep their order. Either all rows of a log
+	// have a timestamp or none has.
+	private static final Comparator<Row> TIMESTAMP_ORDER = new Comparator<Row>() {
+		@Override
+		public int compare(Row row1, Row row2) {
+			if (row1.time == null)
+				return 0;
+			return row1.time.compareTo(row2.time);
+		}
+	};
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,327 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.processmining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Create an LTS from an event log like {@link CreateLTS} without additional transformations does, but for logs that
+ * are too large to be kept in memory. Traces are read one after another from an {@link EventLogReader}, which already
+ * interns the labels to numbers. States are identified by Parikh vectors that are stored as plain int arrays indexed
+ * by these numbers. For each state, only the set of labels that leave it is remembered, since the target of an arc is
+ * the Parikh vector of the source plus the label.
+ *
+ * The log can be split into shards that are processed by different threads. Each thread collects the states of its
+ * own traces and the results are merged at the end. The states of the resulting LTS are created in an order that
+ * only depends on their Parikh vectors, so the result does not depend on the number of threads.
+ * @author agent
+ */
+public class StreamingCreateLTS {
+	// Number of traces that are handed to a worker thread at once
+	private static final int BATCH_SIZE = 1024;
+	private static final int[][] END_OF_LOG = new int[0][];
+
+	private final Map<ParikhKey, BitSet> states = new HashMap<>();
+	private final InterruptToken interrupt;
+
+	/**
+	 * Create a new instance of this class.
+	 */
+	public StreamingCreateLTS() {
+		this.interrupt = InterrupterRegistry.getCurrentThreadToken();
+		states.put(new ParikhKey(new int[0], 0), new BitSet());
+	}
+
+	/**
+	 * Add a trace to the produced transition system.
+	 * @param trace The trace as a sequence of interned labels.
+	 */
+	public void addTrace(int[] trace) {
+		int[] counts = new int[maxLabel(trace) + 1];
+		int length = 0;
+		BitSet lastState = states.get(new ParikhKey(counts, 0));
+		for (int event : trace) {
+			interrupt.throwIfInterruptRequested();
+			lastState.set(event);
+
+			counts[event]++;
+			length = Math.max(length, event + 1);
+			ParikhKey probe = new ParikhKey(counts, length);
+			BitSet state = states.get(probe);
+			if (state == null) {
+				state = new BitSet();
+				states.put(new ParikhKey(Arrays.copyOf(counts, length), length), state);
+			}
+			lastState = state;
+		}
+	}
+
+	/**
+	 * Add all states and arcs that another instance collected to this instance.
+	 * @param other The instance whose traces should be added.
+	 */
+	public void merge(StreamingCreateLTS other) {
+		for (Map.Entry<ParikhKey, BitSet> entry : other.states.entrySet()) {
+			interrupt.throwIfInterruptRequested();
+			BitSet state = states.get(entry.getKey());
+			if (state == null)
+				states.put(entry.getKey(), entry.getValue());
+			else
+				state.or(entry.getValue());
+		}
+	}
+
+	/**
+	 * Get the number of states that were collected so far.
+	 * @return The number of states.
+	 */
+	public int getNumberOfStates() {
+		return states.size();
+	}
+
+	/**
+	 * Create the transition system from the traces that were added.
+	 * @param labels The labels that the interned numbers stand for.
+	 * @return The transition system.
+	 */
+	public TransitionSystem getTransitionSystem(List<String> labels) {
+		List<ParikhKey> keys = new ArrayList<>(states.keySet());
+		Collections.sort(keys, ParikhKey.ORDER);
+
+		TransitionSystem ts = new TransitionSystem();
+		Map<ParikhKey, State> tsStates = new HashMap<>();
+		for (ParikhKey key : keys)
+			tsStates.put(key, ts.createState());
+		ts.setInitialState(tsStates.get(keys.get(0)));
+
+		for (ParikhKey key : keys) {
+			State source = tsStates.get(key);
+			BitSet arcs = states.get(key);
+			for (int event = arcs.nextSetBit(0); event >= 0; event = arcs.nextSetBit(event + 1)) {
+				interrupt.throwIfInterruptRequested();
+				ts.createArc(source, tsStates.get(key.successor(event)), labels.get(event));
+			}
+		}
+		return ts;
+	}
+
+	/**
+	 * Create the transition system for all traces of an event log.
+	 * @param log The event log to read.
+	 * @param threads The number of threads that process traces.
+	 * @return The transition system.
+	 * @throws IOException If reading the log fails.
+	 * @throws ParseException If the log is malformed.
+	 */
+	static public TransitionSystem create(EventLogReader log, int threads) throws IOException, ParseException {
+		if (threads <= 0)
+			throw new IllegalArgumentException("Need at least one thread, but got " + threads);
+
+		StreamingCreateLTS result;
+		if (threads == 1) {
+			result = new StreamingCreateLTS();
+			int[] trace;
+			while ((trace = log.nextTrace()) != null)
+				result.addTrace(trace);
+		} else {
+			result = createSharded(log, threads);
+		}
+		return result.getTransitionSystem(log.getLabels());
+	}
+
+	static private StreamingCreateLTS createSharded(EventLogReader log, int threads)
+			throws IOException, ParseException {
+		final Interrupter interrupter = InterrupterRegistry.getCurrentThreadInterrupter();
+		final BlockingQueue<int[][]> batches = new ArrayBlockingQueue<>(2 * threads);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<StreamingCreateLTS>> shards = new ArrayList<>();
+		try {
+			for (int i = 0; i < threads; i++) {
+				shards.add(pool.submit(new Callable<StreamingCreateLTS>() {
+					@Override
+					public StreamingCreateLTS call() throws InterruptedException {
+						InterrupterRegistry.setCurrentThreadInterrupter(interrupter);
+						try {
+							StreamingCreateLTS shard = new StreamingCreateLTS();
+							int[][] batch;
+							while ((batch = batches.take()) != END_OF_LOG)
+								for (int[] trace : batch)
+									shard.addTrace(trace);
+							return shard;
+						} finally {
+							InterrupterRegistry.clearCurrentThreadInterrupter();
+						}
+					}
+				}));
+			}
+
+			boolean done = false;
+			while (!done) {
+				List<int[]> batch = new ArrayList<>(BATCH_SIZE);
+				int[] trace = null;
+				while (batch.size() < BATCH_SIZE && (trace = log.nextTrace()) != null)
+					batch.add(trace);
+				done = trace == null;
+				if (!batch.isEmpty())
+					put(batches, batch.toArray(new int[batch.size()][]), shards);
+			}
+			for (int i = 0; i < threads; i++)
+				put(batches, END_OF_LOG, shards);
+
+			StreamingCreateLTS result = new StreamingCreateLTS();
+			for (Future<StreamingCreateLTS> shard : shards)
+				result.merge(getShard(shard));
+			return result;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Queue a batch, but give up if a worker failed and thus the queue might never drain
+	static private void put(BlockingQueue<int[][]> batches, int[][] batch, List<Future<StreamingCreateLTS>> shards)
+			throws IOException {
+		try {
+			while (!batches.offer(batch, 100, TimeUnit.MILLISECONDS))
+				for (Future<StreamingCreateLTS> shard : shards)
+					if (shard.isDone())
+						getShard(shard);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while processing the event log", e);
+		}
+	}
+
+	static private StreamingCreateLTS getShard(Future<StreamingCreateLTS> shard) throws IOException {
+		try {
+			return shard.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while processing the event log", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	static private int maxLabel(int[] trace) {
+		int max = -1;
+		for (int event : trace)
+			max = Math.max(max, event);
+		return max;
+	}
+
+	// A Parikh vector as an array of counts. Only the first length entries are used and the last of them is not
+	// zero, so that each Parikh vector has exactly one representation. The array of a key that is used for lookups
+	// may be changed afterwards, but the array of a key in a map must stay unchanged.
+	static private final class ParikhKey {
+		// Order by the length of the words that reach a state and then lexicographically with earlier labels
+		// first, so that the states come out in roughly the order in which a breadth-first search finds them
+		static final Comparator<ParikhKey> ORDER = new Comparator<ParikhKey>() {
+			@Override
+			public int compare(ParikhKey key1, ParikhKey key2) {
+				int cmp = Long.compare(key1.sum(), key2.sum());
+				if (cmp != 0)
+					return cmp;
+				for (int i = 0; i < Math.max(key1.length, key2.length); i++) {
+					cmp = Integer.compare(key2.get(i), key1.get(i));
+					if (cmp != 0)
+						return cmp;
+				}
+				return 0;
+			}
+		};
+
+		private final int[] counts;
+		private final int length;
+
+		ParikhKey(int[] counts, int length) {
+			this.counts = counts;
+			this.length = length;
+		}
+
+		int get(int index) {
+			return index < length ? counts[index] : 0;
+		}
+
+		long sum() {
+			long sum = 0;
+			for (int i = 0; i < length; i++)
+				sum += counts[i];
+			return sum;
+		}
+
+		ParikhKey successor(int event) {
+			int newLength = Math.max(length, event + 1);
+			int[] newCounts = Arrays.copyOf(counts, newLength);
+			newCounts[event]++;
+			return new ParikhKey(newCounts, newLength);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 1;
+			for (int i = 0; i < length; i++)
+				hash = 31 * hash + counts[i];
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof ParikhKey))
+				return false;
+			ParikhKey other = (ParikhKey) o;
+			if (length != other.length)
+				return false;
+			for (int i = 0; i < length; i++)
+				if (counts[i] != other.counts[i])
+					return false;
+			return true;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
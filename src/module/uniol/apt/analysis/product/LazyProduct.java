@@ -0,0 +1,483 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.adt.CollectionToUnmodifiableSetAdapter;
+import uniol.apt.adt.IEdge;
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.IGraphListener;
+import uniol.apt.adt.INode;
+import uniol.apt.adt.exception.NoSuchNodeException;
+import uniol.apt.adt.extension.Extensible;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.adt.ts.TransitionSystemBuilder;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The synchronous or asynchronous product of two LTS, constructed on the fly. Only the reachable part of the product
+ * is represented. A state is created when it is first reached and its arcs are only computed when they are queried,
+ * so an analysis that stops early does not pay for the whole product. Methods that need the whole graph, like
+ * {@link #getNodes()} or the preset of a state, explore all reachable states first.
+ *
+ * States are numbered in the order in which they are discovered and the id of a state is "s" followed by its number.
+ * Pairs of factor states are encoded in a single long and the table of discovered pairs uses open addressing, so no
+ * objects are allocated to look up a state.
+ *
+ * @author agent
+ */
+public class LazyProduct extends Extensible implements IGraph<LazyProduct, LazyProduct.ProductArc,
+		LazyProduct.ProductState> {
+	private final TransitionSystem ts1;
+	private final TransitionSystem ts2;
+	private final boolean synchronous;
+	private final Map<State, Integer> index1 = new HashMap<>();
+	private final Map<State, Integer> index2 = new HashMap<>();
+	private final VisitedTable visited = new VisitedTable();
+	private final List<ProductState> states = new ArrayList<>();
+	private final Set<IGraphListener<LazyProduct, ProductArc, ProductState>> listeners = new HashSet<>();
+	private int numberOfExpandedStates = 0;
+	private boolean presetsComputed = false;
+	private Set<ProductArc> edges = null;
+
+	/**
+	 * Create the product of two transition systems.
+	 * @param ts1 first operand/factor
+	 * @param ts2 second operand/factor
+	 * @param synchronous true for the synchronous product, false for the asynchronous one
+	 */
+	LazyProduct(TransitionSystem ts1, TransitionSystem ts2, boolean synchronous) {
+		this.ts1 = ts1;
+		this.ts2 = ts2;
+		this.synchronous = synchronous;
+		for (State state : ts1.getNodes())
+			index1.put(state, index1.size());
+		for (State state : ts2.getNodes())
+			index2.put(state, index2.size());
+		getOrCreateState(ts1.getInitialState(), ts2.getInitialState());
+	}
+
+	/**
+	 * Check if this is the synchronous product.
+	 * @return true for the synchronous product, false for the asynchronous one.
+	 */
+	public boolean isSynchronous() {
+		return synchronous;
+	}
+
+	/**
+	 * Get the initial state of the product, which is the pair of the initial states of the factors.
+	 * @return The initial state.
+	 */
+	public ProductState getInitialState() {
+		return states.get(0);
+	}
+
+	/**
+	 * Get the number of states that were discovered so far.
+	 * @return The number of discovered states.
+	 */
+	public int getNumberOfDiscoveredStates() {
+		return states.size();
+	}
+
+	/**
+	 * Get a discovered state by its number. Expanding states discovers more states, so all states can be visited
+	 * by iterating over the numbers while {@link #getNumberOfDiscoveredStates()} grows.
+	 * @param number The number of the state.
+	 * @return The state.
+	 */
+	public ProductState getState(int number) {
+		return states.get(number);
+	}
+
+	/**
+	 * Construct the (reachable part of the) product as a transition system. States are created in the order of
+	 * their numbers and get the same ids as in this view.
+	 * @return The product transition system.
+	 */
+	public TransitionSystem materialize() {
+		exploreAll();
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		State[] result = new State[states.size()];
+		for (ProductState state : states)
+			result[state.number] = builder.createState(state.getId());
+		for (ProductState state : states) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			for (ProductArc arc : state.getPostset())
+				builder.createArc(result[state.number], result[arc.target.number], arc.label);
+		}
+		builder.setInitialState(result[0]);
+		return builder.build();
+	}
+
+	// Get the product state for the given pair of factor states, creating it if necessary
+	private ProductState getOrCreateState(State s1, State s2) {
+		long key = ((long) index1.get(s1) << 32) | index2.get(s2);
+		int number = visited.get(key);
+		if (number >= 0)
+			return states.get(number);
+		ProductState state = new ProductState(states.size(), s1, s2);
+		visited.put(key, state.number);
+		states.add(state);
+		return state;
+	}
+
+	// Compute the arcs leaving the given state
+	private List<ProductArc> expand(ProductState state) {
+		List<ProductArc> result = new ArrayList<>();
+		if (synchronous) {
+			for (Arc arc1 : state.s1.getPostsetEdges()) {
+				for (State target2 : state.s2.getPostsetNodesByLabel(arc1.getLabel()))
+					result.add(new ProductArc(state, getOrCreateState(arc1.getTarget(), target2),
+								arc1.getLabel()));
+			}
+		} else {
+			for (Arc arc1 : state.s1.getPostsetEdges())
+				result.add(new ProductArc(state, getOrCreateState(arc1.getTarget(), state.s2), arc1.getLabel()));
+			for (Arc arc2 : state.s2.getPostsetEdges()) {
+				ProductArc arc = new ProductArc(state, getOrCreateState(state.s1, arc2.getTarget()), arc2.getLabel());
+				// A loop with the same label in both factors only gives a single loop in the product
+				if (arc.target != state || !state.s1.getPostsetNodesByLabel(arc.label).contains(state.s1))
+					result.add(arc);
+			}
+		}
+		numberOfExpandedStates++;
+		return result;
+	}
+
+	// Discover all reachable states
+	private void exploreAll() {
+		for (int i = 0; i < states.size(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			states.get(i).getPostset();
+		}
+	}
+
+	private void computePresets() {
+		if (presetsComputed)
+			return;
+		exploreAll();
+		for (ProductState state : states)
+			state.preset = new ArrayList<>();
+		for (ProductState state : states)
+			for (ProductArc arc : state.getPostset())
+				arc.target.preset.add(arc);
+		presetsComputed = true;
+	}
+
+	@Override
+	public boolean addListener(IGraphListener<LazyProduct, ProductArc, ProductState> listener) {
+		// The product never changes, so listeners are never invoked
+		return listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeListener(IGraphListener<LazyProduct, ProductArc, ProductState> listener) {
+		return listeners.remove(listener);
+	}
+
+	@Override
+	public String getName() {
+		return "";
+	}
+
+	@Override
+	public ProductState getNode(String id) {
+		if (id.startsWith("s")) {
+			try {
+				int number = Integer.parseInt(id.substring(1));
+				if (number >= 0 && number >= states.size())
+					exploreAll();
+				if (number >= 0 && number < states.size() && states.get(number).getId().equals(id))
+					return states.get(number);
+			} catch (NumberFormatException e) {
+				// Fall through to the exception below
+			}
+		}
+		throw new NoSuchNodeException(this, id);
+	}
+
+	@Override
+	public Set<ProductArc> getEdges() {
+		if (edges == null) {
+			exploreAll();
+			List<ProductArc> result = new ArrayList<>();
+			for (ProductState state : states)
+				result.addAll(state.getPostset());
+			edges = new CollectionToUnmodifiableSetAdapter<>(result);
+		}
+		return edges;
+	}
+
+	@Override
+	public Set<ProductState> getNodes() {
+		exploreAll();
+		return new CollectionToUnmodifiableSetAdapter<>(Collections.unmodifiableList(states));
+	}
+
+	@Override
+	public Set<ProductState> getPresetNodes(String id) {
+		return getNode(id).getPresetNodes();
+	}
+
+	@Override
+	public Set<ProductState> getPresetNodes(ProductState node) {
+		return node.getPresetNodes();
+	}
+
+	@Override
+	public Set<ProductState> getPostsetNodes(String id) {
+		return getNode(id).getPostsetNodes();
+	}
+
+	@Override
+	public Set<ProductState> getPostsetNodes(ProductState node) {
+		return node.getPostsetNodes();
+	}
+
+	@Override
+	public Set<ProductArc> getPresetEdges(String id) {
+		return getNode(id).getPresetEdges();
+	}
+
+	@Override
+	public Set<ProductArc> getPresetEdges(ProductState n) {
+		return n.getPresetEdges();
+	}
+
+	@Override
+	public Set<ProductArc> getPostsetEdges(String id) {
+		return getNode(id).getPostsetEdges();
+	}
+
+	@Override
+	public Set<ProductArc> getPostsetEdges(ProductState n) {
+		return n.getPostsetEdges();
+	}
+
+	@Override
+	public String toString() {
+		return (synchronous ? "Synchronous" : "Asynchronous") + " product of " + ts1.getName() + " and "
+			+ ts2.getName() + " with " + states.size() + " discovered and " + numberOfExpandedStates
+			+ " expanded states";
+	}
+
+	/**
+	 * A state of the product, which is a pair of states of the factors.
+	 */
+	public class ProductState extends Extensible implements INode<LazyProduct, ProductArc, ProductState> {
+		private final int number;
+		private final State s1;
+		private final State s2;
+		private List<ProductArc> postset = null;
+		private List<ProductArc> preset = null;
+
+		private ProductState(int number, State s1, State s2) {
+			this.number = number;
+			this.s1 = s1;
+			this.s2 = s2;
+		}
+
+		private List<ProductArc> getPostset() {
+			if (postset == null)
+				postset = expand(this);
+			return postset;
+		}
+
+		/**
+		 * Get the number of this state. The initial state has number zero.
+		 * @return The number of this state.
+		 */
+		public int getNumber() {
+			return number;
+		}
+
+		/**
+		 * Get the state of the first factor.
+		 * @return The state of the first factor.
+		 */
+		public State getFirstState() {
+			return s1;
+		}
+
+		/**
+		 * Get the state of the second factor.
+		 * @return The state of the second factor.
+		 */
+		public State getSecondState() {
+			return s2;
+		}
+
+		@Override
+		public String getId() {
+			return "s" + number;
+		}
+
+		@Override
+		public LazyProduct getGraph() {
+			return LazyProduct.this;
+		}
+
+		@Override
+		public Set<ProductState> getPresetNodes() {
+			Set<ProductState> result = new LinkedHashSet<>();
+			for (ProductArc arc : getPresetEdges())
+				result.add(arc.source);
+			return Collections.unmodifiableSet(result);
+		}
+
+		@Override
+		public Set<ProductState> getPostsetNodes() {
+			Set<ProductState> result = new LinkedHashSet<>();
+			for (ProductArc arc : getPostset())
+				result.add(arc.target);
+			return Collections.unmodifiableSet(result);
+		}
+
+		@Override
+		public Set<ProductArc> getPresetEdges() {
+			computePresets();
+			return new CollectionToUnmodifiableSetAdapter<>(preset);
+		}
+
+		@Override
+		public Set<ProductArc> getPostsetEdges() {
+			return new CollectionToUnmodifiableSetAdapter<>(getPostset());
+		}
+
+		@Override
+		public String toString() {
+			return getId() + "=(" + s1.getId() + ", " + s2.getId() + ")";
+		}
+	}
+
+	/**
+	 * An arc of the product.
+	 */
+	public class ProductArc extends Extensible implements IEdge<LazyProduct, ProductArc, ProductState> {
+		private final ProductState source;
+		private final ProductState target;
+		private final String label;
+
+		private ProductArc(ProductState source, ProductState target, String label) {
+			this.source = source;
+			this.target = target;
+			this.label = label;
+		}
+
+		/**
+		 * Get the label of this arc.
+		 * @return The label.
+		 */
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public LazyProduct getGraph() {
+			return LazyProduct.this;
+		}
+
+		@Override
+		public ProductState getSource() {
+			return source;
+		}
+
+		@Override
+		public ProductState getTarget() {
+			return target;
+		}
+
+		@Override
+		public String toString() {
+			return "{" + source.getId() + "->" + target.getId() + ", " + label + "}";
+		}
+	}
+
+	// A hash table from pairs of factor states (encoded as non-negative longs) to state numbers with open addressing
+	// and linear probing.
+	static private class VisitedTable {
+		private static final long EMPTY = -1;
+
+		private long[] keys = newKeys(16);
+		private int[] values = new int[16];
+		private int size = 0;
+
+		private static long[] newKeys(int capacity) {
+			long[] result = new long[capacity];
+			Arrays.fill(result, EMPTY);
+			return result;
+		}
+
+		private static int slot(long key, int mask) {
+			long hash = key * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32)) & mask;
+		}
+
+		private int get(long key) {
+			int mask = keys.length - 1;
+			for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask)
+				if (keys[i] == key)
+					return values[i];
+			return -1;
+		}
+
+		private void put(long key, int value) {
+			if (2 * (size + 1) > keys.length)
+				grow();
+			insert(keys, values, key, value);
+			size++;
+		}
+
+		private void grow() {
+			long[] newKeys = newKeys(2 * keys.length);
+			int[] newValues = new int[newKeys.length];
+			for (int i = 0; i < keys.length; i++)
+				if (keys[i] != EMPTY)
+					insert(newKeys, newValues, keys[i], values[i]);
+			keys = newKeys;
+			values = newValues;
+		}
+
+		private static void insert(long[] keys, int[] values, long key, int value) {
+			int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (keys[i] != EMPTY)
+				i = (i + 1) & mask;
+			keys[i] = key;
+			values[i] = value;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,16 +19,7 @@
 
 package uniol.apt.analysis.product;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
-
-import uniol.apt.adt.ts.Arc;
-import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.util.interrupt.InterrupterRegistry;
-import uniol.apt.util.Pair;
 
 /**
  * Provides methods to compute the synchronous or asynchronous product of two
@@ -38,18 +29,6 @@ import uniol.apt.util.Pair;
  */
 public class Product {
 
-	/**
-	 * Key for the extension of the product states with the first source
-	 * state.
-	 */
-	private static final String EXTENSION_KEY_1 = "product_source_lts1_state";
-
-	/**
-	 * Key for the extension of the product states with the second source
-	 * state.
-	 */
-	private static final String EXTENSION_KEY_2 = "product_source_lts2_state";
-
 	/**
 	 * The first factor for the product.
 	 */
@@ -60,23 +39,6 @@ public class Product {
 	 */
 	private final TransitionSystem ts2;
 
-	/**
-	 * The resulting product.
-	 */
-	private TransitionSystem result;
-
-	/**
-	 * A mapping from a pair of factor states to a product state. Used to
-	 * prevent creation of duplicate product states.
-	 */
-	private Map<Pair<State, State>, State> resultStateCache;
-
-	/**
-	 * A queue to save new product states that have still to be examined,
-	 * i.e. starting from which new arcs and states will be created.
-	 */
-	private Queue<State> workQueue;
-
 	/**
 	 * Creates a new Product instance that allows to compute the synchronous
 	 * or asynchronous product of two given LTS.
@@ -98,29 +60,7 @@ public class Product {
 	 * @return The synchronous product transition system.
 	 */
 	public TransitionSystem getSyncProduct() {
-		init();
-
-		while (!workQueue.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			State curr = workQueue.poll();
-
-			// Retrieve states of the operand transition systems.
-			State s1 = (State) curr.getExtension(EXTENSION_KEY_1);
-			State s2 = (State) curr.getExtension(EXTENSION_KEY_2);
-
-			for (Arc arc1 : s1.getPostsetEdges()) {
-				State target1 = arc1.getTarget();
-				for (State target2 : s2.getPostsetNodesByLabel(arc1.getLabel())) {
-					// Create new product state.
-					State prod = createOrGetProductState(target1, target2);
-
-					// Connect curr state with new state.
-					result.createArc(curr, prod, arc1.getLabel());
-				}
-			}
-		}
-
-		return result;
+		return getLazySyncProduct().materialize();
 	}
 
 	/**
@@ -130,74 +70,29 @@ public class Product {
 	 * @return The asynchronous product transition system.
 	 */
 	public TransitionSystem getAsyncProduct() {
-		init();
-
-		while (!workQueue.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			State curr = workQueue.poll();
-
-			// Retrieve states of the operand transition systems.
-			State s1 = (State) curr.getExtension(EXTENSION_KEY_1);
-			State s2 = (State) curr.getExtension(EXTENSION_KEY_2);
-
-			for (Arc arc1 : s1.getPostsetEdges()) {
-				// Create new product state.
-				State prod = createOrGetProductState(arc1.getTarget(), s2);
-
-				// Connect curr state with the new state.
-				result.createArc(curr, prod, arc1.getLabel());
-			}
-			for (Arc arc2 : s2.getPostsetEdges()) {
-				// Create new product state.
-				State prod = createOrGetProductState(s1, arc2.getTarget());
-
-				// Connect curr state with the new state.
-				result.createArc(curr, prod, arc2.getLabel());
-			}
-		}
-
-		return result;
+		return getLazyAsyncProduct().materialize();
 	}
 
 	/**
-	 * Initializes data structures.
+	 * Returns a view of the synchronous product of the two transition
+	 * systems supplied to the constructor. The product is constructed on the
+	 * fly while the view is queried.
+	 *
+	 * @return The synchronous product as a lazily expanded graph.
 	 */
-	private void init() {
-		result = new TransitionSystem();
-		resultStateCache = new HashMap<>();
-		workQueue = new LinkedList<>();
-
-		// Create the initial state for the product.
-		State init = createOrGetProductState(ts1.getInitialState(), ts2.getInitialState());
-		result.setInitialState(init);
+	public LazyProduct getLazySyncProduct() {
+		return new LazyProduct(ts1, ts2, true);
 	}
 
 	/**
-	 * Returns the product state of s1 and s2. If it does not yet exist in
-	 * the result transition system, the state is created. If it exists, it
-	 * is returned.
-	 *
-	 * Attention: This function modifies the workQueue. Newly created states
-	 * are automatically inserted.
+	 * Returns a view of the asynchronous product of the two transition
+	 * systems supplied to the constructor. The product is constructed on the
+	 * fly while the view is queried.
 	 *
-	 * @param s1
-	 *                first state
-	 * @param s2
-	 *                second state
-	 * @return the product state
+	 * @return The asynchronous product as a lazily expanded graph.
 	 */
-	private State createOrGetProductState(State s1, State s2) {
-		Pair<State, State> statePair = new Pair<>(s1, s2);
-		if (resultStateCache.containsKey(statePair)) {
-			return resultStateCache.get(statePair);
-		} else {
-			State state = result.createState();
-			state.putExtension(EXTENSION_KEY_1, s1);
-			state.putExtension(EXTENSION_KEY_2, s2);
-			resultStateCache.put(statePair, state);
-			workQueue.add(state);
-			return state;
-		}
+	public LazyProduct getLazyAsyncProduct() {
+		return new LazyProduct(ts1, ts2, false);
 	}
 
 }
@@ -57,7 +57,7 @@ public class ReversibleNet {
 		ltsPersistent.check();
 		reversible_ = ltsPersistent.isReversible();
 		if (ltsPersistent.getNode() != null)
-			marking_ = (Marking) ltsPersistent.getNode().getExtension(Marking.class.getName());
+			marking_ = ltsPersistent.getNode().getExtension(CoverabilityGraph.MARKING_KEY);
 
 		return;
 	}
@@ -19,14 +19,14 @@
 
 package uniol.apt.analysis.reversible;
 
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
-import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.util.SpanningTree;
+import uniol.apt.analysis.connectivity.IndexedGraph;
 
 /**
  * An LTS is reversible if the initial state can be reached from every state that is reachable within the system.
@@ -38,17 +38,13 @@ public class ReversibleTS {
 
 	public ReversibleTS(TransitionSystem ts) {
 		this.ts = ts;
-		SpanningTree<TransitionSystem, Arc, State> forwardTree
-			= SpanningTree.<TransitionSystem, Arc, State>get(ts, ts.getInitialState());
-		SpanningTree<TransitionSystem, Arc, State> backwardTree
-			= SpanningTree.<TransitionSystem, Arc, State>getReversed(ts, ts.getInitialState());
-
-		// Calculate reachable states
-		unreversibleStates = new HashSet<>(ts.getNodes());
-		unreversibleStates.removeAll(forwardTree.getUnreachableNodes());
+		IndexedGraph<State> graph = IndexedGraph.of(ts);
+		BitSet unreversible = graph.getReachable(ts.getInitialState());
 
 		// Keep only those which cannot reach the initial state again
-		unreversibleStates.retainAll(backwardTree.getUnreachableNodes());
+		unreversible.andNot(graph.getCoReachable(ts.getInitialState()));
+
+		unreversibleStates = new LinkedHashSet<>(graph.getNodes(unreversible));
 	}
 
 	/**
@@ -23,7 +23,7 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 
-import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.extension.ExtensionKey;
 import uniol.apt.adt.extension.ExtensionProperty;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
@@ -41,7 +41,7 @@ public class LimitedUnfolding  {
 	private LimitedUnfolding() {
 	}
 
-	static final private String NEW_STATE_KEY = "NEW_STATE";
+	static final private ExtensionKey<State> NEW_STATE_KEY = new ExtensionKey<>("NEW_STATE", State.class);
 	static final public String ORIGINAL_STATE_KEY = "ORIGINAL_STATE";
 
 	// A state of the depth-first search
@@ -119,12 +119,9 @@ public class LimitedUnfolding  {
 	}
 
 	static private State getNewState(State state) {
-		try {
-			return (State) state.getExtension(NEW_STATE_KEY);
-		} catch (StructureException e) {
-			// No such extension
+		if (!state.hasExtension(NEW_STATE_KEY))
 			return null;
-		}
+		return state.getExtension(NEW_STATE_KEY);
 	}
 }
 
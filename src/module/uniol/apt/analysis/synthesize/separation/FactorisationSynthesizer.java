@@ -35,6 +35,7 @@ import uniol.apt.analysis.synthesize.MissingLocationException;
 import uniol.apt.analysis.synthesize.PNProperties;
 import uniol.apt.analysis.synthesize.Region;
 import uniol.apt.analysis.synthesize.RegionUtility;
+import uniol.apt.util.Metrics;
 
 /**
  * Helper used by {@link SeparationUtility} to handle factorisable inputs. If the given input can be factored, then this
@@ -43,6 +44,8 @@ import uniol.apt.analysis.synthesize.RegionUtility;
  * @author Uli Schlachter
  */
 class FactorisationSynthesizer {
+	static private final Metrics.Timer FACTORISATION_TIMER = Metrics.getTimer("synthesis.factorisation");
+
 	static public interface SynthesizerFactory {
 		public Synthesizer create(RegionUtility utility, PNProperties properties,
 				boolean onlyEventSeparation) throws MissingLocationException;
@@ -88,11 +91,14 @@ class FactorisationSynthesizer {
 	public Synthesizer createSynthesizer(RegionUtility utility, PNProperties properties,
 			boolean onlyEventSeparation) throws MissingLocationException {
 		Set<TransitionSystem> factors;
+		long start = FACTORISATION_TIMER.start();
 		try {
 			factors = new SynthesisFactorisation().factorize(utility.getTransitionSystem());
 		} catch (NonDeterministicException e) {
 			// Definitely not PN-synthesisable; might be factorisable, who knows?
 			return new NonDeterministicSynthesizer(e);
+		} finally {
+			FACTORISATION_TIMER.stop(start);
 		}
 
 		if (factors.size() <= 1)
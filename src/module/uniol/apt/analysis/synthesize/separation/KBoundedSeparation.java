@@ -20,29 +20,27 @@
 package uniol.apt.analysis.synthesize.separation;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.collections4.Bag;
-import org.apache.commons.collections4.bag.HashBag;
-
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.Event;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.connectivity.IndexedGraph;
 import uniol.apt.analysis.synthesize.PNProperties;
 import uniol.apt.analysis.synthesize.Region;
 import uniol.apt.analysis.synthesize.RegionUtility;
 import uniol.apt.analysis.totallyreachable.TotallyReachable;
 import uniol.apt.util.MathTools;
-import uniol.apt.util.Pair;
+import uniol.apt.util.SharedPool;
+import uniol.apt.util.interrupt.InterruptToken;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 import static uniol.apt.util.DebugUtil.debug;
@@ -57,10 +55,24 @@ import static uniol.apt.util.DebugUtil.debugFormat;
  * @author Uli Schlachter
  */
 class KBoundedSeparation implements Separation {
+	// The minimum number of states for which regions are generated with multiple threads
+	static private final int PARALLEL_THRESHOLD = 64;
+
 	private final RegionUtility utility;
 	private final Set<Region> regions = new HashSet<>();
 	private final boolean pure;
 
+	// The states and events of the transition system and its arcs in the order of ts.getEdges(). Arcs refer to
+	// states and events by their index.
+	private final IndexedGraph<State> graph;
+	private final int initialState;
+	private final List<Event> events;
+	private final int[] arcSources;
+	private final int[] arcTargets;
+	private final int[] arcEvents;
+	// For each event, the indices of the arcs with this event
+	private final int[][] eventArcs;
+
 	/**
 	 * package-visible constructor used by tests
 	 */
@@ -68,6 +80,14 @@ class KBoundedSeparation implements Separation {
 		this(new RegionUtility(ts), properties, new String[0]);
 	}
 
+	/**
+	 * package-visible constructor used by tests
+	 */
+	KBoundedSeparation(TransitionSystem ts, PNProperties properties, int threads)
+			throws UnsupportedPNPropertiesException {
+		this(new RegionUtility(ts), properties, new String[0], threads);
+	}
+
 	/**
 	 * Construct a new instance for solving separation problems.
 	 * @param utility The region utility to use.
@@ -77,6 +97,12 @@ class KBoundedSeparation implements Separation {
 	 */
 	public KBoundedSeparation(RegionUtility utility, PNProperties properties,
 			String[] locationMap) throws UnsupportedPNPropertiesException {
+		this(utility, properties, locationMap, 0);
+	}
+
+	// The number of threads to use or 0 to decide based on the size of the transition system
+	private KBoundedSeparation(RegionUtility utility, PNProperties properties,
+			String[] locationMap, int threads) throws UnsupportedPNPropertiesException {
 		this.utility = utility;
 		this.pure = properties.isPure();
 
@@ -90,6 +116,10 @@ class KBoundedSeparation implements Separation {
 		if (!supported.containsAll(properties))
 			throw new UnsupportedPNPropertiesException();
 
+		// Multisets store counts up to k + 1 as a short
+		if (properties.getKForKBounded() >= Short.MAX_VALUE)
+			throw new UnsupportedPNPropertiesException();
+
 		// We do not support locations, so no locations may be specified
 		if (Collections.frequency(Arrays.asList(locationMap), null) != locationMap.length)
 			throw new UnsupportedPNPropertiesException();
@@ -98,18 +128,45 @@ class KBoundedSeparation implements Separation {
 		TransitionSystem ts = utility.getTransitionSystem();
 		if (!new TotallyReachable(ts).isTotallyReachable())
 			throw new UnsupportedPNPropertiesException();
-		Set<Event> events = new HashSet<>();
+		Set<Event> arcEventSet = new HashSet<>();
 		for (Arc arc : ts.getEdges())
-			events.add(arc.getEvent());
-		if (!events.equals(ts.getAlphabetEvents()))
+			arcEventSet.add(arc.getEvent());
+		if (!arcEventSet.equals(ts.getAlphabetEvents()))
 			throw new UnsupportedPNPropertiesException();
 
+		// Index the transition system
+		graph = IndexedGraph.of(ts);
+		initialState = graph.getIndex(ts.getInitialState());
+		events = new ArrayList<>(ts.getAlphabetEvents());
+		Map<Event, Integer> eventIndices = new HashMap<>();
+		for (Event event : events)
+			eventIndices.put(event, eventIndices.size());
+		List<Arc> arcs = new ArrayList<>(ts.getEdges());
+		arcSources = new int[arcs.size()];
+		arcTargets = new int[arcs.size()];
+		arcEvents = new int[arcs.size()];
+		int[] arcsPerEvent = new int[events.size()];
+		for (int i = 0; i < arcs.size(); i++) {
+			arcSources[i] = graph.getIndex(arcs.get(i).getSource());
+			arcTargets[i] = graph.getIndex(arcs.get(i).getTarget());
+			arcEvents[i] = eventIndices.get(arcs.get(i).getEvent());
+			arcsPerEvent[arcEvents[i]]++;
+		}
+		eventArcs = new int[events.size()][];
+		for (int event = 0; event < events.size(); event++)
+			eventArcs[event] = new int[arcsPerEvent[event]];
+		Arrays.fill(arcsPerEvent, 0);
+		for (int i = 0; i < arcs.size(); i++)
+			eventArcs[arcEvents[i]][arcsPerEvent[arcEvents[i]]++] = i;
+
 		// Ok, we can do it. Now do it.
 		if (properties.getKForKBounded() == 0)
 			// There are no 0-bounded regions that solve any kind of separation problem.
 			// (Except if the alphabet has events that do not occur on any arc, which is not supported)
 			return;
-		generateAllRegions(properties.getKForKBounded());
+		if (threads <= 0)
+			threads = graph.size() >= PARALLEL_THRESHOLD ? SharedPool.getParallelism() : 1;
+		generateAllRegions(properties.getKForKBounded(), threads);
 	}
 
 	/* package-visible getter used by tests */
@@ -117,26 +174,129 @@ class KBoundedSeparation implements Separation {
 		return Collections.unmodifiableSet(regions);
 	}
 
+	/**
+	 * A multiset of states. The multiplicity of each state is stored at the index of the state. Multiplicities
+	 * above k are never explored, so they are cut off at k + 1.
+	 */
+	static private final class Multiset {
+		private final short[] counts;
+		private final int hash;
+
+		private Multiset(short[] counts) {
+			this.counts = counts;
+			this.hash = Arrays.hashCode(counts);
+		}
+
+		private int getCount(int state) {
+			return counts[state];
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Multiset))
+				return false;
+			Multiset other = (Multiset) o;
+			return hash == other.hash && Arrays.equals(counts, other.counts);
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(counts);
+		}
+	}
+
+	/**
+	 * A set of multisets which is split into stripes that are locked separately, so that threads adding
+	 * multisets rarely wait for each other.
+	 */
+	static private final class StripedSet {
+		private final List<Set<Multiset>> stripes = new ArrayList<>();
+
+		private StripedSet(int numStripes) {
+			for (int i = 0; i < numStripes; i++)
+				stripes.add(new HashSet<Multiset>());
+		}
+
+		private boolean add(Multiset multiset) {
+			int hash = multiset.hashCode();
+			hash ^= hash >>> 16;
+			Set<Multiset> stripe = stripes.get((hash & Integer.MAX_VALUE) % stripes.size());
+			synchronized (stripe) {
+				return stripe.add(multiset);
+			}
+		}
+	}
+
 	// Generate the all k-bounded Regions of the input.
-	private void generateAllRegions(int k) {
+	private void generateAllRegions(int k, int threads) {
 		assert k >= 1;
 
-		Set<Bag<State>> known = new HashSet<>();
-		Deque<Bag<State>> todo = new LinkedList<>();
-		addExcitationAndSwitchingRegions(known);
-		todo.addAll(known);
+		StripedSet known = new StripedSet(threads * 16);
+		List<Multiset> found = Collections.synchronizedList(new ArrayList<Multiset>());
+		List<Multiset> todo = new ArrayList<>();
+		for (Multiset r : getExcitationAndSwitchingRegions())
+			if (known.add(r))
+				todo.add(r);
 
+		// The multisets are examined level by level. All multisets of a level can be examined concurrently.
 		while (!todo.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			Bag<State> r = todo.removeFirst();
+			if (threads == 1 || todo.size() < 2 * threads)
+				todo = examine(todo, k, known, found, InterrupterRegistry.getCurrentThreadToken());
+			else
+				todo = examineInParallel(threads, todo, k, known, found);
+		}
+
+		for (Multiset r : found)
+			regions.add(convertToRegion(r));
+		debugFormat("Found the following regions: %s", regions);
+	}
+
+	private List<Multiset> examineInParallel(int threads, final List<Multiset> todo, final int k,
+			final StripedSet known, final List<Multiset> found) {
+		final int chunkSize = (todo.size() + 4 * threads - 1) / (4 * threads);
+		int chunks = (todo.size() + chunkSize - 1) / chunkSize;
+		// The results are collected by chunk, so that the order of the next level does not depend on timing
+		final List<List<Multiset>> results = new ArrayList<>();
+		for (int i = 0; i < chunks; i++)
+			results.add(null);
+		SharedPool.run(chunks, threads, new SharedPool.Job() {
+			@Override
+			public void run(int index, InterruptToken interrupt) {
+				int begin = index * chunkSize;
+				List<Multiset> chunk = todo.subList(begin, Math.min(begin + chunkSize, todo.size()));
+				List<Multiset> next = examine(chunk, k, known, found, interrupt);
+				synchronized (results) {
+					results.set(index, next);
+				}
+			}
+		});
+
+		List<Multiset> next = new ArrayList<>();
+		for (List<Multiset> result : results)
+			next.addAll(result);
+		return next;
+	}
+
+	// Examine the given multisets. Regions are added to found and the new multisets that should be examined next
+	// are returned.
+	private List<Multiset> examine(List<Multiset> todo, int k, StripedSet known, List<Multiset> found,
+			InterruptToken interrupt) {
+		List<Multiset> next = new ArrayList<>();
+		for (Multiset r : todo) {
+			interrupt.throwIfInterruptRequested();
 
 			debug();
 			debugFormat("Examining %s", r);
 
-			Pair<Event, Integer> event = findEventWithNonConstantGradient(r);
+			int[] event = findEventWithNonConstantGradient(r);
 			if (event == null) {
 				debug("It is a region!");
-				regions.add(convertToRegion(r));
+				found.add(r);
 				continue;
 			}
 
@@ -144,154 +304,152 @@ class KBoundedSeparation implements Separation {
 			// To do this, we either want to go towards a region with gradient(event) <= g or
 			// gradient(event) > g. These two cases follow.
 
-			Bag<State> r1 = expandBelowOrEqual(r, event.getFirst(), event.getSecond());
+			Multiset r1 = expandBelowOrEqual(r, event[0], event[1], k);
 			debugFormat("for gradient(%s) <= %d, new result is %s",
-					event.getFirst(), event.getSecond(), r1);
+					events.get(event[0]), event[1], r1);
 			if (shouldExplore(r1, k) && known.add(r1))
-				todo.add(r1);
+				next.add(r1);
 			else
 				debug("...which should not be explored");
 
-			Bag<State> r2 = expandAboveOrEqual(r, event.getFirst(), event.getSecond() + 1);
+			Multiset r2 = expandAboveOrEqual(r, event[0], event[1] + 1, k);
 			debugFormat("for gradient(%s) >= %d, new result is %s",
-					event.getFirst(), event.getSecond() + 1, r2);
+					events.get(event[0]), event[1] + 1, r2);
 			if (shouldExplore(r2, k) && known.add(r2))
-				todo.add(r2);
+				next.add(r2);
 			else
 				debug("...which should not be explored");
 		}
-
-		debugFormat("Found the following regions: %s", regions);
+		return next;
 	}
 
 	// See expandBelowOrEqual() and expandAboveOrEqual()
-	private Bag<State> expand(Bag<State> input, Event event, int g, boolean forward) {
-		TransitionSystem ts = utility.getTransitionSystem();
-		Bag<State> result = new HashBag<State>();
-
-		for (State state : ts.getNodes()) {
-			int increment = 0;
-			for (Arc arc : forward ? state.getPostsetEdges() : state.getPresetEdges()) {
-				if (arc.getEvent().equals(event)) {
-					int value = getGradient(input, arc) - g;
-					if (!forward)
-						value = -value;
-					if (value > increment)
-						increment = value;
-				}
+	private Multiset expand(Multiset input, int event, int g, boolean forward, int k) {
+		short[] result = input.counts.clone();
+
+		// Each state is increased by the largest amount required by one of its arcs with the event
+		for (int arc : eventArcs[event]) {
+			int value = getGradient(input, arc) - g;
+			int state;
+			if (forward) {
+				state = arcSources[arc];
+			} else {
+				value = -value;
+				state = arcTargets[arc];
 			}
-			result.add(state, input.getCount(state) + increment);
+			int count = Math.min(input.getCount(state) + value, k + 1);
+			if (count > result[state])
+				result[state] = (short) count;
 		}
 
-		return result;
+		return new Multiset(result);
 	}
 
 	// Expand the given multiset so that the gradient of event is "more region-like" and will be <= g
-	private Bag<State> expandBelowOrEqual(Bag<State> input, Event event, int g) {
-		return expand(input, event, g, true);
+	private Multiset expandBelowOrEqual(Multiset input, int event, int g, int k) {
+		return expand(input, event, g, true, k);
 	}
 
 	// Expand the given multiset so that the gradient of event is "more region-like" and will be >= g
-	private Bag<State> expandAboveOrEqual(Bag<State> input, Event event, int g) {
-		return expand(input, event, g, false);
+	private Multiset expandAboveOrEqual(Multiset input, int event, int g, int k) {
+		return expand(input, event, g, false, k);
 	}
 
 	/**
-	 * Add the excitation and switching regions of each event to the given collection.
+	 * Get the excitation and switching regions of each event.
 	 * The excitation region of an event e is the (multi)set of states in which it is enabled. Analogously, the
 	 * switching region is the (multi)set of states reached by some arc with label e.
 	 */
-	private void addExcitationAndSwitchingRegions(Collection<Bag<State>> result) {
-		TransitionSystem ts = utility.getTransitionSystem();
-		for (Event event : ts.getAlphabetEvents()) {
-			Set<State> excitation = new HashSet<>();
-			Set<State> switching = new HashSet<>();
-
-			for (Arc arc : ts.getEdges()) {
-				if (arc.getEvent().equals(event)) {
-					excitation.add(arc.getSource());
-					switching.add(arc.getTarget());
-				}
+	private List<Multiset> getExcitationAndSwitchingRegions() {
+		List<Multiset> result = new ArrayList<>();
+		for (int event = 0; event < events.size(); event++) {
+			short[] excitation = new short[graph.size()];
+			short[] switching = new short[graph.size()];
+
+			for (int arc : eventArcs[event]) {
+				excitation[arcSources[arc]] = 1;
+				switching[arcTargets[arc]] = 1;
 			}
 
-			debugFormat("For event %s, excitation=%s and switching=%s", event, excitation, switching);
+			debugFormat("For event %s, excitation=%s and switching=%s", events.get(event),
+					Arrays.toString(excitation), Arrays.toString(switching));
 
-			if (!excitation.isEmpty())
-				result.add(new HashBag<>(excitation));
-			if (!switching.isEmpty())
-				result.add(new HashBag<>(switching));
+			// The constructor made sure that every event occurs on some arc, so neither is empty
+			result.add(new Multiset(excitation));
+			result.add(new Multiset(switching));
 		}
+		return result;
 	}
 
-	// Check if r is a region and if not return information on why not
-	private Pair<Event, Integer> findEventWithNonConstantGradient(Bag<State> r) {
-		TransitionSystem ts = utility.getTransitionSystem();
-		Map<Event, Integer> gradients = new HashMap<>();
-		Event nonConstantGradientEvent = null;
+	// Check if r is a region and if not return the index of an event with non-constant gradient and the average of
+	// its gradients
+	private int[] findEventWithNonConstantGradient(Multiset r) {
+		int[] gradients = new int[events.size()];
+		boolean[] haveGradient = new boolean[events.size()];
+		int nonConstantGradientEvent = -1;
 		int minGradient = Integer.MAX_VALUE;
 		int maxGradient = Integer.MIN_VALUE;
 
-		for (Arc arc : ts.getEdges()) {
-			if (nonConstantGradientEvent == null) {
+		for (int arc = 0; arc < arcEvents.length; arc++) {
+			int event = arcEvents[arc];
+			if (nonConstantGradientEvent == -1) {
 				int gradient = getGradient(r, arc);
-				Integer old = gradients.put(arc.getEvent(), gradient);
-				if (old != null && old != gradient) {
-					nonConstantGradientEvent = arc.getEvent();
-					minGradient = Math.min(gradient, old);
-					maxGradient = Math.max(gradient, old);
+				if (haveGradient[event] && gradients[event] != gradient) {
+					nonConstantGradientEvent = event;
+					minGradient = Math.min(gradient, gradients[event]);
+					maxGradient = Math.max(gradient, gradients[event]);
 				}
-			} else if (nonConstantGradientEvent.equals(arc.getEvent())) {
+				haveGradient[event] = true;
+				gradients[event] = gradient;
+			} else if (nonConstantGradientEvent == event) {
 				int gradient = getGradient(r, arc);
 				minGradient = Math.min(minGradient, gradient);
 				maxGradient = Math.max(maxGradient, gradient);
 			}
 		}
 
-		if (nonConstantGradientEvent == null)
+		if (nonConstantGradientEvent == -1)
 			return null;
 
 		// Yup, this should round down
 		int average = MathTools.meanTowardsMinusInfinity(minGradient, maxGradient);
 		debugFormat("For %s: average %d, max gradient is %d and min gradient is %d for multiset %s",
-				nonConstantGradientEvent, average, maxGradient, minGradient, r);
-		return new Pair<Event, Integer>(nonConstantGradientEvent, average);
+				events.get(nonConstantGradientEvent), average, maxGradient, minGradient, r);
+		return new int[] { nonConstantGradientEvent, average };
 	}
 
-	private int getGradient(Bag<State> r, Arc arc) {
-		return r.getCount(arc.getTarget()) - r.getCount(arc.getSource());
+	private int getGradient(Multiset r, int arc) {
+		return r.getCount(arcTargets[arc]) - r.getCount(arcSources[arc]);
 	}
 
-	private boolean shouldExplore(Bag<State> r, int k) {
-		// Don't continue if no state has cardinality zero, because the result won't be a minimal region
-		if (r.containsAll(utility.getTransitionSystem().getNodes()))
-			return false;
-
-		// Don't continue if some state has cardinality higher than k
-		for (State state : r.uniqueSet())
-			if (r.getCount(state) > k)
+	private boolean shouldExplore(Multiset r, int k) {
+		boolean haveZero = false;
+		for (short count : r.counts) {
+			// Don't continue if some state has cardinality higher than k
+			if (count > k)
 				return false;
+			if (count == 0)
+				haveZero = true;
+		}
 
-		return true;
+		// Don't continue if no state has cardinality zero, because the result won't be a minimal region
+		return haveZero;
 	}
 
-	private Region convertToRegion(Bag<State> r) {
-		TransitionSystem ts = utility.getTransitionSystem();
+	private Region convertToRegion(Multiset r) {
 		Region.Builder builder = new Region.Builder(utility);
 
-		for (Event event : ts.getAlphabetEvents()) {
-			Arc representativeArc = null;
-			int minEnabledValue = Integer.MAX_VALUE;
-			for (Arc arc : ts.getEdges()) {
-				if (arc.getEvent().equals(event)) {
-					representativeArc = arc;
-					minEnabledValue = Math.min(minEnabledValue, r.getCount(arc.getSource()));
-				}
-			}
+		for (int event = 0; event < events.size(); event++) {
+			int[] arcs = eventArcs[event];
 
 			// TS should not have an event which is not the label of any arc
-			assert representativeArc != null;
+			assert arcs.length > 0;
+
+			int minEnabledValue = Integer.MAX_VALUE;
+			for (int arc : arcs)
+				minEnabledValue = Math.min(minEnabledValue, r.getCount(arcSources[arc]));
 
-			int gradient = getGradient(r, representativeArc);
+			int gradient = getGradient(r, arcs[arcs.length - 1]);
 			int forward = 0;
 			int backward = 0;
 			if (!pure) {
@@ -304,11 +462,12 @@ class KBoundedSeparation implements Separation {
 					backward = -gradient;
 			}
 
-			builder.addWeightOn(event.getLabel(), BigInteger.valueOf(-backward));
-			builder.addWeightOn(event.getLabel(), BigInteger.valueOf(forward));
+			String label = events.get(event).getLabel();
+			builder.addWeightOn(label, BigInteger.valueOf(-backward));
+			builder.addWeightOn(label, BigInteger.valueOf(forward));
 		}
 
-		int initial = r.getCount(utility.getTransitionSystem().getInitialState());
+		int initial = r.getCount(initialState);
 		Region region = builder.withInitialMarking(BigInteger.valueOf(initial));
 		debugFormat("Region %s corresponds to %s", region, r);
 		return region;
@@ -32,6 +32,7 @@ import uniol.apt.analysis.synthesize.Region;
 import uniol.apt.analysis.synthesize.SynthesizePN;
 import uniol.apt.util.DifferentPairsIterable;
 import uniol.apt.util.EquivalenceRelation;
+import uniol.apt.util.Metrics;
 import uniol.apt.util.Pair;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
@@ -43,6 +44,14 @@ import static uniol.apt.util.DebugUtil.debugFormat;
  * @author Uli Schlachter
  */
 public class SeparationSynthesizer implements Synthesizer {
+	static private final Metrics.Timer EVENT_STATE_SEPARATION_TIMER
+		= Metrics.getTimer("synthesis.event_state_separation");
+	static private final Metrics.Timer STATE_SEPARATION_TIMER = Metrics.getTimer("synthesis.state_separation");
+	static private final Metrics.Timer MINIMIZATION_TIMER = Metrics.getTimer("synthesis.region_minimization");
+	static private final Metrics.Counter CALCULATED_REGIONS = Metrics.getCounter("synthesis.calculated_regions");
+	static private final Metrics.Counter REUSED_REGIONS = Metrics.getCounter("synthesis.reused_regions");
+	static private final Metrics.Counter FAILED_PROBLEMS = Metrics.getCounter("synthesis.failed_problems");
+
 	private final Collection<Region> separatingRegions;
 	private final Map<String, Set<State>> unsolvableESSP;
 	private final Collection<Set<State>> unsolvableSSP;
@@ -64,11 +73,28 @@ public class SeparationSynthesizer implements Synthesizer {
 		Map<String, Set<State>> essp = new HashMap<>();
 		EquivalenceRelation<State> ssp = new EquivalenceRelation<>();
 
-		solveEventStateSeparation(ts, separation, quickFail, regions, essp);
-		if (!onlyEventSeparation && (!quickFail || essp.isEmpty()))
-			solveStateSeparation(ts, separation, quickFail, regions, ssp);
-		if (!quickFail || (essp.isEmpty() && ssp.isEmpty()))
-			minimizeRegions(ts, regions, onlyEventSeparation);
+		long start = EVENT_STATE_SEPARATION_TIMER.start();
+		try {
+			solveEventStateSeparation(ts, separation, quickFail, regions, essp);
+		} finally {
+			EVENT_STATE_SEPARATION_TIMER.stop(start);
+		}
+		if (!onlyEventSeparation && (!quickFail || essp.isEmpty())) {
+			start = STATE_SEPARATION_TIMER.start();
+			try {
+				solveStateSeparation(ts, separation, quickFail, regions, ssp);
+			} finally {
+				STATE_SEPARATION_TIMER.stop(start);
+			}
+		}
+		if (!quickFail || (essp.isEmpty() && ssp.isEmpty())) {
+			start = MINIMIZATION_TIMER.start();
+			try {
+				minimizeRegions(ts, regions, onlyEventSeparation);
+			} finally {
+				MINIMIZATION_TIMER.stop(start);
+			}
+		}
 
 		this.separatingRegions = Collections.unmodifiableSet(regions);
 		this.unsolvableESSP = Collections.unmodifiableMap(essp);
@@ -95,6 +121,7 @@ public class SeparationSynthesizer implements Synthesizer {
 					}
 				if (r != null) {
 					debug("Found region ", r);
+					REUSED_REGIONS.increment();
 					continue;
 				}
 
@@ -107,10 +134,12 @@ public class SeparationSynthesizer implements Synthesizer {
 					}
 					set.add(state);
 					debug("Failure!");
+					FAILED_PROBLEMS.increment();
 					if (quickFail)
 						return;
 				} else {
 					debug("Calculated region ", r);
+					CALCULATED_REGIONS.increment();
 					regions.add(r);
 				}
 			}
@@ -136,6 +165,7 @@ public class SeparationSynthesizer implements Synthesizer {
 				}
 			if (r != null) {
 				debug("Found region ", r);
+				REUSED_REGIONS.increment();
 				continue;
 			}
 
@@ -143,10 +173,12 @@ public class SeparationSynthesizer implements Synthesizer {
 			if (r == null) {
 				failedStateSeparationRelation.joinClasses(state, otherState);
 				debug("Failure!");
+				FAILED_PROBLEMS.increment();
 				if (quickFail)
 					return;
 			} else {
 				debug("Calculated region ", r);
+				CALCULATED_REGIONS.increment();
 				regions.add(r);
 			}
 		}
@@ -22,7 +22,6 @@ package uniol.apt.check;
 import java.util.HashSet;
 import java.util.Set;
 import uniol.apt.adt.pn.PetriNet;
-import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.bounded.Bounded;
 import uniol.apt.analysis.exception.PreconditionFailedException;
 import uniol.apt.analysis.exception.UnboundedException;
@@ -338,16 +337,11 @@ public class CheckAttributes {
 	 * @return bool
 	 */
 	private boolean checkStronglyLive() {
-		boolean boolLive = true;
-		for (Transition t : this.petriNet.getTransitions()) {
-			try {
-				boolLive &= Live.checkStronglyLive(this.petriNet, t);
-			} catch (UnboundedException e) {
-				return false;
-			}
+		try {
+			return Live.findNonStronglyLiveTransition(this.petriNet) == null;
+		} catch (UnboundedException e) {
+			return false;
 		}
-
-		return boolLive;
 	}
 
 	/**
@@ -29,6 +29,7 @@ import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
 
 /**
  * This class implements an (experimental) petri net generator, inspired by the
@@ -149,6 +150,8 @@ public class SmartChanceGenerator {
 	 */
 	protected void reset() {
 		this.net = new PetriNet();
+		// The net is edited and checked again in every step
+		CoverabilityGraph.keepFiringsAcrossChanges(this.net);
 		this.history = new Stack<>();
 
 		this.lastScore = 0;
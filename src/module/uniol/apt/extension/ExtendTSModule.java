@@ -70,6 +70,8 @@ public class ExtendTSModule extends AbstractModule implements Module {
 		inputSpec.addParameter("mode", ExtendMode.class, "The mode (next, next_valid, next_minimal_valid)");
 		// TODO: Maybe use File.class and create a transformation
 		inputSpec.addParameter("state_file", String.class, "The file to load/save the state from/to");
+		inputSpec.addOptionalParameterWithDefault("threads", Integer.class, 1, "1",
+				"The number of threads that check candidate extensions");
 	}
 
 	@Override
@@ -86,6 +88,9 @@ public class ExtendTSModule extends AbstractModule implements Module {
 		int g = input.getParameter("g", Integer.class);
 		ExtendMode mode = input.getParameter("mode", ExtendMode.class);
 		String stateFileName = input.getParameter("state_file", String.class);
+		int threads = input.getParameter("threads", Integer.class);
+		if (threads <= 0)
+			throw new ModuleException("The number of threads must be positive, but is " + threads);
 
 		File stateFile = new File(stateFileName);
 
@@ -116,6 +121,7 @@ public class ExtendTSModule extends AbstractModule implements Module {
 		} else {
 			extender = new ExtendTransitionSystem(ts, g);
 		}
+		extender.setThreads(threads);
 
 		if (currentCode != null) {
 			switch (mode) {
@@ -19,39 +19,152 @@
 
 package uniol.apt.module;
 
-import java.util.ServiceLoader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.collections4.Trie;
+import org.apache.commons.collections4.trie.PatriciaTrie;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.LineIterator;
 
 /**
  * Used to register modules that are used in APT.
  *
+ * The modules are found via the index that is generated by the annotation processor for {@link AptModule}. A module
+ * is only instantiated when it is requested. Modules whose names are not known from the index and modules that are
+ * only listed for the {@link java.util.ServiceLoader} are instantiated right away.
+ *
  * @author vsp
  *
  */
 public class AptModuleRegistry extends AbstractModuleRegistry {
+	// These must be initialised before INSTANCE
+	private static final String INDEX_RESOURCE = "META-INF/uniol/apt/compiler/" + Module.class.getCanonicalName();
+	private static final String SERVICES_RESOURCE = "META-INF/services/" + Module.class.getCanonicalName();
+
 	public static final AptModuleRegistry INSTANCE = new AptModuleRegistry();
 
+	// Modules which are known from the index, but which were not instantiated yet
+	private final Trie<String, String> indexedModules = new PatriciaTrie<>();
+
 	private AptModuleRegistry() {
 		super();
-		for (Module module : ServiceLoader.load(Module.class, getClass().getClassLoader())) {
-			String moduleName = module.getClass().getCanonicalName();
-			String name = module.getName();
-			if (name == null || name.equals("")
-					|| !name.equals(name.toLowerCase())) {
-				throw new RuntimeException(String.format(
-						"Module %s reports an invalid name: %s",
-						moduleName, name));
+
+		Set<String> unnamedClasses = new HashSet<>();
+		for (String line : readResourceLines(INDEX_RESOURCE)) {
+			String[] parts = line.split(" ");
+			if (parts.length == 1) {
+				unnamedClasses.add(parts[0]);
+			} else if (parts.length == 2) {
+				String oldClass = indexedModules.get(parts[0]);
+				if (oldClass != null && !oldClass.equals(parts[1]))
+					throw new RuntimeException(String.format(
+							"Different modules claim, to have name %s:"
+							+ " %s and %s", parts[0], oldClass, parts[1]));
+				indexedModules.put(parts[0], parts[1]);
+			} else {
+				throw new RuntimeException("Invalid line in module index: " + line);
 			}
-			Module oldModule = findModule(name);
-			if (oldModule != null && !oldModule.getClass().equals(module.getClass())) {
-				throw new RuntimeException(String.format(
-						"Different modules claim, to have name %s:"
-						+ " %s and %s", name,
-						oldModule.getClass().getCanonicalName(),
-						moduleName));
+		}
+
+		// Modules that are not indexed with a name have to be loaded now
+		unnamedClasses.addAll(readResourceLines(SERVICES_RESOURCE));
+		unnamedClasses.removeAll(indexedModules.values());
+		for (String className : unnamedClasses)
+			register(instantiate(className), null);
+	}
+
+	private List<String> readResourceLines(String resource) {
+		List<String> result = new ArrayList<>();
+		ClassLoader cl = getClass().getClassLoader();
+		try {
+			Enumeration<URL> urls = cl.getResources(resource);
+			while (urls.hasMoreElements()) {
+				try (InputStream is = urls.nextElement().openStream()) {
+					LineIterator lIter = IOUtils.lineIterator(is, "UTF-8");
+					while (lIter.hasNext()) {
+						String line = lIter.next().trim();
+						if (!line.isEmpty() && !line.startsWith("#"))
+							result.add(line);
+					}
+				}
 			}
-			registerModule(module);
+		} catch (IOException ex) {
+			throw new RuntimeException("Failed to discover modules", ex);
+		}
+		return result;
+	}
+
+	private Module instantiate(String className) {
+		try {
+			Class<? extends Module> moduleClass = getClass().getClassLoader().loadClass(className)
+				.asSubclass(Module.class);
+			return moduleClass.getDeclaredConstructor().newInstance();
+		} catch (ClassCastException | ReflectiveOperationException ex) {
+			throw new RuntimeException(String.format("Could not instantiate %s", className), ex);
 		}
+	}
+
+	private void register(Module module, String expectedName) {
+		String moduleName = module.getClass().getCanonicalName();
+		String name = module.getName();
+		if (name == null || name.equals("")
+				|| !name.equals(name.toLowerCase())) {
+			throw new RuntimeException(String.format(
+					"Module %s reports an invalid name: %s",
+					moduleName, name));
+		}
+		if (expectedName != null && !expectedName.equals(name)) {
+			throw new RuntimeException(String.format(
+					"Module %s reports name %s, but is indexed as %s",
+					moduleName, name, expectedName));
+		}
+		Module oldModule = modulesEntries.get(name);
+		String oldClass = indexedModules.get(name);
+		if ((oldModule != null && !oldModule.getClass().equals(module.getClass()))
+				|| (expectedName == null && oldClass != null && !oldClass.equals(moduleName))) {
+			throw new RuntimeException(String.format(
+					"Different modules claim, to have name %s:"
+					+ " %s and %s", name,
+					oldModule != null ? oldModule.getClass().getCanonicalName() : oldClass,
+					moduleName));
+		}
+		registerModule(module);
+	}
+
+	// Instantiate the indexed modules whose names are in the given collection
+	private void instantiateIndexed(Collection<String> names) {
+		for (String name : new ArrayList<>(names)) {
+			String className = indexedModules.remove(name);
+			if (className != null)
+				register(instantiate(className), name);
+		}
+	}
+
+	@Override
+	synchronized public Module findModule(String name) {
+		instantiateIndexed(Collections.singleton(name));
+		return super.findModule(name);
+	}
+
+	@Override
+	synchronized public Collection<Module> findModulesByPrefix(String prefix) {
+		instantiateIndexed(indexedModules.prefixMap(prefix).keySet());
+		return super.findModulesByPrefix(prefix);
+	}
 
+	@Override
+	synchronized public Collection<Module> getModules() {
+		instantiateIndexed(indexedModules.keySet());
+		return super.getModules();
 	}
 }
 
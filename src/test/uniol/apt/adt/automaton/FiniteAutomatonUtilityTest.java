@@ -515,12 +515,12 @@ public class FiniteAutomatonUtilityTest {
 		FiniteAutomaton dfa1 = fromLTS(ts, Arrays.asList(ts.getNode("init")));
 		FiniteAutomaton dfa2 = fromLTS(ts, Arrays.asList(ts.getNode("a")));
 
-		// dfa1 accepts (abc)^*, dfa2 accepts (abc)^*a
+		// dfa1 accepts (abc)^*, dfa2 accepts (abc)^*a, so the empty word is only accepted by dfa1
 
 		assertThat(dfa1.getInitialState(), not(equalTo(dfa2.getInitialState())));
 
 		List<String> list = findWordDifference(dfa1, dfa2);
-		assertThat(list, anyOf(contains("a"), contains("a", "b", "c", "a")));
+		assertThat(list, is(empty()));
 	}
 
 	private void testTS(TransitionSystem ts) {
@@ -615,6 +615,50 @@ public class FiniteAutomatonUtilityTest {
 		assertThat(findWordDifference(a, b), contains("a"));
 	}
 
+	// Check that findWordDifference() agrees with findWordDifferenceViaDifferenceAutomaton()
+	private void checkWordDifference(FiniteAutomaton a, FiniteAutomaton b) {
+		List<String> word = findWordDifference(a, b);
+		List<String> expected = findWordDifferenceViaDifferenceAutomaton(a, b);
+		if (expected == null) {
+			assertThat(word, is(nullValue()));
+		} else {
+			assertThat(word, is(not(nullValue())));
+			assertThat(isWordInLanguage(a, word), is(not(isWordInLanguage(b, word))));
+			assertThat(word.size(), lessThanOrEqualTo(expected.size()));
+		}
+	}
+
+	@Test
+	public void testWordDifferenceOnTheFly() {
+		Symbol a = new Symbol("a");
+		Symbol b = new Symbol("b");
+		FiniteAutomaton autA = getAtomicLanguage(a);
+		FiniteAutomaton autB = getAtomicLanguage(b);
+		FiniteAutomaton automaton1 = kleeneStar(concatenate(autA, concatenate(autB, autA)));
+		FiniteAutomaton automaton2 = kleeneStar(concatenate(autA, optional(union(autA, autB))));
+		FiniteAutomaton automaton3 = kleeneStar(union(concatenate(autA, autB), autA));
+
+		checkWordDifference(automaton1, automaton2);
+		checkWordDifference(automaton2, automaton1);
+		checkWordDifference(automaton2, automaton3);
+		checkWordDifference(automaton1, getEmptyLanguage());
+		checkWordDifference(getEmptyLanguage(), getEmptyLanguage());
+		checkWordDifference(automaton2, minimize(automaton2));
+		checkWordDifference(automaton3, prefixClosure(automaton3));
+	}
+
+	@Test
+	public void testWordDifferenceOnTheFlyTS() {
+		FiniteAutomaton a = fromPrefixLanguageLTS(TestTSCollection.getPersistentTS());
+		FiniteAutomaton b = fromPrefixLanguageLTS(TestTSCollection.getNotTotallyReachableTS());
+		FiniteAutomaton c = fromPrefixLanguageLTS(TestTSCollection.getNonDeterministicTS());
+
+		checkWordDifference(a, b);
+		checkWordDifference(b, c);
+		checkWordDifference(a, minimize(a));
+		checkWordDifference(c, fromPrefixLanguageLTS(prefixLanguageLTS(c)));
+	}
+
 	@Test
 	public void testPrefixClosureFullLanguage() {
 		FiniteAutomaton automaton = kleeneStar(union(getAtomicLanguage(new Symbol("a")),
@@ -667,6 +711,7 @@ public class FiniteAutomatonUtilityTest {
 		// Now test some equivalence by constructing the prefix closure by hand
 		FiniteAutomaton secondPrefixClosure = abSigmaStar;
 		secondPrefixClosure = union(secondPrefixClosure, getEmptyLanguage());
+		secondPrefixClosure = union(secondPrefixClosure, getAtomicLanguage(Symbol.EPSILON));
 		secondPrefixClosure = union(secondPrefixClosure, a);
 		assertThat(languageEquivalent(prefixClosure, secondPrefixClosure), is(true));
 	}
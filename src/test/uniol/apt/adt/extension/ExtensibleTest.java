@@ -22,6 +22,12 @@ package uniol.apt.adt.extension;
 import org.testng.annotations.Test;
 
 import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -36,6 +42,8 @@ public class ExtensibleTest {
 	private final Object someObjectB = new Object();
 	private final Object someObjectC = new Object();
 	private final Object someObjectD = new Object();
+	private static final ExtensionKey<String> KEY_A = new ExtensionKey<>("a", String.class);
+	private static final ExtensionKey<String> KEY_B = new ExtensionKey<>("b", String.class);
 
 	@Test
 	public void testCopyExtensions() {
@@ -61,6 +69,139 @@ public class ExtensibleTest {
 	public void testNonExistingExtension() {
 		new Extensible().getExtension("DoesNotExist");
 	}
+
+	@Test(expectedExceptions = { StructureException.class })
+	public void testNonExistingTypedExtension() {
+		new Extensible(new ExtensionStorage()).getExtension(KEY_A);
+	}
+
+	@Test
+	public void testTypedExtensions() {
+		ExtensionStorage storage = new ExtensionStorage();
+		Extensible first = new Extensible(storage);
+		Extensible second = new Extensible(storage);
+		first.putExtension(KEY_A, "first");
+		second.putExtension(KEY_B, "second");
+
+		assertThat(first.getExtension(KEY_A), equalTo("first"));
+		assertThat(first.hasExtension(KEY_B), is(false));
+		assertThat(second.hasExtension(KEY_A), is(false));
+		assertThat(second.getExtension(KEY_B), equalTo("second"));
+
+		first.removeExtension(KEY_A);
+		assertThat(first.hasExtension(KEY_A), is(false));
+		assertThat(second.getExtension(KEY_B), equalTo("second"));
+	}
+
+	@Test
+	public void testTypedExtensionsWithoutStorage() {
+		Extensible ext = new Extensible();
+		ext.putExtension(KEY_A, "value");
+		assertThat(ext.getExtension(KEY_A), equalTo("value"));
+		assertThat(ext.getExtension("a"), equalTo((Object) "value"));
+		ext.removeExtension(KEY_A);
+		assertThat(ext.hasExtension("a"), is(false));
+	}
+
+	@Test
+	public void testStringCompatibility() {
+		Extensible ext = new Extensible(new ExtensionStorage());
+		ext.putExtension(KEY_A, "typed");
+		assertThat(ext.hasExtension("a"), is(true));
+		assertThat(ext.getExtension("a"), equalTo((Object) "typed"));
+		assertThat(ext.getExtensions(), contains(pairWith("a", (Object) "typed")));
+		assertThat(ext.getCopyExtensions(), contains(pairWith("a", (Object) "typed")));
+		assertThat(ext.getWriteToFileExtensions(), empty());
+
+		// A string-based extension replaces the typed one and vice versa
+		ext.putExtension("a", "string");
+		assertThat(ext.getExtension(KEY_A), equalTo("string"));
+		assertThat(ext.getExtensions(), contains(pairWith("a", (Object) "string")));
+		ext.putExtension(KEY_A, "typed again");
+		assertThat(ext.getExtension("a"), equalTo((Object) "typed again"));
+		assertThat(ext.getExtensions(), contains(pairWith("a", (Object) "typed again")));
+
+		ext.removeExtension("a");
+		assertThat(ext.hasExtension(KEY_A), is(false));
+		assertThat(ext.getExtensions(), empty());
+	}
+
+	@Test
+	public void testCopyTypedExtensions() {
+		TransitionSystem ts = new TransitionSystem();
+		State s0 = ts.createState("s0");
+		State s1 = ts.createState("s1");
+		s0.putExtension(KEY_A, "s0");
+		s1.putExtension(KEY_B, "s1");
+		ts.setInitialState(s0);
+
+		TransitionSystem copy = new TransitionSystem(ts);
+		assertThat(copy.getNode("s0").getExtension(KEY_A), equalTo("s0"));
+		assertThat(copy.getNode("s0").hasExtension(KEY_B), is(false));
+		assertThat(copy.getNode("s1").getExtension(KEY_B), equalTo("s1"));
+
+		// The copy has its own storage
+		copy.getNode("s0").putExtension(KEY_A, "changed");
+		assertThat(s0.getExtension(KEY_A), equalTo("s0"));
+
+		Extensible plain = new Extensible();
+		plain.copyExtensions(s1);
+		assertThat(plain.getExtension("b"), equalTo((Object) "s1"));
+	}
+
+	@Test
+	public void testClearStorageExtensions() {
+		ExtensionStorage storage = new ExtensionStorage();
+		Extensible first = new Extensible(storage);
+		Extensible second = new Extensible(storage);
+		first.putExtension(KEY_A, "first");
+		first.putExtension(KEY_B, "first");
+		second.putExtension(KEY_A, "second");
+
+		first.clearStorageExtensions();
+		assertThat(first.hasExtension(KEY_A), is(false));
+		assertThat(first.hasExtension(KEY_B), is(false));
+		assertThat(second.getExtension(KEY_A), equalTo("second"));
+	}
+
+	@Test
+	public void testRemovedStateAndArcReleaseTypedExtensions() {
+		TransitionSystem ts = new TransitionSystem();
+		State s0 = ts.createState("s0");
+		State s1 = ts.createState("s1");
+		Arc arc = ts.createArc("s0", "s1", "a");
+		s0.putExtension(KEY_A, "s0");
+		s1.putExtension(KEY_A, "s1");
+		arc.putExtension(KEY_B, "arc");
+
+		ts.removeState(s1);
+		assertThat(s1.hasExtension(KEY_A), is(false));
+		assertThat(arc.hasExtension(KEY_B), is(false));
+		assertThat(s0.getExtension(KEY_A), equalTo("s0"));
+	}
+
+	@Test
+	public void testRemovedPlaceAndFlowReleaseTypedExtensions() {
+		PetriNet pn = new PetriNet();
+		Place p = pn.createPlace("p");
+		Place q = pn.createPlace("q");
+		pn.createTransition("t");
+		Flow flow = pn.createFlow("p", "t");
+		Flow other = pn.createFlow("t", "q");
+		p.putExtension(KEY_A, "p");
+		q.putExtension(KEY_A, "q");
+		flow.putExtension(KEY_B, "flow");
+		other.putExtension(KEY_B, "other");
+
+		pn.removePlace(p);
+		assertThat(p.hasExtension(KEY_A), is(false));
+		assertThat(flow.hasExtension(KEY_B), is(false));
+		assertThat(q.getExtension(KEY_A), equalTo("q"));
+		assertThat(other.getExtension(KEY_B), equalTo("other"));
+
+		pn.removeFlow(other);
+		assertThat(other.hasExtension(KEY_B), is(false));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,112 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.pn;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.adt.matcher.Matchers.flowThatConnects;
+import static uniol.apt.adt.matcher.Matchers.nodeWithID;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.IGraphListener;
+
+/** @author agent */
+@SuppressWarnings("unchecked")
+public class PetriNetBuilderTest {
+	private static class CountingListener implements IGraphListener<PetriNet, Flow, Node> {
+		private int count = 0;
+
+		@Override
+		public boolean changeOccurred(IGraph<PetriNet, Flow, Node> graph) {
+			count++;
+			return true;
+		}
+	}
+
+	@Test
+	public void testBuild() {
+		PetriNetBuilder builder = new PetriNetBuilder("test");
+		CountingListener listener = new CountingListener();
+		builder.getPetriNet().addListener(listener);
+		Place p1 = builder.createPlace("p1");
+		Place p2 = builder.createPlace("p2");
+		Transition t = builder.createTransition("t", "a");
+		builder.createTransition("u");
+		builder.createFlow(p1, t, 2);
+		builder.createFlow("t", "p2", 1);
+		p1.setInitialToken(3);
+		assertThat(listener.count, equalTo(0));
+
+		PetriNet pn = builder.build();
+		assertThat(listener.count, equalTo(1));
+		assertThat(pn.getName(), equalTo("test"));
+		assertThat(pn.getPlaces(), containsInAnyOrder(p1, p2));
+		assertThat(pn.getTransition("t").getLabel(), equalTo("a"));
+		assertThat(pn.getTransition("u").getLabel(), equalTo("u"));
+		assertThat(pn.getEdges(), containsInAnyOrder(flowThatConnects("p1", "t"), flowThatConnects("t", "p2")));
+		assertThat(t.getPresetNodes(), contains(nodeWithID("p1")));
+		assertThat(t.getPostsetNodes(), contains(nodeWithID("p2")));
+
+		Marking marking = t.fire(pn.getInitialMarking());
+		assertThat(marking.getToken(p1).getValue(), equalTo(1L));
+		assertThat(marking.getToken(p2).getValue(), equalTo(1L));
+	}
+
+	@Test
+	public void testMarkingWhileBuilding() {
+		PetriNetBuilder builder = new PetriNetBuilder();
+		PetriNet pn = builder.getPetriNet();
+		Place p1 = builder.createPlace("p1");
+		Marking before = pn.getInitialMarking();
+		Place p2 = builder.createPlace("p2");
+		Transition t = builder.createTransition("t");
+		builder.createFlow(p2, t, 1);
+		assertThat(t.getPresetNodes(), contains(nodeWithID("p2")));
+		builder.createFlow(p1, t, 1);
+		assertThat(t.getPresetNodes(), containsInAnyOrder(nodeWithID("p1"), nodeWithID("p2")));
+
+		p2.setInitialToken(1);
+		builder.build();
+		assertThat(before.getToken(p1).getValue(), equalTo(0L));
+		assertThat(before.getToken(p2).getValue(), equalTo(0L));
+		assertThat(pn.getInitialMarking().getToken(p2).getValue(), equalTo(1L));
+		assertThat(t.isFireable(pn.getInitialMarking()), is(false));
+	}
+
+	@Test
+	public void testPlacesListAfterBuild() {
+		PetriNetBuilder builder = new PetriNetBuilder();
+		Place p1 = builder.createPlace("p1");
+		PetriNet pn = builder.build();
+		assertThat(pn.getPlacesList(), contains(p1));
+
+		// Outside of bulk loading, reading the list does not replace it
+		Place p2 = pn.createPlace("p2");
+		List<Place> list = pn.getPlacesList();
+		assertThat(list, contains(p1, p2));
+		assertThat(pn.getPlacesList(), sameInstance(list));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,140 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.ts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class DenseParikhVectorTest {
+	private final DenseParikhVector.Alphabet alphabet = new DenseParikhVector.Alphabet(Arrays.asList("a", "b"));
+
+	private DenseParikhVector pv(String... sequence) {
+		return DenseParikhVector.of(alphabet, Arrays.asList(sequence));
+	}
+
+	@Test
+	public void testAlphabet() {
+		DenseParikhVector.Alphabet alpha = new DenseParikhVector.Alphabet(Arrays.asList("x", "y", "x"));
+		assertThat(alpha.getLabels(), contains("x", "y"));
+		assertThat(alpha.indexOf("y"), equalTo(1));
+		assertThat(alpha.indexOf("z"), equalTo(-1));
+		assertThat(alpha.intern("z"), equalTo(2));
+		assertThat(alpha.getLabel(2), equalTo("z"));
+		assertThat(alpha.size(), equalTo(3));
+	}
+
+	@Test
+	public void testEmptyVector() {
+		DenseParikhVector pv = new DenseParikhVector(alphabet);
+		assertThat(pv, equalTo(pv()));
+		assertThat(pv.add(pv), equalTo(pv));
+		assertThat(pv.compare(pv), equalTo(ParikhVector.Comparison.EQUAL));
+		assertThat(pv.mutuallyDisjoint(pv), equalTo(true));
+		assertThat(pv.get("a"), equalTo(0));
+		assertThat(pv.get("unknown"), equalTo(0));
+		assertThat(pv.getSupport().isEmpty(), equalTo(true));
+		assertThat(pv.toArray(), equalTo(new int[] { 0, 0 }));
+		assertThat(pv, hasToString("{}"));
+	}
+
+	@Test
+	public void testTrailingZerosDoNotMatter() {
+		DenseParikhVector.Alphabet alpha = new DenseParikhVector.Alphabet();
+		DenseParikhVector pa = DenseParikhVector.of(alpha, Arrays.asList("a"));
+		DenseParikhVector pab = pa.add("b");
+		DenseParikhVector paFromResidual = pab.residual(DenseParikhVector.of(alpha, Arrays.asList("b")));
+
+		assertThat(paFromResidual, equalTo(pa));
+		assertThat(paFromResidual.hashCode(), equalTo(pa.hashCode()));
+		assertThat(pa.toArray(), equalTo(new int[] { 1, 0 }));
+	}
+
+	@Test
+	public void testOperations() {
+		DenseParikhVector pab = pv("a", "b");
+		DenseParikhVector pabb = pv("b", "a", "b");
+
+		assertThat(pab.add("b"), equalTo(pabb));
+		assertThat(pab.add(1), equalTo(pabb));
+		assertThat(pab.add(pv("b")), equalTo(pabb));
+		assertThat(pabb.residual(pab), equalTo(pv("b")));
+		assertThat(pab.residual(pabb), equalTo(pv()));
+		assertThat(pabb.get("b"), equalTo(2));
+		assertThat(pabb.toParikhVector(), equalTo(new ParikhVector("a", "b", "b")));
+		assertThat(pabb, hasToString("{a=1, b=2}"));
+		assertThat(DenseParikhVector.of(alphabet, new ParikhVector("b", "b", "a")), equalTo(pabb));
+	}
+
+	@Test
+	public void testCompare() {
+		assertThat(pv("a").compare(pv("a", "b")), equalTo(ParikhVector.Comparison.LESS_THAN));
+		assertThat(pv("a", "b").compare(pv("a")), equalTo(ParikhVector.Comparison.GREATER_THAN));
+		assertThat(pv("a").compare(pv("b")), equalTo(ParikhVector.Comparison.INCOMPARABLE));
+		assertThat(pv("b", "a").compare(pv("a", "b")), equalTo(ParikhVector.Comparison.EQUAL));
+		assertThat(pv("a").mutuallyDisjoint(pv("b", "b")), equalTo(true));
+		assertThat(pv("a").mutuallyDisjoint(pv("a", "b")), equalTo(false));
+		assertThat(pv("a").sameOrMutuallyDisjoint(pv("a")), equalTo(true));
+		assertThat(pv("a", "b").getSupport().cardinality(), equalTo(2));
+	}
+
+	@Test
+	public void testSameResultsAsParikhVector() {
+		DenseParikhVector.Alphabet alpha = new DenseParikhVector.Alphabet();
+		Random random = new Random(42);
+		List<List<String>> words = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			List<String> word = new ArrayList<>();
+			int length = random.nextInt(5);
+			for (int j = 0; j < length; j++)
+				word.add(String.valueOf((char) ('a' + random.nextInt(4))));
+			words.add(word);
+		}
+
+		for (List<String> word1 : words) {
+			for (List<String> word2 : words) {
+				ParikhVector pv1 = new ParikhVector(word1);
+				ParikhVector pv2 = new ParikhVector(word2);
+				DenseParikhVector dense1 = DenseParikhVector.of(alpha, word1);
+				DenseParikhVector dense2 = DenseParikhVector.of(alpha, word2);
+
+				assertThat(dense1.compare(dense2), equalTo(pv1.compare(pv2)));
+				assertThat(dense1.equals(dense2), equalTo(pv1.equals(pv2)));
+				assertThat(dense1.mutuallyDisjoint(dense2), equalTo(pv1.mutuallyDisjoint(pv2)));
+				assertThat(dense1.residual(dense2).toParikhVector(), equalTo(pv1.residual(pv2)));
+				assertThat(dense1.add(dense2).toParikhVector(), equalTo(pv1.add(pv2)));
+			}
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testDifferentAlphabets() {
+		pv("a").compare(DenseParikhVector.of(new DenseParikhVector.Alphabet(), Arrays.asList("a")));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
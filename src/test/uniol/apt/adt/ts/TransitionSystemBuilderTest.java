@@ -0,0 +1,129 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.ts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.adt.matcher.Matchers.arcThatConnectsVia;
+import static uniol.apt.adt.matcher.Matchers.nodeWithID;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.IGraph;
+import uniol.apt.adt.IGraphListener;
+
+/** @author agent */
+@SuppressWarnings("unchecked")
+public class TransitionSystemBuilderTest {
+	private static class CountingListener implements IGraphListener<TransitionSystem, Arc, State> {
+		private int count = 0;
+
+		@Override
+		public boolean changeOccurred(IGraph<TransitionSystem, Arc, State> graph) {
+			count++;
+			return true;
+		}
+	}
+
+	private static TransitionSystemBuilder getBuilder() {
+		TransitionSystemBuilder builder = new TransitionSystemBuilder("test");
+		State s0 = builder.createState("s0");
+		State s1 = builder.createState("s1");
+		State s2 = builder.createState();
+		builder.createArc(s0, s1, "a");
+		builder.createArc(s0, s2, "a");
+		builder.createArc("s1", "s2", "b");
+		builder.createArc("s2", "s0", "c");
+		builder.setInitialState(s0);
+		return builder;
+	}
+
+	@Test
+	public void testBuild() {
+		TransitionSystem ts = getBuilder().build();
+		assertThat(ts.getName(), equalTo("test"));
+		assertThat(ts.getNodes(), containsInAnyOrder(nodeWithID("s0"), nodeWithID("s1"), nodeWithID("s2")));
+		assertThat(ts.getEdges(), hasSize(4));
+		assertThat(ts.getAlphabet(), containsInAnyOrder("a", "b", "c"));
+		assertThat(ts.getInitialState(), nodeWithID("s0"));
+
+		State s0 = ts.getNode("s0");
+		assertThat(s0.getPostsetEdgesByLabel("a"), containsInAnyOrder(
+					arcThatConnectsVia("s0", "s1", "a"), arcThatConnectsVia("s0", "s2", "a")));
+		assertThat(s0.getPostsetNodes(), containsInAnyOrder(nodeWithID("s1"), nodeWithID("s2")));
+		assertThat(s0.getPresetEdgesByLabel("c"), contains(arcThatConnectsVia("s2", "s0", "c")));
+		assertThat(ts.getNode("s2").getPresetNodes(), containsInAnyOrder(nodeWithID("s0"), nodeWithID("s1")));
+	}
+
+	@Test
+	public void testQueriesWhileBuilding() {
+		TransitionSystemBuilder builder = getBuilder();
+		TransitionSystem ts = builder.getTransitionSystem();
+		State s1 = ts.getNode("s1");
+		assertThat(s1.getPresetEdgesByLabel("a"), contains(arcThatConnectsVia("s0", "s1", "a")));
+		assertThat(s1.getPostsetNodes(), contains(nodeWithID("s2")));
+
+		// The caches that were just calculated must be kept up to date
+		builder.createArc("s1", "s1", "a");
+		ts.removeArc("s0", "s1", "a");
+		assertThat(s1.getPresetEdgesByLabel("a"), contains(arcThatConnectsVia("s1", "s1", "a")));
+		assertThat(s1.getPostsetNodes(), containsInAnyOrder(nodeWithID("s1"), nodeWithID("s2")));
+
+		ts = builder.build();
+		assertThat(s1.getPresetEdgesByLabel("a"), contains(arcThatConnectsVia("s1", "s1", "a")));
+		assertThat(ts.getNode("s0").getPostsetEdgesByLabel("a"), contains(arcThatConnectsVia("s0", "s2", "a")));
+	}
+
+	@Test
+	public void testListenersInvokedOnce() {
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		CountingListener listener = new CountingListener();
+		builder.getTransitionSystem().addListener(listener);
+		builder.createState("s0");
+		builder.createState("s1");
+		builder.createArc("s0", "s1", "a");
+		assertThat(listener.count, equalTo(0));
+
+		TransitionSystem ts = builder.build();
+		assertThat(listener.count, equalTo(1));
+
+		ts.createArc("s1", "s0", "b");
+		assertThat(listener.count, equalTo(2));
+	}
+
+	@Test
+	public void testBuildWithoutChanges() {
+		TransitionSystemBuilder builder = new TransitionSystemBuilder();
+		CountingListener listener = new CountingListener();
+		builder.getTransitionSystem().addListener(listener);
+		builder.build();
+		assertThat(listener.count, equalTo(0));
+	}
+
+	@Test
+	public void testCopyConstructor() {
+		TransitionSystem ts = new TransitionSystem(getBuilder().build());
+		assertThat(ts.getNode("s0").getPostsetEdgesByLabel("a"), containsInAnyOrder(
+					arcThatConnectsVia("s0", "s1", "a"), arcThatConnectsVia("s0", "s2", "a")));
+		assertThat(ts.getNode("s2").getPresetNodes(), containsInAnyOrder(nodeWithID("s0"), nodeWithID("s1")));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
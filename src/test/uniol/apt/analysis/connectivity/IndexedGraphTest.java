@@ -0,0 +1,163 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.connectivity;
+
+import java.util.BitSet;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+
+/** @author agent */
+public class IndexedGraphTest {
+	// s0 <-> s1 -> s2 -> s3 -> s2, s1 -> s4 with a loop, s5 isolated
+	private static TransitionSystem getTS() {
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1", "s2", "s3", "s4", "s5");
+		ts.setInitialState("s0");
+		ts.createArc("s0", "s1", "a");
+		ts.createArc("s1", "s0", "a");
+		ts.createArc("s1", "s2", "a");
+		ts.createArc("s1", "s2", "b");
+		ts.createArc("s2", "s3", "a");
+		ts.createArc("s3", "s2", "a");
+		ts.createArc("s1", "s4", "a");
+		ts.createArc("s4", "s4", "a");
+		return ts;
+	}
+
+	@Test
+	public void testComponents() {
+		TransitionSystem ts = getTS();
+		IndexedGraph<State> graph = IndexedGraph.of(ts);
+		StronglyConnectedComponents<State> components = graph.getStronglyConnectedComponents();
+		assertThat(components.getNumberOfComponents(), equalTo(4));
+
+		int c01 = components.getComponent(ts.getNode("s0"));
+		int c23 = components.getComponent(ts.getNode("s2"));
+		int c4 = components.getComponent(ts.getNode("s4"));
+		int c5 = components.getComponent(ts.getNode("s5"));
+		assertThat(components.getNodes(c01), containsInAnyOrder(ts.getNode("s0"), ts.getNode("s1")));
+		assertThat(components.getNodes(c23), containsInAnyOrder(ts.getNode("s2"), ts.getNode("s3")));
+		assertThat(components.getNodes(c4), contains(ts.getNode("s4")));
+		assertThat(components.getNodes(c5), contains(ts.getNode("s5")));
+		assertThat(components.inSameComponent(ts.getNode("s3"), ts.getNode("s2")), is(true));
+		assertThat(components.inSameComponent(ts.getNode("s1"), ts.getNode("s2")), is(false));
+
+		assertThat(components.hasCycle(c01), is(true));
+		assertThat(components.hasCycle(c23), is(true));
+		assertThat(components.hasCycle(c4), is(true));
+		assertThat(components.hasCycle(c5), is(false));
+
+		// Each arc in the condensation is listed once and leads to a smaller component
+		int[] successors = components.getSuccessorComponents(c01);
+		assertThat(successors.length, equalTo(2));
+		assertThat(successors[0], not(equalTo(successors[1])));
+		for (int successor : successors) {
+			assertThat(successor, anyOf(equalTo(c23), equalTo(c4)));
+			assertThat(successor, lessThan(c01));
+		}
+		assertThat(components.isBottom(c01), is(false));
+		assertThat(components.isBottom(c23), is(true));
+		assertThat(components.isBottom(c4), is(true));
+		assertThat(components.isBottom(c5), is(true));
+
+		assertThat(components.toSets(), hasSize(4));
+		assertThat(Connectivity.getStronglyConnectedComponents(ts), hasSize(4));
+	}
+
+	@Test
+	public void testReachability() {
+		TransitionSystem ts = getTS();
+		IndexedGraph<State> graph = IndexedGraph.of(ts);
+		assertThat(graph.size(), equalTo(6));
+
+		assertThat(graph.getNodes(graph.getReachable(ts.getNode("s2"))),
+				contains(ts.getNode("s2"), ts.getNode("s3")));
+		assertThat(graph.getNodes(graph.getCoReachable(ts.getNode("s2"))),
+				contains(ts.getNode("s0"), ts.getNode("s1"), ts.getNode("s2"), ts.getNode("s3")));
+		assertThat(graph.getNodes(graph.getReachable(ts.getNode("s5"))), contains(ts.getNode("s5")));
+
+		BitSet targets = new BitSet();
+		targets.set(graph.getIndex(ts.getNode("s4")));
+		targets.set(graph.getIndex(ts.getNode("s5")));
+		assertThat(graph.getNodes(graph.getCoReachable(targets)),
+				contains(ts.getNode("s0"), ts.getNode("s1"), ts.getNode("s4"), ts.getNode("s5")));
+		// The argument is not modified
+		assertThat(targets.cardinality(), equalTo(2));
+	}
+
+	@Test
+	public void testReachabilityWithin() {
+		TransitionSystem ts = getTS();
+		IndexedGraph<State> graph = IndexedGraph.of(ts);
+		StronglyConnectedComponents<State> components = graph.getStronglyConnectedComponents();
+		BitSet within = components.getMembers(components.getComponent(ts.getNode("s0")));
+		assertThat(graph.getNodes(within), contains(ts.getNode("s0"), ts.getNode("s1")));
+
+		BitSet start = new BitSet();
+		start.set(graph.getIndex(ts.getNode("s0")));
+		assertThat(graph.getNodes(graph.getReachable(start, within)),
+				contains(ts.getNode("s0"), ts.getNode("s1")));
+
+		start.clear();
+		start.set(graph.getIndex(ts.getNode("s2")));
+		within.set(graph.getIndex(ts.getNode("s2")));
+		assertThat(graph.getNodes(graph.getCoReachable(start, within)),
+				contains(ts.getNode("s0"), ts.getNode("s1"), ts.getNode("s2")));
+	}
+
+	@Test
+	public void testWithSuccessors() {
+		TransitionSystem ts = getTS();
+		IndexedGraph<State> graph = IndexedGraph.of(ts);
+		int s0 = graph.getIndex(ts.getNode("s0"));
+		int s1 = graph.getIndex(ts.getNode("s1"));
+
+		// Only keep the arc from s0 to s1
+		int[][] successors = new int[graph.size()][0];
+		successors[s0] = new int[] { s1 };
+		IndexedGraph<State> subgraph = graph.withSuccessors(successors);
+		assertThat(subgraph.getIndex(ts.getNode("s1")), equalTo(s1));
+		assertThat(subgraph.getNodes(subgraph.getReachable(ts.getNode("s0"))),
+				contains(ts.getNode("s0"), ts.getNode("s1")));
+		assertThat(subgraph.getNodes(subgraph.getCoReachable(ts.getNode("s0"))), contains(ts.getNode("s0")));
+		assertThat(subgraph.getStronglyConnectedComponents().getNumberOfComponents(), equalTo(6));
+		assertThat(subgraph.hasLoop(graph.getIndex(ts.getNode("s4"))), is(false));
+	}
+
+	@Test
+	public void testEmptyGraph() {
+		IndexedGraph<State> graph = IndexedGraph.of(new TransitionSystem());
+		assertThat(graph.size(), equalTo(0));
+		assertThat(graph.getStronglyConnectedComponents().getNumberOfComponents(), equalTo(0));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testForeignNode() {
+		IndexedGraph.of(getTS()).getIndex(getTS().getNode("s0"));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
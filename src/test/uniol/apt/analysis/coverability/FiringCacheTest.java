@@ -0,0 +1,180 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+
+/** @author agent */
+public class FiringCacheTest {
+	private static final String GRAPH_KEY = CoverabilityGraph.class.getName();
+	private static final String CACHE_KEY = FiringCache.class.getName();
+
+	private static List<String> describe(CoverabilityGraph graph) {
+		List<String> result = new ArrayList<>();
+		for (CoverabilityGraphNode node : graph.getNodes()) {
+			List<String> edges = new ArrayList<>();
+			for (CoverabilityGraphEdge edge : node.getPostsetEdges())
+				edges.add(edge.getTransition().getId() + "->" + edge.getTarget().getMarking());
+			Collections.sort(edges);
+			result.add(node.getMarking() + " " + node.getFiringSequence() + " " + edges);
+		}
+		return result;
+	}
+
+	// Compute the coverability graph without using the cache, but keep the cache for later
+	private static List<String> describeWithoutCache(PetriNet pn) {
+		FiringCache cache = FiringCache.find(pn);
+		pn.removeExtension(GRAPH_KEY);
+		pn.removeExtension(CACHE_KEY);
+		List<String> result = describe(CoverabilityGraph.get(pn));
+		assertThat(FiringCache.find(pn), nullValue());
+		pn.removeExtension(GRAPH_KEY);
+		pn.putExtension(CACHE_KEY, cache);
+		return result;
+	}
+
+	private static <T> T pick(Random random, Collection<T> collection) {
+		List<T> list = new ArrayList<>(collection);
+		return list.get(random.nextInt(list.size()));
+	}
+
+	private static void addTransition(Random random, PetriNet pn) {
+		Transition t = pn.createTransition();
+		for (Place p : pn.getPlaces()) {
+			int kind = random.nextInt(4);
+			if (kind == 1)
+				pn.createFlow(p, t, 1 + random.nextInt(2));
+			else if (kind == 2)
+				pn.createFlow(t, p, 1 + random.nextInt(2));
+		}
+	}
+
+	private static void edit(Random random, PetriNet pn) {
+		switch (random.nextInt(6)) {
+			case 0:
+				Place p = pick(random, pn.getPlaces());
+				long tokens = p.getInitialToken().getValue() + (random.nextBoolean() ? 1 : -1);
+				p.setInitialToken(Math.max(0, tokens));
+				break;
+			case 1:
+				addTransition(random, pn);
+				break;
+			case 2:
+				if (!pn.getEdges().isEmpty()) {
+					Flow flow = pick(random, pn.getEdges());
+					flow.setWeight(1 + random.nextInt(2));
+				}
+				break;
+			case 3:
+				pn.createPlace();
+				break;
+			case 4:
+				Place place = pick(random, pn.getPlaces());
+				Transition transition = pick(random, pn.getTransitions());
+				if (!place.getPostsetNodes().contains(transition))
+					pn.createFlow(place, transition);
+				break;
+			default:
+				if (pn.getTransitions().size() > 1)
+					pn.removeTransition(pick(random, pn.getTransitions()));
+				break;
+		}
+	}
+
+	@Test
+	public void testEditsGiveSameGraph() {
+		for (int seed = 0; seed < 30; seed++) {
+			Random random = new Random(seed);
+			PetriNet pn = new PetriNet();
+			for (int i = 0; i < 3; i++)
+				pn.createPlace().setInitialToken(random.nextInt(2));
+			for (int i = 0; i < 3; i++)
+				addTransition(random, pn);
+			CoverabilityGraph.keepFiringsAcrossChanges(pn);
+
+			for (int step = 0; step < 15; step++) {
+				List<String> withCache = describe(CoverabilityGraph.get(pn));
+				assertThat("seed " + seed + " step " + step, withCache, equalTo(describeWithoutCache(pn)));
+				edit(random, pn);
+			}
+		}
+	}
+
+	@Test
+	public void testCacheKeptAcrossEdits() {
+		PetriNet pn = new PetriNet();
+		Place p = pn.createPlace();
+		Transition t1 = pn.createTransition();
+		Transition t2 = pn.createTransition();
+		pn.createFlow(p, t1);
+		pn.createFlow(t2, p);
+		pn.createFlow(p, t2);
+		p.setInitialToken(3);
+		CoverabilityGraph.keepFiringsAcrossChanges(pn);
+
+		CoverabilityGraph graph = CoverabilityGraph.get(pn);
+		assertThat(graph.calculateNodes(), equalTo(4));
+		FiringCache cache = FiringCache.find(pn);
+		assertThat(cache.size(), equalTo(4));
+
+		// The coverability graph is thrown away, but the cache stays
+		p.setInitialToken(2);
+		assertThat(CoverabilityGraph.get(pn), not(sameInstance(graph)));
+		assertThat(FiringCache.find(pn), sameInstance(cache));
+		assertThat(CoverabilityGraph.get(pn).calculateNodes(), equalTo(3));
+		assertThat(cache.size(), equalTo(4));
+
+		// Changing a weight only forgets the results for the affected transition
+		pn.getFlow(p, t1).setWeight(2);
+		assertThat(cache.size(), equalTo(4));
+		assertThat(CoverabilityGraph.get(pn).calculateNodes(), equalTo(2));
+	}
+
+	@Test
+	public void testNoCacheWithoutOptIn() {
+		PetriNet pn = new PetriNet();
+		Place p = pn.createPlace();
+		Transition t = pn.createTransition();
+		pn.createFlow(p, t);
+		p.setInitialToken(2);
+
+		assertThat(CoverabilityGraph.get(pn).calculateNodes(), equalTo(3));
+		assertThat(FiringCache.find(pn), nullValue());
+		pn.getFlow(p, t).setWeight(2);
+		assertThat(CoverabilityGraph.get(pn).calculateNodes(), equalTo(2));
+		assertThat(FiringCache.find(pn), nullValue());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,85 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class MarkingAntichainTest {
+	static private final long OMEGA = MarkingAntichain.OMEGA;
+
+	@Test
+	public void testEmpty() {
+		MarkingAntichain<String> antichain = new MarkingAntichain<>();
+		assertThat(antichain.isCovered(new long[] { 0, 0 }), is(false));
+		assertThat(antichain.values(), empty());
+	}
+
+	@Test
+	public void testCoveredMarkingIsNotAdded() {
+		MarkingAntichain<String> antichain = new MarkingAntichain<>();
+		List<String> removed = new ArrayList<>();
+		assertThat(antichain.add(new long[] { 2, 1 }, "a", removed), is(true));
+		assertThat(antichain.add(new long[] { 2, 1 }, "b", removed), is(false));
+		assertThat(antichain.add(new long[] { 1, 1 }, "c", removed), is(false));
+		assertThat(antichain.add(new long[] { 1, 2 }, "d", removed), is(true));
+		assertThat(antichain.isCovered(new long[] { 2, 0 }), is(true));
+		assertThat(antichain.isCovered(new long[] { 2, 2 }), is(false));
+		assertThat(antichain.values(), containsInAnyOrder("a", "d"));
+		assertThat(removed, empty());
+	}
+
+	@Test
+	public void testSmallerMarkingsAreRemoved() {
+		MarkingAntichain<String> antichain = new MarkingAntichain<>();
+		List<String> removed = new ArrayList<>();
+		antichain.add(new long[] { 2, 0, 0 }, "a", removed);
+		antichain.add(new long[] { 0, 2, 0 }, "b", removed);
+		antichain.add(new long[] { 0, 0, 2 }, "c", removed);
+		assertThat(antichain.add(new long[] { 3, 2, 1 }, "d", removed), is(true));
+		assertThat(removed, containsInAnyOrder("a", "b"));
+		assertThat(antichain.values(), containsInAnyOrder("c", "d"));
+		assertThat(antichain.size(), equalTo(2));
+	}
+
+	@Test
+	public void testOmega() {
+		MarkingAntichain<String> antichain = new MarkingAntichain<>();
+		List<String> removed = new ArrayList<>();
+		antichain.add(new long[] { OMEGA, 0 }, "a", removed);
+		antichain.add(new long[] { 0, OMEGA }, "b", removed);
+		assertThat(antichain.isCovered(new long[] { 1000, 0 }), is(true));
+		assertThat(antichain.isCovered(new long[] { OMEGA, 0 }), is(true));
+		assertThat(antichain.isCovered(new long[] { 1, 1 }), is(false));
+
+		assertThat(antichain.add(new long[] { OMEGA, 1 }, "c", removed), is(true));
+		assertThat(removed, contains("a"));
+		assertThat(antichain.add(new long[] { OMEGA, OMEGA }, "d", removed), is(true));
+		assertThat(antichain.values(), contains("d"));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
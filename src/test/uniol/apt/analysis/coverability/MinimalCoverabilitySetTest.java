@@ -0,0 +1,138 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.io.parser.impl.AptPNParser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+/** @author agent */
+public class MinimalCoverabilitySetTest {
+	@DataProvider(name = "nets")
+	public Object[][] nets() throws Exception {
+		List<Object[]> result = new ArrayList<>();
+		result.add(new Object[] { getEmptyNet() });
+		result.add(new Object[] { getNoTransitionOnePlaceNet() });
+		result.add(new Object[] { getOneTransitionNoPlaceNet() });
+		result.add(new Object[] { getTokenGeneratorNet() });
+		result.add(new Object[] { getDeadlockNet() });
+		result.add(new Object[] { getNonPersistentNet() });
+		result.add(new Object[] { getPersistentBiCFNet() });
+		result.add(new Object[] { getConcurrentDiamondNet() });
+		result.add(new Object[] { getConflictingDiamondNet() });
+		result.add(new Object[] { getABCLanguageNet() });
+		result.add(new Object[] { getDeadTransitionNet() });
+		result.add(new Object[] { getDeadNet() });
+		result.add(new Object[] { getMultiArcNet() });
+		result.add(new Object[] { getACBCCLoopNet() });
+		// testCoverability-net.apt has 245157 incomparable reachable markings, which is too much for the quadratic
+		// computation of the expected result below
+		for (String dir : new String[] { "nets", "nets/eb-nets/basic" })
+			for (File file : new File(dir).listFiles())
+				if (file.getName().endsWith("-net.apt") && !file.getName().equals("testCoverability-net.apt"))
+					result.add(new Object[] { new AptPNParser().parseFile(file) });
+		return result.toArray(new Object[0][]);
+	}
+
+	// The maximal markings of the full coverability graph
+	private static Set<Marking> maximalMarkingsOfCoverabilityGraph(PetriNet pn) {
+		Set<Marking> markings = new HashSet<>();
+		for (CoverabilityGraphNode node : CoverabilityGraph.get(pn).getNodes())
+			markings.add(node.getMarking());
+
+		Set<Marking> result = new HashSet<>();
+		for (Marking mark : markings) {
+			boolean maximal = true;
+			for (Marking other : markings)
+				if (!other.equals(mark) && lessOrEqual(mark, other))
+					maximal = false;
+			if (maximal)
+				result.add(mark);
+		}
+		return result;
+	}
+
+	private static boolean lessOrEqual(Marking mark1, Marking mark2) {
+		for (Place p : mark1.getNet().getPlaces())
+			if (mark1.getToken(p).compareTo(mark2.getToken(p)) > 0)
+				return false;
+		return true;
+	}
+
+	@Test(dataProvider = "nets")
+	public void testSameAsCoverabilityGraph(PetriNet pn) {
+		Collection<Marking> markings = MinimalCoverabilitySet.get(pn).getMarkings();
+		assertThat(new HashSet<>(markings), equalTo(maximalMarkingsOfCoverabilityGraph(pn)));
+		assertThat(markings, hasSize(new HashSet<>(markings).size()));
+	}
+
+	@Test(dataProvider = "nets")
+	public void testFiringSequences(PetriNet pn) {
+		for (CoverabilityTreeNode node : MinimalCoverabilitySet.get(pn).getNodes()) {
+			Marking marking = pn.getInitialMarking().fireTransitions(
+					node.getFiringSequence().toArray(new Transition[0]));
+			assertThat(lessOrEqual(marking, node.getMarking()), is(true));
+			if (!node.getMarking().hasOmega())
+				assertThat(marking, equalTo(node.getMarking()));
+		}
+	}
+
+	@Test
+	public void testTokenGenerator() {
+		PetriNet pn = getTokenGeneratorNet();
+		MinimalCoverabilitySet set = MinimalCoverabilitySet.get(pn);
+		assertThat(set.getMarkings(), hasSize(1));
+		assertThat(set.getMarkings().iterator().next().hasOmega(), is(true));
+		assertThat(MinimalCoverabilitySet.get(pn), sameInstance(set));
+	}
+
+	@Test
+	public void testPruning() {
+		// Only the initial marking is maximal, so its successors are never expanded
+		PetriNet pn = new PetriNet();
+		Place p = pn.createPlace("p");
+		p.setInitialToken(5);
+		for (int i = 0; i < 3; i++) {
+			Transition t = pn.createTransition("t" + i);
+			pn.createFlow(p, t);
+		}
+		MinimalCoverabilitySet set = MinimalCoverabilitySet.get(pn);
+		assertThat(set.getNodes(), hasSize(1));
+		assertThat(set.getMarkings(), contains(new Marking(pn, 5)));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
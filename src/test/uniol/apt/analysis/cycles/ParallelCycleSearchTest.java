@@ -0,0 +1,216 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.cycles;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.TestTSCollection;
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import static uniol.apt.io.parser.ParserTestUtils.getAptLTS;
+
+/** @author agent */
+public class ParallelCycleSearchTest {
+	// Describe a cycle by its arcs, rotated so that the description does not depend on where the cycle starts
+	private static String describe(List<State> nodes, List<Arc> edges) {
+		assertThat(edges, hasSize(nodes.size()));
+		List<String> arcs = new ArrayList<>();
+		for (int i = 0; i < edges.size(); i++) {
+			Arc arc = edges.get(i);
+			assertThat(arc.getSource(), sameInstance(nodes.get(i)));
+			assertThat(arc.getTarget(), sameInstance(nodes.get((i + 1) % nodes.size())));
+			arcs.add(arc.getSource().getId() + "-" + arc.getLabel() + "->" + arc.getTarget().getId());
+		}
+
+		String result = null;
+		for (int i = 0; i < arcs.size(); i++) {
+			Collections.rotate(arcs, 1);
+			String candidate = arcs.toString();
+			if (result == null || candidate.compareTo(result) < 0)
+				result = candidate;
+		}
+		return result;
+	}
+
+	// Enumerate all elementary cycles by trying all paths. Each cycle is found from its state with the smallest id.
+	private static List<String> getCyclesBruteForce(TransitionSystem ts) {
+		List<String> cycles = new ArrayList<>();
+		for (State start : ts.getNodes())
+			bruteForce(start, new ArrayList<State>(Collections.singletonList(start)), new ArrayList<Arc>(),
+					cycles);
+		Collections.sort(cycles);
+		return cycles;
+	}
+
+	private static void bruteForce(State start, List<State> nodes, List<Arc> edges, List<String> cycles) {
+		for (Arc arc : nodes.get(nodes.size() - 1).getPostsetEdges()) {
+			State next = arc.getTarget();
+			edges.add(arc);
+			if (next == start) {
+				cycles.add(describe(nodes, edges));
+			} else if (next.getId().compareTo(start.getId()) > 0 && !nodes.contains(next)) {
+				nodes.add(next);
+				bruteForce(start, nodes, edges, cycles);
+				nodes.remove(nodes.size() - 1);
+			}
+			edges.remove(edges.size() - 1);
+		}
+	}
+
+	private static List<String> getCycles(TransitionSystem ts) {
+		final List<String> cycles = new ArrayList<>();
+		new CycleSearch().searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+			@Override
+			public void cycleFound(List<State> nodes, List<Arc> edges) {
+				cycles.add(describe(nodes, edges));
+			}
+		});
+		Collections.sort(cycles);
+		return cycles;
+	}
+
+	private static List<String> getCyclesInParallel(TransitionSystem ts, int threads) {
+		final List<String> cycles = new ArrayList<>();
+		new ParallelCycleSearch(threads).searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+			@Override
+			public void cycleFound(List<State> nodes, List<Arc> edges) {
+				String cycle = describe(nodes, edges);
+				synchronized (cycles) {
+					cycles.add(cycle);
+				}
+			}
+		});
+		Collections.sort(cycles);
+		return cycles;
+	}
+
+	private static TransitionSystem randomTS(long seed, int states, int arcs) {
+		Random random = new Random(seed);
+		TransitionSystem ts = new TransitionSystem();
+		for (int i = 0; i < states; i++)
+			ts.createState("s" + i);
+		ts.setInitialState("s0");
+		Set<String> created = new HashSet<>();
+		for (int i = 0; i < arcs; i++) {
+			String source = "s" + random.nextInt(states);
+			String target = "s" + random.nextInt(states);
+			String label = String.valueOf((char) ('a' + random.nextInt(3)));
+			if (created.add(source + " " + target + " " + label))
+				ts.createArc(source, target, label);
+		}
+		return ts;
+	}
+
+	@DataProvider(name = "transitionSystems")
+	private Object[][] transitionSystems() {
+		List<Object[]> result = new ArrayList<>();
+		result.add(new Object[] { new TransitionSystem() });
+		result.add(new Object[] { TestTSCollection.getDetPersButNotDisjointSmallCyclesTS() });
+		result.add(new Object[] { TestTSCollection.getSingleStateWithUnreachableTS() });
+		result.add(new Object[] { TestTSCollection.getReversibleTS() });
+		for (File file : new File("nets/cycles").listFiles())
+			if (file.getName().endsWith("-aut.apt"))
+				result.add(new Object[] { getAptLTS(file.getPath()) });
+		for (int seed = 0; seed < 10; seed++)
+			result.add(new Object[] { randomTS(seed, 8, 20) });
+		return result.toArray(new Object[0][]);
+	}
+
+	@Test(dataProvider = "transitionSystems")
+	public void testAllCyclesFound(TransitionSystem ts) {
+		List<String> expected = getCyclesBruteForce(ts);
+		assertThat(getCycles(ts), equalTo(expected));
+		assertThat(getCyclesInParallel(ts, 1), equalTo(expected));
+		assertThat(getCyclesInParallel(ts, 4), equalTo(expected));
+	}
+
+	@Test
+	public void testRandomTSHasManyCycles() {
+		// Make sure that the comparison above actually compares something
+		assertThat(getCyclesBruteForce(randomTS(0, 8, 20)).size(), greaterThan(5));
+	}
+
+	@Test(timeOut = 10000)
+	public void testStop() {
+		// A complete graph on ten nodes has more than a million elementary cycles
+		TransitionSystem ts = new TransitionSystem();
+		for (int i = 0; i < 10; i++)
+			ts.createState("s" + i);
+		for (int i = 0; i < 10; i++)
+			for (int j = 0; j < 10; j++)
+				if (i != j)
+					ts.createArc("s" + i, "s" + j, "a");
+
+		final ParallelCycleSearch search = new ParallelCycleSearch(4);
+		final AtomicInteger found = new AtomicInteger();
+		search.searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+			@Override
+			public void cycleFound(List<State> nodes, List<Arc> edges) {
+				if (found.incrementAndGet() == 100)
+					search.stop();
+			}
+		});
+
+		assertThat(search.isStopped(), is(true));
+		// Each thread reports at most the cycle that it already found when stop() was called
+		assertThat(found.get(), both(greaterThanOrEqualTo(100)).and(lessThanOrEqualTo(103)));
+	}
+
+	@Test
+	public void testSmallGraphIsSearchedInCallingThread() {
+		final Thread current = Thread.currentThread();
+		final AtomicInteger found = new AtomicInteger();
+		TransitionSystem ts = randomTS(0, 8, 20);
+		new ParallelCycleSearch().searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+			@Override
+			public void cycleFound(List<State> nodes, List<Arc> edges) {
+				assertThat(Thread.currentThread(), sameInstance(current));
+				found.incrementAndGet();
+			}
+		});
+		assertThat(found.get(), greaterThan(5));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "callback failed")
+	public void testExceptionInCallback() {
+		TransitionSystem ts = randomTS(0, 8, 20);
+		new ParallelCycleSearch(4).searchCycles(ts, new CycleCallback<TransitionSystem, Arc, State>() {
+			@Override
+			public void cycleFound(List<State> nodes, List<Arc> edges) {
+				throw new IllegalStateException("callback failed");
+			}
+		});
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
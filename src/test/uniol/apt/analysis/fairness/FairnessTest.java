@@ -37,8 +37,12 @@ import static uniol.apt.TestTSCollection.*;
 
 /** @author vsp */
 public class FairnessTest {
+	protected FairnessResult checkFairness(TransitionSystem ts) {
+		return Fairness.checkFairness(ts);
+	}
+
 	@DataProvider(name = "goodLts")
-	private Object[][] createGoodTestLts() {
+	protected Object[][] createGoodTestLts() {
 		return new Object[][]{
 				{getSingleStateTS()},
 				{getSingleStateTSWithLoop()},
@@ -72,7 +76,7 @@ public class FairnessTest {
 	}
 
 	@DataProvider(name = "badLts")
-	private Object[][] createBadTestLts() {
+	protected Object[][] createBadTestLts() {
 		return new Object[][]{
 				{getNonPersistentButActivatedTS(), 2, "b", "r", sequenceWithLabels("b"), sequenceWithLabels("fail", "a"), sequenceWithLabels("a", "fail")},
 				{getImpureSynthesizablePathTS(), 0, "a", "u", sequenceWithLabels("a", "c"), sequenceWithLabels("b"), empty()}
@@ -81,14 +85,14 @@ public class FairnessTest {
 
 	@Test(dataProvider = "goodLts")
 	public void testGoodLts(TransitionSystem ts) {
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(true));
 	}
 
 	// bad LTS where the result is unique
 	@Test(dataProvider = "badLts")
 	public void testBadLts(TransitionSystem ts, int k, String t, String s, Matcher<Iterable<? extends Arc>> start, Matcher<Iterable<? extends Arc>> cycle, Matcher<Iterable<? extends Arc>> activate) {
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(false));
 		assertThat(result.k, is(k));
 		assertThat(result.unfairState, nodeWithID(s));
@@ -103,7 +107,7 @@ public class FairnessTest {
 	@Test
 	public void testDifferentCyclesTS() {
 		TransitionSystem ts = getDifferentCyclesTS();
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(false));
 		assertThat(result.k, is(0));
 		assertThat(result.unfairEvent.getLabel(), anyOf(is("a"), is("b"), is("c"), is("d")));
@@ -128,7 +132,7 @@ public class FairnessTest {
 	@Test
 	public void testDeterministicReachableReversibleNonPersistentTS() {
 		TransitionSystem ts = getDeterministicReachableReversibleNonPersistentTS();
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(false));
 		assertThat(result.k, is(0));
 		assertThat(result.unfairEvent.getLabel(), anyOf(is("a"), is("b")));
@@ -140,7 +144,7 @@ public class FairnessTest {
 	@Test
 	public void testcc1LTS() {
 		TransitionSystem ts = getcc1LTS();
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(false));
 		assertThat(result.k, is(0));
 		assertThat(result.unfairEvent.getLabel(), anyOf(is("a"), is("b"), is("c"), is("d")));
@@ -165,7 +169,7 @@ public class FairnessTest {
 	@Test
 	public void testgetNonDisjointCyclesTS() {
 		TransitionSystem ts = getNonDisjointCyclesTS();
-		FairnessResult result = Fairness.checkFairness(ts);
+		FairnessResult result = checkFairness(ts);
 		assertThat(result.isFair(), is(false));
 		assertThat(result.k, is(0));
 		assertThat(result.unfairEvent.getLabel(), anyOf(is("a"), is("b"), is("c")));
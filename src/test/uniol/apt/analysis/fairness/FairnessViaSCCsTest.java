@@ -0,0 +1,124 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.fairness;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Run all tests from {@link FairnessTest} against {@link FairnessViaSCCs} and compare both implementations.
+ * @author agent
+ */
+public class FairnessViaSCCsTest extends FairnessTest {
+	@Override
+	protected FairnessResult checkFairness(TransitionSystem ts) {
+		return FairnessViaSCCs.checkFairness(ts);
+	}
+
+	private static TransitionSystem randomTS(long seed, int states, int arcs) {
+		Random random = new Random(seed);
+		TransitionSystem ts = new TransitionSystem();
+		for (int i = 0; i < states; i++)
+			ts.createState("s" + i);
+		ts.setInitialState("s0");
+		Set<String> created = new HashSet<>();
+		for (int i = 0; i < arcs; i++) {
+			String source = "s" + random.nextInt(states);
+			String target = "s" + random.nextInt(states);
+			String label = String.valueOf((char) ('a' + random.nextInt(3)));
+			if (created.add(source + " " + target + " " + label))
+				ts.createArc(source, target, label);
+		}
+		return ts;
+	}
+
+	private static void checkWitness(FairnessResult result) {
+		List<Arc> cycle = result.cycle;
+		assertThat(cycle, not(empty()));
+		State state = result.unfairState;
+		for (Arc arc : cycle) {
+			assertThat(arc.getSource(), sameInstance(state));
+			assertThat(arc.getLabel(), not(equalTo(result.unfairEvent.getLabel())));
+			state = arc.getTarget();
+		}
+		assertThat(state, sameInstance(result.unfairState));
+
+		state = result.ts.getInitialState();
+		for (Arc arc : result.sequence) {
+			assertThat(arc.getSource(), sameInstance(state));
+			state = arc.getTarget();
+		}
+		assertThat(state, sameInstance(result.unfairState));
+
+		assertThat(result.enabling, hasSize(result.k));
+		for (Arc arc : result.enabling) {
+			assertThat(arc.getSource(), sameInstance(state));
+			state = arc.getTarget();
+		}
+		assertThat(state.getPostsetEdgesByLabel(result.unfairEvent.getLabel()), not(empty()));
+	}
+
+	@Test
+	public void testSameResultAsCycleSearch() {
+		int unfair = 0;
+		for (int seed = 0; seed < 100; seed++) {
+			TransitionSystem ts = randomTS(seed, 8, 14);
+			FairnessResult expected = Fairness.checkFairness(ts);
+			FairnessResult result = FairnessViaSCCs.checkFairness(ts);
+			assertThat(result.isFair(), equalTo(expected.isFair()));
+			if (expected.isFair())
+				continue;
+
+			unfair++;
+			assertThat(result.unfairEvent, sameInstance(expected.unfairEvent));
+			assertThat(result.k, equalTo(expected.k));
+			checkWitness(result);
+		}
+		// Make sure that both cases are tested
+		assertThat(unfair, both(greaterThan(10)).and(lessThan(90)));
+	}
+
+	@Test
+	public void testSmallestKForEvent() {
+		for (int seed = 0; seed < 100; seed++) {
+			TransitionSystem ts = randomTS(seed, 8, 14);
+			for (String label : ts.getAlphabet()) {
+				FairnessResult expected = Fairness.checkFairness(ts, -1, ts.getEvent(label));
+				FairnessResult result = FairnessViaSCCs.checkFairness(ts, -1, ts.getEvent(label));
+				assertThat(result.k, equalTo(expected.k));
+				if (!result.isFair())
+					checkWitness(result);
+			}
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
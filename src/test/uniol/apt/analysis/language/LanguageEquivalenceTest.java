@@ -0,0 +1,104 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.language;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.PetriNetOrTransitionSystem;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.exception.UnboundedException;
+
+import static uniol.apt.TestNetCollection.*;
+import static uniol.apt.TestTSCollection.*;
+
+/** @author agent */
+public class LanguageEquivalenceTest {
+	private Word check(PetriNet pn, TransitionSystem ts) throws Exception {
+		return LanguageEquivalence.checkLanguageEquivalence(new PetriNetOrTransitionSystem(pn),
+				new PetriNetOrTransitionSystem(ts));
+	}
+
+	@Test
+	public void testSameTS() {
+		assertThat(LanguageEquivalence.checkLanguageEquivalence(getcc1LTS(), getcc1LTS()), is(nullValue()));
+	}
+
+	@Test
+	public void testDifferentTS() {
+		assertThat(LanguageEquivalence.checkLanguageEquivalence(getSingleStateTS(),
+					getSingleStateSingleTransitionTS()), contains("NotA"));
+	}
+
+	@Test
+	public void testDeterministicUnrolledCycle() {
+		TransitionSystem ts1 = new TransitionSystem();
+		ts1.createStates("s0", "s1");
+		ts1.setInitialState("s0");
+		ts1.createArc("s0", "s1", "a");
+		ts1.createArc("s1", "s0", "b");
+
+		TransitionSystem ts2 = new TransitionSystem();
+		ts2.createStates("s0", "s1", "s2", "s3");
+		ts2.setInitialState("s0");
+		ts2.createArc("s0", "s1", "a");
+		ts2.createArc("s1", "s2", "b");
+		ts2.createArc("s2", "s3", "a");
+		ts2.createArc("s3", "s0", "b");
+
+		assertThat(LanguageEquivalence.checkLanguageEquivalence(ts1, ts2), is(nullValue()));
+
+		ts2.createArc("s3", "s3", "c");
+		assertThat(LanguageEquivalence.checkLanguageEquivalence(ts1, ts2), contains("a", "b", "a", "c"));
+		assertThat(LanguageEquivalence.checkLanguageEquivalence(ts2, ts1), contains("a", "b", "a", "c"));
+	}
+
+	@Test
+	public void testNetAndItsReachabilityGraph() throws Exception {
+		PetriNet pn = getConcurrentDiamondNet();
+		TransitionSystem ts = CoverabilityGraph.get(getConcurrentDiamondNet()).toReachabilityLTS();
+		assertThat(check(pn, ts), is(nullValue()));
+	}
+
+	@Test
+	public void testNetAndDifferentTS() throws Exception {
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1");
+		ts.setInitialState("s0");
+		ts.createArc("s0", "s1", "t1");
+
+		assertThat(check(getDeadlockNet(), ts), contains("t2"));
+	}
+
+	@Test
+	public void testNetAndEmptyTS() throws Exception {
+		assertThat(check(getDeadlockNet(), getSingleStateTS()), anyOf(contains("t1"), contains("t2")));
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testUnboundedNet() throws Exception {
+		check(getTokenGeneratorNet(), getSingleStateTSWithLoop());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
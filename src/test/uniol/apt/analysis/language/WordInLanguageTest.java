@@ -31,6 +31,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import org.hamcrest.Matcher;
 
 import uniol.apt.adt.INode;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
 
 import static org.hamcrest.Matchers.*;
@@ -38,6 +40,7 @@ import static uniol.apt.TestNetCollection.*;
 import static uniol.apt.adt.matcher.Matchers.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /** @author Uli Schlachter */
@@ -122,6 +125,69 @@ public class WordInLanguageTest {
 		List<Transition> seq = test.checkWord(Arrays.asList("a", "a", "b", "b", "c", "a"));
 		assertNull(seq);
 	}
+
+	@Test(timeOut = 10000)
+	public void testManyTransitionsWithSameLabel() {
+		// Ten transitions with label a which all reach the same marking. Backtracking over all of them would
+		// try 10^30 sequences before noticing that b is not enabled.
+		PetriNet pn = new PetriNet();
+		Place p = pn.createPlace("p");
+		p.setInitialToken(1);
+		for (int i = 0; i < 10; i++) {
+			Transition t = pn.createTransition("ta" + i, "a");
+			pn.createFlow(p, t);
+			pn.createFlow(t, p);
+		}
+		Transition tb = pn.createTransition("tb", "b");
+		pn.createFlow(tb, p);
+		pn.createFlow(p, tb, 2);
+
+		List<String> word = new ArrayList<>(Collections.nCopies(30, "a"));
+		WordInLanguage test = new WordInLanguage(pn);
+		assertThat(test.checkWord(word), hasSize(30));
+		word.add("b");
+		assertNull(test.checkWord(word));
+	}
+
+	@Test
+	public void testCheckWords() {
+		List<List<String>> words = new ArrayList<>();
+		words.add(Arrays.asList("a", "a", "a", "b", "b", "c"));
+		words.add(Arrays.asList("a", "a", "b", "b", "c", "a"));
+		words.add(Arrays.asList("a", "a"));
+		words.add(Arrays.<String>asList());
+		words.add(Arrays.asList("a", "x", "a"));
+		words.add(Arrays.asList("a", "a"));
+
+		PetriNet pn = getABCLanguageNet();
+		WordInLanguage test = new WordInLanguage(pn);
+		List<WordInLanguage.Result> results = test.checkWords(words);
+		assertThat(results, hasSize(words.size()));
+		for (int i = 0; i < words.size(); i++) {
+			FiringSequence expected = test.checkWord(words.get(i));
+			assertThat(results.get(i).isInLanguage(), equalTo(expected != null));
+			if (expected != null)
+				assertThat(results.get(i).getFiringSequence(), hasSize(words.get(i).size()));
+		}
+
+		checkExpectedSequence(results.get(0).getFiringSequence(), new String[][] {
+			{ "ta1", "ta1", "ta2", "tb1", "tb2", "tc" }
+		});
+		// The longest prefix of the rejected words that is in the language
+		assertThat(results.get(1).getFiringSequence(), hasSize(5));
+		checkExpectedSequence(results.get(4).getFiringSequence(), new String[][] { { "ta1" }, { "ta2" } });
+		assertThat(results.get(3).getReachedMarking(), equalTo(pn.getInitialMarking()));
+	}
+
+	@Test
+	public void testTransitionIds() {
+		WordInLanguage test = new WordInLanguage(getABCLanguageNet(), true);
+		checkExpectedSequence(test.checkWord(Arrays.asList("ta1", "ta2", "tb2")), new String[][] {
+			{ "ta1", "ta2", "tb2" }
+		});
+		assertNull(test.checkWord(Arrays.asList("ta2", "ta1")));
+		assertNull(test.checkWord(Arrays.asList("a")));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,99 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.lts;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.ts.TransitionSystem;
+
+/** @author agent */
+public class IndexedLTSTest {
+	private TransitionSystem getTS() {
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1", "s2");
+		ts.setInitialState("s0");
+		ts.createArc("s0", "s2", "b");
+		ts.createArc("s0", "s1", "b");
+		ts.createArc("s0", "s1", "a");
+		ts.createArc("s2", "s0", "c");
+		ts.createArc("s1", "s1", "a");
+		return ts;
+	}
+
+	@Test
+	public void testIndices() {
+		TransitionSystem ts = getTS();
+		IndexedLTS lts = new IndexedLTS(ts);
+		assertThat(lts.getNumberOfStates(), equalTo(3));
+		assertThat(lts.getNumberOfLabels(), equalTo(3));
+		assertThat(lts.getLabel(0), equalTo("a"));
+		assertThat(lts.getLabelIndex("c"), equalTo(2));
+		assertThat(lts.getLabelIndex("d"), equalTo(-1));
+		for (int i = 0; i < 3; i++)
+			assertThat(lts.getStateIndex(lts.getState(i)), equalTo(i));
+	}
+
+	@Test
+	public void testPostset() {
+		TransitionSystem ts = getTS();
+		IndexedLTS lts = new IndexedLTS(ts);
+		IndexedLTS.Adjacency postset = lts.getPostset();
+		int s0 = lts.getStateIndex(ts.getNode("s0"));
+		int s1 = lts.getStateIndex(ts.getNode("s1"));
+		int s2 = lts.getStateIndex(ts.getNode("s2"));
+		int a = lts.getLabelIndex("a");
+		int b = lts.getLabelIndex("b");
+		int c = lts.getLabelIndex("c");
+
+		assertThat(postset.end(s0) - postset.begin(s0), equalTo(3));
+		assertThat(postset.getLabel(postset.begin(s0)), equalTo(a));
+		assertThat(postset.upperBound(s0, b) - postset.lowerBound(s0, b), equalTo(2));
+		// Arcs with the same label are sorted by their neighbour
+		int first = postset.lowerBound(s0, b);
+		assertThat(postset.getNeighbour(first), equalTo(Math.min(s1, s2)));
+		assertThat(postset.getNeighbour(first + 1), equalTo(Math.max(s1, s2)));
+
+		assertThat(postset.hasLabel(s0, c), equalTo(false));
+		assertThat(postset.hasLabel(s2, c), equalTo(true));
+		assertThat(postset.contains(s0, b, s2), equalTo(true));
+		assertThat(postset.contains(s0, a, s2), equalTo(false));
+		assertThat(postset.contains(s1, a, s1), equalTo(true));
+	}
+
+	@Test
+	public void testPreset() {
+		TransitionSystem ts = getTS();
+		IndexedLTS lts = new IndexedLTS(ts);
+		IndexedLTS.Adjacency preset = lts.getPreset();
+		int s0 = lts.getStateIndex(ts.getNode("s0"));
+		int s1 = lts.getStateIndex(ts.getNode("s1"));
+		int s2 = lts.getStateIndex(ts.getNode("s2"));
+
+		assertThat(preset.end(s1) - preset.begin(s1), equalTo(3));
+		assertThat(preset.contains(s1, lts.getLabelIndex("a"), s0), equalTo(true));
+		assertThat(preset.contains(s1, lts.getLabelIndex("a"), s1), equalTo(true));
+		assertThat(preset.contains(s0, lts.getLabelIndex("c"), s2), equalTo(true));
+		assertThat(preset.contains(s2, lts.getLabelIndex("c"), s0), equalTo(false));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,131 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.lts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
+
+/** @author agent */
+public class LocalPropertyCheckerTest {
+	// A check that fails for all multiples of 'divisor' above 'minimum'
+	static private class MultipleCheck implements LocalPropertyChecker.LocalCheck<Integer> {
+		private final int divisor;
+		private final int minimum;
+		private final AtomicInteger checked = new AtomicInteger();
+
+		MultipleCheck(int divisor, int minimum) {
+			this.divisor = divisor;
+			this.minimum = minimum;
+		}
+
+		@Override
+		public Integer check(int item, InterruptToken interrupt) {
+			checked.incrementAndGet();
+			if (item >= minimum && item % divisor == 0)
+				return item;
+			return null;
+		}
+	}
+
+	@Test
+	public void testNoCounterExample() {
+		for (boolean parallel : new boolean[] { false, true }) {
+			MultipleCheck check = new MultipleCheck(1, 100000);
+			assertThat(LocalPropertyChecker.findFirstCounterExample(10000, check, parallel), nullValue());
+			assertThat(check.checked.get(), equalTo(10000));
+		}
+	}
+
+	@Test
+	public void testFirstCounterExampleIsFound() {
+		for (boolean parallel : new boolean[] { false, true }) {
+			MultipleCheck check = new MultipleCheck(7, 5000);
+			assertThat(LocalPropertyChecker.findFirstCounterExample(10000, check, parallel), equalTo(5005));
+		}
+	}
+
+	@Test
+	public void testStopsEarly() {
+		MultipleCheck check = new MultipleCheck(1, 0);
+		assertThat(LocalPropertyChecker.findFirstCounterExample(100000, check, true), equalTo(0));
+		assertThat(check.checked.get(), lessThan(100000));
+	}
+
+	@Test
+	public void testEmpty() {
+		for (boolean parallel : new boolean[] { false, true })
+			assertThat(LocalPropertyChecker.findFirstCounterExample(0, new MultipleCheck(1, 0), parallel),
+					nullValue());
+	}
+
+	@Test(expectedExceptions = UncheckedInterruptedException.class)
+	public void testInterrupterIsUsedByWorkers() {
+		InterrupterRegistry.setCurrentThreadInterrupter(new Interrupter() {
+			@Override
+			public boolean isInterruptRequested() {
+				return true;
+			}
+		});
+		try {
+			LocalPropertyChecker.findFirstCounterExample(10000, new LocalPropertyChecker.LocalCheck<Void>() {
+				@Override
+				public Void check(int item, InterruptToken interrupt) {
+					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+					return null;
+				}
+			}, true);
+		} finally {
+			InterrupterRegistry.clearCurrentThreadInterrupter();
+		}
+	}
+
+	@Test
+	public void testLimitedThreads() {
+		for (int threads : new int[] { 1, 2, 3, 100 }) {
+			MultipleCheck check = new MultipleCheck(7, 5000);
+			assertThat(LocalPropertyChecker.findFirstCounterExample(10000, check, threads), equalTo(5005));
+		}
+	}
+
+	@Test
+	public void testNestedParallelCheck() {
+		// Each item runs another parallel check on the same pool
+		Integer result = LocalPropertyChecker.findFirstCounterExample(1000,
+				new LocalPropertyChecker.LocalCheck<Integer>() {
+					@Override
+					public Integer check(int item, InterruptToken interrupt) {
+						MultipleCheck inner = new MultipleCheck(1000, 0);
+						Integer r = LocalPropertyChecker.findFirstCounterExample(1000, inner, true);
+						return item == 600 ? r : null;
+					}
+				}, true);
+		assertThat(result, equalTo(0));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
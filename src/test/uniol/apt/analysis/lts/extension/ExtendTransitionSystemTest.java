@@ -76,6 +76,41 @@ public class ExtendTransitionSystemTest {
 		assertEquals(code.toString(), oneStateNetTwo);
 	}
 
+	// Find the given number of valid (or minimal valid) codes one after another
+	private static String findValids(TransitionSystem ts, int g, boolean minimal, int steps, int threads) {
+		ExtendTransitionSystem ext = new ExtendTransitionSystem(ts, g);
+		ext.setThreads(threads);
+		StringBuilder result = new StringBuilder();
+		BitSet code = null;
+		for (int i = 0; i < steps; i++) {
+			if (code == null && minimal)
+				ext.findNextMinimal();
+			else if (code == null)
+				ext.findNextValid();
+			else if (minimal)
+				ext.findNextMinimal(code);
+			else
+				ext.findNextValid(code);
+			code = ext.getLastGenerated();
+			if (code == null)
+				break;
+			result.append(code).append(ext.isLastGeneratedMinimal() ? " minimal\n" : "\n");
+		}
+		return result.toString();
+	}
+
+	@Test
+	public void parallelTest() {
+		TransitionSystem[] systems = { TestTSCollection.getPersistentTS(),
+			TestTSCollection.getNonPersistentTS(), getTS() };
+		for (TransitionSystem ts : systems) {
+			for (boolean minimal : new boolean[] { false, true }) {
+				String expected = findValids(ts, 1, minimal, 5, 1);
+				assertFalse(expected.isEmpty());
+				assertEquals(findValids(ts, 1, minimal, 5, 4), expected);
+			}
+		}
+	}
 
 	private TransitionSystem getTS() {
 		TransitionSystem ts = new TransitionSystem();
@@ -103,6 +103,41 @@ public class PersistentTSTest {
 		assertTrue(det.getLabel2().equals("a") || det.getLabel1().equals("a"));
 	}
 
+	// A grid that is large enough to be checked in parallel, optionally with a missing arc
+	private static TransitionSystem getGridTS(int size, boolean missingArc) {
+		TransitionSystem ts = new TransitionSystem();
+		for (int i = 0; i < size; i++)
+			for (int j = 0; j < size; j++)
+				ts.createState("s" + i + "_" + j);
+		ts.setInitialState("s0_0");
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				if (i + 1 < size)
+					ts.createArc("s" + i + "_" + j, "s" + (i + 1) + "_" + j, "a");
+				if (j + 1 < size && !(missingArc && i == 21 && j == 20))
+					ts.createArc("s" + i + "_" + j, "s" + i + "_" + (j + 1), "b");
+			}
+		}
+		return ts;
+	}
+
+	@Test
+	public void testLargeGridTS() {
+		TransitionSystem ts = getGridTS(40, false);
+		assertTrue(new PersistentTS(ts, false).isPersistent());
+		assertTrue(new PersistentTS(ts, true).isPersistent());
+	}
+
+	@Test
+	public void testLargeNonPersistentGridTS() {
+		TransitionSystem ts = getGridTS(40, true);
+		PersistentTS det = new PersistentTS(ts, false);
+		assertFalse(det.isPersistent());
+		assertEquals(det.getNode().getId(), "s20_20");
+		assertEquals(det.getLabel1(), "a");
+		assertEquals(det.getLabel2(), "b");
+	}
+
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
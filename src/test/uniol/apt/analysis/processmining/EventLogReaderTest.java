@@ -0,0 +1,158 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.processmining;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.io.parser.ParseException;
+
+/** @author agent */
+public class EventLogReaderTest {
+	// Read all traces and join the events of each trace with '|'
+	private List<String> read(String log, EventLogReader.Format format) throws Exception {
+		EventLogReader reader = new EventLogReader(new StringReader(log), format);
+		List<String> result = new ArrayList<>();
+		int[] trace;
+		while ((trace = reader.nextTrace()) != null) {
+			StringBuilder events = new StringBuilder();
+			for (int event : trace) {
+				if (events.length() > 0)
+					events.append('|');
+				events.append(reader.getLabels().get(event));
+			}
+			result.add(events.toString());
+		}
+		return result;
+	}
+
+	@Test
+	public void testWords() throws Exception {
+		List<String> traces = read("abc\n\nba\n", EventLogReader.Format.WORDS);
+		assertThat(traces, contains("a|b|c", "", "b|a"));
+	}
+
+	@Test
+	public void testTokens() throws Exception {
+		List<String> traces = read("register check, pay\n  pay\tregister ", EventLogReader.Format.TOKENS);
+		assertThat(traces, contains("register|check|pay", "pay|register"));
+	}
+
+	@Test
+	public void testInterning() throws Exception {
+		EventLogReader reader = new EventLogReader(new StringReader("b a b\na c"),
+				EventLogReader.Format.TOKENS);
+		assertThat(reader.nextTrace(), equalTo(new int[] { 0, 1, 0 }));
+		assertThat(reader.nextTrace(), equalTo(new int[] { 1, 2 }));
+		assertThat(reader.nextTrace(), nullValue());
+		assertThat(reader.getLabels(), contains("b", "a", "c"));
+	}
+
+	@Test
+	public void testCSV() throws Exception {
+		String log = "case,activity,timestamp\n"
+			+ "1,register,2017-01-01T10:00\n"
+			+ "1,pay,2017-01-01T12:00\n"
+			+ "1,\"check, twice\",2017-01-01T11:00\n"
+			+ "\n"
+			+ "2,register,2017-01-02T10:00\n"
+			+ "2,pay,2017-01-02T10:00\n"
+			+ "2,\"say \"\"hi\"\"\",2017-01-02T10:00\n";
+		List<String> traces = read(log, EventLogReader.Format.CSV);
+		assertThat(traces, contains("register|check, twice|pay", "register|pay|say \"hi\""));
+	}
+
+	@Test
+	public void testCSVWithoutTimestamps() throws Exception {
+		List<String> traces = read("case,activity\nx,b\nx,a\ny,c\n", EventLogReader.Format.CSV);
+		assertThat(traces, contains("b|a", "c"));
+	}
+
+	@Test
+	public void testCSVNumericTimestamps() throws Exception {
+		List<String> traces = read("case,activity,time\n1,a,10\n1,b,9\n1,c,9.5\n", EventLogReader.Format.CSV);
+		assertThat(traces, contains("b|c|a"));
+	}
+
+	@Test
+	public void testCSVTimestampsWithOffsets() throws Exception {
+		String log = "case,activity,time\n"
+			+ "1,a,2017-01-01T12:00+02:00\n"
+			+ "1,b,2017-01-01T11:00:00.5Z\n"
+			+ "1,c,2017-01-01 11:00:00,25Z\n"
+			+ "1,d,2016-12-31\n";
+		List<String> traces = read(log, EventLogReader.Format.CSV);
+		assertThat(traces, contains("d|a|c|b"));
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 3: Unsupported timestamp '12/01/2017'; .*")
+	public void testCSVUnsupportedTimestamp() throws Exception {
+		read("case,activity,time\n1,a,2017-01-11\n1,b,12/01/2017\n", EventLogReader.Format.CSV);
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 2: Invalid timestamp '2017-02-30'")
+	public void testCSVInvalidDate() throws Exception {
+		read("case,activity,time\n1,a,2017-02-30\n", EventLogReader.Format.CSV);
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 3: Timestamp '' is not of the same kind as .*")
+	public void testCSVMixedTimestamps() throws Exception {
+		read("case,activity,time\n1,a,5\n1,b\n", EventLogReader.Format.CSV);
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 4: The events of case '1' are not on consecutive lines")
+	public void testCSVCaseNotConsecutive() throws Exception {
+		read("case,activity\n1,a\n2,b\n1,c\n", EventLogReader.Format.CSV);
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 2: Expected at least a case and an activity")
+	public void testCSVMissingActivity() throws Exception {
+		read("case,activity\n1\n", EventLogReader.Format.CSV);
+	}
+
+	@Test(expectedExceptions = ParseException.class,
+			expectedExceptionsMessageRegExp = "Line 2: Unterminated quoted field")
+	public void testCSVUnterminatedQuote() throws Exception {
+		read("case,activity\n1,\"a\n", EventLogReader.Format.CSV);
+	}
+
+	@Test
+	public void testFormatFromName() {
+		assertThat(EventLogReader.Format.fromName("csv"), equalTo(EventLogReader.Format.CSV));
+		assertThat(EventLogReader.Format.fromName("Tokens"), equalTo(EventLogReader.Format.TOKENS));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testFormatFromUnknownName() {
+		EventLogReader.Format.fromName("xes");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
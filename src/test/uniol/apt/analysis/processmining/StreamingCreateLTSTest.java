@@ -0,0 +1,137 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.processmining;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.isomorphism.IsomorphismLogic;
+
+/** @author agent */
+public class StreamingCreateLTSTest {
+	private static TransitionSystem create(String log, int threads) throws Exception {
+		return StreamingCreateLTS.create(new EventLogReader(new StringReader(log), EventLogReader.Format.WORDS),
+				threads);
+	}
+
+	@Test
+	public void createEmpty() throws Exception {
+		TransitionSystem ts = create("", 1);
+		assertThat(ts.getNodes(), hasSize(1));
+		assertThat(ts.getEdges(), hasSize(0));
+		assertThat(ts.getInitialState(), not(nullValue()));
+	}
+
+	@Test
+	public void createABAndBA() throws Exception {
+		TransitionSystem ts = create("ab\nba", 1);
+		assertThat(ts.getNodes(), hasSize(4));
+		assertThat(ts.getEdges(), hasSize(4));
+		assertThat(ts.getAlphabet(), containsInAnyOrder("a", "b"));
+
+		State s0 = ts.getInitialState();
+		State s1 = s0.getPostsetNodesByLabel("a").iterator().next();
+		State s2 = s0.getPostsetNodesByLabel("b").iterator().next();
+		assertThat(s1.getPostsetNodesByLabel("b"), equalTo(s2.getPostsetNodesByLabel("a")));
+		assertThat(s1.getPostsetNodesByLabel("a"), empty());
+		assertThat(s2.getPostsetNodesByLabel("b"), empty());
+
+		// States are created ordered by their Parikh vectors
+		assertThat(ts.getNodes(), contains(s0, s1, s2, s1.getPostsetNodesByLabel("b").iterator().next()));
+	}
+
+	@Test
+	public void testMerge() {
+		StreamingCreateLTS first = new StreamingCreateLTS();
+		first.addTrace(new int[] { 0, 1 });
+		StreamingCreateLTS second = new StreamingCreateLTS();
+		second.addTrace(new int[] { 1, 0, 0 });
+		first.merge(second);
+
+		assertThat(first.getNumberOfStates(), equalTo(5));
+		TransitionSystem ts = first.getTransitionSystem(Arrays.asList("a", "b"));
+		assertThat(ts.getNodes(), hasSize(5));
+		assertThat(ts.getEdges(), hasSize(5));
+	}
+
+	@DataProvider(name = "randomLogs")
+	private Object[][] randomLogs() {
+		Random random = new Random(42);
+		List<Object[]> result = new ArrayList<>();
+		for (int traces : Arrays.asList(10, 100, 3000)) {
+			StringBuilder log = new StringBuilder();
+			for (int i = 0; i < traces; i++) {
+				int length = random.nextInt(8);
+				for (int j = 0; j < length; j++)
+					log.append((char) ('a' + random.nextInt(4)));
+				log.append('\n');
+			}
+			result.add(new Object[] { log.toString() });
+		}
+		return result.toArray(new Object[0][]);
+	}
+
+	@Test(dataProvider = "randomLogs")
+	public void testSameAsCreateLTS(String log) throws Exception {
+		CreateLTS create = new CreateLTS();
+		for (String line : log.split("\n", -1)) {
+			List<String> word = new ArrayList<>();
+			for (char c : line.toCharArray())
+				word.add(String.valueOf(c));
+			create.addWord(word);
+		}
+		TransitionSystem expected = create.getTransitionSystem();
+		TransitionSystem ts = create(log, 1);
+
+		assertThat(ts.getNodes(), hasSize(expected.getNodes().size()));
+		assertThat(ts.getEdges(), hasSize(expected.getEdges().size()));
+		assertThat(new IsomorphismLogic(expected, ts, true).isIsomorphic(), is(true));
+	}
+
+	@Test(dataProvider = "randomLogs")
+	public void testShardingDoesNotChangeResult(String log) throws Exception {
+		TransitionSystem expected = create(log, 1);
+		TransitionSystem ts = create(log, 3);
+
+		assertThat(describe(ts), equalTo(describe(expected)));
+	}
+
+	private static List<String> describe(TransitionSystem ts) {
+		List<String> result = new ArrayList<>();
+		result.add(ts.getInitialState().getId());
+		for (State state : ts.getNodes())
+			for (Arc arc : state.getPostsetEdges())
+				result.add(arc.getSource().getId() + " " + arc.getLabel() + " " + arc.getTarget().getId());
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
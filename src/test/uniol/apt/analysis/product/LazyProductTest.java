@@ -0,0 +1,147 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.product;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.exception.NoSuchNodeException;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.connectivity.Connectivity;
+import uniol.apt.analysis.deterministic.Deterministic;
+import uniol.apt.analysis.isomorphism.IsomorphismLogic;
+
+/** @author agent */
+public class LazyProductTest {
+	// A cycle s0 -a-> s1 -a-> ... -> s0 where the last state additionally has a b-loop
+	private static TransitionSystem cycle(int length, String label) {
+		TransitionSystem ts = new TransitionSystem();
+		for (int i = 0; i < length; i++)
+			ts.createState();
+		for (int i = 0; i < length; i++)
+			ts.createArc("s" + i, "s" + ((i + 1) % length), label);
+		ts.createArc("s" + (length - 1), "s" + (length - 1), "b");
+		ts.setInitialState("s0");
+		return ts;
+	}
+
+	@Test
+	public void testLazyExpansion() {
+		LazyProduct product = new Product(cycle(1000, "a"), cycle(1000, "a")).getLazySyncProduct();
+		assertThat(product.getNumberOfDiscoveredStates(), equalTo(1));
+
+		LazyProduct.ProductState initial = product.getInitialState();
+		assertThat(initial.getId(), equalTo("s0"));
+		assertThat(initial.getFirstState().getId(), equalTo("s0"));
+		assertThat(initial.getSecondState().getId(), equalTo("s0"));
+		assertThat(initial.getPostsetNodes(), contains(product.getState(1)));
+		assertThat(product.getNumberOfDiscoveredStates(), equalTo(2));
+		assertThat(product.getState(1).getFirstState().getId(), equalTo("s1"));
+		assertThat(product.getState(1).getSecondState().getId(), equalTo("s1"));
+	}
+
+	@Test
+	public void testMaterialize() {
+		TransitionSystem ts1 = cycle(3, "a");
+		TransitionSystem ts2 = cycle(2, "a");
+		TransitionSystem result = new Product(ts1, ts2).getLazySyncProduct().materialize();
+		// All six pairs of states are reachable, including the one with the b-loop
+		assertThat(result.getNodes(), hasSize(6));
+		assertThat(result.getEdges(), hasSize(7));
+		assertThat(result.getInitialState().getId(), equalTo("s0"));
+		assertThat(new IsomorphismLogic(result, new Product(ts1, ts2).getSyncProduct(), true).isIsomorphic(),
+				is(true));
+	}
+
+	@Test
+	public void testAsyncLoopsWithSameLabel() {
+		TransitionSystem ts = new TransitionSystem();
+		State s = ts.createState();
+		ts.setInitialState(s);
+		ts.createArc(s, s, "a");
+
+		TransitionSystem result = new Product(ts, ts).getAsyncProduct();
+		assertThat(result.getNodes(), hasSize(1));
+		assertThat(result.getEdges(), hasSize(1));
+	}
+
+	@Test
+	public void testDeterministicStopsEarly() {
+		TransitionSystem ts1 = cycle(1000, "a");
+		TransitionSystem ts2 = cycle(1000, "a");
+		// The asynchronous product has two a-arcs in every state
+		LazyProduct product = new Product(ts1, ts2).getLazyAsyncProduct();
+		assertThat(Deterministic.findNonDeterministicState(product), sameInstance(product.getInitialState()));
+		assertThat(product.getNumberOfDiscoveredStates(), lessThan(10));
+
+		product = new Product(ts1, ts2).getLazySyncProduct();
+		assertThat(Deterministic.findNonDeterministicState(product), nullValue());
+		assertThat(product.getNumberOfDiscoveredStates(), equalTo(1000));
+	}
+
+	@Test
+	public void testConnectivity() {
+		LazyProduct product = new Product(cycle(3, "a"), cycle(2, "a")).getLazySyncProduct();
+		assertThat(Connectivity.isStronglyConnected(product), is(true));
+		assertThat(product.getNodes(), hasSize(6));
+		assertThat(product.getEdges(), hasSize(7));
+		for (LazyProduct.ProductState state : product.getNodes()) {
+			int loops = state.getPostsetNodes().contains(state) ? 1 : 0;
+			assertThat(state.getPresetEdges(), hasSize(1 + loops));
+			assertThat(state.getPostsetEdges(), hasSize(1 + loops));
+			for (LazyProduct.ProductArc arc : state.getPresetEdges())
+				assertThat(arc.getTarget(), sameInstance(state));
+		}
+
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1");
+		ts.createArc("s0", "s1", "a");
+		ts.setInitialState("s0");
+		product = new Product(ts, ts).getLazyAsyncProduct();
+		assertThat(Connectivity.isWeaklyConnected(product), is(true));
+		assertThat(Connectivity.isStronglyConnected(product), is(false));
+		assertThat(product.getNodes(), hasSize(4));
+		assertThat(product.getEdges(), hasSize(4));
+	}
+
+	@Test
+	public void testGetNode() {
+		LazyProduct product = new Product(cycle(3, "a"), cycle(2, "a")).getLazySyncProduct();
+		// s5 was not discovered yet, so this explores the product
+		assertThat(product.getNode("s5").getNumber(), equalTo(5));
+		assertThat(product.getNode("s0"), sameInstance(product.getInitialState()));
+	}
+
+	@Test(expectedExceptions = NoSuchNodeException.class)
+	public void testGetNonExistingNode() {
+		new Product(cycle(3, "a"), cycle(2, "a")).getLazySyncProduct().getNode("s6");
+	}
+
+	@Test(expectedExceptions = NoSuchNodeException.class)
+	public void testGetNodeWithInvalidId() {
+		new Product(cycle(3, "a"), cycle(2, "a")).getLazySyncProduct().getNode("s01");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
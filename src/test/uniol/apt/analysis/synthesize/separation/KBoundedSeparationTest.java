@@ -22,6 +22,7 @@ package uniol.apt.analysis.synthesize.separation;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -54,6 +55,14 @@ public class KBoundedSeparationTest {
 		return result;
 	}
 
+	// Regions of different RegionUtility instances are never equal, so compare their string representation
+	static private Set<String> asStrings(Set<Region> regions) {
+		Set<String> result = new HashSet<>();
+		for (Region region : regions)
+			result.add(region.toString());
+		return result;
+	}
+
 	@Test
 	public void testSingleStateTSWithLoop() throws Exception {
 		TransitionSystem ts = getSingleStateTSWithLoop();
@@ -117,6 +126,34 @@ public class KBoundedSeparationTest {
 					));
 	}
 
+	@Test
+	public void testSameRegionsWithThreads() throws Exception {
+		// The product of six independent two-state cycles, i.e. the reachability graph of six toggles
+		TransitionSystem ts = new TransitionSystem();
+		int toggles = 6;
+		for (int i = 0; i < 1 << toggles; i++)
+			ts.createState("s" + i);
+		ts.setInitialState("s0");
+		for (int i = 0; i < 1 << toggles; i++) {
+			for (int j = 0; j < toggles; j++) {
+				if ((i & (1 << j)) == 0)
+					ts.createArc("s" + i, "s" + (i | (1 << j)), "on" + j);
+				else
+					ts.createArc("s" + i, "s" + (i & ~(1 << j)), "off" + j);
+			}
+		}
+
+		PNProperties properties = new PNProperties().requireKBounded(2);
+		Set<String> regions = asStrings(new KBoundedSeparation(ts, properties, 1).getRegions());
+		assertThat(regions, hasSize(12));
+		assertThat(asStrings(new KBoundedSeparation(ts, properties, 4).getRegions()), equalTo(regions));
+	}
+
+	@Test(expectedExceptions = UnsupportedPNPropertiesException.class)
+	public void testHugeK() throws Exception {
+		calculateRegions(getPathTS(), Short.MAX_VALUE, false);
+	}
+
 	@Test
 	public void testABandB() throws Exception {
 		TransitionSystem ts = getABandB();
@@ -0,0 +1,198 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.io.renderer.impl.AptLTSRenderer;
+import uniol.apt.io.renderer.impl.AptPNRenderer;
+
+/**
+ * Differential tests of the hand-written apt parsers against the parsers generated from the ANTLR grammars.
+ * @author agent
+ */
+public class AptStreamParserTest {
+	@DataProvider(name = "files")
+	public static Object[][] files() {
+		Collection<File> files = FileUtils.listFiles(new File("nets"), TrueFileFilter.INSTANCE,
+				TrueFileFilter.INSTANCE);
+		List<Object[]> result = new ArrayList<>();
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(".apt") || name.endsWith(".apt_unparsable"))
+				result.add(new Object[] { file });
+		}
+		return result.toArray(new Object[0][]);
+	}
+
+	private static String renderPN(PetriNet pn) throws Exception {
+		Set<String> finalMarkings = new TreeSet<>();
+		for (Marking marking : pn.getFinalMarkings())
+			finalMarkings.add(marking.toString());
+		return new AptPNRenderer().render(pn) + finalMarkings;
+	}
+
+	private static String parsePNWithGrammar(String input) throws Exception {
+		try (InputStream is = IOUtils.toInputStream(input)) {
+			return renderPN(new AptPNParser().parseWithGrammar(is));
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+	private static String parsePNStreaming(String input) throws Exception {
+		try {
+			return renderPN(AptPNStreamParser.parse(new StringReader(input)));
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+	private static String parseLTSWithGrammar(String input) throws Exception {
+		try (InputStream is = IOUtils.toInputStream(input)) {
+			return new AptLTSRenderer().render(new AptLTSParser().parseWithGrammar(is));
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+	private static String parseLTSStreaming(String input) throws Exception {
+		try {
+			return new AptLTSRenderer().render(AptLTSStreamParser.parse(new StringReader(input)));
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+	private static void checkPN(String input) throws Exception {
+		assertThat(parsePNStreaming(input), equalTo(parsePNWithGrammar(input)));
+	}
+
+	private static void checkLTS(String input) throws Exception {
+		assertThat(parseLTSStreaming(input), equalTo(parseLTSWithGrammar(input)));
+	}
+
+	@Test(dataProvider = "files")
+	public void testFile(File file) throws Exception {
+		String input = FileUtils.readFileToString(file);
+		checkPN(input);
+		checkLTS(input);
+	}
+
+	@Test
+	public void testPNSectionsInAnyOrder() throws Exception {
+		String net = ".final_markings {2*p} {}\n.initial_marking {p, 2*p}\n.flows t: {p} -> {2*q} [a=1]\n"
+			+ ".transitions t[label=\"x\"]\n.type LPN\n.places p[foo=-2.5] q\n.name \"n\"\n";
+		String result = parsePNStreaming(net);
+		assertThat(result, not(nullValue()));
+		assertThat(result, equalTo(parsePNWithGrammar(net)));
+	}
+
+	@Test
+	public void testPNInvalidInputs() throws Exception {
+		checkPN(".type PN\n.places PN\n");
+		checkPN(".type PN\n.places p\n.flows t: {p} -> {}\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows t: {p, p*2} -> {}\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows t: {p} -> {} t: {p} -> {}\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows t: {q} -> {}\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows p: {p} -> {}\n");
+		checkPN(".type PN\n.initial_marking {q}\n");
+		checkPN(".type PN\n.places p[a=\"b\tc\"]\n");
+		checkPN(".type PN\n/* unterminated comment\n");
+		checkPN(".type PN\n.places p q p\n");
+		checkPN(".type PN\n.name \"multi\nline\"\n");
+		checkPN(".type PN\n.description \"multi\nline\"\n");
+		checkPN(".type PN\n.options a=1, b=\"c\", d\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows t: {p} -> {} [\n");
+		checkPN(".type PN\n.places p\n.transitions t\n.flows t: {0*p} -> {}\n");
+		checkPN(".type PN\n.placesp\n");
+	}
+
+	@Test
+	public void testLTSSectionsInAnyOrder() throws Exception {
+		String ts = ".arcs s0 a s1 [x=1] s1 b s0\n.labels a[y=\"z\"] b\n.states s0[initial] s1[z=-1]\n"
+			+ ".type LTS\n.description \"multi\nline\"\n.options foo=2.5\n";
+		String result = parseLTSStreaming(ts);
+		assertThat(result, not(nullValue()));
+		assertThat(result, equalTo(parseLTSWithGrammar(ts)));
+	}
+
+	@Test
+	public void testLTSInvalidInputs() throws Exception {
+		checkLTS(".type LTS\n.states LTS\n");
+		checkLTS(".type LTS\n.states s0\n");
+		checkLTS(".type LTS\n.states s0[initial] s1[initial]\n");
+		checkLTS(".type LTS\n.states s0[initial]\n.labels a a\n");
+		checkLTS(".type LTS\n.states s0[initial]\n.arcs s0 a s0\n");
+		checkLTS(".type LTS\n.states s0[initial]\n.labels a\n.arcs s0 a s1\n");
+		checkLTS(".type LTS\n.states s0[initial]\n.labels a\n.arcs s0 a s0 s0 a s0\n");
+		checkLTS(".type LTS\n.states s0[initial]\n.labels a\n.arcs s0 a\n");
+		checkLTS(".type LTS\n.type LTS\n.states s0[initial]\n");
+		checkLTS(".type PN\n.states s0[initial]\n");
+	}
+
+	@Test
+	public void testTokensAcrossBufferBoundaries() throws Exception {
+		// The tokenizer starts with a buffer of 64k characters; make sure that tokens and comments which cross
+		// the buffer's end are handled correctly.
+		StringBuilder input = new StringBuilder(".type LTS\n.states ");
+		for (int i = 0; i < 20000; i++)
+			input.append("s").append(i).append(i == 0 ? "[initial] " : " ");
+		input.append("/*");
+		for (int i = 0; i < 70000; i++)
+			input.append('*');
+		input.append("*/\n.labels ");
+		for (int i = 0; i < 70000; i++)
+			input.append('a');
+		input.append("\n.arcs s0 ");
+		for (int i = 0; i < 70000; i++)
+			input.append('a');
+		input.append(" s19999 // comment\n");
+		String result = parseLTSStreaming(input.toString());
+		assertThat(result, not(nullValue()));
+		assertThat(result, equalTo(parseLTSWithGrammar(input.toString())));
+	}
+
+	@Test(expectedExceptions = ParseException.class, expectedExceptionsMessageRegExp =
+			"^line 2 col 8: expected a section, but found 'LTS'$")
+	public void testErrorPosition() throws Exception {
+		AptLTSStreamParser.parse(new StringReader(".type LTS\n.states LTS"));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
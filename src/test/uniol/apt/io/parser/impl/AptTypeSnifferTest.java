@@ -0,0 +1,80 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.parser.impl;
+
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class AptTypeSnifferTest {
+	private static String findType(String input) {
+		byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+		return AptTypeSniffer.findType(bytes, bytes.length);
+	}
+
+	@Test
+	public void testSimple() {
+		assertThat(findType(".type LPN\n"), is("LPN"));
+		assertThat(findType(".type LTS\n"), is("LTS"));
+	}
+
+	@Test
+	public void testAfterOtherSections() {
+		assertThat(findType(".name \"foo\"\n.description \"bar\"\n.type PN\n.places p\n"), is("PN"));
+	}
+
+	@Test
+	public void testComments() {
+		assertThat(findType("// .type LTS\n/* .type LTS */.type /* foo */ LPN // bar\n"), is("LPN"));
+	}
+
+	@Test
+	public void testInString() {
+		assertThat(findType(".description \".type LTS\"\n.type LPN\n"), is("LPN"));
+	}
+
+	@Test
+	public void testLongerKeyword() {
+		assertThat(findType(".types LTS\n"), is(nullValue()));
+	}
+
+	@Test
+	public void testNoType() {
+		assertThat(findType(".name \"foo\"\n.places p\n"), is(nullValue()));
+	}
+
+	@Test
+	public void testTruncated() {
+		assertThat(findType(".type LT"), is(nullValue()));
+		assertThat(findType(".description \".type LTS\n"), is(nullValue()));
+		assertThat(findType("/* .type LTS\n"), is(nullValue()));
+	}
+
+	@Test
+	public void testLengthIsRespected() {
+		byte[] bytes = ".type LTS\n".getBytes(StandardCharsets.UTF_8);
+		assertThat(AptTypeSniffer.findType(bytes, 8), is(nullValue()));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -165,7 +165,7 @@ public class RegexParserTest {
 
 	@Test
 	public void testNegation5() throws Exception {
-		test("b|!(a+)", concatenate(kleeneStar(getAtomic("a")), concatenate(getAtomic("b"), kleeneStar(union(getAtomic("a"), getAtomic("b"))))));
+		test("b|!(a+)", union(getAtomicLanguage(Symbol.EPSILON), concatenate(kleeneStar(getAtomic("a")), concatenate(getAtomic("b"), kleeneStar(union(getAtomic("a"), getAtomic("b")))))));
 	}
 
 	@Test
@@ -180,7 +180,7 @@ public class RegexParserTest {
 
 	@Test
 	public void testPrefixClosure2() throws Exception {
-		test("@(ab(a|b)*)", union(getEmptyLanguage(), union(getAtomic("a"), concatenate(getAtomic("a"), concatenate(getAtomic("b"), kleeneStar(union(getAtomic("a"), getAtomic("b"))))))));
+		test("@(ab(a|b)*)", union(getAtomicLanguage(Symbol.EPSILON), union(getAtomic("a"), concatenate(getAtomic("a"), concatenate(getAtomic("b"), kleeneStar(union(getAtomic("a"), getAtomic("b"))))))));
 	}
 
 	@Test(expectedExceptions = { ParseException.class }, expectedExceptionsMessageRegExp = "^line 1 col 0: no viable alternative at input '\\)'$")
@@ -0,0 +1,152 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.io.renderer.impl;
+
+import java.io.File;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.io.parser.impl.AptLTSParser;
+import uniol.apt.io.parser.impl.AptPNParser;
+
+/**
+ * Differential tests of the renderers which write their output directly against the templates that they replace.
+ * @author agent
+ */
+public class StreamingRendererTest {
+	@DataProvider(name = "files")
+	public static Object[][] files() {
+		Collection<File> files = FileUtils.listFiles(new File("nets"), TrueFileFilter.INSTANCE,
+				TrueFileFilter.INSTANCE);
+		List<Object[]> result = new ArrayList<>();
+		for (File file : files) {
+			if (file.getName().endsWith(".apt"))
+				result.add(new Object[] { file });
+		}
+		return result.toArray(new Object[0][]);
+	}
+
+	private static <G> void check(AbstractRenderer<G> renderer, G obj) throws Exception {
+		Writer expected = new StringBuilderWriter();
+		if (renderer instanceof AptPNRenderer)
+			((AptPNRenderer) renderer).renderWithTemplate((PetriNet) obj, expected);
+		else if (renderer instanceof AptLTSRenderer)
+			((AptLTSRenderer) renderer).renderWithTemplate((TransitionSystem) obj, expected);
+		else
+			((AbstractSTRenderer<G>) renderer).renderWithTemplate(obj, expected);
+		assertThat(renderer.render(obj), equalTo(expected.toString()));
+	}
+
+	private static void checkPN(PetriNet pn) throws Exception {
+		check(new AptPNRenderer(), pn);
+		check(new DotPNRenderer(), pn);
+		check(new SynetPNRenderer(), pn);
+	}
+
+	private static void checkLTS(TransitionSystem ts) throws Exception {
+		check(new AptLTSRenderer(), ts);
+		check(new DotLTSRenderer(), ts);
+	}
+
+	@Test(dataProvider = "files")
+	public void testFile(File file) throws Exception {
+		PetriNet pn = null;
+		TransitionSystem ts = null;
+		try {
+			pn = new AptPNParser().parseFile(file);
+		} catch (ParseException e) {
+			ts = new AptLTSParser().parseFile(file);
+		}
+		if (pn != null)
+			checkPN(pn);
+		else
+			checkLTS(ts);
+	}
+
+	@Test
+	public void testEmptyNet() throws Exception {
+		checkPN(new PetriNet());
+	}
+
+	@Test
+	public void testNetWithExtensions() throws Exception {
+		PetriNet pn = new PetriNet("net");
+		pn.putExtension("description", "multi\nline");
+		pn.putExtension("a", 1, ExtensionProperty.WRITE_TO_FILE);
+		pn.putExtension("b", "c", ExtensionProperty.WRITE_TO_FILE);
+		pn.createPlace("p").putExtension("x", 2.5, ExtensionProperty.WRITE_TO_FILE);
+		pn.createPlace("q");
+		pn.createPlace("unconnected");
+		Transition t = pn.createTransition("t", "label");
+		t.putExtension("y", "z", ExtensionProperty.WRITE_TO_FILE);
+		pn.createTransition("u").putExtension("y", "z", ExtensionProperty.WRITE_TO_FILE);
+		pn.createTransition("v");
+		pn.createTransition("w");
+		pn.createFlow("p", "t", 2).putExtension("f", 3, ExtensionProperty.WRITE_TO_FILE);
+		pn.createFlow("q", "t");
+		pn.createFlow("t", "q");
+		pn.createFlow("u", "p");
+		pn.createFlow("q", "w");
+		pn.getPlace("p").setInitialToken(4);
+		checkPN(pn);
+	}
+
+	@Test
+	public void testTSWithExtensions() throws Exception {
+		TransitionSystem ts = new TransitionSystem("ts");
+		ts.putExtension("description", "a description");
+		ts.putExtension("a", 1, ExtensionProperty.WRITE_TO_FILE);
+		State s0 = ts.createState("s0");
+		s0.putExtension("x", "y", ExtensionProperty.WRITE_TO_FILE);
+		State s1 = ts.createState("s1");
+		s1.putExtension("x", "y", ExtensionProperty.WRITE_TO_FILE);
+		ts.createState("s2");
+		ts.setInitialState(s1);
+		ts.createArc("s0", "s1", "a").putExtension("z", 1, ExtensionProperty.WRITE_TO_FILE);
+		ts.createArc("s1", "s0", "b");
+		ts.getEvent("b").putExtension("e", "f", ExtensionProperty.WRITE_TO_FILE);
+		checkLTS(ts);
+	}
+
+	@Test
+	public void testTSWithoutArcs() throws Exception {
+		TransitionSystem ts = new TransitionSystem();
+		ts.setInitialState(ts.createState("s"));
+		checkLTS(ts);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,128 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.json;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class ArgumentCacheTest {
+	@Test
+	public void testHitAndMiss() {
+		ArgumentCache cache = new ArgumentCache(2);
+		Object value = new Object();
+		assertThat(cache.get("a"), nullValue());
+		cache.put("a", value);
+		assertThat(cache.get("a"), sameInstance(value));
+		assertThat(cache.getStatistics().getInt("hits"), equalTo(1));
+		assertThat(cache.getStatistics().getInt("misses"), equalTo(1));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		ArgumentCache cache = new ArgumentCache(2);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.release();
+		cache.get("a");
+		cache.release();
+		cache.put("c", "C");
+		cache.release();
+
+		assertThat(cache.get("a"), equalTo((Object) "A"));
+		assertThat(cache.get("b"), nullValue());
+		assertThat(cache.get("c"), equalTo((Object) "C"));
+		assertThat(cache.getStatistics().getInt("evictions"), equalTo(1));
+	}
+
+	@Test
+	public void testEntriesInUseAreNotEvicted() {
+		ArgumentCache cache = new ArgumentCache(1);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertThat(cache.getStatistics().getInt("size"), equalTo(2));
+
+		cache.release();
+		cache.put("c", "C");
+		assertThat(cache.getStatistics().getInt("size"), equalTo(1));
+		assertThat(cache.get("c"), equalTo((Object) "C"));
+	}
+
+	@Test
+	public void testEntryOwnedByOtherThread() throws Exception {
+		final ArgumentCache cache = new ArgumentCache(2);
+		cache.put("a", "A");
+
+		final Object[] result = new Object[1];
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				result[0] = cache.get("a");
+			}
+		};
+		thread.start();
+		thread.join();
+		assertThat(result[0], nullValue());
+
+		cache.release();
+		thread = new Thread() {
+			@Override
+			public void run() {
+				result[0] = cache.get("a");
+				cache.release();
+			}
+		};
+		thread.start();
+		thread.join();
+		assertThat(result[0], equalTo((Object) "A"));
+	}
+
+	@Test
+	public void testRemove() {
+		ArgumentCache cache = new ArgumentCache(2);
+		Object value = new Object();
+		cache.put("a", value);
+		cache.remove("a", new Object());
+		assertThat(cache.get("a"), sameInstance(value));
+		cache.remove("a", value);
+		assertThat(cache.get("a"), nullValue());
+	}
+
+	@Test
+	public void testContentKey() {
+		String key = ArgumentCache.contentKey("kind", "content");
+		assertThat(key, equalTo(ArgumentCache.contentKey("kind", "content")));
+		assertThat(key, not(equalTo(ArgumentCache.contentKey("kind", "content2"))));
+		assertThat(key, not(equalTo(ArgumentCache.contentKey("kind2", "content"))));
+		assertThat(key, not(containsString("content")));
+	}
+
+	@Test
+	public void testDisabled() {
+		ArgumentCache cache = new ArgumentCache(0);
+		cache.put("a", "A");
+		assertThat(cache.get("a"), nullValue());
+		assertThat(cache.getStatistics().getInt("size"), equalTo(0));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
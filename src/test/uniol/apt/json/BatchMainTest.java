@@ -0,0 +1,159 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.json;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.json.JSONObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import uniol.apt.ui.impl.AptParametersTransformer;
+import uniol.apt.ui.impl.AptReturnValuesTransformer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class BatchMainTest {
+	private File directory;
+
+	@BeforeMethod
+	public void createDirectory() throws Exception {
+		directory = Files.createTempDirectory("apt-batch").toFile();
+	}
+
+	@AfterMethod
+	public void deleteDirectory() throws Exception {
+		FileUtils.deleteDirectory(directory);
+	}
+
+	private List<String> createInputs(String... contents) throws Exception {
+		List<String> inputs = new ArrayList<>();
+		for (int i = 0; i < contents.length; i++) {
+			File file = new File(directory, "input" + i + ".txt");
+			FileUtils.writeStringToFile(file, contents[i], "UTF-8");
+			inputs.add(file.getPath());
+		}
+		return inputs;
+	}
+
+	private String run(List<String> inputs, JSONObject arguments, long timeout, BatchMain.Format format)
+			throws Exception {
+		JSONExecutor executor = new JSONExecutor(new TestModuleRegistry(), AptParametersTransformer.INSTANCE,
+				AptReturnValuesTransformer.INSTANCE, 0);
+		JSONObject command = new JSONObject();
+		command.put("command", "run_module");
+		command.put("module", "example");
+		command.put("arguments", arguments);
+		if (timeout >= 0)
+			command.put("timeout_milliseconds", timeout);
+
+		StringWriter output = new StringWriter();
+		new BatchMain(inputs, output, executor, command, null, format, 3);
+		return output.toString();
+	}
+
+	private List<JSONObject> runJSON(List<String> inputs, JSONObject arguments, long timeout) throws Exception {
+		List<JSONObject> result = new ArrayList<>();
+		for (String line : run(inputs, arguments, timeout, BatchMain.Format.JSON_LINES).split("\n"))
+			result.add(new JSONObject(line));
+		return result;
+	}
+
+	@Test
+	public void testJSONLines() throws Exception {
+		String[] contents = new String[20];
+		for (int i = 0; i < contents.length; i++)
+			contents[i] = "Input " + i;
+		List<String> inputs = createInputs(contents);
+
+		List<JSONObject> records = runJSON(inputs, new JSONObject(), -1);
+		assertThat(records, hasSize(contents.length));
+		for (int i = 0; i < contents.length; i++) {
+			JSONObject record = records.get(i);
+			assertThat(record.getString("input"), equalTo(inputs.get(i)));
+			assertThat(record.getString("status"), equalTo("ok"));
+			assertThat(record.getDouble("milliseconds"), greaterThanOrEqualTo(0d));
+			assertThat(record.getJSONObject("return_values").getString("lower_case_string"),
+					equalTo("input " + i));
+		}
+	}
+
+	@Test
+	public void testError() throws Exception {
+		JSONObject arguments = new JSONObject();
+		arguments.put("error", "true");
+		List<JSONObject> records = runJSON(createInputs("Foo"), arguments, -1);
+		assertThat(records, hasSize(1));
+		assertThat(records.get(0).getString("status"), equalTo("error"));
+		assertThat(records.get(0).getString("error"), equalTo("This module failed: Foo"));
+		assertThat(records.get(0).has("return_values"), is(false));
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		List<JSONObject> records = runJSON(createInputs("Foo"), new JSONObject(), 0);
+		assertThat(records, hasSize(1));
+		assertThat(records.get(0).getString("status"), equalTo("timeout"));
+	}
+
+	@Test
+	public void testMissingInput() throws Exception {
+		String missing = new File(directory, "missing").getPath();
+		List<JSONObject> records = runJSON(Arrays.asList(missing), new JSONObject(), -1);
+		assertThat(records, hasSize(1));
+		assertThat(records.get(0).getString("input"), equalTo(missing));
+		assertThat(records.get(0).getString("status"), equalTo("error"));
+	}
+
+	@Test
+	public void testCSV() throws Exception {
+		List<String> inputs = createInputs("A,B", "C\"D");
+		String[] lines = run(inputs, new JSONObject(), -1, BatchMain.Format.CSV).split("\r\n");
+		assertThat(lines, arrayWithSize(3));
+		assertThat(lines[0], equalTo("input,status,milliseconds,lower_case_string,error"));
+		assertThat(lines[1], allOf(startsWith(inputs.get(0) + ",ok,"), endsWith(",\"a,b\",")));
+		assertThat(lines[2], allOf(startsWith(inputs.get(1) + ",ok,"), endsWith(",\"c\"\"d\",")));
+	}
+
+	@Test
+	public void testExpandInputs() throws Exception {
+		List<String> inputs = createInputs("a", "b", "c");
+		FileUtils.writeStringToFile(new File(directory, "other.apt"), "", "UTF-8");
+		File manifest = new File(directory, "manifest");
+		FileUtils.writeLines(manifest, Arrays.asList(inputs.get(2), "", inputs.get(0)));
+
+		List<String> result = BatchMain.expandInputs(Arrays.asList(directory.getPath() + "/input*.txt",
+					"@" + manifest.getPath(), "plain"));
+		assertThat(result, contains(inputs.get(0), inputs.get(1), inputs.get(2), inputs.get(2),
+					inputs.get(0), "plain"));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
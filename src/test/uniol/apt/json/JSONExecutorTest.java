@@ -34,6 +34,7 @@ import org.json.JSONWriter;
 import uniol.apt.module.Module;
 import uniol.apt.ui.impl.AptParametersTransformer;
 import uniol.apt.ui.impl.AptReturnValuesTransformer;
+import uniol.apt.util.Metrics;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 import uniol.apt.util.interrupt.NoOpInterrupter;
 
@@ -376,6 +377,151 @@ public class JSONExecutorTest {
 
 		assertThat(InterrupterRegistry.getCurrentThreadInterrupter(), instanceOf(NoOpInterrupter.class));
 	}
+
+	@Test
+	public void callModuleWithMetrics() {
+		StringWriter command = new StringWriter();
+		new JSONWriter(command)
+			.object()
+			.key("command").value("run_module")
+			.key("module").value("example")
+			.key("arguments").object()
+				.key("string").value("iNpUt")
+				.endObject()
+			.endObject();
+
+		Metrics.setEnabled(true);
+		JSONObject result;
+		try {
+			result = executor.execute(new JSONObject(command.toString()));
+		} finally {
+			Metrics.setEnabled(false);
+		}
+		assertThat(result.getJSONObject("return_values").getString("lower_case_string"), equalTo("input"));
+		assertThat(result.optJSONObject("metrics"), notNullValue());
+
+		// Without metrics, the result does not change
+		assertThat(executor.execute(new JSONObject(command.toString())).has("metrics"), is(false));
+	}
+
+	private JSONObject nestedCommand() {
+		StringWriter command = new StringWriter();
+		new JSONWriter(command)
+			.object()
+			.key("command").value("run_module")
+			.key("module").value("example")
+			.key("arguments").object()
+				.key("string").object()
+					.key("module").value("example")
+					.key("use").value("lower_case_string")
+					.key("arguments").object()
+						.key("string").value("iNpUt")
+						.endObject()
+					.endObject()
+				.endObject()
+			.endObject();
+		return new JSONObject(command.toString());
+	}
+
+	private JSONObject cacheStats(JSONExecutor exec, String cache) {
+		return exec.execute(new JSONObject("{\"command\": \"cache_stats\"}")).getJSONObject(cache);
+	}
+
+	@Test
+	public void nestedModuleCallIsCached() {
+		executor.execute(nestedCommand());
+		Map<String, Object> result = executor.execute(nestedCommand()).toMap();
+		assertThat(result, equalTo(new JSONObject("{\"return_values\": {\"lower_case_string\": \"input\"}}")
+					.toMap()));
+
+		JSONObject stats = cacheStats(executor, "module_calls");
+		assertThat(stats.getInt("size"), equalTo(1));
+		assertThat(stats.getInt("hits"), equalTo(1));
+		assertThat(stats.getInt("misses"), equalTo(1));
+		assertThat(stats.getDouble("hit_rate"), equalTo(0.5));
+
+		// Strings are not cached
+		stats = cacheStats(executor, "parsed_arguments");
+		assertThat(stats.getInt("size"), equalTo(0));
+		assertThat(stats.getInt("misses"), equalTo(0));
+	}
+
+	@Test
+	public void cachedArgumentIsNotModified() {
+		JSONExecutor exec = new JSONExecutor(new TestModuleRegistry(), AptParametersTransformer.INSTANCE,
+				AptReturnValuesTransformer.INSTANCE);
+		JSONObject command = new JSONObject();
+		command.put("command", "run_module");
+		command.put("module", "generate_reverse_arc");
+		command.put("arguments", new JSONObject()
+				.put("lts", ".type LTS .states s0[initial] s1 .labels a b .arcs s0 a s1")
+				.put("event", "a")
+				.put("reverseEvent", "b"));
+
+		// The module adds an arc to its input. The second call must not see the arc from the first call.
+		exec.execute(command);
+		command.getJSONObject("arguments").put("reverseEvent", "c");
+		String lts = exec.execute(command).getJSONObject("return_values").getString("lts");
+		assertThat(lts, containsString("s1 c s0"));
+		assertThat(lts, not(containsString("s1 b s0")));
+
+		// The modified transition system was removed from the cache
+		JSONObject stats = cacheStats(exec, "parsed_arguments");
+		assertThat(stats.getInt("size"), equalTo(0));
+		assertThat(stats.getInt("hits"), equalTo(0));
+		assertThat(stats.getInt("misses"), equalTo(2));
+	}
+
+	@Test
+	public void nestedModuleCallKeyIgnoresOrder() {
+		JSONObject command = nestedCommand();
+		executor.execute(command);
+
+		// The same nested call with its keys in a different order
+		JSONObject nested = new JSONObject(command.getJSONObject("arguments").getJSONObject("string"),
+				new String[] { "use", "arguments", "module" });
+		command.getJSONObject("arguments").put("string", nested);
+		executor.execute(command);
+		assertThat(cacheStats(executor, "module_calls").getInt("hits"), equalTo(1));
+	}
+
+	@Test
+	public void cacheParsedPetriNet() {
+		JSONExecutor exec = new JSONExecutor(new TestModuleRegistry(), AptParametersTransformer.INSTANCE,
+				AptReturnValuesTransformer.INSTANCE);
+		JSONObject command = new JSONObject();
+		command.put("command", "run_module");
+		command.put("module", "coverability_graph");
+		command.put("arguments", new JSONObject().put("pn",
+					".type PN .places p .transitions t .flows t: {p} -> {p} .initial_marking {p}"));
+
+		JSONObject first = exec.execute(command);
+		JSONObject second = exec.execute(command);
+		assertThat(second.toMap(), equalTo(first.toMap()));
+
+		JSONObject stats = cacheStats(exec, "parsed_arguments");
+		assertThat(stats.getInt("size"), equalTo(1));
+		assertThat(stats.getInt("hits"), equalTo(1));
+		assertThat(stats.getInt("misses"), equalTo(1));
+	}
+
+	@Test
+	public void cacheDisabled() {
+		JSONExecutor exec = new JSONExecutor(new TestModuleRegistry(), AptParametersTransformer.INSTANCE,
+				AptReturnValuesTransformer.INSTANCE, 0);
+		JSONObject command = new JSONObject();
+		command.put("command", "run_module");
+		command.put("module", "coverability_graph");
+		command.put("arguments", new JSONObject().put("pn",
+					".type PN .places p .transitions t .flows t: {p} -> {p} .initial_marking {p}"));
+		exec.execute(command);
+		exec.execute(command);
+
+		JSONObject stats = cacheStats(exec, "parsed_arguments");
+		assertThat(stats.getInt("size"), equalTo(0));
+		assertThat(stats.getInt("hits"), equalTo(0));
+		assertThat(stats.getInt("misses"), equalTo(2));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
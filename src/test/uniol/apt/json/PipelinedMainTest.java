@@ -0,0 +1,243 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.json;
+
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+
+import org.json.JSONObject;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.Test;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.anyObject;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** @author agent */
+public class PipelinedMainTest {
+	private void runTest(String input, String output, int numberOfExecutions) throws Exception {
+		JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenReturn(new JSONObject());
+
+		StringWriter result = new StringWriter();
+		new PipelinedMain(new StringReader(input), result, executor, 1);
+
+		assertThat(result.toString(), equalTo(output));
+		verify(executor, times(numberOfExecutions)).execute((JSONObject) anyObject());
+	}
+
+	@Test
+	public void testSimple() throws Exception {
+		runTest("{}", "{}\n\n", 1);
+	}
+
+	@Test
+	public void testId() throws Exception {
+		runTest("{\"id\": 1}{\"id\": \"b\"}", "{\"id\": 1}\n\n{\"id\": \"b\"}\n\n", 2);
+	}
+
+	@Test
+	public void testSyntaxError() throws Exception {
+		runTest("{\"id\": 1}banana", "{\"id\": 1}\n\n{\n \"error\": \"A JSONObject text must begin with '{' " +
+				"at 10 [character 11 line 1]\",\n \"type\": \"org.json.JSONException\"\n}\n\n", 1);
+	}
+
+	@Test
+	public void testCancelUnknown() throws Exception {
+		runTest("{\"command\": \"cancel\", \"request\": 42, \"id\": 1}",
+				"{\n \"cancelled\": false,\n \"id\": 1\n}\n\n", 0);
+	}
+
+	@Test
+	public void testCancelWithoutRequest() throws Exception {
+		runTest("{\"command\": \"cancel\"}",
+				"{\"error\": \"Missing member 'request' with the id of the command to cancel\"}\n\n",
+				0);
+	}
+
+	@Test(timeOut = 10000)
+	public void testResultsAreWrittenWhenComplete() throws Exception {
+		// The first command only finishes after the result of the second command was written
+		final StringWriter result = new StringWriter();
+		JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenAnswer(new Answer<JSONObject>() {
+			@Override
+			public JSONObject answer(InvocationOnMock invocation) throws Exception {
+				JSONObject command = (JSONObject) invocation.getArguments()[0];
+				if (command.getInt("id") == 1)
+					while (result.toString().isEmpty())
+						Thread.sleep(1);
+				return new JSONObject();
+			}
+		});
+
+		new PipelinedMain(new StringReader("{\"id\": 1}{\"id\": 2}"), result, executor, 2);
+
+		assertThat(result.toString(), equalTo("{\"id\": 2}\n\n{\"id\": 1}\n\n"));
+	}
+
+	@Test(timeOut = 10000)
+	public void testCancelRunning() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenAnswer(new Answer<JSONObject>() {
+			@Override
+			public JSONObject answer(InvocationOnMock invocation) throws Exception {
+				started.countDown();
+				while (!InterrupterRegistry.getCurrentThreadInterrupter().isInterruptRequested())
+					Thread.sleep(1);
+				JSONObject result = new JSONObject();
+				result.put("interrupted", true);
+				return result;
+			}
+		});
+
+		PipedWriter input = new PipedWriter();
+		final PipedReader reader = new PipedReader(input);
+		final StringWriter result = new StringWriter();
+		Thread main = new Thread() {
+			@Override
+			public void run() {
+				try {
+					new PipelinedMain(reader, result, executor, 1);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		main.start();
+
+		input.write("{\"id\": \"slow\"}");
+		input.flush();
+		started.await();
+		input.write("{\"command\": \"cancel\", \"request\": \"slow\"}");
+		input.close();
+		main.join();
+
+		assertThat(result.toString(), equalTo("{\"cancelled\": true}\n\n" +
+					"{\n \"interrupted\": true,\n \"id\": \"slow\"\n}\n\n"));
+	}
+
+	@Test
+	public void testExceptionInCommand() throws Exception {
+		JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenAnswer(new Answer<JSONObject>() {
+			@Override
+			public JSONObject answer(InvocationOnMock invocation) throws Exception {
+				JSONObject command = (JSONObject) invocation.getArguments()[0];
+				if (command.getInt("id") == 1)
+					throw new IllegalStateException("Broken");
+				return new JSONObject();
+			}
+		});
+
+		StringWriter result = new StringWriter();
+		new PipelinedMain(new StringReader("{\"id\": 1}{\"id\": 2}"), result, executor, 1);
+
+		assertThat(result.toString(), equalTo("{\n \"id\": 1,\n \"error\": \"Broken\",\n"
+					+ " \"type\": \"java.lang.IllegalStateException\"\n}\n\n{\"id\": 2}\n\n"));
+	}
+
+	@Test(timeOut = 10000)
+	public void testDuplicateId() throws Exception {
+		// The first command only finishes after the second one was rejected
+		final StringWriter result = new StringWriter();
+		JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenAnswer(new Answer<JSONObject>() {
+			@Override
+			public JSONObject answer(InvocationOnMock invocation) throws Exception {
+				while (result.toString().isEmpty())
+					Thread.sleep(1);
+				return new JSONObject();
+			}
+		});
+
+		new PipelinedMain(new StringReader("{\"id\": \"x\"}{\"id\": \"x\"}"), result, executor, 2);
+
+		assertThat(result.toString(), equalTo("{\n \"id\": \"x\",\n"
+					+ " \"error\": \"A command with id \\\"x\\\" did not finish yet\"\n}\n\n"
+					+ "{\"id\": \"x\"}\n\n"));
+		verify(executor, times(1)).execute((JSONObject) anyObject());
+	}
+
+	@Test(timeOut = 10000)
+	public void testCancelWhileQueueIsFull() throws Exception {
+		// With one worker, only two commands are handed to the pool. The cancel command must still be read.
+		final CountDownLatch started = new CountDownLatch(1);
+		final JSONExecutor executor = mock(JSONExecutor.class);
+		when(executor.execute((JSONObject) anyObject())).thenAnswer(new Answer<JSONObject>() {
+			@Override
+			public JSONObject answer(InvocationOnMock invocation) throws Exception {
+				JSONObject command = (JSONObject) invocation.getArguments()[0];
+				if (!command.getString("id").equals("slow"))
+					return new JSONObject();
+				started.countDown();
+				while (!InterrupterRegistry.getCurrentThreadInterrupter().isInterruptRequested())
+					Thread.sleep(1);
+				JSONObject result = new JSONObject();
+				result.put("interrupted", true);
+				return result;
+			}
+		});
+
+		PipedWriter input = new PipedWriter();
+		final PipedReader reader = new PipedReader(input);
+		final StringWriter result = new StringWriter();
+		Thread main = new Thread() {
+			@Override
+			public void run() {
+				try {
+					new PipelinedMain(reader, result, executor, 1);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		main.start();
+
+		input.write("{\"id\": \"slow\"}{\"id\": \"b\"}{\"id\": \"c\"}{\"id\": \"d\"}");
+		input.flush();
+		started.await();
+		input.write("{\"command\": \"cancel\", \"request\": \"d\"}");
+		input.write("{\"command\": \"cancel\", \"request\": \"slow\"}");
+		input.close();
+		main.join();
+
+		assertThat(result.toString(), startsWith("{\"cancelled\": true}\n\n{\"cancelled\": true}\n\n"));
+		assertThat(result.toString(), containsString("{\n \"interrupted\": true,\n \"id\": \"slow\"\n}\n\n"));
+		assertThat(result.toString(), containsString("{\"id\": \"b\"}\n\n"));
+		assertThat(result.toString(), containsString("{\"id\": \"c\"}\n\n"));
+		assertThat(result.toString(),
+				containsString("{\n \"id\": \"d\",\n \"error\": \"Command was cancelled\"\n}"));
+		verify(executor, times(3)).execute((JSONObject) anyObject());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import uniol.apt.analysis.coverability.CoverabilityModule;
+import uniol.apt.generator.module.GenerateReverseArcModule;
 import uniol.apt.module.Module;
 import uniol.apt.module.ModuleRegistry;
 import uniol.apt.module.impl.ExampleModule;
@@ -34,6 +35,8 @@ public class TestModuleRegistry implements ModuleRegistry {
 			return new ExampleModule();
 		if ("coverability_graph".equals(name))
 			return new CoverabilityModule();
+		if ("generate_reverse_arc".equals(name))
+			return new GenerateReverseArcModule();
 		return null;
 	}
 
@@ -44,7 +47,8 @@ public class TestModuleRegistry implements ModuleRegistry {
 
 	@Override
 	public Collection<Module> getModules() {
-		return Arrays.<Module>asList(new ExampleModule(), new CoverabilityModule());
+		return Arrays.<Module>asList(new ExampleModule(), new CoverabilityModule(),
+				new GenerateReverseArcModule());
 	}
 }
 
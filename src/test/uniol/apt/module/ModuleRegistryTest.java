@@ -115,6 +115,32 @@ public class ModuleRegistryTest {
 		assertFalse(modules.contains(module2));
 		assertTrue(modules.contains(module3));
 	}
+
+	@Test
+	public void testAptModuleRegistryFindModule() {
+		Module module = AptModuleRegistry.INSTANCE.findModule("bounded");
+		assertEquals(module.getName(), "bounded");
+		assertTrue(AptModuleRegistry.INSTANCE.findModule("bounded") == module);
+		assertTrue(AptModuleRegistry.INSTANCE.findModule("no_such_module") == null);
+	}
+
+	@Test
+	public void testAptModuleRegistryFindModulesByPrefix() {
+		// "persistent" is not in the module index and must be found anyway
+		Collection<Module> modules = AptModuleRegistry.INSTANCE.findModulesByPrefix("persistent");
+		assertEquals(modules.size(), 1);
+		assertEquals(modules.iterator().next().getName(), "persistent");
+
+		for (Module module : AptModuleRegistry.INSTANCE.findModulesByPrefix("language_"))
+			assertTrue(module.getName().startsWith("language_"));
+	}
+
+	@Test
+	public void testAptModuleRegistryGetModules() {
+		Collection<Module> modules = AptModuleRegistry.INSTANCE.getModules();
+		assertTrue(modules.contains(AptModuleRegistry.INSTANCE.findModule("bounded")));
+		assertTrue(modules.contains(AptModuleRegistry.INSTANCE.findModule("backward_persistent")));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,106 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.ui.impl.parameter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.adt.PetriNetOrTransitionSystem;
+import uniol.apt.io.parser.ParseException;
+import uniol.apt.io.parser.impl.AptPNParser;
+import uniol.apt.module.exception.ModuleException;
+
+/** @author agent */
+public class NetOrTSParameterTransformationTest {
+	private static PetriNetOrTransitionSystem transform(String input) throws Exception {
+		return new NetOrTSParameterTransformation().transform(input);
+	}
+
+	@Test
+	public void testNet() throws Exception {
+		PetriNetOrTransitionSystem result = transform(".type LPN\n.places p\n.transitions t\n.flows t: {p} -> {}");
+		assertThat(result.getNet(), is(notNullValue()));
+		assertThat(result.getTs(), is(nullValue()));
+	}
+
+	@Test
+	public void testTS() throws Exception {
+		PetriNetOrTransitionSystem result = transform(".type LTS\n.states s0[initial]\n.labels a\n.arcs s0 a s0");
+		assertThat(result.getNet(), is(nullValue()));
+		assertThat(result.getTs(), is(notNullValue()));
+	}
+
+	@Test
+	public void testFileStream() throws Exception {
+		// FileInputStream does not support mark(), so this must be handled
+		try (InputStream is = new FileInputStream(new File("nets/crashkurs-cc1-aut.apt"))) {
+			PetriNetOrTransitionSystem result = new NetOrTSParameterTransformation().transform(is);
+			assertThat(result.getTs(), is(notNullValue()));
+		}
+	}
+
+	@Test
+	public void testTypeFarBehindBeginning() throws Exception {
+		StringBuilder input = new StringBuilder();
+		input.append(".places p\n.transitions t\n.flows t: {p} -> {}\n");
+		for (int i = 0; i < 1000; i++)
+			input.append("// padding comment that pushes the type section out of the header\n");
+		input.append(".type PN\n");
+		PetriNetOrTransitionSystem result = transform(input.toString());
+		assertThat(result.getNet(), is(notNullValue()));
+	}
+
+	@Test(expectedExceptions = ModuleException.class,
+			expectedExceptionsMessageRegExp = "Can't parse Petri net: .*")
+	public void testBrokenNet() throws Exception {
+		transform(".type LPN\n.places p\n.flows t: {p} -> {}");
+	}
+
+	@Test
+	public void testSyntaxErrorLikeParseString() throws Exception {
+		String input = ".type LPN\n.places p ]\n.transitions t\n";
+		String expected;
+		try {
+			new AptPNParser().parseString(input);
+			throw new AssertionError("Grammar-based parser accepted invalid input");
+		} catch (ParseException ex) {
+			expected = ex.getMessage();
+		}
+		try {
+			transform(input);
+			throw new AssertionError("Invalid input was accepted");
+		} catch (ModuleException ex) {
+			assertThat(ex.getMessage(), equalTo("Can't parse Petri net: " + expected));
+		}
+	}
+
+	@Test(expectedExceptions = ModuleException.class,
+			expectedExceptionsMessageRegExp = "Input is neither a Petri net nor a transition system.*")
+	public void testNeither() throws Exception {
+		transform(".places p\n");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
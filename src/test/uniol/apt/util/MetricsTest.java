@@ -0,0 +1,130 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.util;
+
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class MetricsTest {
+	@BeforeMethod
+	public void enable() {
+		Metrics.reset();
+		Metrics.setEnabled(true);
+	}
+
+	@AfterMethod
+	public void disable() {
+		Metrics.setEnabled(false);
+		Metrics.reset();
+	}
+
+	@Test
+	public void testCounter() {
+		Metrics.Counter counter = Metrics.getCounter("test.counter");
+		counter.increment();
+		counter.add(41);
+		assertThat(counter.get(), equalTo(42l));
+		assertThat(Metrics.getCounter("test.counter"), sameInstance(counter));
+		assertThat(Metrics.getValues(), hasEntry("test.counter", 42l));
+	}
+
+	@Test
+	public void testTimer() throws Exception {
+		Metrics.Timer timer = Metrics.getTimer("test.timer");
+		long start = timer.start();
+		Thread.sleep(2);
+		timer.stop(start);
+		assertThat(timer.getCalls(), equalTo(1l));
+		assertThat(timer.getNanoseconds(), greaterThanOrEqualTo(2l * 1000 * 1000));
+
+		Map<String, Long> values = Metrics.getValues();
+		assertThat(values, hasEntry("test.timer.calls", 1l));
+		assertThat(values, hasKey("test.timer.nanoseconds"));
+	}
+
+	@Test
+	public void testGauge() {
+		Metrics.Gauge gauge = Metrics.getGauge("test.gauge");
+		gauge.set(5);
+		gauge.set(17);
+		gauge.set(3);
+		assertThat(gauge.get(), equalTo(3l));
+		assertThat(gauge.getMaximum(), equalTo(17l));
+		assertThat(Metrics.getValues(), allOf(hasEntry("test.gauge", 3l), hasEntry("test.gauge.max", 17l)));
+	}
+
+	@Test
+	public void testDisabled() {
+		Metrics.Counter counter = Metrics.getCounter("test.counter");
+		Metrics.Timer timer = Metrics.getTimer("test.timer");
+		Metrics.Gauge gauge = Metrics.getGauge("test.gauge");
+		Metrics.setEnabled(false);
+
+		counter.increment();
+		gauge.set(5);
+		timer.stop(timer.start());
+		assertThat(counter.get(), equalTo(0l));
+		assertThat(gauge.get(), equalTo(0l));
+		assertThat(timer.getCalls(), equalTo(0l));
+
+		// A measurement that was started while disabled is ignored
+		long start = timer.start();
+		Metrics.setEnabled(true);
+		timer.stop(start);
+		assertThat(timer.getCalls(), equalTo(0l));
+	}
+
+	@Test
+	public void testValuesSince() {
+		Metrics.Counter counter = Metrics.getCounter("test.counter");
+		Metrics.Counter unchanged = Metrics.getCounter("test.unchanged");
+		Metrics.Gauge gauge = Metrics.getGauge("test.gauge");
+		counter.add(10);
+		unchanged.add(3);
+		gauge.set(20);
+
+		Map<String, Long> before = Metrics.getValues();
+		counter.add(5);
+		gauge.set(7);
+
+		Map<String, Long> since = Metrics.getValuesSince(before);
+		assertThat(since, hasEntry("test.counter", 5l));
+		assertThat(since, hasEntry("test.gauge", 7l));
+		assertThat(since, not(hasKey("test.gauge.max")));
+		assertThat(since, not(hasKey("test.unchanged")));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class,
+			expectedExceptionsMessageRegExp = "Metric test.conflict already exists as a Counter")
+	public void testTypeConflict() {
+		Metrics.getCounter("test.conflict");
+		Metrics.getTimer("test.conflict");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
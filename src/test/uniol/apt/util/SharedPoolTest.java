@@ -0,0 +1,148 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import uniol.apt.util.interrupt.InterruptToken;
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
+
+/** @author agent */
+public class SharedPoolTest {
+	// A job that counts how often each job was run and how many jobs ran at the same time
+	static private class CountingJob implements SharedPool.Job {
+		private final AtomicIntegerArray runs;
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+
+		CountingJob(int count) {
+			runs = new AtomicIntegerArray(count);
+		}
+
+		@Override
+		public void run(int index, InterruptToken interrupt) {
+			int now = running.incrementAndGet();
+			while (true) {
+				int max = maxRunning.get();
+				if (now <= max || maxRunning.compareAndSet(max, now))
+					break;
+			}
+			runs.incrementAndGet(index);
+			Thread.yield();
+			running.decrementAndGet();
+		}
+	}
+
+	@Test
+	public void testPoolIsShared() {
+		assertThat(SharedPool.getPool(), sameInstance(SharedPool.getPool()));
+		assertThat(SharedPool.getParallelism(), equalTo(Runtime.getRuntime().availableProcessors()));
+	}
+
+	@Test
+	public void testAllJobsRunOnce() {
+		for (int threads : new int[] { 1, 2, 3, 100 }) {
+			CountingJob job = new CountingJob(1000);
+			SharedPool.run(1000, threads, job);
+			for (int i = 0; i < 1000; i++)
+				assertThat(job.runs.get(i), equalTo(1));
+			int limit = Math.min(threads, SharedPool.getParallelism());
+			assertThat(job.maxRunning.get(), lessThanOrEqualTo(limit));
+		}
+	}
+
+	@Test
+	public void testNoJobs() {
+		SharedPool.run(0, 4, new CountingJob(0));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNoThreads() {
+		SharedPool.run(10, 0, new CountingJob(10));
+	}
+
+	@Test
+	public void testExceptionIsRethrown() {
+		final IllegalStateException exception = new IllegalStateException("job failed");
+		final AtomicInteger started = new AtomicInteger();
+		try {
+			SharedPool.run(10000, 4, new SharedPool.Job() {
+				@Override
+				public void run(int index, InterruptToken interrupt) {
+					started.incrementAndGet();
+					if (index == 10)
+						throw exception;
+				}
+			});
+			throw new AssertionError("No exception was thrown");
+		} catch (IllegalStateException e) {
+			assertThat(e, sameInstance(exception));
+		}
+		assertThat(started.get(), lessThan(10000));
+	}
+
+	@Test(expectedExceptions = UncheckedInterruptedException.class)
+	public void testInterrupterIsUsedByWorkers() {
+		InterrupterRegistry.setCurrentThreadInterrupter(new Interrupter() {
+			@Override
+			public boolean isInterruptRequested() {
+				return true;
+			}
+		});
+		try {
+			SharedPool.run(100, 4, new SharedPool.Job() {
+				@Override
+				public void run(int index, InterruptToken interrupt) {
+					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				}
+			});
+		} finally {
+			InterrupterRegistry.clearCurrentThreadInterrupter();
+		}
+	}
+
+	@Test
+	public void testNestedRun() {
+		final CountingJob inner = new CountingJob(100);
+		SharedPool.run(10, 4, new SharedPool.Job() {
+			@Override
+			public void run(int index, InterruptToken interrupt) {
+				SharedPool.run(10, 4, new SharedPool.Job() {
+					@Override
+					public void run(int innerIndex, InterruptToken innerInterrupt) {
+						inner.runs.incrementAndGet(10 * innerIndex);
+					}
+				});
+			}
+		});
+		for (int i = 0; i < 10; i++)
+			assertThat(inner.runs.get(10 * i), equalTo(10));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,86 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2026  agent
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util.interrupt;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/** @author agent */
+public class InterruptTokenTest {
+	static private class CountingInterrupter implements Interrupter {
+		private int calls = 0;
+		private boolean interrupt = false;
+
+		@Override
+		public boolean isInterruptRequested() {
+			calls++;
+			return interrupt;
+		}
+	}
+
+	@Test(expectedExceptions = UncheckedInterruptedException.class)
+	public void testFirstCallChecks() {
+		CountingInterrupter interrupter = new CountingInterrupter();
+		interrupter.interrupt = true;
+		new InterruptToken(interrupter).throwIfInterruptRequested();
+	}
+
+	@Test
+	public void testCheckInterval() {
+		CountingInterrupter interrupter = new CountingInterrupter();
+		InterruptToken token = new InterruptToken(interrupter);
+		for (int i = 0; i < 2 * InterruptToken.CHECK_INTERVAL + 1; i++)
+			token.throwIfInterruptRequested();
+		assertThat(interrupter.calls, equalTo(3));
+	}
+
+	@Test
+	public void testInterruptIsNoticed() {
+		CountingInterrupter interrupter = new CountingInterrupter();
+		InterruptToken token = new InterruptToken(interrupter);
+		token.throwIfInterruptRequested();
+		interrupter.interrupt = true;
+
+		int polls = 0;
+		try {
+			while (polls <= InterruptToken.CHECK_INTERVAL) {
+				polls++;
+				token.throwIfInterruptRequested();
+			}
+		} catch (UncheckedInterruptedException e) {
+			assertThat(polls, equalTo(InterruptToken.CHECK_INTERVAL));
+			return;
+		}
+		throw new AssertionError("Interruption was not noticed");
+	}
+
+	@Test(expectedExceptions = UncheckedInterruptedException.class)
+	public void testRegistryToken() {
+		InterrupterRegistry.setCurrentThreadInterrupter(new TimeoutInterrupter(0));
+		try {
+			InterrupterRegistry.getCurrentThreadToken().throwIfInterruptRequested();
+		} finally {
+			InterrupterRegistry.clearCurrentThreadInterrupter();
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120